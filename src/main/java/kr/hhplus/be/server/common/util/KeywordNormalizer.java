@@ -2,35 +2,212 @@ package kr.hhplus.be.server.common.util;
 
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 @Component
 public class KeywordNormalizer {
 
+    // 자주 들어오는 입력 메모 (직접 매핑, 슬롯 충돌 시 덮어쓰기)
+    private static final int MEMO_SIZE = 1024;
+    private static final int MEMO_MAX_LENGTH = 64;
+    private static final int BUFFER_SIZE = 256;
+
+    // 한글 음절 / 조합형 자모 (유니코드 한글 조합 규칙)
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final char LEADING_FIRST = '\u1100';
+    private static final char VOWEL_FIRST = '\u1161';
+    private static final char TRAILING_BASE = '\u11A7';
+    private static final int LEADING_COUNT = 19;
+    private static final int VOWEL_COUNT = 21;
+    private static final int TRAILING_COUNT = 28;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
+    private final AtomicReferenceArray<MemoEntry> memo = new AtomicReferenceArray<>(MEMO_SIZE);
+
     /**
-     * 키워드 정규화
-     * - 공백 제거
-     * - 소문자 변환
-     * - 특수문자 처리
+     * 키워드 정규화 (한 번의 순회로 처리)
+     * - 앞뒤 공백 제거, 연속된 공백을 하나로
+     * - ASCII 소문자 변환
+     * - 특수문자 제거 (영문/숫자/한글 음절/공백만 남김)
+     * - 전각 영문/숫자/공백은 반각으로, 조합형 한글 자모(NFD)는 완성형 음절(NFC)로 접어서 처리
+     * 위 접기 대상이 아닌 입력은 기존 정규식 구현
+     * (trim → toLowerCase → \s+ 를 " " 로 → [^a-zA-Z0-9가-힣\s] 제거) 과 같은 결과
      */
     public String normalize(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
+        if (keyword == null || isBlank(keyword)) {
             return keyword;
         }
+        if (keyword.length() > MEMO_MAX_LENGTH) {
+            return scan(keyword);
+        }
 
-        return keyword.trim()
-                .toLowerCase()
-                .replaceAll("\\s+", " ") // 연속된 공백을 하나로
-                .replaceAll("[^a-zA-Z0-9가-힣\\s]", ""); // 특수문자 제거
+        int slot = spread(keyword.hashCode()) & (MEMO_SIZE - 1);
+        MemoEntry entry = memo.get(slot);
+        if (entry != null && entry.input.equals(keyword)) {
+            return entry.output;
+        }
+        String normalized = scan(keyword);
+        memo.lazySet(slot, new MemoEntry(keyword, normalized));
+        return normalized;
     }
 
     /**
      * 검색용 키워드 정규화 (더 관대한 정규화)
+     * - 앞뒤 공백 제거, 연속된 공백만 하나로
      */
     public String normalizeForSearch(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
+        if (keyword == null || isBlank(keyword)) {
             return keyword;
         }
 
-        return keyword.trim()
-                .replaceAll("\\s+", " "); // 연속된 공백만 처리
+        int start = 0;
+        int end = keyword.length();
+        while (start < end && keyword.charAt(start) <= ' ') start++;
+        while (end > start && keyword.charAt(end - 1) <= ' ') end--;
+
+        char[] buffer = buffer(end - start);
+        int length = 0;
+        boolean previousWhitespace = false;
+        for (int i = start; i < end; i++) {
+            char c = keyword.charAt(i);
+            if (isWhitespace(c)) {
+                if (!previousWhitespace) {
+                    buffer[length++] = ' ';
+                }
+                previousWhitespace = true;
+            } else {
+                buffer[length++] = c;
+                previousWhitespace = false;
+            }
+        }
+        return toString(keyword, buffer, length);
+    }
+
+    private String scan(String keyword) {
+        int start = 0;
+        int end = keyword.length();
+        while (start < end && isTrimmed(keyword.charAt(start))) start++;
+        while (end > start && isTrimmed(keyword.charAt(end - 1))) end--;
+
+        char[] buffer = buffer(end - start);
+        int length = 0;
+        boolean previousWhitespace = false;
+        for (int i = start; i < end; i++) {
+            char c = foldWidth(keyword.charAt(i));
+
+            if (isWhitespace(c)) {
+                if (!previousWhitespace) {
+                    buffer[length++] = ' ';
+                }
+                previousWhitespace = true;
+                continue;
+            }
+            // 제거되는 특수문자도 공백 연속을 끊는다 (기존 구현과 동일)
+            previousWhitespace = false;
+
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                buffer[length++] = c;
+            } else if (c >= 'A' && c <= 'Z') {
+                buffer[length++] = (char) (c + ('a' - 'A'));
+            } else if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                // 받침 없는 음절 + 조합형 종성 → 받침 있는 음절
+                if ((c - SYLLABLE_FIRST) % TRAILING_COUNT == 0 && i + 1 < end && isTrailing(keyword.charAt(i + 1))) {
+                    c = (char) (c + keyword.charAt(++i) - TRAILING_BASE);
+                }
+                buffer[length++] = c;
+            } else if (isLeading(c) && i + 1 < end && isVowel(keyword.charAt(i + 1))) {
+                // 조합형 초성 + 중성 (+ 종성) → 완성형 음절
+                int syllable = SYLLABLE_FIRST
+                        + ((c - LEADING_FIRST) * VOWEL_COUNT + (keyword.charAt(++i) - VOWEL_FIRST)) * TRAILING_COUNT;
+                if (i + 1 < end && isTrailing(keyword.charAt(i + 1))) {
+                    syllable += keyword.charAt(++i) - TRAILING_BASE;
+                }
+                buffer[length++] = (char) syllable;
+            } else if (c >= 0x80) {
+                // 소문자 변환 결과가 영문이 되는 문자 (KELVIN SIGN, 점 있는 대문자 I 등)
+                char lower = Character.toLowerCase(c);
+                if (lower >= 'a' && lower <= 'z') {
+                    buffer[length++] = lower;
+                }
+            }
+        }
+        return toString(keyword, buffer, length);
+    }
+
+    /**
+     * 전각 ASCII(U+FF01~U+FF5E)와 전각 공백(U+3000)을 반각으로
+     */
+    private static char foldWidth(char c) {
+        if (c >= '\uFF01' && c <= '\uFF5E') {
+            return (char) (c - 0xFEE0);
+        }
+        return c == '\u3000' ? ' ' : c;
+    }
+
+    // 정규식 \s 와 같은 범위
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // String.trim 대상 + 전각 공백
+    private static boolean isTrimmed(char c) {
+        return c <= ' ' || c == '\u3000';
+    }
+
+    private static boolean isBlank(String keyword) {
+        for (int i = 0; i < keyword.length(); i++) {
+            if (keyword.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLeading(char c) {
+        return c >= LEADING_FIRST && c < LEADING_FIRST + LEADING_COUNT;
+    }
+
+    private static boolean isVowel(char c) {
+        return c >= VOWEL_FIRST && c < VOWEL_FIRST + VOWEL_COUNT;
+    }
+
+    private static boolean isTrailing(char c) {
+        return c > TRAILING_BASE && c < TRAILING_BASE + TRAILING_COUNT;
+    }
+
+    private static char[] buffer(int length) {
+        return length <= BUFFER_SIZE ? BUFFER.get() : new char[length];
+    }
+
+    /**
+     * 결과가 입력과 같으면 입력 문자열을 그대로 반환 (이미 정규화된 키워드는 새 문자열을 만들지 않음)
+     */
+    private static String toString(String keyword, char[] buffer, int length) {
+        if (length == keyword.length()) {
+            boolean same = true;
+            for (int i = 0; i < length && same; i++) {
+                same = buffer[i] == keyword.charAt(i);
+            }
+            if (same) {
+                return keyword;
+            }
+        }
+        return new String(buffer, 0, length);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class MemoEntry {
+        private final String input;
+        private final String output;
+
+        private MemoEntry(String input, String output) {
+            this.input = input;
+            this.output = output;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package kr.hhplus.be.server.common.util;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 같은 형식의 로그를 간격당 한 번만 남기는 slf4j 로거 래퍼
+ * 저장소 장애가 이어지는 동안 요청/주기마다 같은 실패 로그가 쌓이지 않도록,
+ * 간격 안의 반복은 세기만 하고 다음에 남길 때 생략된 건수를 함께 기록한다
+ */
+public class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger logger, long intervalMs) {
+        this(logger, intervalMs, System::nanoTime);
+    }
+
+    RateLimitedLogger(Logger logger, long intervalMs, LongSupplier nanoClock) {
+        this.logger = logger;
+        this.intervalNanos = intervalMs * 1_000_000L;
+        this.nanoClock = nanoClock;
+    }
+
+    public void info(String format, Object... args) {
+        long suppressed = acquire(format);
+        if (suppressed >= 0) {
+            logger.info(withSuppressed(format, suppressed), args);
+        }
+    }
+
+    public void warn(String format, Object... args) {
+        long suppressed = acquire(format);
+        if (suppressed >= 0) {
+            logger.warn(withSuppressed(format, suppressed), args);
+        }
+    }
+
+    public void error(String format, Object... args) {
+        long suppressed = acquire(format);
+        if (suppressed >= 0) {
+            logger.error(withSuppressed(format, suppressed), args);
+        }
+    }
+
+    /**
+     * 이번 로그를 남길 수 있으면 직전 간격 동안 생략된 건수, 아니면 -1
+     */
+    long acquire(String format) {
+        long now = nanoClock.getAsLong();
+        return windows.computeIfAbsent(format, f -> new Window(now)).tryAcquire(now, intervalNanos);
+    }
+
+    private static String withSuppressed(String format, long suppressed) {
+        return suppressed > 0 ? format + " (같은 로그 " + suppressed + "건 생략)" : format;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAllowedAt;
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long now) {
+            this.nextAllowedAt = new AtomicLong(now);
+        }
+
+        private long tryAcquire(long now, long intervalNanos) {
+            long next = nextAllowedAt.get();
+            if (now - next >= 0 && nextAllowedAt.compareAndSet(next, now + intervalNanos)) {
+                return suppressed.getAndSet(0);
+            }
+            suppressed.incrementAndGet();
+            return -1;
+        }
+    }
+}
@@ -1,38 +1,57 @@
 package kr.hhplus.be.server.fake;
 
 
+import kr.hhplus.be.server.infrastructure.keyword.KeywordDictionary;
+import kr.hhplus.be.server.infrastructure.keyword.StripedLongCounterStore;
+
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class FakeMemoryMap {
 
-    private final Map<String, Integer> memoryMap = new ConcurrentHashMap<>();
+    // 키워드는 사전 ID로 치환하고 카운트는 박싱 없는 long 저장소에 보관
+    // 사전과 카운트는 clear() 때 함께 교체되도록 한 묶음으로 둔다 (이전 사전의 ID 가 새 카운트에 섞이지 않음)
+    private volatile Store store = new Store();
 
     public void increment(String keyword) {
         increment(keyword, 1);
     }
 
     public void increment(String keyword, int count) {
-        memoryMap.merge(keyword, count, Integer::sum);
+        Store current = store;
+        current.counts.add(current.dictionary.intern(keyword), count);
     }
 
     public int getCount(String keyword) {
-        return memoryMap.getOrDefault(keyword, 0);
+        Store current = store;
+        int keywordId = current.dictionary.find(keyword);
+        return keywordId >= 0 ? (int) current.counts.get(keywordId) : 0;
     }
 
     public Map<String, Integer> getAllData() {
-        return Map.copyOf(memoryMap);
+        Store current = store;
+        Map<String, Integer> data = new HashMap<>();
+        current.counts.forEach((keywordId, count) -> data.put(current.dictionary.keyword(keywordId), (int) count));
+        return Map.copyOf(data);
     }
 
+    /**
+     * 카운트와 함께 사전도 비워 지워진 키워드 문자열을 계속 붙잡고 있지 않게 한다
+     */
     public void clear() {
-        memoryMap.clear();
+        store = new Store();
     }
 
     public boolean isEmpty() {
-        return memoryMap.isEmpty();
+        return store.counts.isEmpty();
     }
 
     public int size() {
-        return memoryMap.size();
+        return store.counts.size();
+    }
+
+    private static final class Store {
+        private final KeywordDictionary dictionary = new KeywordDictionary();
+        private final StripedLongCounterStore counts = new StripedLongCounterStore();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 고정 메모리 빈도 추정기 (Count-Min Sketch)
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch
+ * - width = ceil(e / epsilon), depth = ceil(ln(1 / delta))
+ * - 추정값은 실제값 이상이며, 확률 1 - delta 로 실제값 + epsilon * N 이하 (N: 전체 증가 횟수)
+ * - 메모리는 width * depth 개의 long 으로 고정
+ * - 행마다 다른 seed 로 키워드 UTF-8 바이트의 64비트 해시를 구해 버킷을 고름 (행 수 제한 없음)
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] seeds;
+    private final AtomicLongArray table;
+
+    public CountMinSketch(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("epsilon, delta는 0과 1 사이여야 합니다.");
+        }
+        long cells = (long) Math.ceil(Math.E / epsilon) * (long) Math.ceil(Math.log(1 / delta));
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("epsilon, delta가 너무 작아 sketch 크기를 초과합니다.");
+        }
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = KeywordHash.seed(row);
+        }
+        this.table = new AtomicLongArray(width * depth);
+    }
+
+    public void add(String key, long count) {
+        byte[] bytes = KeywordHash.utf8(key);
+        for (int row = 0; row < depth; row++) {
+            table.getAndAdd(row * width + bucket(bytes, row), count);
+        }
+    }
+
+    public long estimate(String key) {
+        byte[] bytes = KeywordHash.utf8(key);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table.get(row * width + bucket(bytes, row)));
+        }
+        return min;
+    }
+
+    public int getWidth() { return width; }
+    public int getDepth() { return depth; }
+
+    private int bucket(byte[] bytes, int row) {
+        return (int) Math.floorMod(KeywordHash.hash64(bytes, seeds[row]), (long) width);
+    }
+}
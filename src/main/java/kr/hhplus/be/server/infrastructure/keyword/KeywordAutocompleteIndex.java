@@ -0,0 +1,336 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 키워드 자동완성 색인 (접두어 / 한글 초성)
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 자동완성 색인 (키워드를 기록할 때마다 바로 반영)
+ * - 공백을 뺀 정규화 키워드와 그 초성열로 트라이 두 개를 두고, 노드마다 하위 키워드 중 가중치 상위 topK 개를 내림차순으로 보관
+ * - 기록 시 키의 경로(루트 ~ 끝 노드)만 내려가며 각 노드의 상위 목록에서 그 키워드의 자리를 고친다 (O(키 길이 * topK))
+ *   가중치는 증가만 하므로 상위 목록 밖의 키워드는 항상 그 노드의 최소 가중치 이하로 유지된다
+ * - 조회는 접두어 길이만큼 내려가서 상위 목록을 잘라 읽기만 한다
+ * - 쓰기는 색인 단위 잠금, 노드의 자식 / 상위 목록은 교체 방식 배열이라 조회는 잠금 없이 읽는다
+ * - 키워드 수가 maxKeywords 에 이르면 새 키워드는 다음 재구성까지 넣지 않는다 (기존 키워드 가중치는 계속 반영)
+ */
+public final class KeywordAutocompleteIndex {
+
+    // 초성 19자 (한글 호환 자모)
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int SYLLABLES_PER_CHOSEONG = 588; // 중성 21 * 종성 28
+
+    private final int topK;
+    private final int maxKeywords;
+    private final Node prefixRoot = new Node('\0');
+    private final Node choseongRoot = new Node('\0');
+    // 키 → 키워드 (잠금 안에서만 접근)
+    private final Map<String, Keyword> keywords = new HashMap<>();
+    private volatile int size;
+
+    public KeywordAutocompleteIndex(int topK, int maxKeywords) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("자동완성 top-k 는 1 이상이어야 합니다.");
+        }
+        this.topK = topK;
+        this.maxKeywords = maxKeywords;
+    }
+
+    /**
+     * 랭킹 결과로 색인 생성
+     * keyFunction 으로 만든 키가 같은 키워드는 가중치를 합치고, 가장 많이 검색된 원본을 대표로 표시
+     */
+    public static KeywordAutocompleteIndex build(Collection<KeywordDto> rankedKeywords, Function<String, String> keyFunction,
+                                                 int topK, int maxKeywords) {
+        Map<String, Candidate> candidates = new HashMap<>(rankedKeywords.size() * 2);
+        for (KeywordDto dto : rankedKeywords) {
+            if (dto.getKeyword() == null || dto.getCount() == null) {
+                continue;
+            }
+            String key = toKey(keyFunction.apply(dto.getKeyword()));
+            if (key.isEmpty()) {
+                continue;
+            }
+            Candidate candidate = candidates.computeIfAbsent(key, Candidate::new);
+            candidate.add(dto.getKeyword(), dto.getCount());
+        }
+
+        // 가중치 내림차순으로 넣으면 각 노드의 상위 목록은 뒤에 붙이기만 한다
+        List<Candidate> ordered = new ArrayList<>(candidates.values());
+        ordered.sort(Comparator.comparingLong((Candidate candidate) -> candidate.weight).reversed()
+                .thenComparing(candidate -> candidate.key));
+
+        KeywordAutocompleteIndex index = new KeywordAutocompleteIndex(topK, maxKeywords);
+        for (Candidate candidate : ordered) {
+            index.record(candidate.display, candidate.key, candidate.weight);
+        }
+        return index;
+    }
+
+    /**
+     * 키워드 가중치 증가 - key 는 toKey 로 만든 값, keyword 는 처음 들어올 때의 표시 문자열
+     * 새 키워드인데 색인이 가득 찼으면 false
+     */
+    public synchronized boolean record(String keyword, String key, long count) {
+        if (key.isEmpty() || count <= 0) {
+            return false;
+        }
+
+        Keyword entry = keywords.get(key);
+        if (entry == null) {
+            if (keywords.size() >= maxKeywords) {
+                return false;
+            }
+            entry = new Keyword(keyword, key);
+            keywords.put(key, entry);
+            size = keywords.size();
+        }
+        entry.weight += count;
+
+        promoteAlong(prefixRoot, key, entry);
+        promoteAlong(choseongRoot, entry.choseongKey, entry);
+        return true;
+    }
+
+    /**
+     * 접두어 자동완성 - key 는 toKey 로 만든 값
+     */
+    public List<KeywordDto> complete(String key, int limit) {
+        return collect(prefixRoot, key, limit);
+    }
+
+    /**
+     * 초성 자동완성 - choseongKey 는 공백을 뺀 초성열 (예: ㄱㅊㅉㄱ)
+     */
+    public List<KeywordDto> completeChoseong(String choseongKey, int limit) {
+        return collect(choseongRoot, choseongKey, limit);
+    }
+
+    public int size() { return size; }
+    public int getTopK() { return topK; }
+
+    /**
+     * 색인 키 - 정규화 키워드에서 공백 제거 ("김치 찌개" 와 "김치찌개" 를 같은 키로)
+     */
+    public static String toKey(String normalizedKeyword) {
+        if (normalizedKeyword == null) {
+            return "";
+        }
+        if (normalizedKeyword.indexOf(' ') < 0) {
+            return normalizedKeyword;
+        }
+        StringBuilder builder = new StringBuilder(normalizedKeyword.length());
+        for (int i = 0; i < normalizedKeyword.length(); i++) {
+            char c = normalizedKeyword.charAt(i);
+            if (c != ' ') {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 한글 음절은 초성으로, 그 밖의 문자는 그대로
+     */
+    public static String toChoseong(String key) {
+        StringBuilder builder = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            builder.append(c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST
+                    ? CHOSEONG.charAt((c - SYLLABLE_FIRST) / SYLLABLES_PER_CHOSEONG)
+                    : c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 공백을 뺀 나머지가 모두 초성 자음이면 초성 검색어
+     */
+    public static boolean isChoseongQuery(String query) {
+        boolean hasChoseong = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+            if (CHOSEONG.indexOf(c) < 0) {
+                return false;
+            }
+            hasChoseong = true;
+        }
+        return hasChoseong;
+    }
+
+    private List<KeywordDto> collect(Node root, String key, int limit) {
+        Node node = find(root, key);
+        if (node == null) {
+            return List.of();
+        }
+        Keyword[] top = node.top;
+        int to = Math.min(top.length, Math.max(0, limit));
+        List<KeywordDto> results = new ArrayList<>(to);
+        for (int i = 0; i < to; i++) {
+            results.add(new KeywordDto(top[i].display, top[i].weight));
+        }
+        return results;
+    }
+
+    /**
+     * 경로의 모든 노드(루트 포함)에서 키워드의 상위 목록 자리를 고친다 (잠금 안에서 호출)
+     */
+    private void promoteAlong(Node root, String key, Keyword entry) {
+        Node node = root;
+        node.promote(entry, topK);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.promote(entry, topK);
+        }
+    }
+
+    private static Node find(Node root, String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * 같은 키로 합쳐지는 키워드 묶음 (생성 시에만 사용)
+     */
+    private static final class Candidate {
+        private final String key;
+        private String display;
+        private long displayWeight = -1;
+        private long weight;
+
+        private Candidate(String key) {
+            this.key = key;
+        }
+
+        private void add(String keyword, long count) {
+            weight += count;
+            if (count > displayWeight) {
+                display = keyword;
+                displayWeight = count;
+            }
+        }
+    }
+
+    /**
+     * 색인에 들어간 키워드 - 가중치는 잠금 안에서만 바꾸고 조회는 잠금 없이 읽는다
+     */
+    private static final class Keyword {
+        private final String display;
+        private final String key;
+        private final String choseongKey;
+        private volatile long weight;
+
+        private Keyword(String display, String key) {
+            this.display = display;
+            this.key = key;
+            this.choseongKey = toChoseong(key);
+        }
+    }
+
+    /**
+     * 트라이 노드 - 자식은 라벨 오름차순 배열(이진 탐색), 상위 목록은 가중치 내림차순 배열
+     * 두 배열 모두 잠금 안에서 새 배열로 교체하므로 조회는 읽은 시점의 배열을 그대로 쓴다
+     */
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Keyword[] NO_KEYWORDS = new Keyword[0];
+
+        private final char label;
+        private volatile Node[] children = NO_CHILDREN;
+        private volatile Keyword[] top = NO_KEYWORDS;
+
+        private Node(char label) {
+            this.label = label;
+        }
+
+        private Node child(char c) {
+            Node[] current = children;
+            int index = indexOf(current, c);
+            return index >= 0 ? current[index] : null;
+        }
+
+        private Node childOrCreate(char c) {
+            Node[] current = children;
+            int index = indexOf(current, c);
+            if (index >= 0) {
+                return current[index];
+            }
+            int insertAt = -index - 1;
+            Node created = new Node(c);
+            Node[] grown = new Node[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, insertAt);
+            grown[insertAt] = created;
+            System.arraycopy(current, insertAt, grown, insertAt + 1, current.length - insertAt);
+            children = grown;
+            return created;
+        }
+
+        /**
+         * 가중치가 늘어난 키워드를 상위 목록에 반영 - 이미 있으면 앞으로 옮기고, 없으면 최소 항목보다 클 때만 들어온다
+         */
+        private void promote(Keyword entry, int topK) {
+            Keyword[] current = top;
+            int position = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == entry) {
+                    position = i;
+                    break;
+                }
+            }
+
+            Keyword[] next;
+            if (position >= 0) {
+                if (position == 0 || current[position - 1].weight >= entry.weight) {
+                    return; // 순서 그대로 - 가중치는 Keyword 에서 바로 읽힌다
+                }
+                next = current.clone();
+            } else if (current.length < topK) {
+                next = Arrays.copyOf(current, current.length + 1);
+                position = current.length;
+            } else if (current[current.length - 1].weight < entry.weight) {
+                next = current.clone();
+                position = current.length - 1;
+            } else {
+                return;
+            }
+
+            next[position] = entry;
+            while (position > 0 && next[position - 1].weight < entry.weight) {
+                next[position] = next[position - 1];
+                next[position - 1] = entry;
+                position--;
+            }
+            top = next;
+        }
+
+        private static int indexOf(Node[] nodes, char c) {
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (nodes[mid].label < c) {
+                    low = mid + 1;
+                } else if (nodes[mid].label > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 고정 메모리 키워드 존재 여부 판별기 (Bloom Filter)
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom Filter
+ * - bits = -n * ln(p) / (ln 2)^2, hashes = bits / n * ln 2 (n: 예상 원소 수, p: 오탐률)
+ * - mightContain 이 false 면 확실히 없음, true 면 확률 p 로 오탐
+ * - 키워드 UTF-8 바이트를 서로 다른 seed 로 두 번 64비트 해시해 h1 + i * h2 로 비트 위치를 구함
+ * - 제거는 지원하지 않으며 여러 스레드에서 동시에 put / mightContain 가능
+ */
+public class KeywordBloomFilter {
+
+    private static final long SEED_1 = KeywordHash.seed(0);
+    private static final long SEED_2 = KeywordHash.seed(1);
+
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLongArray words;
+
+    public KeywordBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("예상 원소 수는 1 이상이어야 합니다.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("오탐률은 0과 1 사이여야 합니다.");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6));
+        this.bitSize = (long) words.length() << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String key) {
+        byte[] bytes = KeywordHash.utf8(key);
+        long h1 = KeywordHash.hash64(bytes, SEED_1);
+        long h2 = KeywordHash.hash64(bytes, SEED_2) | 1; // 홀수로 만들어 비트 위치가 한 곳에 머물지 않게 함
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        byte[] bytes = KeywordHash.utf8(key);
+        long h1 = KeywordHash.hash64(bytes, SEED_1);
+        long h2 = KeywordHash.hash64(bytes, SEED_2) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitSize() { return bitSize; }
+    public int getHashCount() { return hashCount; }
+}
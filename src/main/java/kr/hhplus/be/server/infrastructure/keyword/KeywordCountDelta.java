@@ -0,0 +1,64 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 한 세대(epoch) 동안 쌓인 키워드 증가분
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class KeywordCountDelta {
+
+    private final long epoch;
+    private final Map<String, Long> globalCounts;
+    private final Map<String, Map<String, Long>> locationCounts;
+
+    public KeywordCountDelta(long epoch, Map<String, Long> globalCounts, Map<String, Map<String, Long>> locationCounts) {
+        this.epoch = epoch;
+        this.globalCounts = Collections.unmodifiableMap(globalCounts);
+        this.locationCounts = Collections.unmodifiableMap(locationCounts);
+    }
+
+    public long getEpoch() { return epoch; }
+    public Map<String, Long> getGlobalCounts() { return globalCounts; }
+    public Map<String, Map<String, Long>> getLocationCounts() { return locationCounts; }
+
+    public boolean isEmpty() {
+        return globalCounts.isEmpty() && locationCounts.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "KeywordCountDelta{epoch=" + epoch + ", keywords=" + globalCounts.size()
+                + ", locations=" + locationCounts.size() + "}";
+    }
+
+    /**
+     * 증가분 누적 (WAL 레코드 재구성, 여러 세대 병합용)
+     * 지역 증가분은 Memory 티어 기록과 같이 전체 카운트에도 함께 더한다
+     */
+    public static final class Builder {
+        private final Map<String, Long> globalCounts = new HashMap<>();
+        private final Map<String, Map<String, Long>> locationCounts = new HashMap<>();
+
+        public Builder add(String keyword, String location, long count) {
+            globalCounts.merge(keyword, count, Long::sum);
+            if (location != null && !location.trim().isEmpty()) {
+                locationCounts.computeIfAbsent(location, l -> new HashMap<>()).merge(keyword, count, Long::sum);
+            }
+            return this;
+        }
+
+        public Builder merge(KeywordCountDelta delta) {
+            delta.getGlobalCounts().forEach((keyword, count) -> globalCounts.merge(keyword, count, Long::sum));
+            delta.getLocationCounts().forEach((location, counts) -> {
+                Map<String, Long> merged = locationCounts.computeIfAbsent(location, l -> new HashMap<>());
+                counts.forEach((keyword, count) -> merged.merge(keyword, count, Long::sum));
+            });
+            return this;
+        }
+
+        public KeywordCountDelta build(long epoch) {
+            return new KeywordCountDelta(epoch, globalCounts, locationCounts);
+        }
+    }
+}
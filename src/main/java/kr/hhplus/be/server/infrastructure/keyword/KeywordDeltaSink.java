@@ -0,0 +1,18 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 증가분을 한 번에 반영할 수 있는 랭킹 인터페이스
+
+public interface KeywordDeltaSink {
+    /**
+     * 전체/지역 증가분 일괄 반영 (키워드별 카운트만큼 한 번에 증가)
+     */
+    void applyDelta(KeywordCountDelta delta);
+
+    /**
+     * 저장소에 기록된 이 노드의 마지막 반영 세대 (세대 반영 기록을 남기지 않는 저장소는 Long.MIN_VALUE)
+     * 재시작 시 WAL 의 저장소별 반영 위치보다 뒤라면, 반영은 커밋됐지만 위치를 남기기 전에 멈춘 것이다
+     */
+    default long getAppliedEpoch() {
+        return Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,44 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 증가분을 세대 단위로 꺼내 상위 저장소로 옮길 수 있는 랭킹 인터페이스
+
+import java.util.List;
+
+public interface KeywordDeltaSource {
+    /**
+     * 현재 세대를 닫고 그 세대의 증가분을 반환 (이후 증가분은 다음 세대로 기록)
+     */
+    KeywordCountDelta drainDelta();
+
+    /**
+     * epoch 이하 세대의 증가분이 모든 상위 저장소에 반영되었음을 확정 (WAL 체크포인트)
+     */
+    void commitEpoch(long epoch);
+
+    /**
+     * 상위 저장소(sink) 하나가 epoch 이하 세대를 모두 반영했음을 기록 (재시작 후 그 저장소에 같은 세대를 다시 반영하지 않도록)
+     */
+    void markApplied(String sink, long epoch);
+
+    /**
+     * markApplied 로 기록된 저장소별 반영 위치 (없으면 Long.MIN_VALUE)
+     */
+    long getAppliedEpoch(String sink);
+
+    /**
+     * 재시작 시 WAL 에서 재생했지만 확정되지 않은 세대 중 가장 최근 epoch (없으면 Long.MIN_VALUE)
+     * 재생분은 조회용 카운트에만 반영되어 있으므로 reloadDeltas 로 다시 읽어 상위 저장소에 옮긴다
+     */
+    long getRecoveredEpoch();
+
+    /**
+     * 확정되지 않은 세대를 WAL 에서 다시 읽을 수 있는지 여부
+     */
+    boolean isReloadable();
+
+    /**
+     * afterEpoch 초과 throughEpoch 이하 세대의 증가분을 WAL 에서 세대별로 다시 구성 (오래된 순, 최대 limit 세대)
+     * 같은 세대는 drainDelta 가 돌려준 증가분과 내용이 같다
+     */
+    List<KeywordCountDelta> reloadDeltas(long afterEpoch, long throughEpoch, int limit);
+}
@@ -0,0 +1,190 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 정규화된 키워드(또는 지역) 문자열 ↔ 연속 int ID 사전
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 키워드 문자열을 0부터 증가하는 int ID로 치환하는 사전
+ * - 카운터 저장소는 문자열/박싱 객체 대신 int ID와 long 값만 보관한다
+ * - 문자열 → ID 는 스트라이프별 int[] 선형 탐사 테이블 ([해시, ID + 1] 쌍, 키워드당 약 16바이트)
+ *   {@code ConcurrentHashMap<String, Integer>} 의 노드(32바이트) + Integer(16바이트)를 키워드마다 만들지 않는다
+ * - 문자열은 ID → 문자열 청크 배열에만 한 번 보관하고, 테이블 비교 시 청크에서 꺼내 equals 로 확인
+ * - ID → 문자열 역조회는 고정 크기 청크 배열로 O(1)
+ * - 한 번 부여된 ID는 바뀌지 않는다
+ */
+public class KeywordDictionary {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private volatile String[][] chunks = new String[16][];
+
+    public KeywordDictionary() {
+        int stripeCount = Math.max(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * 키워드 ID 조회, 없으면 새로 부여
+     */
+    public int intern(String keyword) {
+        int hash = hash(keyword);
+        Stripe stripe = stripeOf(hash);
+        int id = stripe.find(keyword, hash);
+        return id >= 0 ? id : stripe.intern(keyword, hash);
+    }
+
+    /**
+     * 키워드 ID 조회 (부여하지 않음), 없으면 -1
+     */
+    public int find(String keyword) {
+        int hash = hash(keyword);
+        return stripeOf(hash).find(keyword, hash);
+    }
+
+    public String keyword(int id) {
+        return chunks[id >>> CHUNK_BITS][id & CHUNK_MASK];
+    }
+
+    public int size() {
+        return nextId.get();
+    }
+
+    private Stripe stripeOf(int hash) {
+        return stripes[(hash >>> 24) & stripeMask];
+    }
+
+    private static int hash(String keyword) {
+        int h = keyword.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private synchronized void store(int id, String keyword) {
+        int chunkIndex = id >>> CHUNK_BITS;
+        String[][] current = chunks;
+        if (chunkIndex >= current.length) {
+            String[][] grown = new String[Math.max(current.length * 2, chunkIndex + 1)][];
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+        }
+        if (current[chunkIndex] == null) {
+            current[chunkIndex] = new String[CHUNK_SIZE];
+        }
+        current[chunkIndex][id & CHUNK_MASK] = keyword;
+        chunks = current;
+    }
+
+    /**
+     * [해시, ID + 1] 쌍을 선형 탐사로 보관 (ID + 1 이 0 이면 빈 칸)
+     * 쓰기는 스트라이프 단위 잠금, 읽기는 낙관적 읽기 후 검증
+     */
+    private final class Stripe {
+        private static final int EMPTY = 0;
+
+        private final StampedLock lock = new StampedLock();
+        private int[] table = new int[2 * 16];
+        private int size;
+
+        private int find(String keyword, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            int id = lookup(table, keyword, hash);
+            if (lock.validate(stamp)) {
+                return id;
+            }
+
+            stamp = lock.readLock();
+            try {
+                return lookup(table, keyword, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private int intern(String keyword, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = findSlot(table, keyword, hash);
+                if (table[slot + 1] != EMPTY) {
+                    return table[slot + 1] - 1;
+                }
+
+                // 역조회 청크에 먼저 기록한 뒤 테이블에 공개
+                int id = nextId.getAndIncrement();
+                store(id, keyword);
+                table[slot] = hash;
+                table[slot + 1] = id + 1;
+                size++;
+                if (size * 2 > table.length / 2) {
+                    resize();
+                }
+                return id;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private int lookup(int[] current, String keyword, int hash) {
+            int slot = findSlot(current, keyword, hash);
+            int stored = current[slot + 1];
+            return stored != EMPTY ? stored - 1 : -1;
+        }
+
+        private int findSlot(int[] current, String keyword, int hash) {
+            int entries = current.length >>> 1;
+            int mask = entries - 1;
+            int entry = hash & mask;
+            // 낙관적 읽기 중 배열이 바뀌어도 무한 루프에 빠지지 않도록 탐사 횟수를 제한
+            for (int probe = 0; probe < entries; probe++) {
+                int slot = entry << 1;
+                int stored = current[slot + 1];
+                if (stored == EMPTY) {
+                    return slot;
+                }
+                if (current[slot] == hash && keyword.equals(keywordOrNull(stored - 1))) {
+                    return slot;
+                }
+                entry = (entry + 1) & mask;
+            }
+            return entry << 1;
+        }
+
+        private void resize() {
+            int[] oldTable = table;
+            int[] newTable = new int[oldTable.length * 2];
+            int mask = (newTable.length >>> 1) - 1;
+            for (int slot = 0; slot < oldTable.length; slot += 2) {
+                if (oldTable[slot + 1] != EMPTY) {
+                    int entry = oldTable[slot] & mask;
+                    while (newTable[(entry << 1) + 1] != EMPTY) {
+                        entry = (entry + 1) & mask;
+                    }
+                    newTable[entry << 1] = oldTable[slot];
+                    newTable[(entry << 1) + 1] = oldTable[slot + 1];
+                }
+            }
+            table = newTable;
+        }
+    }
+
+    /**
+     * 낙관적 읽기 중에는 청크 기록이 아직 보이지 않을 수 있으므로 범위를 확인하고 없으면 null
+     */
+    private String keywordOrNull(int id) {
+        String[][] current = chunks;
+        int chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex >= current.length || current[chunkIndex] == null) {
+            return null;
+        }
+        return current[chunkIndex][id & CHUNK_MASK];
+    }
+}
@@ -0,0 +1,114 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// Redis/DB 불일치 구간을 두 번 관측해 확정된 누락분만 보정하도록 추적
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 정합성 검증 노드가 세대를 모두 반영해도 다른 노드는 Redis 에만 반영하고 DB 압축 반영을 기다리는 세대가 있다
+ * 그 순간 양쪽 중 큰 값으로 맞추면, 다른 노드가 나중에 그 세대를 DB 에 반영할 때 같은 증가분이 두 번 더해진다
+ *
+ * 그래서 불일치 구간은 처음 관측한 카운트를 기록만 해 두고, 확인 간격(모든 노드의 압축 반영 주기보다 길게)이 지난 뒤
+ * 다시 관측했을 때 "처음 관측 시점의 상대 카운트 - 지금 카운트" 만큼만 보정한다
+ * - 처음 관측 때 반영 대기 중이던 증가분은 확인 간격 안에 반대쪽에도 반영되므로 부족분에서 빠진다
+ * - 두 번째 관측 때 새로 반영 대기 중인 증가분은 처음 관측 카운트에 없으므로 부족분이 되지 않는다
+ * 남는 부족분은 확인 간격이 지나도 반대쪽에 반영되지 않은 증가분(유실)뿐이다
+ * (압축 반영이 확인 간격보다 오래 밀린 노드가 있으면 그 증가분도 유실로 보므로, 간격은 DB 장애 허용 시간보다 길게 둔다)
+ *
+ * 검증 노드 한 곳에서만 쓰므로 동기화하지 않는다
+ */
+public class KeywordDivergenceTracker {
+
+    private final long confirmDelayMs;
+    private final Map<Integer, Observation> suspected = new HashMap<>();
+
+    public KeywordDivergenceTracker(long confirmDelayMs) {
+        if (confirmDelayMs <= 0) {
+            throw new IllegalArgumentException("불일치 확인 간격은 0보다 커야 합니다: " + confirmDelayMs);
+        }
+        this.confirmDelayMs = confirmDelayMs;
+    }
+
+    /**
+     * 불일치 구간 관측 - 처음 관측했거나 확인 간격이 지나지 않았으면 null (처음 관측한 카운트를 유지)
+     * 확인 간격이 지났으면 키워드 ID 별 부족분을 돌려주고 구간 기록을 지운다 (부족분이 없으면 빈 보정분)
+     */
+    public Repair observe(int leaf, Map<Long, Long> redisCounts, Map<Long, Long> databaseCounts, long now) {
+        Observation first = suspected.get(leaf);
+        if (first == null) {
+            suspected.put(leaf, new Observation(Map.copyOf(redisCounts), Map.copyOf(databaseCounts), now));
+            return null;
+        }
+        if (now - first.observedAt < confirmDelayMs) {
+            return null;
+        }
+        suspected.remove(leaf);
+
+        Set<Long> keywordIds = new HashSet<>(first.redisCounts.keySet());
+        keywordIds.addAll(first.databaseCounts.keySet());
+        Map<Long, Long> redisIncrements = new HashMap<>();
+        Map<Long, Long> databaseIncrements = new HashMap<>();
+        for (Long keywordId : keywordIds) {
+            long redisShortfall = first.databaseCounts.getOrDefault(keywordId, 0L) - redisCounts.getOrDefault(keywordId, 0L);
+            if (redisShortfall > 0) {
+                redisIncrements.put(keywordId, redisShortfall);
+            }
+            long databaseShortfall = first.redisCounts.getOrDefault(keywordId, 0L) - databaseCounts.getOrDefault(keywordId, 0L);
+            if (databaseShortfall > 0) {
+                databaseIncrements.put(keywordId, databaseShortfall);
+            }
+        }
+        return new Repair(redisIncrements, databaseIncrements);
+    }
+
+    /**
+     * 양쪽 해시가 다시 같아진 구간은 대기 중인 증가분이 반영된 것이므로 기록을 지운다
+     */
+    public void resolve(int leaf) {
+        suspected.remove(leaf);
+    }
+
+    public void clear() {
+        suspected.clear();
+    }
+
+    public int getSuspectedCount() {
+        return suspected.size();
+    }
+
+    /**
+     * 확인된 부족분 (키워드 ID → 더할 카운트)
+     */
+    public static final class Repair {
+        private final Map<Long, Long> redisIncrements;
+        private final Map<Long, Long> databaseIncrements;
+
+        private Repair(Map<Long, Long> redisIncrements, Map<Long, Long> databaseIncrements) {
+            this.redisIncrements = redisIncrements;
+            this.databaseIncrements = databaseIncrements;
+        }
+
+        public Map<Long, Long> getRedisIncrements() {
+            return redisIncrements;
+        }
+
+        public Map<Long, Long> getDatabaseIncrements() {
+            return databaseIncrements;
+        }
+    }
+
+    private static final class Observation {
+        private final Map<Long, Long> redisCounts;
+        private final Map<Long, Long> databaseCounts;
+        private final long observedAt;
+
+        private Observation(Map<Long, Long> redisCounts, Map<Long, Long> databaseCounts, long observedAt) {
+            this.redisCounts = redisCounts;
+            this.databaseCounts = databaseCounts;
+            this.observedAt = observedAt;
+        }
+    }
+}
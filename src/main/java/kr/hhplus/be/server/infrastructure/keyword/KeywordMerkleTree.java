@@ -0,0 +1,160 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 키워드 ID 구간별 카운트 요약 해시 트리 (Merkle tree)
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 키워드 ID 를 leafWidth 개씩 묶은 구간을 잎으로 하는 16진 해시 트리
+ * - 잎 해시 = 구간 안 (키워드 ID, 카운트) 쌍 해시의 합 (순서 무관, 카운트 0 은 제외)
+ * - 잎 하나를 바꾸면 조상 노드만 다시 계산 (O(16 * 높이))
+ * - 두 트리 비교는 루트부터 서로 다른 자식으로만 내려가므로 차이 나는 잎 수에 비례
+ * 단일 스레드에서 사용 (검증 작업 전용)
+ */
+public class KeywordMerkleTree {
+
+    private static final int FANOUT = 16;
+
+    private final int leafWidth;
+    // levels[0] = 잎, levels[마지막] = 루트 (길이 1)
+    private long[][] levels;
+
+    public KeywordMerkleTree(int leafWidth, int leafCount) {
+        if (leafWidth < 1) {
+            throw new IllegalArgumentException("잎 구간 크기는 1 이상이어야 합니다: " + leafWidth);
+        }
+        this.leafWidth = leafWidth;
+        this.levels = build(new long[Math.max(1, leafCount)]);
+    }
+
+    public int getLeafWidth() {
+        return leafWidth;
+    }
+
+    public int getLeafCount() {
+        return levels[0].length;
+    }
+
+    public int leafOf(long keywordId) {
+        return (int) (keywordId / leafWidth);
+    }
+
+    public long firstKeywordId(int leaf) {
+        return (long) leaf * leafWidth;
+    }
+
+    public long lastKeywordId(int leaf) {
+        return (long) (leaf + 1) * leafWidth - 1;
+    }
+
+    /**
+     * 키워드 ID 가 늘어나면 잎을 늘린다 (기존 잎 해시는 유지)
+     */
+    public void ensureKeywordId(long keywordId) {
+        int required = leafOf(keywordId) + 1;
+        if (required > levels[0].length) {
+            levels = build(Arrays.copyOf(levels[0], Math.max(required, levels[0].length * 2)));
+        }
+    }
+
+    public long root() {
+        return levels[levels.length - 1][0];
+    }
+
+    public long getLeaf(int leaf) {
+        return levels[0][leaf];
+    }
+
+    public void setLeaf(int leaf, long digest) {
+        if (levels[0][leaf] == digest) {
+            return;
+        }
+        levels[0][leaf] = digest;
+
+        int index = leaf;
+        for (int level = 1; level < levels.length; level++) {
+            index /= FANOUT;
+            levels[level][index] = combine(levels[level - 1], index);
+        }
+    }
+
+    /**
+     * 두 트리에서 해시가 다른 잎 번호 (최대 limit 개)
+     */
+    public List<Integer> diff(KeywordMerkleTree other, int limit) {
+        if (other.leafWidth != leafWidth || other.levels[0].length != levels[0].length) {
+            throw new IllegalArgumentException("구조가 다른 트리는 비교할 수 없습니다.");
+        }
+
+        List<Integer> leaves = new ArrayList<>();
+        collectDiff(other, levels.length - 1, 0, leaves, limit);
+        return leaves;
+    }
+
+    /**
+     * 잎 해시 계산 - (키워드 ID, 카운트) 쌍 해시를 더해 누적
+     */
+    public static long entryDigest(long keywordId, long count) {
+        if (count == 0) {
+            return 0L;
+        }
+        return mix(mix(keywordId) ^ count);
+    }
+
+    private void collectDiff(KeywordMerkleTree other, int level, int index, List<Integer> leaves, int limit) {
+        if (leaves.size() >= limit || levels[level][index] == other.levels[level][index]) {
+            return;
+        }
+        if (level == 0) {
+            leaves.add(index);
+            return;
+        }
+
+        int from = index * FANOUT;
+        int to = Math.min(from + FANOUT, levels[level - 1].length);
+        for (int child = from; child < to; child++) {
+            collectDiff(other, level - 1, child, leaves, limit);
+        }
+    }
+
+    private static long[][] build(long[] leaves) {
+        List<long[]> built = new ArrayList<>();
+        built.add(leaves);
+        long[] current = leaves;
+        while (current.length > 1) {
+            long[] parent = new long[(current.length + FANOUT - 1) / FANOUT];
+            for (int i = 0; i < parent.length; i++) {
+                parent[i] = combine(current, i);
+            }
+            built.add(parent);
+            current = parent;
+        }
+        if (built.size() == 1) {
+            // 잎이 하나뿐이어도 루트를 따로 두어 setLeaf 경로를 단순하게 유지
+            built.add(new long[]{combine(leaves, 0)});
+        }
+        return built.toArray(new long[0][]);
+    }
+
+    private static long combine(long[] children, int parent) {
+        int from = parent * FANOUT;
+        int to = Math.min(from + FANOUT, children.length);
+        long hash = 0x84222325CBF29CE4L;
+        for (int i = from; i < to; i++) {
+            hash = mix(hash * 31 + children[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * splitmix64 finalizer
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,92 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 증가분 반영 기록에 쓰는 노드 식별자 (WAL 디렉터리에 보관해 재시작해도 유지)
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * 세대 번호는 노드마다 독립적으로 증가하므로 Redis / DB 반영 기록은 (노드 식별자, 세대) 로 구분한다
+ * 재시작 후 WAL 에서 다시 읽은 세대가 같은 기록을 찾으려면 식별자가 WAL 과 함께 유지되어야 한다
+ * - WAL 사용 시: WAL 디렉터리의 node-id 파일 값 (없으면 설정값, 설정도 없으면 새로 만들어 기록)
+ *   설정값이 파일 값과 다르면 기동 실패 - 다른 식별자로 재반영하면 이미 반영한 세대를 다시 더하게 된다
+ * - WAL 미사용 시: 재반영할 세대가 없으므로 설정값, 없으면 호스트 이름
+ * (컨테이너 재시작마다 바뀌는 HOSTNAME 을 기본값으로 쓰지 않는다)
+ */
+@Component
+public class KeywordNodeId {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordNodeId.class);
+
+    static final String NODE_ID_FILE = "node-id";
+
+    private final String value;
+
+    public KeywordNodeId(KeywordWriteAheadLog writeAheadLog,
+                         @Value("${keyword.ranking.redis.node-id:}") String configured) {
+        String trimmed = configured != null ? configured.trim() : "";
+        try {
+            this.value = writeAheadLog.isEnabled()
+                    ? resolvePersisted(writeAheadLog.getDirectory(), trimmed)
+                    : resolveTransient(trimmed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("노드 식별자 파일을 읽거나 기록하지 못했습니다: " + writeAheadLog.getDirectory(), e);
+        }
+    }
+
+    public String get() {
+        return value;
+    }
+
+    private static String resolvePersisted(Path directory, String configured) throws IOException {
+        Path file = directory.resolve(NODE_ID_FILE);
+        if (Files.exists(file)) {
+            String persisted = Files.readString(file, StandardCharsets.UTF_8).trim();
+            if (!configured.isEmpty() && !configured.equals(persisted)) {
+                throw new IllegalStateException(String.format(
+                        "keyword.ranking.redis.node-id(%s) 가 WAL 의 노드 식별자(%s)와 다릅니다. " +
+                                "WAL 이 모두 확정된 뒤 %s 파일을 지우거나 설정을 맞춰 주세요.",
+                        configured, persisted, file));
+            }
+            return persisted;
+        }
+
+        String created = configured.isEmpty() ? UUID.randomUUID().toString() : configured;
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(NODE_ID_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(created.getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("키워드 노드 식별자 생성: {} ({})", created, file);
+        return created;
+    }
+
+    private static String resolveTransient(String configured) {
+        if (!configured.isEmpty()) {
+            return configured;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("keyword.ranking.redis.node-id 설정이 필요합니다 (호스트 이름 확인 실패)", e);
+        }
+    }
+}
@@ -2,13 +2,53 @@ package kr.hhplus.be.server.infrastructure.keyword;
 
 // 공통 인터페이스
 
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface KeywordRanking {
+    // 일괄 조회에서 전체 랭킹을 나타내는 범위
+    String GLOBAL_SCOPE = "";
+
     void incrementKeywordCount(String keyword);
     void incrementKeywordCount(String keyword, String location);
+
+    /**
+     * delta 만큼 한 번에 증가 (샘플링된 이벤트처럼 여러 검색을 대표하는 기록)
+     */
+    void incrementKeywordCount(String keyword, String location, long delta);
+
     List<KeywordDto> getTopKeywords(int limit);
     List<KeywordDto> getTopKeywordsByLocation(String location, int limit);
     Long getKeywordCount(String keyword);
     boolean isAvailable();
+
+    /**
+     * 여러 범위(GLOBAL_SCOPE 또는 지역) 상위 키워드 일괄 조회
+     * 실패한 범위는 결과에서 빠진다 (호출자가 다른 저장소로 대체)
+     */
+    default Map<String, List<KeywordDto>> getTopKeywordsBatch(Collection<String> scopes, int limit) {
+        Map<String, List<KeywordDto>> results = new LinkedHashMap<>();
+        int failed = 0;
+        RuntimeException lastFailure = null;
+        for (String scope : scopes) {
+            try {
+                results.put(scope, GLOBAL_SCOPE.equals(scope)
+                        ? getTopKeywords(limit)
+                        : getTopKeywordsByLocation(scope, limit));
+            } catch (RuntimeException e) {
+                failed++;
+                lastFailure = e;
+            }
+        }
+        // 범위마다 남기지 않고 호출당 한 번만 기록
+        if (lastFailure != null) {
+            LoggerFactory.getLogger(getClass()).warn("상위 키워드 일괄 조회 일부 실패: failed={}/{}, error={}",
+                    failed, scopes.size(), lastFailure.getMessage());
+        }
+        return results;
+    }
 }
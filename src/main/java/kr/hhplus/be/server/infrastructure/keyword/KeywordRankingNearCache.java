@@ -0,0 +1,145 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 노드별 상위 키워드 근접 캐시 (Redis pub/sub 변경 알림으로 무효화)
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 범위(전체 / 지역)별 상위 depth 개 키워드를 노드 메모리에 보관
+ * - 다른 노드가 해당 범위의 상위권을 바꾸면 "버전:범위" 메시지가 오고, 그보다 오래된 항목은 stale 로 본다
+ * - stale 항목도 min-reload-interval 동안은 그대로 제공하고, 재적재는 한 스레드만 수행 (나머지는 기존 값 응답)
+ *   → 노드당 Redis 조회는 요청 수와 무관하게 범위 수 / min-reload-interval 이하
+ * - 메시지가 유실되더라도 ttl 이 지나면 다시 적재
+ * - 상위권 구성/순서는 그대로이고 카운트만 오른 경우에는 알림이 없으므로, 카운트는 최대 ttl 만큼 늦을 수 있다
+ */
+public class KeywordRankingNearCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // 범위 → 알림으로 받은 최신 버전
+    private final ConcurrentHashMap<String, Long> announcedVersions = new ConcurrentHashMap<>();
+
+    private final int depth;
+    private final long minReloadIntervalMs;
+    private final long ttlMs;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public KeywordRankingNearCache(int depth, long minReloadIntervalMs, long ttlMs, MeterRegistry meterRegistry) {
+        this.depth = depth;
+        this.minReloadIntervalMs = minReloadIntervalMs;
+        this.ttlMs = ttlMs;
+        this.hits = Counter.builder("keyword.redis.near-cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("keyword.redis.near-cache.misses")
+                .description("Redis 에서 다시 적재한 횟수")
+                .register(meterRegistry);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 캐시된 상위 키워드 중 limit 개 반환, 없거나 만료되었으면 loader 로 depth 개를 적재
+     */
+    public List<KeywordDto> get(String scope, int limit, Supplier<List<KeywordDto>> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(scope);
+
+        if (entry == null) {
+            entry = load(scope, loader, now);
+        } else if (needsReload(scope, entry, now) && entry.reloading.compareAndSet(false, true)) {
+            Entry previous = entry;
+            try {
+                entry = load(scope, loader, now);
+            } finally {
+                previous.reloading.set(false);
+            }
+        } else {
+            hits.increment();
+        }
+
+        return entry.keywords.size() <= limit ? entry.keywords : entry.keywords.subList(0, limit);
+    }
+
+    /**
+     * 재적재 없이 바로 줄 수 있는 항목만 반환 (없거나 재적재가 필요하면 null) - 일괄 조회용
+     */
+    public List<KeywordDto> getIfFresh(String scope, int limit) {
+        Entry entry = entries.get(scope);
+        if (entry == null || needsReload(scope, entry, System.currentTimeMillis())) {
+            return null;
+        }
+        hits.increment();
+        return entry.keywords.size() <= limit ? entry.keywords : entry.keywords.subList(0, limit);
+    }
+
+    /**
+     * 조회 전에 읽어 둔 버전 (일괄 조회 결과를 put 할 때 사용)
+     */
+    public long announcedVersion(String scope) {
+        return announcedVersions.getOrDefault(scope, 0L);
+    }
+
+    /**
+     * 외부에서 조회한 depth 개 결과 적재 - version 은 조회 전에 announcedVersion 으로 읽은 값
+     */
+    public void put(String scope, List<KeywordDto> keywords, long version) {
+        misses.increment();
+        entries.put(scope, new Entry(List.copyOf(keywords), version, System.currentTimeMillis()));
+    }
+
+    /**
+     * 변경 알림 수신 ("버전:범위", 전체 범위는 빈 문자열)
+     */
+    public void onChange(String message) {
+        int separator = message.indexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+
+        long version;
+        try {
+            version = Long.parseLong(message.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        announcedVersions.merge(message.substring(separator + 1), version, Math::max);
+    }
+
+    private boolean needsReload(String scope, Entry entry, long now) {
+        long age = now - entry.loadedAt;
+        if (age >= ttlMs) {
+            return true;
+        }
+        return age >= minReloadIntervalMs && announcedVersions.getOrDefault(scope, 0L) > entry.version;
+    }
+
+    private Entry load(String scope, Supplier<List<KeywordDto>> loader, long now) {
+        misses.increment();
+        // 조회 전에 버전을 읽어 두면 조회 도중 도착한 알림은 다음 요청에서 stale 로 처리된다
+        long version = announcedVersions.getOrDefault(scope, 0L);
+        Entry loaded = new Entry(List.copyOf(loader.get()), version, now);
+        entries.put(scope, loaded);
+        return loaded;
+    }
+
+    private static final class Entry {
+        private final List<KeywordDto> keywords;
+        private final long version;
+        private final long loadedAt;
+        private final AtomicBoolean reloading = new AtomicBoolean();
+
+        private Entry(List<KeywordDto> keywords, long version, long loadedAt) {
+            this.keywords = keywords;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
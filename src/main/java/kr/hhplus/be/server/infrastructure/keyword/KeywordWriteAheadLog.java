@@ -0,0 +1,573 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// Memory 티어 증가분의 append-only 로그 (그룹 커밋)
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Memory 티어 키워드 증가 WAL
+ * - 요청 스레드는 메모리 버퍼에 레코드를 쌓기만 하고, 기록 스레드가 주기적으로 모아서 write + fsync (그룹 커밋)
+ * - 세그먼트 파일이 일정 크기를 넘으면 새 세그먼트로 교체
+ * - 레코드: length(4) | crc32(4) | epoch(8) | keywordLength(2) | keyword | locationLength(2) | location | count(8)
+ * - 레코드마다 epoch(Memory 티어 세대 번호)를 남기고, Redis/DB 반영이 끝난 epoch 를 체크포인트하면
+ *   해당 epoch 이하 레코드만 담긴 세그먼트는 삭제하고 재생 시에도 건너뛴다
+ * - 체크포인트는 모든 저장소가 반영한 epoch 까지만 진행하므로, 저장소별 반영 위치는 applied-<저장소> 파일에 따로 남긴다
+ * - 기록(write/fsync)이 실패하면 세그먼트를 기록 전 크기로 잘라 내고 배치를 버퍼 앞에 되돌린다
+ *   (다음 기록에서 재시도, 실패는 checkpoint/close 호출자에게 예외로 전달)
+ * - 기록 실패가 이어져 버퍼가 max-pending-bytes 를 넘으면 새 레코드는 버리고 keyword.wal.dropped 로 센다
+ *   (카운트는 Memory 티어에 그대로 반영되고 재시작 복구만 빠진다, 버퍼는 되돌린 배치를 포함해 최대 2배)
+ */
+@Component
+public class KeywordWriteAheadLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordWriteAheadLog.class);
+
+    private static final String SEGMENT_PREFIX = "keyword-wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String APPLIED_FILE_PREFIX = "applied-";
+    private static final int HEADER_BYTES = 8;
+    // epoch(8) + keywordLength(2) + locationLength(2) + count(8)
+    private static final int MIN_PAYLOAD_BYTES = 20;
+    private static final int MAX_FIELD_BYTES = Short.MAX_VALUE;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final long flushIntervalMs;
+    private final long maxPendingBytes;
+    private final Counter droppedRecords;
+
+    // 요청 스레드가 채우는 버퍼와 기록 스레드가 비우는 버퍼를 교대로 사용
+    private final Object bufferLock = new Object();
+    private byte[] pending = new byte[64 * 1024];
+    private int pendingSize;
+    private long pendingMaxEpoch = Long.MIN_VALUE;
+    private byte[] spare = new byte[64 * 1024];
+    // 한도 초과로 레코드를 버리는 중인지, 그동안 버린 레코드 수 (bufferLock 안에서만 사용)
+    private boolean overflowing;
+    private long overflowDropped;
+
+    // 세그먼트 번호 → 세그먼트에 담긴 최대 epoch
+    private final TreeMap<Long, Long> segmentMaxEpochs = new TreeMap<>();
+    private final Object segmentLock = new Object();
+    private FileChannel segment;
+    private long segmentSequence;
+    private long segmentSize;
+    private long checkpointedEpoch = Long.MIN_VALUE;
+    private long firstWrittenSequence;
+
+    private final SegmentOpener segmentOpener;
+
+    private volatile boolean running;
+    private volatile boolean flushFailing;
+    private Thread writer;
+
+    @Autowired
+    public KeywordWriteAheadLog(@Value("${keyword.wal.enabled:false}") boolean enabled,
+                                @Value("${keyword.wal.directory:./data/wal}") String directory,
+                                @Value("${keyword.wal.segment-bytes:67108864}") long segmentBytes,
+                                @Value("${keyword.wal.flush-interval-ms:10}") long flushIntervalMs,
+                                @Value("${keyword.wal.max-pending-bytes:67108864}") long maxPendingBytes,
+                                MeterRegistry meterRegistry) {
+        this(enabled, directory, segmentBytes, flushIntervalMs, maxPendingBytes, meterRegistry,
+                KeywordWriteAheadLog::openChannel);
+    }
+
+    KeywordWriteAheadLog(boolean enabled, String directory, long segmentBytes, long flushIntervalMs,
+                         long maxPendingBytes, MeterRegistry meterRegistry, SegmentOpener segmentOpener) {
+        if (maxPendingBytes < 1 || maxPendingBytes > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("WAL 버퍼 한도가 허용 범위를 벗어났습니다: " + maxPendingBytes);
+        }
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPendingBytes = maxPendingBytes;
+        this.segmentOpener = segmentOpener;
+        this.droppedRecords = Counter.builder("keyword.wal.dropped")
+                .description("기록 실패로 버퍼 한도를 넘어 WAL 에 남기지 못한 레코드 수")
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long epoch, String keyword, String location, long count);
+    }
+
+    // 세그먼트 파일 열기 (테스트에서 기록 실패를 흉내 낼 때 교체)
+    @FunctionalInterface
+    interface SegmentOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        checkpointedEpoch = readEpochFile(CHECKPOINT_FILE);
+
+        long lastSequence = 0L;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                lastSequence = Math.max(lastSequence, sequenceOf(file));
+            }
+        }
+
+        // 이전 실행의 마지막 세그먼트는 꼬리가 잘려 있을 수 있으므로 이어 쓰지 않고 새 세그먼트를 연다
+        firstWrittenSequence = lastSequence + 1;
+        openSegment(firstWrittenSequence);
+
+        running = true;
+        writer = new Thread(this::writeLoop, "keyword-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 증가분 기록 - 버퍼에 복사만 하고 반환 (fsync 는 기록 스레드가 묶어서 수행)
+     */
+    public void append(long epoch, String keyword, String location, long count) {
+        if (!enabled) {
+            return;
+        }
+
+        byte[] keywordBytes = keyword.getBytes(StandardCharsets.UTF_8);
+        byte[] locationBytes = location != null ? location.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (keywordBytes.length > MAX_FIELD_BYTES || locationBytes.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException("WAL 레코드 크기 초과: " + keyword);
+        }
+
+        int payloadLength = 8 + 2 + keywordBytes.length + 2 + locationBytes.length + 8;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payloadLength);
+        record.putInt(payloadLength);
+        record.putInt(0);
+        record.putLong(epoch);
+        record.putShort((short) keywordBytes.length);
+        record.put(keywordBytes);
+        record.putShort((short) locationBytes.length);
+        record.put(locationBytes);
+        record.putLong(count);
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), HEADER_BYTES, payloadLength);
+        record.putInt(4, (int) crc.getValue());
+
+        synchronized (bufferLock) {
+            if (pendingSize + record.capacity() > maxPendingBytes) {
+                droppedRecords.increment();
+                overflowDropped++;
+                if (!overflowing) {
+                    overflowing = true;
+                    logger.error("키워드 WAL 버퍼 한도 초과, 기록이 복구될 때까지 새 레코드를 버림: pendingBytes={}, maxPendingBytes={}",
+                            pendingSize, maxPendingBytes);
+                }
+                return;
+            }
+            if (pendingSize + record.capacity() > pending.length) {
+                pending = Arrays.copyOf(pending,
+                        (int) Math.min(maxPendingBytes, Math.max(pending.length * 2L, pendingSize + record.capacity())));
+            }
+            System.arraycopy(record.array(), 0, pending, pendingSize, record.capacity());
+            pendingSize += record.capacity();
+            pendingMaxEpoch = Math.max(pendingMaxEpoch, epoch);
+        }
+    }
+
+    /**
+     * 체크포인트 이후의 레코드를 순서대로 재생 (부팅 시 1회, append 이전에 호출)
+     * CRC 가 맞지 않거나 잘린 레코드를 만나면 해당 세그먼트의 나머지는 버린다
+     */
+    public void replay(RecordConsumer consumer) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                long sequence = sequenceOf(file);
+                if (sequence < firstWrittenSequence) {
+                    segments.put(sequence, file);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+            long maxEpoch = readSegment(entry.getValue(), checkpointedEpoch, Long.MAX_VALUE, consumer);
+            synchronized (segmentLock) {
+                segmentMaxEpochs.put(entry.getKey(), maxEpoch);
+            }
+        }
+    }
+
+    /**
+     * 실행 중에 afterEpoch 초과 throughEpoch 이하 레코드를 세그먼트 순서대로 다시 읽음 (체크포인트 이하는 제외)
+     * 버퍼에 남은 레코드를 먼저 기록하고, 읽는 동안 세그먼트 교체/삭제는 멈춘다
+     */
+    public void read(long afterEpoch, long throughEpoch, RecordConsumer consumer) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        flushPending();
+
+        synchronized (segmentLock) {
+            long from = Math.max(afterEpoch, checkpointedEpoch);
+            TreeMap<Long, Path> segments = new TreeMap<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    long sequence = sequenceOf(file);
+                    Long maxEpoch = segmentMaxEpochs.get(sequence);
+                    if (maxEpoch == null || maxEpoch > from) {
+                        segments.put(sequence, file);
+                    }
+                }
+            }
+            for (Path file : segments.values()) {
+                readSegment(file, from, throughEpoch, consumer);
+            }
+        }
+    }
+
+    /**
+     * 기록 주기를 기다리지 않고 버퍼를 바로 write + fsync
+     */
+    public void flush() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flushPending();
+    }
+
+    /**
+     * epoch 이하의 증가분이 Redis/DB 에 반영되었음을 기록하고, 더 이상 필요 없는 세그먼트를 삭제
+     */
+    public void checkpoint(long epoch) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        flushPending();
+
+        synchronized (segmentLock) {
+            if (epoch <= checkpointedEpoch) {
+                return;
+            }
+            writeEpochFile(CHECKPOINT_FILE, epoch);
+            checkpointedEpoch = epoch;
+
+            Long currentMax = segmentMaxEpochs.get(segmentSequence);
+            if (segmentSize > 0 && currentMax != null && currentMax <= epoch) {
+                rotate();
+            }
+
+            Iterator<Map.Entry<Long, Long>> iterator = segmentMaxEpochs.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, Long> entry = iterator.next();
+                if (entry.getKey() != segmentSequence && entry.getValue() <= epoch) {
+                    Files.deleteIfExists(segmentPath(entry.getKey()));
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 상위 저장소 하나가 epoch 이하 레코드를 모두 반영했음을 기록
+     * 체크포인트는 모든 저장소가 반영한 epoch 까지만 진행하므로, 재시작 시 그 사이 레코드를 저장소별로 구분하는 데 사용
+     */
+    public void markApplied(String sink, long epoch) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        writeEpochFile(APPLIED_FILE_PREFIX + sink, epoch);
+    }
+
+    /**
+     * 버퍼 한도 초과로 버린 레코드 수 (누적)
+     */
+    public long getDroppedRecords() {
+        return (long) droppedRecords.count();
+    }
+
+    public long readApplied(String sink) throws IOException {
+        if (!enabled) {
+            return Long.MIN_VALUE;
+        }
+        return readEpochFile(APPLIED_FILE_PREFIX + sink);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled || !running) {
+            return;
+        }
+
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flushPending();
+        } finally {
+            synchronized (segmentLock) {
+                segment.close();
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            }
+
+            try {
+                flushPending();
+            } catch (IOException e) {
+                // 실패가 이어지는 동안에는 처음과 복구 시점만 기록 (배치는 버퍼에 남아 다음 주기에 재시도)
+                if (!flushFailing) {
+                    flushFailing = true;
+                    logger.error("키워드 WAL 기록 실패, 버퍼에 보관 후 재시도: {}", e.getMessage());
+                }
+                continue;
+            }
+            if (flushFailing) {
+                flushFailing = false;
+                logger.info("키워드 WAL 기록 복구");
+            }
+        }
+    }
+
+    /**
+     * 버퍼를 교체한 뒤 버퍼 잠금 밖에서 한 번에 write + fsync
+     * 실패하면 기록 전 상태(세그먼트 크기, 버퍼 내용과 순서)로 되돌리고 예외를 그대로 던진다
+     */
+    private void flushPending() throws IOException {
+        synchronized (segmentLock) {
+            byte[] batch;
+            int size;
+            long maxEpoch;
+            synchronized (bufferLock) {
+                if (pendingSize == 0) {
+                    return;
+                }
+                batch = pending;
+                size = pendingSize;
+                maxEpoch = pendingMaxEpoch;
+                pending = spare;
+                pendingSize = 0;
+                pendingMaxEpoch = Long.MIN_VALUE;
+            }
+
+            long sizeBeforeWrite = segmentSize;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch, 0, size);
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer);
+                }
+                segment.force(false);
+            } catch (IOException e) {
+                discardTornTail(sizeBeforeWrite);
+                restorePending(batch, size, maxEpoch);
+                throw e;
+            }
+            segmentSize += size;
+            segmentMaxEpochs.merge(segmentSequence, maxEpoch, Math::max);
+            spare = batch;
+            endOverflow();
+
+            if (segmentSize >= segmentBytes) {
+                rotate();
+            }
+        }
+    }
+
+    /**
+     * 기록이 다시 성공하면 레코드 버리기를 멈추고 그동안 버린 수를 남긴다
+     */
+    private void endOverflow() {
+        long dropped;
+        synchronized (bufferLock) {
+            if (!overflowing) {
+                return;
+            }
+            overflowing = false;
+            dropped = overflowDropped;
+            overflowDropped = 0;
+        }
+        logger.warn("키워드 WAL 버퍼 한도 초과 해소: 버린 레코드 {}건 (재시작 시 해당 증가분은 복구되지 않음)", dropped);
+    }
+
+    /**
+     * 기록하지 못한 배치를 그 사이 쌓인 레코드 앞에 다시 붙인다 (레코드 순서 유지)
+     * 교체로 들어온 버퍼는 다시 예비 버퍼가 되어 pending 과 spare 가 같은 배열을 가리키지 않는다
+     */
+    private void restorePending(byte[] batch, int size, long maxEpoch) {
+        synchronized (bufferLock) {
+            byte[] merged = batch.length >= size + pendingSize
+                    ? batch
+                    : Arrays.copyOf(batch, size + pendingSize);
+            System.arraycopy(pending, 0, merged, size, pendingSize);
+            spare = pending;
+            pending = merged;
+            pendingSize += size;
+            pendingMaxEpoch = Math.max(pendingMaxEpoch, maxEpoch);
+        }
+    }
+
+    /**
+     * 부분 기록으로 남은 잘린 레코드 제거 - 잘라 내지 못하면 이후 레코드가 잘린 레코드 뒤에 붙어
+     * 재생 시 함께 버려지지 않도록 새 세그먼트로 넘어간다
+     * (이 경우 잘린 지점 앞의 완전한 레코드는 재생 시 재시도분과 중복될 수 있다)
+     */
+    private void discardTornTail(long validSize) {
+        try {
+            if (segment.size() > validSize) {
+                segment.truncate(validSize);
+                segment.force(false);
+            }
+        } catch (IOException truncateFailure) {
+            logger.error("키워드 WAL 잘린 레코드 제거 실패, 새 세그먼트로 교체: segment={}, error={}",
+                    segmentSequence, truncateFailure.getMessage());
+            try {
+                rotate();
+            } catch (IOException rotateFailure) {
+                logger.error("키워드 WAL 세그먼트 교체 실패: {}", rotateFailure.getMessage());
+            }
+        }
+    }
+
+    private long readSegment(Path file, long afterEpoch, long throughEpoch, RecordConsumer consumer) throws IOException {
+        long maxEpoch = Long.MIN_VALUE;
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 crc = new CRC32();
+
+        while (data.remaining() >= HEADER_BYTES) {
+            int payloadLength = data.getInt();
+            int expectedCrc = data.getInt();
+            if (payloadLength < MIN_PAYLOAD_BYTES || payloadLength > data.remaining()) {
+                break;
+            }
+
+            int payloadEnd = data.position() + payloadLength;
+            crc.reset();
+            crc.update(data.array(), data.position(), payloadLength);
+            if ((int) crc.getValue() != expectedCrc) {
+                logger.warn("키워드 WAL 손상 레코드 발견, 세그먼트 나머지 무시: {}", file);
+                break;
+            }
+
+            long epoch = data.getLong();
+            String keyword = readString(data);
+            String location = readString(data);
+            if (payloadEnd - data.position() != 8) {
+                logger.warn("키워드 WAL 레코드 길이 불일치, 세그먼트 나머지 무시: {}", file);
+                break;
+            }
+            long count = data.getLong();
+            maxEpoch = Math.max(maxEpoch, epoch);
+
+            if (epoch > afterEpoch && epoch <= throughEpoch) {
+                consumer.accept(epoch, keyword, location.isEmpty() ? null : location, count);
+            }
+        }
+        return maxEpoch;
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = data.getShort();
+        String value = new String(data.array(), data.position(), length, StandardCharsets.UTF_8);
+        data.position(data.position() + length);
+        return value;
+    }
+
+    private void rotate() throws IOException {
+        try {
+            segment.close();
+        } finally {
+            openSegment(segmentSequence + 1);
+        }
+    }
+
+    private void openSegment(long sequence) throws IOException {
+        segment = segmentOpener.open(segmentPath(sequence));
+        segmentSequence = sequence;
+        segmentSize = segment.size();
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private long readEpochFile(String name) throws IOException {
+        Path file = directory.resolve(name);
+        if (!Files.exists(file)) {
+            return Long.MIN_VALUE;
+        }
+        return Long.parseLong(Files.readString(file).trim());
+    }
+
+    private void writeEpochFile(String name, long epoch) throws IOException {
+        Path temp = directory.resolve(name + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(epoch).getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(name),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,671 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 메모리 매핑 파일 기반 Fallback 구현 (재시작 후에도 카운트 유지)
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 레이아웃 해시 테이블을 메모리 매핑 파일에 두는 Memory 티어
+ * - 카운터는 힙이 아닌 페이지 캐시에 있어 키워드 수가 늘어도 GC 부담이 없다
+ * - 재시작 시 파일을 다시 매핑하면 재생(replay) 없이 바로 랭킹을 제공한다
+ * - 슬롯 점유/카운트 증가는 VarHandle CAS / getAndAdd
+ * - 상위 키워드는 스코프별 TopKeywordTracker(슬롯 번호 기준)로 조회하고, 용량보다 큰 limit 만 전체 슬롯을 훑는다
+ *
+ * 증가분 세대 (KeywordDeltaSource)
+ * - 증가한 슬롯은 dirty 비트맵에 표시하고, drainDelta 는 비트맵만 훑어 직전 drain 이후 늘어난 만큼을 세대로 반환
+ * - 슬롯마다 저장소(Redis/Database)별 반영 카운트를 파일에 기록하므로, 재시작하면
+ *   (반영 카운트 ~ 현재 카운트) 차이를 복구 세대로 만들어 아직 반영하지 않은 저장소에만 다시 반영한다
+ * - WAL 이 없어 세대를 원래 모습대로 다시 만들 수는 없다 (isReloadable = false, 복구 세대는 새 세대 번호)
+ *   Redis 에 청크 일부만 반영된 채 종료되면 그 세대의 반영된 청크가 복구 시 한 번 더 더해질 수 있다
+ *
+ * 파일 레이아웃 (version 2)
+ * - 헤더 (64 bytes): magic(8) | version(4) | slotSize(4) | capacity(4) | (4)
+ *                    | redisAppliedEpoch(8) | databaseAppliedEpoch(8) | lastEpoch(8)
+ * - 슬롯 (160 bytes): state(8) | count(8) | redisApplied(8) | databaseApplied(8)
+ *                    | keyLength(2) | key(126, UTF-8 "지역\0키워드")
+ *   state: 0 = 빈 슬롯, 1 = 점유 중, 그 외 = 키 해시 (점유 완료)
+ */
+@Component("memoryKeywordRanking")
+@ConditionalOnProperty(name = "keyword.ranking.memory.mode", havingValue = "mapped")
+public class MappedKeywordRankingImpl implements KeywordRanking, KeywordDeltaSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedKeywordRankingImpl.class);
+
+    private static final long MAGIC = 0x4B57524B4D415031L; // "KWRKMAP1"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int APPLIED_EPOCH_OFFSET = 24;
+    private static final int LAST_EPOCH_OFFSET = 40;
+
+    private static final int SLOT_SIZE = 160;
+    private static final int STATE_OFFSET = 0;
+    private static final int COUNT_OFFSET = 8;
+    private static final int APPLIED_OFFSET = 16;
+    private static final int KEY_LENGTH_OFFSET = 32;
+    private static final int KEY_OFFSET = 34;
+    private static final int MAX_KEY_BYTES = SLOT_SIZE - KEY_OFFSET;
+
+    // 반영 카운트/위치를 기록하는 저장소 (TieredKeywordRanking.Tier 코드)
+    private static final String[] SINKS = {"redis", "database"};
+
+    private static final long EMPTY = 0L;
+    private static final long CLAIMING = 1L;
+    private static final byte SCOPE_SEPARATOR = 0;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path path;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private final int topKCapacity;
+    private final TopKeywordTracker globalTopKeywords;
+    private final ConcurrentHashMap<String, TopKeywordTracker> locationTopKeywords = new ConcurrentHashMap<>();
+
+    // 직전 drain 이후 증가한 슬롯 (슬롯당 1비트)
+    private final AtomicLongArray dirtySlots;
+
+    // 아래 상태는 drainLock 안에서만 사용
+    private final Object drainLock = new Object();
+    // 슬롯별로 세대에 담아 내보낸 카운트
+    private final long[] drained;
+    // 아직 모든 저장소가 반영하지 않은 세대 (오래된 순)
+    private final ArrayDeque<DrainedGeneration> generations = new ArrayDeque<>();
+    // 재시작 시 만든 복구 세대 (reloadDeltas 로 전달)
+    private final List<KeywordCountDelta> recoveredDeltas = new ArrayList<>();
+    private final long[] markedEpochs = new long[SINKS.length];
+    private long lastEpoch;
+    private long recoveredEpoch = Long.MIN_VALUE;
+
+    public MappedKeywordRankingImpl(@Value("${keyword.ranking.mapped.path:./data/keyword-ranking.dat}") String path,
+                                    @Value("${keyword.ranking.mapped.capacity:262144}") int capacity,
+                                    @Value("${keyword.ranking.memory.top-k-capacity:100}") int topKCapacity) {
+        if (capacity < 1 || (long) capacity * SLOT_SIZE + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("매핑 파일 슬롯 수가 허용 범위를 벗어났습니다: " + capacity);
+        }
+        this.path = Paths.get(path);
+        this.capacity = capacity;
+        this.topKCapacity = topKCapacity;
+        this.globalTopKeywords = new TopKeywordTracker(topKCapacity, this::countAt);
+        this.dirtySlots = new AtomicLongArray((capacity + 63) >>> 6);
+        this.drained = new long[capacity];
+
+        try {
+            if (this.path.getParent() != null) {
+                Files.createDirectories(this.path.getParent());
+            }
+            this.channel = FileChannel.open(this.path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+            this.buffer.order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            throw new IllegalStateException("키워드 카운터 파일 매핑 실패: " + path, e);
+        }
+
+        initializeOrVerifyHeader();
+        recoverUnappliedCounts();
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword) {
+        incrementKeywordCount(keyword, null, 1);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location) {
+        incrementKeywordCount(keyword, location, 1);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location, long delta) {
+        increment(null, keyword, delta);
+
+        if (location != null && !location.trim().isEmpty()) {
+            increment(location, keyword, delta);
+        }
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywords(int limit) {
+        List<KeywordDto> tracked = globalTopKeywords.getTop(limit, slot -> decodeKeyword(slotOffset(slot), 0));
+        return tracked != null ? tracked : scanTop(null, limit);
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
+        TopKeywordTracker tracker = locationTopKeywords.get(location);
+        if (tracker == null) {
+            return Collections.emptyList();
+        }
+        int scopeLength = location.getBytes(StandardCharsets.UTF_8).length;
+        List<KeywordDto> tracked = tracker.getTop(limit, slot -> decodeKeyword(slotOffset(slot), scopeLength));
+        return tracked != null ? tracked : scanTop(location, limit);
+    }
+
+    @Override
+    public Long getKeywordCount(String keyword) {
+        byte[] key = encodeKey(null, keyword);
+        int slot = findSlot(key, hash(key), false);
+        return slot >= 0 ? countAt(slot) : 0L;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * 세대 교체 - 직전 drain 이후 증가한 슬롯(dirty 비트맵)만 읽어 증가분을 반환
+     * 비트를 지운 뒤 카운트를 읽으므로, 그 사이 증가한 카운트는 이번 세대에 담기거나 다음 세대에 담긴다
+     */
+    @Override
+    public KeywordCountDelta drainDelta() {
+        synchronized (drainLock) {
+            long epoch = nextEpoch();
+            Map<String, Long> globalCounts = new HashMap<>();
+            Map<String, Map<String, Long>> locationCounts = new HashMap<>();
+            DrainedGeneration generation = new DrainedGeneration(epoch);
+
+            for (int word = 0; word < dirtySlots.length(); word++) {
+                if (dirtySlots.get(word) == 0L) {
+                    continue;
+                }
+                long bits = dirtySlots.getAndSet(word, 0L);
+                while (bits != 0L) {
+                    int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+
+                    long count = countAt(slot);
+                    long delta = count - drained[slot];
+                    if (delta <= 0) {
+                        continue;
+                    }
+                    drained[slot] = count;
+                    generation.add(slot, count);
+                    addToDelta(slotOffset(slot), delta, globalCounts, locationCounts);
+                }
+            }
+
+            buffer.putLong(LAST_EPOCH_OFFSET, epoch);
+            if (generation.size > 0) {
+                generations.addLast(generation);
+            }
+            return new KeywordCountDelta(epoch, globalCounts, locationCounts);
+        }
+    }
+
+    /**
+     * 모든 저장소가 epoch 이하 세대를 반영 - 두 저장소의 반영 카운트를 함께 올린다
+     */
+    @Override
+    public void commitEpoch(long epoch) {
+        synchronized (drainLock) {
+            for (int sink = 0; sink < SINKS.length; sink++) {
+                recordApplied(sink, epoch);
+            }
+            releaseSettledGenerations();
+        }
+    }
+
+    @Override
+    public void markApplied(String sink, long epoch) {
+        synchronized (drainLock) {
+            recordApplied(sinkIndex(sink), epoch);
+            releaseSettledGenerations();
+        }
+    }
+
+    /**
+     * 재시작 직후 기준의 저장소별 반영 위치 - 복구 세대 중 그 저장소가 받아야 할 세대 바로 앞
+     */
+    @Override
+    public long getAppliedEpoch(String sink) {
+        synchronized (drainLock) {
+            return markedEpochs[sinkIndex(sink)];
+        }
+    }
+
+    @Override
+    public long getRecoveredEpoch() {
+        synchronized (drainLock) {
+            return recoveredEpoch;
+        }
+    }
+
+    @Override
+    public boolean isReloadable() {
+        return false;
+    }
+
+    /**
+     * 재시작 시 만든 복구 세대만 다시 읽을 수 있다 (그 외 세대는 TieredKeywordRanking 이 메모리에 보류)
+     */
+    @Override
+    public List<KeywordCountDelta> reloadDeltas(long afterEpoch, long throughEpoch, int limit) {
+        synchronized (drainLock) {
+            List<KeywordCountDelta> deltas = new ArrayList<>();
+            for (KeywordCountDelta delta : recoveredDeltas) {
+                if (delta.getEpoch() > afterEpoch && delta.getEpoch() <= throughEpoch && deltas.size() < limit) {
+                    deltas.add(delta);
+                }
+            }
+            return deltas;
+        }
+    }
+
+    /**
+     * 페이지 캐시의 변경분을 디스크로 주기적으로 반영
+     */
+    @Scheduled(fixedDelayString = "${keyword.ranking.mapped.force-interval-ms:1000}")
+    public void force() {
+        buffer.force();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void increment(String location, String keyword, long delta) {
+        byte[] key = encodeKey(location, keyword);
+        int slot = findSlot(key, hash(key), true);
+        long count = (long) LONGS.getAndAdd(buffer, slotOffset(slot) + COUNT_OFFSET, delta) + delta;
+        markDirty(slot);
+        topKeywords(location).onIncrement(slot, count);
+    }
+
+    private TopKeywordTracker topKeywords(String location) {
+        if (location == null) {
+            return globalTopKeywords;
+        }
+        return locationTopKeywords.computeIfAbsent(location, l -> new TopKeywordTracker(topKCapacity, this::countAt));
+    }
+
+    private void markDirty(int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        if ((dirtySlots.get(word) & bit) == 0L) {
+            dirtySlots.getAndAccumulate(word, bit, (current, mask) -> current | mask);
+        }
+    }
+
+    private long countAt(int slot) {
+        return (long) LONGS.getVolatile(buffer, slotOffset(slot) + COUNT_OFFSET);
+    }
+
+    private long nextEpoch() {
+        lastEpoch = Math.max(lastEpoch + 1, System.currentTimeMillis());
+        return lastEpoch;
+    }
+
+    // drainLock 안에서 호출
+    private void recordApplied(int sink, long epoch) {
+        if (epoch <= markedEpochs[sink]) {
+            return;
+        }
+        int markOffset = APPLIED_OFFSET + sink * 8;
+        for (DrainedGeneration generation : generations) {
+            if (generation.epoch > epoch) {
+                break;
+            }
+            if (generation.epoch <= markedEpochs[sink]) {
+                continue;
+            }
+            for (int i = 0; i < generation.size; i++) {
+                int offset = slotOffset(generation.slots[i]) + markOffset;
+                if (buffer.getLong(offset) < generation.counts[i]) {
+                    buffer.putLong(offset, generation.counts[i]);
+                }
+            }
+        }
+        markedEpochs[sink] = epoch;
+        buffer.putLong(APPLIED_EPOCH_OFFSET + sink * 8, epoch);
+    }
+
+    // drainLock 안에서 호출
+    private void releaseSettledGenerations() {
+        long settled = Long.MAX_VALUE;
+        for (long marked : markedEpochs) {
+            settled = Math.min(settled, marked);
+        }
+        while (!generations.isEmpty() && generations.peekFirst().epoch <= settled) {
+            generations.pollFirst();
+        }
+        long settledEpoch = settled;
+        recoveredDeltas.removeIf(delta -> delta.getEpoch() <= settledEpoch);
+    }
+
+    /**
+     * 재시작 시 저장소별 반영 카운트보다 늘어난 카운트를 복구 세대로 만든다
+     * 반영 위치가 뒤처진 저장소만 받는 세대(두 반영 카운트의 차이)와 두 저장소 모두 받는 세대(현재 카운트까지)로 나눈다
+     * 함께 Top-K 후보와 drain 기준 카운트도 채운다
+     */
+    private void recoverUnappliedCounts() {
+        long[] appliedEpochs = {buffer.getLong(APPLIED_EPOCH_OFFSET), buffer.getLong(APPLIED_EPOCH_OFFSET + 8)};
+        int leading = appliedEpochs[0] >= appliedEpochs[1] ? 0 : 1;
+        int lagging = 1 - leading;
+
+        lastEpoch = buffer.getLong(LAST_EPOCH_OFFSET);
+        long laggingEpoch = nextEpoch();
+        long sharedEpoch = nextEpoch();
+        DrainedGeneration laggingGeneration = new DrainedGeneration(laggingEpoch);
+        DrainedGeneration sharedGeneration = new DrainedGeneration(sharedEpoch);
+        Map<String, Long> laggingGlobal = new HashMap<>();
+        Map<String, Map<String, Long>> laggingLocations = new HashMap<>();
+        Map<String, Long> sharedGlobal = new HashMap<>();
+        Map<String, Map<String, Long>> sharedLocations = new HashMap<>();
+
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = slotOffset(slot);
+            long state = (long) LONGS.getAcquire(buffer, offset + STATE_OFFSET);
+            if (state == EMPTY || state == CLAIMING) {
+                continue;
+            }
+            long count = countAt(slot);
+            long leadingApplied = Math.min(buffer.getLong(offset + APPLIED_OFFSET + leading * 8), count);
+            long laggingApplied = Math.min(buffer.getLong(offset + APPLIED_OFFSET + lagging * 8), leadingApplied);
+
+            if (leadingApplied > laggingApplied) {
+                laggingGeneration.add(slot, leadingApplied);
+                addToDelta(offset, leadingApplied - laggingApplied, laggingGlobal, laggingLocations);
+            }
+            if (count > leadingApplied) {
+                sharedGeneration.add(slot, count);
+                addToDelta(offset, count - leadingApplied, sharedGlobal, sharedLocations);
+            }
+            drained[slot] = count;
+
+            int scopeLength = scopeLength(offset);
+            String location = scopeLength > 0 ? decodeScope(offset, scopeLength) : null;
+            topKeywords(location).onIncrement(slot, count);
+        }
+
+        // 뒤처진 저장소는 두 세대를, 앞선 저장소는 공통 세대만 받도록 반영 위치를 맞춘다
+        markedEpochs[leading] = laggingEpoch;
+        markedEpochs[lagging] = laggingGeneration.size > 0 ? laggingEpoch - 1 : laggingEpoch;
+        if (laggingGeneration.size > 0) {
+            generations.addLast(laggingGeneration);
+            recoveredDeltas.add(new KeywordCountDelta(laggingEpoch, laggingGlobal, laggingLocations));
+            recoveredEpoch = laggingEpoch;
+        }
+        if (sharedGeneration.size > 0) {
+            generations.addLast(sharedGeneration);
+            recoveredDeltas.add(new KeywordCountDelta(sharedEpoch, sharedGlobal, sharedLocations));
+            recoveredEpoch = sharedEpoch;
+        }
+        buffer.putLong(LAST_EPOCH_OFFSET, lastEpoch);
+
+        if (recoveredEpoch != Long.MIN_VALUE) {
+            logger.info("키워드 카운터 파일 미반영 카운트 복구: {}={} 슬롯, 공통={} 슬롯",
+                    SINKS[lagging], laggingGeneration.size, sharedGeneration.size);
+        }
+    }
+
+    /**
+     * 선형 탐사로 키 슬롯 탐색, create 이면 빈 슬롯을 CAS 로 점유
+     * 없으면 -1
+     */
+    private int findSlot(byte[] key, long tag, boolean create) {
+        int slot = (int) Math.floorMod(tag, (long) capacity);
+        for (int probe = 0; probe < capacity; probe++) {
+            int offset = slotOffset(slot);
+            long state = (long) LONGS.getAcquire(buffer, offset + STATE_OFFSET);
+
+            if (state == EMPTY) {
+                if (!create) {
+                    return -1;
+                }
+                if (LONGS.compareAndSet(buffer, offset + STATE_OFFSET, EMPTY, CLAIMING)) {
+                    writeKey(offset, key);
+                    LONGS.setRelease(buffer, offset + STATE_OFFSET, tag);
+                    return slot;
+                }
+                state = (long) LONGS.getAcquire(buffer, offset + STATE_OFFSET);
+            }
+
+            while (state == CLAIMING) {
+                Thread.onSpinWait();
+                state = (long) LONGS.getAcquire(buffer, offset + STATE_OFFSET);
+            }
+
+            if (state == tag && keyEquals(offset, key)) {
+                return slot;
+            }
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+
+        if (create) {
+            throw new IllegalStateException("키워드 카운터 파일 슬롯이 가득 찼습니다: " + path);
+        }
+        return -1;
+    }
+
+    /**
+     * 전체 슬롯을 훑는 상위 키워드 조회 - limit 이 Top-K 후보 용량보다 클 때만 사용
+     */
+    private List<KeywordDto> scanTop(String location, int limit) {
+        byte[] scope = location != null ? location.getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+        // 슬롯 번호와 카운트만 담는 limit 크기의 최소 힙 (키워드 수에 비례하는 힙 사용 없음)
+        PriorityQueue<long[]> heap = new PriorityQueue<>(limit + 1, (a, b) -> Long.compare(a[1], b[1]));
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = slotOffset(slot);
+            long state = (long) LONGS.getAcquire(buffer, offset + STATE_OFFSET);
+            if (state == EMPTY || state == CLAIMING || !inScope(offset, scope)) {
+                continue;
+            }
+
+            long count = (long) LONGS.getVolatile(buffer, offset + COUNT_OFFSET);
+            if (heap.size() < limit) {
+                heap.offer(new long[]{slot, count});
+            } else if (heap.peek()[1] < count) {
+                heap.poll();
+                heap.offer(new long[]{slot, count});
+            }
+        }
+
+        if (heap.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<KeywordDto> result = new ArrayList<>(heap.size());
+        for (long[] entry : heap) {
+            result.add(new KeywordDto(decodeKeyword(slotOffset((int) entry[0]), scope.length), entry[1]));
+        }
+        result.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return result;
+    }
+
+    private void initializeOrVerifyHeader() {
+        long magic = buffer.getLong(0);
+        if (magic == 0L) {
+            buffer.putInt(8, VERSION);
+            buffer.putInt(12, SLOT_SIZE);
+            buffer.putInt(16, capacity);
+            for (int sink = 0; sink < SINKS.length; sink++) {
+                buffer.putLong(APPLIED_EPOCH_OFFSET + sink * 8, Long.MIN_VALUE);
+            }
+            buffer.putLong(LAST_EPOCH_OFFSET, 0L);
+            buffer.putLong(0, MAGIC);
+            buffer.force();
+            return;
+        }
+
+        if (magic != MAGIC || buffer.getInt(8) != VERSION
+                || buffer.getInt(12) != SLOT_SIZE || buffer.getInt(16) != capacity) {
+            throw new IllegalStateException("키워드 카운터 파일 형식이 현재 설정과 다릅니다: " + path);
+        }
+
+        // 점유 도중 종료된 슬롯은 카운트가 없고 뒤따르는 탐사도 없었으므로 빈 슬롯으로 되돌린다
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = slotOffset(slot);
+            LONGS.compareAndSet(buffer, offset + STATE_OFFSET, CLAIMING, EMPTY);
+        }
+    }
+
+    private static int sinkIndex(String sink) {
+        for (int i = 0; i < SINKS.length; i++) {
+            if (SINKS[i].equals(sink)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("반영 위치를 기록할 수 없는 저장소입니다: " + sink);
+    }
+
+    private byte[] encodeKey(String location, String keyword) {
+        byte[] scope = location != null ? location.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] word = keyword.getBytes(StandardCharsets.UTF_8);
+        int length = scope.length + 1 + word.length;
+        if (length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("키워드가 매핑 파일 슬롯 크기를 초과합니다: " + keyword);
+        }
+
+        byte[] key = new byte[length];
+        System.arraycopy(scope, 0, key, 0, scope.length);
+        key[scope.length] = SCOPE_SEPARATOR;
+        System.arraycopy(word, 0, key, scope.length + 1, word.length);
+        return key;
+    }
+
+    private void writeKey(int offset, byte[] key) {
+        buffer.putShort(offset + KEY_LENGTH_OFFSET, (short) key.length);
+        buffer.put(offset + KEY_OFFSET, key);
+    }
+
+    private boolean keyEquals(int offset, byte[] key) {
+        if (buffer.getShort(offset + KEY_LENGTH_OFFSET) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(offset + KEY_OFFSET + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean inScope(int offset, byte[] scope) {
+        int keyLength = buffer.getShort(offset + KEY_LENGTH_OFFSET);
+        if (keyLength <= scope.length || buffer.get(offset + KEY_OFFSET + scope.length) != SCOPE_SEPARATOR) {
+            return false;
+        }
+        for (int i = 0; i < scope.length; i++) {
+            if (buffer.get(offset + KEY_OFFSET + i) != scope[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 키 안의 지역 바이트 수 (전체 스코프면 0)
+     */
+    private int scopeLength(int offset) {
+        int keyLength = buffer.getShort(offset + KEY_LENGTH_OFFSET);
+        for (int i = 0; i < keyLength; i++) {
+            if (buffer.get(offset + KEY_OFFSET + i) == SCOPE_SEPARATOR) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private String decodeScope(int offset, int scopeLength) {
+        byte[] scope = new byte[scopeLength];
+        buffer.get(offset + KEY_OFFSET, scope);
+        return new String(scope, StandardCharsets.UTF_8);
+    }
+
+    private String decodeKeyword(int offset, int scopeLength) {
+        int keyLength = buffer.getShort(offset + KEY_LENGTH_OFFSET);
+        byte[] word = new byte[keyLength - scopeLength - 1];
+        buffer.get(offset + KEY_OFFSET + scopeLength + 1, word);
+        return new String(word, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 슬롯 증가분을 세대 증가분에 추가 (전체 슬롯 → 전체 카운트, 지역 슬롯 → 지역 카운트)
+     */
+    private void addToDelta(int offset, long delta, Map<String, Long> globalCounts,
+                            Map<String, Map<String, Long>> locationCounts) {
+        int scopeLength = scopeLength(offset);
+        String keyword = decodeKeyword(offset, scopeLength);
+        if (scopeLength == 0) {
+            globalCounts.merge(keyword, delta, Long::sum);
+        } else {
+            locationCounts.computeIfAbsent(decodeScope(offset, scopeLength), l -> new HashMap<>())
+                    .merge(keyword, delta, Long::sum);
+        }
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    /**
+     * FNV-1a 64bit, 0/1 은 슬롯 상태값과 겹치므로 피한다
+     */
+    private static long hash(byte[] key) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : key) {
+            h ^= (b & 0xFF);
+            h *= 0x100000001B3L;
+        }
+        return h == EMPTY || h == CLAIMING ? h + 2 : h;
+    }
+
+    /**
+     * 한 세대에 담아 내보낸 슬롯과 그 시점 카운트 (저장소가 반영하면 슬롯의 반영 카운트로 기록)
+     */
+    private static final class DrainedGeneration {
+        private final long epoch;
+        private int[] slots = new int[16];
+        private long[] counts = new long[16];
+        private int size;
+
+        private DrainedGeneration(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void add(int slot, long count) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            slots[size] = slot;
+            counts[size] = count;
+            size++;
+        }
+    }
+}
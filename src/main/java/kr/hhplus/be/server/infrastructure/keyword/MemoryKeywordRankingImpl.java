@@ -2,62 +2,106 @@ package kr.hhplus.be.server.infrastructure.keyword;
 
 // Memory 기반 Fallback 구현
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 
-@Component
-public class MemoryKeywordRankingImpl implements KeywordRanking {
+@Component("memoryKeywordRanking")
+@ConditionalOnProperty(name = "keyword.ranking.memory.mode", havingValue = "exact", matchIfMissing = true)
+public class MemoryKeywordRankingImpl implements KeywordRanking, KeywordDeltaSource {
 
-    private final Map<String, LongAdder> globalKeywordCounts = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, LongAdder>> locationKeywordCounts = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(MemoryKeywordRankingImpl.class);
+
+    // 키워드/지역 문자열은 사전에 한 번만 보관하고 카운터는 int ID → long 으로 관리
+    private final KeywordDictionary keywordDictionary = new KeywordDictionary();
+    private final KeywordDictionary locationDictionary = new KeywordDictionary();
+
+    private final int topKCapacity;
+    private final ScopeCounters globalScope;
+    private volatile ScopeCounters[] locationScopes = new ScopeCounters[0];
+
+    // 조회용 누적 카운트와 별도로, 상위 저장소로 옮길 증가분은 세대(epoch)별로 쌓는다
+    // 세대 번호는 재시작 후에도 WAL 체크포인트와 비교할 수 있도록 현재 시각에서 시작
+    private final Object drainLock = new Object();
+    private volatile Generation activeGeneration = new Generation(System.currentTimeMillis());
+
+    // 증가분은 WAL 에 먼저 남기고 메모리에 반영 (재시작 시 재생)
+    private final KeywordWriteAheadLog writeAheadLog;
+    // 재시작 시 재생한 미확정 세대 중 가장 최근 epoch
+    private volatile long recoveredEpoch = Long.MIN_VALUE;
+
+    public MemoryKeywordRankingImpl(@Value("${keyword.ranking.memory.top-k-capacity:100}") int topKCapacity,
+                                    KeywordWriteAheadLog writeAheadLog) {
+        this.topKCapacity = topKCapacity;
+        this.globalScope = new ScopeCounters(topKCapacity);
+        this.writeAheadLog = writeAheadLog;
+    }
+
+    @PostConstruct
+    public void replayWriteAheadLog() throws IOException {
+        // 체크포인트되지 않은 증가분은 조회용 누적 카운트에만 반영하고, 상위 저장소로는 계층형 랭킹이
+        // reloadDeltas 로 원래 세대 번호 그대로 다시 읽어 옮긴다 (재시작 전 반영 기록과 세대가 일치)
+        long[] maxEpoch = {Long.MIN_VALUE};
+        writeAheadLog.replay((recordEpoch, keyword, location, count) -> {
+            apply(null, keyword, location, count);
+            maxEpoch[0] = Math.max(maxEpoch[0], recordEpoch);
+        });
+        recoveredEpoch = maxEpoch[0];
+
+        // 시계가 뒤로 가도 새 세대 번호가 재생된 세대와 겹치지 않도록
+        if (activeGeneration.epoch <= recoveredEpoch) {
+            activeGeneration = new Generation(recoveredEpoch + 1);
+        }
+    }
 
     @Override
     public void incrementKeywordCount(String keyword) {
-        globalKeywordCounts.computeIfAbsent(keyword, k -> new LongAdder()).increment();
+        incrementKeywordCount(keyword, null);
     }
 
     @Override
     public void incrementKeywordCount(String keyword, String location) {
-        incrementKeywordCount(keyword);
+        incrementKeywordCount(keyword, location, 1);
+    }
 
-        if (location != null && !location.trim().isEmpty()) {
-            locationKeywordCounts
-                    .computeIfAbsent(location, k -> new ConcurrentHashMap<>())
-                    .computeIfAbsent(keyword, k -> new LongAdder())
-                    .increment();
+    @Override
+    public void incrementKeywordCount(String keyword, String location, long delta) {
+        Generation generation = enterGeneration();
+        try {
+            writeAheadLog.append(generation.epoch, keyword, location, delta);
+            apply(generation, keyword, location, delta);
+        } finally {
+            generation.exit();
         }
     }
 
     @Override
     public List<KeywordDto> getTopKeywords(int limit) {
-        return globalKeywordCounts.entrySet().stream()
-                .map(entry -> new KeywordDto(entry.getKey(), entry.getValue().longValue()))
-                .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return globalScope.top(limit);
     }
 
     @Override
     public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
-        Map<String, LongAdder> locationMap = locationKeywordCounts.get(location);
-        if (locationMap == null) {
+        ScopeCounters scope = findLocationScope(location);
+        if (scope == null) {
             return Collections.emptyList();
         }
-
-        return locationMap.entrySet().stream()
-                .map(entry -> new KeywordDto(entry.getKey(), entry.getValue().longValue()))
-                .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return scope.top(limit);
     }
 
     @Override
     public Long getKeywordCount(String keyword) {
-        LongAdder adder = globalKeywordCounts.get(keyword);
-        return adder != null ? adder.longValue() : 0L;
+        int keywordId = keywordDictionary.find(keyword);
+        return keywordId >= 0 ? globalScope.counts.get(keywordId) : 0L;
     }
 
     @Override
@@ -65,24 +109,277 @@ public class MemoryKeywordRankingImpl implements KeywordRanking {
         return true;
     }
 
+    /**
+     * 외부(Redis)에서 가져온 카운트를 조회용 누적 카운트에 일괄 병합
+     * 이미 상위 저장소에 있는 값이므로 세대 증가분과 WAL 에는 기록하지 않는다
+     */
+    public void mergeCounts(Map<String, Long> globalCounts, Map<String, Map<String, Long>> locationCounts) {
+        globalCounts.forEach((keyword, count) -> globalScope.add(keywordDictionary.intern(keyword), count));
+        locationCounts.forEach((location, counts) -> {
+            ScopeCounters scope = locationScope(locationDictionary.intern(location));
+            counts.forEach((keyword, count) -> scope.add(keywordDictionary.intern(keyword), count));
+        });
+    }
+
     // 데이터 내보내기 (Redis 복구 시 사용)
     public Map<String, Long> exportGlobalKeywords() {
-        return globalKeywordCounts.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().longValue()
-                ));
+        return globalScope.export();
     }
 
     public Map<String, Map<String, Long>> exportLocationKeywords() {
-        return locationKeywordCounts.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().entrySet().stream()
-                                .collect(Collectors.toMap(
-                                        Map.Entry::getKey,
-                                        e -> e.getValue().longValue()
-                                ))
-                ));
+        Map<String, Map<String, Long>> result = new HashMap<>();
+        ScopeCounters[] scopes = locationScopes;
+        for (int locationId = 0; locationId < scopes.length; locationId++) {
+            if (scopes[locationId] != null) {
+                result.put(locationDictionary.keyword(locationId), scopes[locationId].export());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 세대 교체 - 새 세대를 활성화한 뒤 닫힌 세대에 진행 중인 쓰기가 끝나기를 기다려 증가분을 반환
+     * 쓰기 스레드는 기다리지 않으며, 교체와 겹친 쓰기는 새 세대로 다시 기록된다
+     */
+    @Override
+    public KeywordCountDelta drainDelta() {
+        synchronized (drainLock) {
+            Generation frozen = activeGeneration;
+            activeGeneration = new Generation(Math.max(frozen.epoch + 1, System.currentTimeMillis()));
+            frozen.awaitQuiescence();
+            return frozen.toDelta();
+        }
+    }
+
+    @Override
+    public void commitEpoch(long epoch) {
+        try {
+            writeAheadLog.checkpoint(epoch);
+        } catch (IOException e) {
+            // 체크포인트 실패 시 재시작하면 해당 증가분이 다시 재생될 수 있다
+            logger.warn("키워드 WAL 체크포인트 실패: epoch={}, error={}", epoch, e.getMessage());
+        }
+    }
+
+    @Override
+    public long getRecoveredEpoch() {
+        return recoveredEpoch;
+    }
+
+    @Override
+    public void markApplied(String sink, long epoch) {
+        try {
+            writeAheadLog.markApplied(sink, epoch);
+        } catch (IOException e) {
+            // 기록이 늦어지면 재시작 후 해당 저장소에 이미 반영한 세대를 다시 반영할 수 있다
+            logger.warn("키워드 WAL 반영 위치 기록 실패: sink={}, epoch={}, error={}", sink, epoch, e.getMessage());
+        }
+    }
+
+    @Override
+    public long getAppliedEpoch(String sink) {
+        try {
+            return writeAheadLog.readApplied(sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException("키워드 WAL 반영 위치 읽기 실패: " + sink, e);
+        }
+    }
+
+    @Override
+    public boolean isReloadable() {
+        return writeAheadLog.isEnabled();
+    }
+
+    @Override
+    public List<KeywordCountDelta> reloadDeltas(long afterEpoch, long throughEpoch, int limit) {
+        // 레코드 순서는 세대 순서와 거의 같지만 교체 직후에는 섞일 수 있으므로 세대 번호 순으로 모은다
+        TreeMap<Long, KeywordCountDelta.Builder> builders = new TreeMap<>();
+        try {
+            writeAheadLog.read(afterEpoch, throughEpoch, (epoch, keyword, location, count) -> {
+                KeywordCountDelta.Builder builder = builders.get(epoch);
+                if (builder == null) {
+                    if (builders.size() >= limit) {
+                        // 가장 오래된 limit 개 세대만 유지 (밀려난 세대는 다음 호출에서 다시 읽는다)
+                        if (epoch > builders.lastKey()) {
+                            return;
+                        }
+                        builders.pollLastEntry();
+                    }
+                    builder = new KeywordCountDelta.Builder();
+                    builders.put(epoch, builder);
+                }
+                builder.add(keyword, location, count);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("키워드 WAL 읽기 실패", e);
+        }
+
+        List<KeywordCountDelta> deltas = new ArrayList<>(builders.size());
+        builders.forEach((epoch, builder) -> deltas.add(builder.build(epoch)));
+        return deltas;
+    }
+
+    private Generation enterGeneration() {
+        while (true) {
+            Generation generation = activeGeneration;
+            generation.enter();
+            if (generation == activeGeneration) {
+                return generation;
+            }
+            // 진입 직후 세대가 교체됨 - 닫힌 세대에는 기록하지 않고 새 세대로 재시도
+            generation.exit();
+        }
+    }
+
+    /**
+     * 누적 카운트와 세대 증가분에 반영 (WAL 재생 시에는 세대 없이 누적 카운트에만)
+     */
+    private void apply(Generation generation, String keyword, String location, long count) {
+        int keywordId = keywordDictionary.intern(keyword);
+        globalScope.add(keywordId, count);
+        if (generation != null) {
+            generation.global.add(keywordId, count);
+        }
+
+        if (location != null && !location.trim().isEmpty()) {
+            int locationId = locationDictionary.intern(location);
+            locationScope(locationId).add(keywordId, count);
+            if (generation != null) {
+                generation.location(locationId).add(keywordId, count);
+            }
+        }
+    }
+
+    private ScopeCounters findLocationScope(String location) {
+        int locationId = locationDictionary.find(location);
+        ScopeCounters[] scopes = locationScopes;
+        return locationId >= 0 && locationId < scopes.length ? scopes[locationId] : null;
+    }
+
+    private ScopeCounters locationScope(int locationId) {
+        ScopeCounters[] scopes = locationScopes;
+        if (locationId < scopes.length && scopes[locationId] != null) {
+            return scopes[locationId];
+        }
+
+        synchronized (this) {
+            scopes = locationScopes;
+            if (locationId >= scopes.length) {
+                scopes = Arrays.copyOf(scopes, Math.max(locationId + 1, scopes.length * 2));
+            } else if (scopes[locationId] != null) {
+                return scopes[locationId];
+            } else {
+                scopes = scopes.clone();
+            }
+            ScopeCounters created = new ScopeCounters(topKCapacity);
+            scopes[locationId] = created;
+            locationScopes = scopes;
+            return created;
+        }
+    }
+
+    /**
+     * 스코프(전체/지역)별 카운터와 Top-K 후보
+     */
+    private final class ScopeCounters {
+        private final StripedLongCounterStore counts = new StripedLongCounterStore();
+        private final TopKeywordTracker topKeywords;
+
+        private ScopeCounters(int topKCapacity) {
+            this.topKeywords = new TopKeywordTracker(topKCapacity, counts::get);
+        }
+
+        private void add(int keywordId, long delta) {
+            long count = counts.add(keywordId, delta);
+            topKeywords.onIncrement(keywordId, count);
+        }
+
+        private List<KeywordDto> top(int limit) {
+            List<KeywordDto> tracked = topKeywords.getTop(limit, keywordDictionary::keyword);
+            if (tracked != null) {
+                return tracked;
+            }
+
+            // Top-K 용량을 넘는 조회는 전체 정렬로 처리
+            List<KeywordDto> all = new ArrayList<>(counts.size());
+            counts.forEach((keywordId, count) -> all.add(new KeywordDto(keywordDictionary.keyword(keywordId), count)));
+            return all.stream()
+                    .sorted((a, b) -> Long.compare(b.getCount(), a.getCount()))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+
+        private Map<String, Long> export() {
+            Map<String, Long> result = new HashMap<>(counts.size() * 2);
+            counts.forEach((keywordId, count) -> result.put(keywordDictionary.keyword(keywordId), count));
+            return result;
+        }
+    }
+
+    /**
+     * 한 세대의 증가분과 진행 중인 쓰기 수
+     * 쓰기 수는 스레드별로 고정된 칸에 기록해 진입/이탈이 같은 칸에서 상쇄되도록 한다
+     */
+    private final class Generation {
+        private static final int WRITER_CELLS = 64;
+        private static final int CELL_STRIDE = 8; // 캐시 라인 단위로 칸을 띄운다
+
+        private final long epoch;
+        private final AtomicLongArray writers = new AtomicLongArray(WRITER_CELLS * CELL_STRIDE);
+        private final StripedLongCounterStore global = new StripedLongCounterStore();
+        private final ConcurrentHashMap<Integer, StripedLongCounterStore> locations = new ConcurrentHashMap<>();
+
+        private Generation(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void enter() {
+            writers.incrementAndGet(writerCell());
+        }
+
+        private void exit() {
+            writers.decrementAndGet(writerCell());
+        }
+
+        private StripedLongCounterStore location(int locationId) {
+            return locations.computeIfAbsent(locationId, id -> new StripedLongCounterStore());
+        }
+
+        private void awaitQuiescence() {
+            for (int spins = 0; activeWriters() != 0; spins++) {
+                if (spins < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        private long activeWriters() {
+            long total = 0;
+            for (int i = 0; i < WRITER_CELLS; i++) {
+                total += writers.get(i * CELL_STRIDE);
+            }
+            return total;
+        }
+
+        private KeywordCountDelta toDelta() {
+            Map<String, Long> globalCounts = new HashMap<>(global.size() * 2);
+            global.forEach((keywordId, count) -> globalCounts.put(keywordDictionary.keyword(keywordId), count));
+
+            Map<String, Map<String, Long>> locationCounts = new HashMap<>();
+            locations.forEach((locationId, store) -> {
+                Map<String, Long> counts = new HashMap<>(store.size() * 2);
+                store.forEach((keywordId, count) -> counts.put(keywordDictionary.keyword(keywordId), count));
+                if (!counts.isEmpty()) {
+                    locationCounts.put(locationDictionary.keyword(locationId), counts);
+                }
+            });
+            return new KeywordCountDelta(epoch, globalCounts, locationCounts);
+        }
+
+        private int writerCell() {
+            return (int) (Thread.currentThread().getId() & (WRITER_CELLS - 1)) * CELL_STRIDE;
+        }
     }
 }
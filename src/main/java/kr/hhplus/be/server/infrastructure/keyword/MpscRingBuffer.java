@@ -0,0 +1,115 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 다중 생산자 / 단일 소비자 고정 크기 링 버퍼 (lock-free)
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 슬롯마다 시퀀스를 두는 bounded 큐
+ * - 생산자: tail 을 CAS 로 선점한 뒤 값을 쓰고 슬롯 시퀀스를 pos + 1 로 올려 소비 가능 상태로 만든다
+ * - 소비자: 슬롯 시퀀스가 head + 1 이면 꺼내고 pos + capacity 로 올려 다음 바퀴 생산자에게 돌려준다
+ * - 가득 차면 offer 는 기다리지 않고 false (대기/폐기 정책은 호출자가 정한다)
+ * poll / drain 은 한 스레드에서만 호출해야 한다
+ */
+public class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자만 쓰고, size() 조회를 위해 lazySet 으로 공개
+    private final AtomicLong head = new AtomicLong();
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("링 버퍼 크기는 2 이상 2^30 이하여야 합니다: " + requestedCapacity);
+        }
+        // 인덱스를 비트 마스크로 구하기 위해 2의 거듭제곱으로 올림
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 적재 - 가득 차 있으면 false
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("null 은 적재할 수 없습니다.");
+        }
+
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long difference = sequences.get(index) - pos;
+            if (difference == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, pos + 1); // 값 쓰기 이후에 공개
+                    return true;
+                }
+                pos = tail.get();
+            } else if (difference < 0) {
+                return false; // 한 바퀴 앞선 슬롯을 아직 소비하지 않음 = 가득 참
+            } else {
+                pos = tail.get(); // 다른 생산자가 먼저 선점
+            }
+        }
+    }
+
+    /**
+     * 하나 꺼내기 - 비어 있거나 선점한 생산자가 아직 쓰는 중이면 null
+     */
+    public E poll() {
+        long pos = head.get();
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, pos + capacity);
+        head.lazySet(pos + 1);
+        return element;
+    }
+
+    /**
+     * 최대 maxElements 개를 순서대로 꺼내 consumer 에 넘기고 꺼낸 수를 반환
+     */
+    public int drain(Consumer<E> consumer, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 대략적인 적재 수 (동시 적재/소비 중에는 근사값)
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,54 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 인기 키워드 집계 기간
+
+public enum RankingWindow {
+
+    ALL_TIME("all", 0),
+    LAST_10_MINUTES("10m", 10),
+    LAST_1_HOUR("1h", 60),
+    LAST_24_HOURS("24h", 24 * 60),
+    TRENDING("trending", 0); // 지수 감쇠 점수 기반 (고정 기간 없음)
+
+    private final String code;
+    private final int minutes;
+
+    RankingWindow(String code, int minutes) {
+        this.code = code;
+        this.minutes = minutes;
+    }
+
+    public String getCode() { return code; }
+    public int getMinutes() { return minutes; }
+
+    public boolean isAllTime() {
+        return this == ALL_TIME;
+    }
+
+    public boolean isSliding() {
+        return minutes > 0;
+    }
+
+    /**
+     * 요청 파라미터 값으로 집계 기간 조회 (미지정시 전체 기간)
+     */
+    public static RankingWindow fromCode(String code) {
+        if (code == null || code.trim().isEmpty()) {
+            return ALL_TIME;
+        }
+        for (RankingWindow window : values()) {
+            if (window.code.equalsIgnoreCase(code.trim())) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 집계 기간입니다: " + code);
+    }
+
+    public static int maxMinutes() {
+        int max = 0;
+        for (RankingWindow window : values()) {
+            max = Math.max(max, window.minutes);
+        }
+        return max;
+    }
+}
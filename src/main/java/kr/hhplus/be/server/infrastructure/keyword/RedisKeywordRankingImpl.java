@@ -1,67 +1,317 @@
 package kr.hhplus.be.server.infrastructure.keyword;
 
 // Redis 기반 키워드 랭킹 서비스
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.hhplus.be.server.common.util.RateLimitedLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-@Component
-public class RedisKeywordRankingImpl implements KeywordRanking {
+@Component("redisKeywordRanking")
+public class RedisKeywordRankingImpl implements KeywordRanking, WindowedKeywordRanking, KeywordDeltaSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisKeywordRankingImpl.class);
 
     // Redis Key 패턴
     private static final String KEYWORD_RANKING_KEY = "keyword:ranking";
     private static final String LOCATION_KEYWORD_PREFIX = "keyword:location:";
 
+    // Forward decay 트렌딩 Key 패턴
+    private static final String TRENDING_KEY = "keyword:trending";
+    private static final String TRENDING_LOCATION_PREFIX = "keyword:trending:location:";
+    private static final String TRENDING_LANDMARK_KEY = "keyword:trending:landmark";
+    private static final String TRENDING_KEYS_KEY = "keyword:trending:keys";
+
+    // 시간 버킷 Key 패턴 (epoch 기준 시간 번호)
+    private static final String BUCKET_GLOBAL_PREFIX = "keyword:bucket:global:";
+    private static final String BUCKET_LOCATION_PREFIX = "keyword:bucket:location:";
+
+    // 기간 합산 캐시 Key 패턴
+    private static final String WINDOW_GLOBAL_PREFIX = "keyword:window:global:";
+    private static final String WINDOW_LOCATION_PREFIX = "keyword:window:location:";
+
+    // 상위 키워드 변경 알림 (근접 캐시 무효화용)
+    private static final String RANKING_CHANGES_CHANNEL = "keyword:ranking:changes";
+    private static final String RANKING_VERSIONS_KEY = "keyword:ranking:versions";
+
+    // 반영 완료된 증가분 청크 기록 (노드:세대 별 SET)
+    private static final String DELTA_APPLIED_PREFIX = "keyword:delta:applied:";
+
+    // 전체 랭킹 점수가 바뀐 키워드 (Redis/DB 정합성 검증 대상, 검증기가 켜진 경우에만 기록)
+    private static final String CHANGED_KEYWORDS_KEY = "keyword:ranking:changed";
+
+    private static final RedisScript<List> WINDOW_TOP_SCRIPT =
+            script("scripts/keyword_window_top.lua", List.class);
+    private static final RedisScript<String> TRENDING_RENORMALIZE_SCRIPT =
+            script("scripts/keyword_trending_renormalize.lua", String.class);
+    private static final RedisScript<List> TRENDING_TOP_SCRIPT =
+            script("scripts/keyword_trending_top.lua", List.class);
+    private static final RedisScript<Long> RANKING_ANNOUNCE_SCRIPT =
+            script("scripts/keyword_ranking_announce.lua", Long.class);
+    private static final RedisScript<List> DELTA_APPLY_SCRIPT =
+            script("scripts/keyword_delta_apply.lua", List.class);
+    private static final RedisScript<Long> LEASE_ACQUIRE_SCRIPT =
+            script("scripts/keyword_lease_acquire.lua", Long.class);
+    private static final RedisScript<Long> LEASE_RELEASE_SCRIPT =
+            script("scripts/keyword_lease_release.lua", Long.class);
+
+    // 증가분 일괄 반영 시 스크립트 한 번에 담는 ZINCRBY 수
+    private static final int DELTA_CHUNK_SIZE = 1000;
+    // 재정규화 중 트렌딩 키 목록이 바뀌었을 때 목록을 다시 읽어 재시도하는 횟수
+    private static final int RENORMALIZE_ATTEMPTS = 3;
+
     private final RedisTemplate<String, String> redisTemplate;
     private final ZSetOperations<String, String> zSetOps;
 
-    public RedisKeywordRankingImpl(RedisTemplate<String, String> redisTemplate) {
+    // 트렌딩 점수 = sum(exp(lambda * (t - landmark))), 현재 시각 기준 감쇠 카운트 = 점수 * exp(-lambda * (now - landmark))
+    // 기준 시각은 다른 노드의 재정규화로 바뀌므로 노드에 캐시하지 않고 점수와 같은 스크립트 안에서 읽는다
+    private final boolean trendingEnabled;
+    private final double decayRate;
+    private final double renormalizeExponent;
+    private final double minTrendingScore;
+
+    private final long bucketTtlSeconds;
+    private final long windowResultTtlSeconds;
+
+    // 세대 번호는 노드마다 독립적으로 증가하므로 반영 기록 키에 노드 식별자를 붙인다
+    // 재시작 후 WAL 에서 다시 읽은 세대도 같은 기록 키를 찾도록 WAL 과 함께 보관된 값을 쓴다 (KeywordNodeId)
+    private final String nodeId;
+    private final long deltaMarkerTtlSeconds;
+
+    private volatile boolean changeTrackingEnabled;
+
+    // 노드별 상위 키워드 캐시 (비활성화 시 매 요청 ZREVRANGE)
+    private final RedisMessageListenerContainer listenerContainer;
+    private final KeywordRankingNearCache nearCache;
+
+    // 호출 결과와 주기적 PING 으로 갱신되는 가용 상태 (isAvailable 은 volatile 읽기)
+    private final TierHealthManager health;
+    // OPEN → HALF_OPEN 전환은 PING 으로만 일어나므로, 공용 스케줄러의 다른 작업에 밀리지 않게 전용 스레드에서 실행
+    private final ScheduledExecutorService healthProbeScheduler;
+    private final long probeIntervalMs;
+
+    // 요청/반영 주기마다 지나는 경로의 실패 로그 (장애 중에는 간격당 한 번)
+    private final RateLimitedLogger failureLogger;
+
+    public RedisKeywordRankingImpl(RedisTemplate<String, String> redisTemplate,
+                                   RedisMessageListenerContainer listenerContainer,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${keyword.ranking.trending.enabled:true}") boolean trendingEnabled,
+                                   @Value("${keyword.ranking.trending.half-life-minutes:60}") double halfLifeMinutes,
+                                   @Value("${keyword.ranking.trending.renormalize-exponent:200}") double renormalizeExponent,
+                                   @Value("${keyword.ranking.trending.min-score:0.000001}") double minTrendingScore,
+                                   @Value("${keyword.ranking.bucket.ttl-hours:26}") long bucketTtlHours,
+                                   @Value("${keyword.ranking.window.result-ttl-seconds:5}") long windowResultTtlSeconds,
+                                   @Value("${keyword.ranking.redis.near-cache.enabled:true}") boolean nearCacheEnabled,
+                                   @Value("${keyword.ranking.redis.near-cache.depth:50}") int nearCacheDepth,
+                                   @Value("${keyword.ranking.redis.near-cache.min-reload-interval-ms:200}") long minReloadIntervalMs,
+                                   @Value("${keyword.ranking.redis.near-cache.ttl-ms:5000}") long nearCacheTtlMs,
+                                   @Value("${keyword.ranking.redis.health.failure-threshold:3}") int failureThreshold,
+                                   @Value("${keyword.ranking.redis.health.half-open-successes:3}") int halfOpenSuccesses,
+                                   @Value("${keyword.ranking.redis.health.open-duration-ms:2000}") long openDurationMs,
+                                   @Value("${keyword.ranking.redis.health.probe-interval-ms:500}") long probeIntervalMs,
+                                   @Value("${keyword.ranking.redis.delta-marker-ttl-hours:48}") long deltaMarkerTtlHours,
+                                   KeywordNodeId nodeId,
+                                   @Value("${keyword.ranking.tiered.failure-log-interval-ms:10000}") long failureLogIntervalMs) {
         this.redisTemplate = redisTemplate;
         this.zSetOps = redisTemplate.opsForZSet(); // Redis Sorted Set 사용
+        this.trendingEnabled = trendingEnabled;
+        this.decayRate = Math.log(2) / (halfLifeMinutes * 60);
+        this.renormalizeExponent = renormalizeExponent;
+        this.minTrendingScore = minTrendingScore;
+        this.bucketTtlSeconds = bucketTtlHours * 3600;
+        this.windowResultTtlSeconds = windowResultTtlSeconds;
+        this.deltaMarkerTtlSeconds = deltaMarkerTtlHours * 3600;
+        this.nodeId = nodeId.get();
+        this.failureLogger = new RateLimitedLogger(logger, failureLogIntervalMs);
+        this.health = new TierHealthManager("redis", failureThreshold, halfOpenSuccesses, openDurationMs, meterRegistry);
+        this.probeIntervalMs = probeIntervalMs;
+        this.healthProbeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keyword-redis-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.listenerContainer = listenerContainer;
+        this.nearCache = nearCacheEnabled
+                ? new KeywordRankingNearCache(nearCacheDepth, minReloadIntervalMs, nearCacheTtlMs, meterRegistry)
+                : null;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        // 증가 스크립트를 미리 등록해 두면 이후 호출은 EVALSHA 만으로 처리된다 (미등록 시 EVAL 로 자동 재시도)
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.scriptingCommands().scriptLoad(
+                            DELTA_APPLY_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            logger.warn("키워드 증가 스크립트 등록 실패 (첫 호출 때 EVAL 로 등록): {}", e.getMessage());
+        }
+
+        healthProbeScheduler.scheduleWithFixedDelay(this::probeHealth,
+                probeIntervalMs, probeIntervalMs, TimeUnit.MILLISECONDS);
+
+        if (nearCache != null) {
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> nearCache.onChange(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(RANKING_CHANGES_CHANNEL));
+        }
     }
 
     @Override
     public void incrementKeywordCount(String keyword) {
-        // Redis Sorted Set의 ZINCRBY 명령어 실행
-        // "keyword:ranking" 키에서 keyword의 점수를 1 증가
-        zSetOps.incrementScore(KEYWORD_RANKING_KEY, keyword, 1);
+        incrementKeywordCount(keyword, null);
     }
 
     @Override
     public void incrementKeywordCount(String keyword, String location) {
-        // 전체 키워드 카운트 증가
-        incrementKeywordCount(keyword);
+        incrementKeywordCount(keyword, location, 1);
+    }
 
-        // 지역별 키워드 카운트 증가
-        if (location != null && !location.trim().isEmpty()) {
-            String locationKey = LOCATION_KEYWORD_PREFIX + location;
-            // "keyword:location:서울" 같은 키로 지역별 랭킹 관리
-            zSetOps.incrementScore(locationKey, keyword, 1);
+    @Override
+    public void incrementKeywordCount(String keyword, String location, long delta) {
+        if (!health.isAvailable()) {
+            // 장애 중에는 명령 타임아웃을 기다리지 않고 바로 Memory 로 failover
+            throw new IllegalStateException("Redis 사용 불가 상태: " + health.getState());
         }
+
+        // 세대 증가분을 만들지 않는 Memory 모드(sketch)에서만 호출된다 - exact/mapped 모드는 세대를 모아 applyDelta 로 반영
+        // 요청마다 한 번 반영하므로 재시도 대비 반영 기록은 남기지 않는다
+        // 버킷 만료, 트렌딩 키 등록, 변경 키워드 기록까지 스크립트 한 번에 끝나므로 검색 1회당 Redis 호출은 1회
+        // (근접 캐시 깊이 안의 순위가 바뀐 경우에만 변경 알림이 한 번 더 나간다)
+        String scope = location != null && !location.trim().isEmpty() ? location : null;
+        Map<String, Map<String, Long>> locationCounts = scope != null ? Map.of(scope, Map.of(keyword, delta)) : Map.of();
+        apply(new KeywordCountDelta(System.currentTimeMillis(), Map.of(keyword, delta), locationCounts), false);
     }
 
     @Override
     public List<KeywordDto> getTopKeywords(int limit) {
-        // Redis ZREVRANGE 명령어로 점수 높은 순으로 조회
-        Set<ZSetOperations.TypedTuple<String>> results =
-                zSetOps.reverseRangeWithScores(KEYWORD_RANKING_KEY, 0, limit - 1);
-
-        return results.stream()
-                .map(tuple -> new KeywordDto(tuple.getValue(),
-                        tuple.getScore() != null ? tuple.getScore().longValue() : 0L))
-                .collect(Collectors.toList());
+        return getCachedTopKeywords(GLOBAL_SCOPE, KEYWORD_RANKING_KEY, limit);
     }
 
     @Override
     public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
-        String locationKey = LOCATION_KEYWORD_PREFIX + location;
         // 지역별 Redis Key에서 상위 키워드 조회
+        return getCachedTopKeywords(location, LOCATION_KEYWORD_PREFIX + location, limit);
+    }
+
+    private List<KeywordDto> getCachedTopKeywords(String scope, String key, int limit) {
+        if (nearCache == null || limit > nearCache.getDepth()) {
+            return readTopKeywords(key, limit);
+        }
+        return nearCache.get(scope, limit, () -> readTopKeywords(key, nearCache.getDepth()));
+    }
+
+    /**
+     * 여러 범위를 파이프라인 한 번으로 조회 (근접 캐시에 있는 범위는 제외)
+     * 파이프라인이 실패하면 캐시에서 얻은 범위만 반환
+     */
+    @Override
+    public Map<String, List<KeywordDto>> getTopKeywordsBatch(Collection<String> scopes, int limit) {
+        Map<String, List<KeywordDto>> results = new HashMap<>();
+        List<String> pending = new ArrayList<>();
+        for (String scope : new LinkedHashSet<>(scopes)) {
+            List<KeywordDto> cached = nearCache != null && limit <= nearCache.getDepth()
+                    ? nearCache.getIfFresh(scope, limit)
+                    : null;
+            if (cached != null) {
+                results.put(scope, cached);
+            } else {
+                pending.add(scope);
+            }
+        }
+        if (pending.isEmpty()) {
+            return orderedBy(scopes, results);
+        }
+
+        // 캐시를 채울 수 있으면 depth 개를 읽어 적재
+        boolean fillCache = nearCache != null && limit <= nearCache.getDepth();
+        int readLimit = fillCache ? nearCache.getDepth() : limit;
+        List<Long> versions = new ArrayList<>(pending.size());
+        for (String scope : pending) {
+            versions.add(fillCache ? nearCache.announcedVersion(scope) : 0L);
+        }
+
+        RedisSerializer<String> serializer = RedisSerializer.string();
+        List<Object> replies;
+        try {
+            replies = tracked(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String scope : pending) {
+                    String key = GLOBAL_SCOPE.equals(scope)
+                            ? KEYWORD_RANKING_KEY
+                            : LOCATION_KEYWORD_PREFIX + scope;
+                    connection.zSetCommands().zRevRangeWithScores(serializer.serialize(key), 0, readLimit - 1);
+                }
+                return null;
+            }));
+        } catch (RuntimeException e) {
+            failureLogger.warn("Redis 상위 키워드 일괄 조회 실패: {}", e.getMessage());
+            return orderedBy(scopes, results);
+        }
+
+        for (int i = 0; i < pending.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Set<ZSetOperations.TypedTuple<String>> tuples = (Set<ZSetOperations.TypedTuple<String>>) replies.get(i);
+            List<KeywordDto> keywords = new ArrayList<>(tuples != null ? tuples.size() : 0);
+            if (tuples != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                    keywords.add(new KeywordDto(tuple.getValue(),
+                            tuple.getScore() != null ? tuple.getScore().longValue() : 0L));
+                }
+            }
+            if (fillCache) {
+                nearCache.put(pending.get(i), keywords, versions.get(i));
+            }
+            results.put(pending.get(i), keywords.size() <= limit ? keywords : keywords.subList(0, limit));
+        }
+        return orderedBy(scopes, results);
+    }
+
+    private static Map<String, List<KeywordDto>> orderedBy(Collection<String> scopes, Map<String, List<KeywordDto>> results) {
+        Map<String, List<KeywordDto>> ordered = new LinkedHashMap<>();
+        for (String scope : scopes) {
+            List<KeywordDto> keywords = results.get(scope);
+            if (keywords != null) {
+                ordered.put(scope, keywords);
+            }
+        }
+        return ordered;
+    }
+
+    private List<KeywordDto> readTopKeywords(String key, int limit) {
+        // Redis ZREVRANGE 명령어로 점수 높은 순으로 조회
         Set<ZSetOperations.TypedTuple<String>> results =
-                zSetOps.reverseRangeWithScores(locationKey, 0, limit - 1);
+                tracked(() -> zSetOps.reverseRangeWithScores(key, 0, limit - 1));
 
         return results.stream()
                 .map(tuple -> new KeywordDto(tuple.getValue(),
@@ -69,67 +319,472 @@ public class RedisKeywordRankingImpl implements KeywordRanking {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<KeywordDto> getTopKeywords(RankingWindow window, int limit) {
+        if (window == RankingWindow.TRENDING) {
+            return getTrendingKeywords(TRENDING_KEY, limit);
+        }
+        return getWindowKeywords(WINDOW_GLOBAL_PREFIX, BUCKET_GLOBAL_PREFIX, window, limit);
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywordsByLocation(RankingWindow window, String location, int limit) {
+        if (window == RankingWindow.TRENDING) {
+            return getTrendingKeywords(TRENDING_LOCATION_PREFIX + location, limit);
+        }
+        return getWindowKeywords(WINDOW_LOCATION_PREFIX + location + ":", BUCKET_LOCATION_PREFIX + location + ":",
+                window, limit);
+    }
+
+    /**
+     * 트렌딩, 그리고 시간 버킷으로 나눠떨어지는 기간(1시간/24시간)을 지원
+     */
+    @Override
+    public boolean supports(RankingWindow window) {
+        if (window == RankingWindow.TRENDING) {
+            return trendingEnabled;
+        }
+        return window.isSliding() && window.getMinutes() % 60 == 0
+                && window.getMinutes() / 60 < bucketTtlSeconds / 3600;
+    }
+
     @Override
     public Long getKeywordCount(String keyword) {
         // Redis ZSCORE 명령어로 특정 키워드의 점수 조회
-        Double score = zSetOps.score(KEYWORD_RANKING_KEY, keyword);
+        Double score = tracked(() -> zSetOps.score(KEYWORD_RANKING_KEY, keyword));
         return score != null ? score.longValue() : 0L;
     }
 
     @Override
     public boolean isAvailable() {
+        return health.isAvailable();
+    }
+
+    public TierHealthManager getHealth() {
+        return health;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        healthProbeScheduler.shutdownNow();
+    }
+
+    /**
+     * Redis 상태 확인 - 요청이 없을 때도 장애/복구를 감지 (전용 스레드에서 probe-interval 마다 실행)
+     */
+    void probeHealth() {
         try {
-            // Redis 연결 상태 확인
-            redisTemplate.hasKey(KEYWORD_RANKING_KEY);
-            return true;
-        } catch (Exception e) {
-            return false;
+            health.probe(() -> redisTemplate.execute((RedisCallback<String>) connection -> connection.ping()));
+        } catch (RuntimeException e) {
+            // 예외가 빠져나가면 scheduleWithFixedDelay 가 이후 실행을 멈춘다
+            failureLogger.warn("Redis 상태 확인 실패: {}", e.getMessage());
         }
     }
 
-    // 추가: Redis 데이터 백업/복원 메서드
-    public void backupToMemory(MemoryKeywordRankingImpl memoryService) {
+    /**
+     * Redis 호출 결과를 상태 기계에 반영
+     */
+    private <T> T tracked(Supplier<T> call) {
         try {
-            // 전체 키워드 백업
-            Set<ZSetOperations.TypedTuple<String>> globalKeywords =
-                    zSetOps.rangeWithScores(KEYWORD_RANKING_KEY, 0, -1);
+            T result = call.get();
+            health.recordSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            health.recordFailure();
+            throw e;
+        }
+    }
 
-            for (ZSetOperations.TypedTuple<String> tuple : globalKeywords) {
-                String keyword = tuple.getValue();
-                Long count = tuple.getScore().longValue();
+    /**
+     * 트렌딩 점수 재정규화
+     * 기준 시각이 오래되어 exp(lambda * (now - landmark)) 가 커지면 모든 점수를 새 기준 시각으로 옮긴다.
+     * 순위는 변하지 않으며, 감쇠되어 의미 없어진 키워드는 함께 제거된다.
+     * 스크립트가 건드리는 지역 트렌딩 키는 미리 읽어 KEYS 로 넘기고, 그 사이 목록이 바뀌었으면 다시 읽어 재시도한다.
+     */
+    @Scheduled(fixedDelayString = "${keyword.ranking.trending.renormalize-interval-ms:600000}")
+    public void renormalizeTrendingScores() {
+        if (!trendingEnabled) {
+            return;
+        }
 
-                // Memory 서비스에 데이터 복원
-                for (int i = 0; i < count; i++) {
-                    memoryService.incrementKeywordCount(keyword);
+        try {
+            for (int attempt = 0; attempt < RENORMALIZE_ATTEMPTS; attempt++) {
+                List<String> keys = new ArrayList<>(List.of(TRENDING_LANDMARK_KEY, TRENDING_KEY, TRENDING_KEYS_KEY));
+                Set<String> locationKeys = redisTemplate.opsForSet().members(TRENDING_KEYS_KEY);
+                if (locationKeys != null) {
+                    keys.addAll(new TreeSet<>(locationKeys));
                 }
-            }
 
+                String landmark = redisTemplate.execute(TRENDING_RENORMALIZE_SCRIPT, keys,
+                        String.valueOf(nowSeconds()), String.valueOf(decayRate),
+                        String.valueOf(renormalizeExponent), String.valueOf(minTrendingScore));
+                if (landmark != null) {
+                    return;
+                }
+            }
+            logger.warn("트렌딩 점수 재정규화 보류: 트렌딩 키 목록이 계속 바뀌어 다음 주기에 재시도");
         } catch (Exception e) {
-            System.err.println("Redis 백업 실패: " + e.getMessage());
+            logger.warn("트렌딩 점수 재정규화 실패: {}", e.getMessage());
         }
     }
 
-    public void restoreFromMemory(MemoryKeywordRankingImpl memoryService) {
+    /**
+     * 범위별 버전을 올리고 변경 알림 발행 - 실패해도 각 노드 캐시는 ttl 로 갱신되므로 기록만 남긴다
+     */
+    private void announceChanges(Set<String> scopes) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+
         try {
-            // Memory에서 Redis로 데이터 복원
-            Map<String, Long> globalKeywords = memoryService.exportGlobalKeywords();
+            List<String> args = new ArrayList<>(scopes.size() + 1);
+            args.add(RANKING_CHANGES_CHANNEL);
+            args.addAll(scopes);
+            redisTemplate.execute(RANKING_ANNOUNCE_SCRIPT, List.of(RANKING_VERSIONS_KEY), args.toArray());
+        } catch (Exception e) {
+            failureLogger.warn("키워드 랭킹 변경 알림 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String windowKey(String windowPrefix, RankingWindow window) {
+        return windowPrefix + (window.getMinutes() / 60) + "h";
+    }
+
+    private static long currentEpochHour() {
+        return System.currentTimeMillis() / 3_600_000L;
+    }
+
+    /**
+     * 최근 W시간 인기 키워드 - 닫힌 시간 버킷 합계(base)는 캐시해 두고 시간이 바뀌면 증분 갱신,
+     * 조회 결과는 짧은 TTL 로 캐시 (가장 오래된 버킷은 기간 안에 남은 비율만큼만 반영)
+     */
+    private List<KeywordDto> getWindowKeywords(String windowPrefix, String bucketPrefix, RankingWindow window, int limit) {
+        int hours = window.getMinutes() / 60;
+        long currentHour = currentEpochHour();
+        String windowKey = windowKey(windowPrefix, window);
+
+        List<String> keys = new ArrayList<>(3 + hours + 1);
+        keys.add(windowKey + ":base");
+        keys.add(windowKey + ":built");
+        keys.add(windowKey + ":result:" + currentHour);
+        for (long hour = currentHour - hours; hour <= currentHour; hour++) {
+            keys.add(bucketPrefix + hour);
+        }
+
+        double oldestWeight = 1.0 - (System.currentTimeMillis() % 3_600_000L) / 3_600_000.0;
+        List<?> result = tracked(() -> redisTemplate.execute(WINDOW_TOP_SCRIPT, keys,
+                Long.toString(currentHour), Integer.toString(hours), String.valueOf(oldestWeight),
+                Integer.toString(limit), Long.toString(windowResultTtlSeconds), Long.toString(bucketTtlSeconds)));
+        if (result == null || result.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<KeywordDto> keywords = new ArrayList<>(result.size() / 2);
+        for (int i = 0; i + 1 < result.size(); i += 2) {
+            keywords.add(new KeywordDto(String.valueOf(result.get(i)),
+                    Math.round(Double.parseDouble(String.valueOf(result.get(i + 1))))));
+        }
+        return keywords;
+    }
+
+    private List<KeywordDto> getTrendingKeywords(String key, int limit) {
+        List<?> result = tracked(() -> redisTemplate.execute(TRENDING_TOP_SCRIPT,
+                List.of(TRENDING_LANDMARK_KEY, key), Integer.toString(limit)));
+        if (result == null || result.size() < 3) {
+            return Collections.emptyList();
+        }
+
+        // 점수를 같은 스크립트에서 읽은 기준 시각으로 현재 시각 기준 감쇠 카운트로 환산
+        double landmark = Double.parseDouble(String.valueOf(result.get(0)));
+        double decay = Math.exp(-decayRate * (nowSeconds() - landmark));
+        List<KeywordDto> keywords = new ArrayList<>((result.size() - 1) / 2);
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            keywords.add(new KeywordDto(String.valueOf(result.get(i)),
+                    Math.round(Double.parseDouble(String.valueOf(result.get(i + 1))) * decay)));
+        }
+        return keywords;
+    }
+
+    /**
+     * 증가분을 ZINCRBY key delta member 로 묶어 청크 단위 스크립트로 전송
+     * 키워드당 1회 명령으로 반영되므로 왕복 횟수는 카운트가 아닌 키워드 수 / 청크 크기에 비례
+     * 청크마다 (노드, 세대, 청크 번호) 반영 기록을 함께 남기므로, 일부 청크만 반영된 뒤 같은 증가분을
+     * 다시 넘겨도 이미 반영된 청크는 건너뛴다 (재시도 시 중복 집계 없음)
+     * 세대 번호는 WAL 레코드의 epoch 이고 노드 식별자는 WAL 디렉터리에 함께 보관되므로, 재시작 후 WAL 에서 다시 구성한 세대도
+     * 같은 기록 키로 확인된다 (기록 TTL 안에서)
+     * 시간 버킷과 트렌딩 점수도 함께 갱신하며, 세대 번호(세대 시작 시각)를 이벤트 시각으로 사용한다
+     * 트렌딩 가중치는 스크립트 안에서 현재 기준 시각을 읽어 계산한다
+     */
+    @Override
+    public void applyDelta(KeywordCountDelta delta) {
+        apply(delta, true);
+    }
+
+    private void apply(KeywordCountDelta delta, boolean once) {
+        Set<String> rankChangedScopes = tracked(() -> incrementScores(delta, once));
+
+        // 상위 깊이 안의 구성/순서가 바뀐 범위만 알린다 - 순서는 그대로이고 카운트만 오른 경우는 각 노드 캐시의 ttl 로 갱신
+        if (nearCache != null) {
+            announceChanges(rankChangedScopes);
+        }
+    }
 
-            for (Map.Entry<String, Long> entry : globalKeywords.entrySet()) {
-                zSetOps.add(KEYWORD_RANKING_KEY, entry.getKey(), entry.getValue());
+    /**
+     * 반환값: 상위 깊이(근접 캐시 깊이) 안의 순위가 바뀐 범위 - 근접 캐시가 없으면 순위를 읽지 않으므로 항상 비어 있다
+     */
+    private Set<String> incrementScores(KeywordCountDelta delta, boolean once) {
+        // 재시도 때도 같은 청크가 만들어지도록 키/키워드 순으로 정렬
+        long bucketHour = delta.getEpoch() / 3_600_000L;
+        String bucket = Long.toString(bucketHour);
+
+        List<ScoreIncrement> increments = new ArrayList<>();
+        addScopeIncrements(increments, new TreeMap<>(delta.getGlobalCounts()), GLOBAL_SCOPE,
+                KEYWORD_RANKING_KEY, ScoreIncrement.GLOBAL_RANKING,
+                BUCKET_GLOBAL_PREFIX + bucket, TRENDING_KEY, ScoreIncrement.TRENDING);
+        new TreeMap<>(delta.getLocationCounts()).forEach((location, counts) ->
+                addScopeIncrements(increments, new TreeMap<>(counts), location,
+                        LOCATION_KEYWORD_PREFIX + location, ScoreIncrement.LOCATION_RANKING,
+                        BUCKET_LOCATION_PREFIX + location + ":" + bucket, TRENDING_LOCATION_PREFIX + location,
+                        ScoreIncrement.LOCATION_TRENDING));
+
+        int rankDepth = nearCache != null ? nearCache.getDepth() : 0;
+        Set<String> rankChangedScopes = new LinkedHashSet<>();
+
+        String markerKey = DELTA_APPLIED_PREFIX + nodeId + ":" + delta.getEpoch();
+        for (int from = 0, chunkIndex = 0; from < increments.size(); from += DELTA_CHUNK_SIZE, chunkIndex++) {
+            List<ScoreIncrement> chunk = increments.subList(from, Math.min(from + DELTA_CHUNK_SIZE, increments.size()));
+
+            List<String> keys = new ArrayList<>();
+            keys.add(markerKey);
+            keys.add(TRENDING_LANDMARK_KEY);
+            keys.add(TRENDING_KEYS_KEY);
+            keys.add(CHANGED_KEYWORDS_KEY);
+            List<String> args = new ArrayList<>(4 + chunk.size() * 4);
+            args.add(once ? Integer.toString(chunkIndex) : "");
+            args.add(Long.toString(deltaMarkerTtlSeconds));
+            args.add(String.valueOf(delta.getEpoch() / 1000.0));
+            args.add(String.valueOf(decayRate));
+            args.add(Long.toString(bucketTtlSeconds));
+            args.add(Integer.toString(rankDepth));
+            args.add(changeTrackingEnabled ? "1" : "0");
+
+            // 청크 안의 ZSET 키는 처음 등장할 때 한 번만 KEYS 에 추가하고 번호로 참조
+            Map<String, Integer> keyIndexes = new HashMap<>();
+            Map<Integer, String> rankingScopes = new HashMap<>();
+            for (ScoreIncrement increment : chunk) {
+                int keyIndex = keyIndexes.computeIfAbsent(increment.key, key -> {
+                    keys.add(key);
+                    return keys.size() - 1;
+                });
+                if (increment.scope != null) {
+                    rankingScopes.put(keyIndex, increment.scope);
+                }
+                args.add(Integer.toString(keyIndex));
+                args.add(increment.member);
+                args.add(increment.delta);
+                args.add(increment.kind);
             }
 
-            // 지역별 데이터 복원
-            Map<String, Map<String, Long>> locationKeywords = memoryService.exportLocationKeywords();
-            for (Map.Entry<String, Map<String, Long>> locationEntry : locationKeywords.entrySet()) {
-                String locationKey = LOCATION_KEYWORD_PREFIX + locationEntry.getKey();
+            List<?> result = redisTemplate.execute(DELTA_APPLY_SCRIPT, keys, args.toArray());
+            collectRankChanges(result, rankingScopes, rankChangedScopes);
+        }
+
+        // 이미 닫힌 시간 버킷에 반영했으면 (재시작 후 WAL 재반영, 밀린 세대) 그 버킷을 합산해 둔 base 와
+        // 조회 결과 캐시를 지워 다음 조회에서 버킷부터 다시 합산하게 한다
+        List<String> staleWindowKeys = bucketHour < currentEpochHour()
+                ? windowCacheKeys(delta, currentEpochHour())
+                : Collections.emptyList();
+
+        // 기간 캐시 삭제는 여러 번 실행해도 결과가 같으므로 반영 기록 없이 지운다
+        // (버킷 만료와 트렌딩 키 목록 등록은 증가분과 같은 스크립트에서 갱신)
+        if (!staleWindowKeys.isEmpty()) {
+            redisTemplate.delete(staleWindowKeys);
+        }
+        return rankChangedScopes;
+    }
 
-                for (Map.Entry<String, Long> keywordEntry : locationEntry.getValue().entrySet()) {
-                    zSetOps.add(locationKey, keywordEntry.getKey(), keywordEntry.getValue());
+    /**
+     * 스크립트가 돌려준 (키 번호, 키워드, 증가 전 순위, 증가 후 순위, 점수) 중 순위가 바뀐 랭킹 키의 범위를 모은다
+     * 점수는 올라가기만 하므로 상위 깊이 안의 구성/순서가 바뀌었다면 증가한 키워드 중 하나의 순위가 깊이 안에서 바뀐다
+     */
+    private static void collectRankChanges(List<?> result, Map<Integer, String> rankingScopes, Set<String> changedScopes) {
+        if (result == null) {
+            return;
+        }
+        for (int i = 1; i + 4 < result.size(); i += 5) {
+            long before = Long.parseLong(String.valueOf(result.get(i + 2)));
+            long after = Long.parseLong(String.valueOf(result.get(i + 3)));
+            if (before != after) {
+                String scope = rankingScopes.get(Integer.parseInt(String.valueOf(result.get(i))));
+                if (scope != null) {
+                    changedScopes.add(scope);
                 }
             }
+        }
+    }
+
+    /**
+     * 증가분이 닿은 범위(전체/지역)의 시간 단위 기간별 base 반영 시각 키와 현재 시간 조회 결과 캐시 키
+     */
+    private List<String> windowCacheKeys(KeywordCountDelta delta, long currentHour) {
+        List<String> windowPrefixes = new ArrayList<>();
+        if (!delta.getGlobalCounts().isEmpty()) {
+            windowPrefixes.add(WINDOW_GLOBAL_PREFIX);
+        }
+        new TreeMap<>(delta.getLocationCounts()).keySet()
+                .forEach(location -> windowPrefixes.add(WINDOW_LOCATION_PREFIX + location + ":"));
+
+        List<String> keys = new ArrayList<>();
+        for (RankingWindow window : RankingWindow.values()) {
+            if (window == RankingWindow.TRENDING || !supports(window)) {
+                continue;
+            }
+            for (String windowPrefix : windowPrefixes) {
+                String windowKey = windowKey(windowPrefix, window);
+                keys.add(windowKey + ":built");
+                keys.add(windowKey + ":result:" + currentHour);
+            }
+        }
+        return keys;
+    }
+
+    private void addScopeIncrements(List<ScoreIncrement> increments, Map<String, Long> counts, String scope,
+                                    String rankingKey, String rankingKind,
+                                    String bucketKey, String trendingKey, String trendingKind) {
+        counts.forEach((keyword, count) -> {
+            String delta = Long.toString(count);
+            increments.add(new ScoreIncrement(rankingKey, keyword, delta, rankingKind, scope));
+            increments.add(new ScoreIncrement(bucketKey, keyword, delta, ScoreIncrement.BUCKET, null));
+            if (trendingEnabled) {
+                increments.add(new ScoreIncrement(trendingKey, keyword, delta, trendingKind, null));
+            }
+        });
+    }
+
+    /**
+     * 변경 키워드 기록 시작 (Redis/DB 정합성 검증기가 켜질 때 호출)
+     */
+    public void enableChangeTracking() {
+        changeTrackingEnabled = true;
+    }
+
+    /**
+     * 마지막 호출 이후 전체 랭킹 점수가 바뀐 키워드를 최대 limit 개 꺼냄
+     */
+    public List<String> pollChangedKeywords(int limit) {
+        List<String> keywords = tracked(() -> redisTemplate.opsForSet().pop(CHANGED_KEYWORDS_KEY, limit));
+        return keywords != null ? keywords : Collections.emptyList();
+    }
+
+    /**
+     * 전체 랭킹 점수 일괄 조회 (ZMSCORE), 없는 키워드는 null
+     */
+    public List<Double> getGlobalScores(List<String> keywords) {
+        if (keywords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return tracked(() -> zSetOps.score(KEYWORD_RANKING_KEY, keywords.toArray()));
+    }
+
+    /**
+     * 정합성 검증에서 찾은 부족분을 전체 랭킹에 더함 (청크 단위 파이프라인)
+     */
+    public void repairGlobalScores(Map<String, Long> increments) {
+        RedisSerializer<String> serializer = RedisSerializer.string();
+        byte[] rankingKey = serializer.serialize(KEYWORD_RANKING_KEY);
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(increments.entrySet());
+
+        for (int from = 0; from < entries.size(); from += DELTA_CHUNK_SIZE) {
+            List<Map.Entry<String, Long>> chunk = entries.subList(from, Math.min(from + DELTA_CHUNK_SIZE, entries.size()));
+            tracked(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<String, Long> entry : chunk) {
+                    connection.zSetCommands().zIncrBy(rankingKey, entry.getValue(), serializer.serialize(entry.getKey()));
+                }
+                return null;
+            }));
+        }
+
+        if (nearCache != null && !increments.isEmpty()) {
+            announceChanges(Set.of(GLOBAL_SCOPE));
+        }
+    }
+
+    /**
+     * 여러 노드 중 한 노드만 실행해야 하는 주기 작업의 임대 획득 (이미 보유 중이면 연장)
+     * 임대 시간 안에 연장하지 않으면 만료되어 다른 노드가 가져간다
+     */
+    public boolean tryAcquireLease(String leaseKey, long leaseMs) {
+        Long acquired = tracked(() -> redisTemplate.execute(LEASE_ACQUIRE_SCRIPT, List.of(leaseKey),
+                nodeId, Long.toString(leaseMs)));
+        return acquired != null && acquired == 1L;
+    }
+
+    /**
+     * 이 노드가 보유한 임대 반납
+     */
+    public void releaseLease(String leaseKey) {
+        tracked(() -> redisTemplate.execute(LEASE_RELEASE_SCRIPT, List.of(leaseKey), nodeId));
+    }
+
+    private static double nowSeconds() {
+        return System.currentTimeMillis() / 1000.0;
+    }
+
+    private static <T> RedisScript<T> script(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(resultType);
+        return script;
+    }
+
+    // 추가: Redis 데이터 백업 메서드 (Memory → Redis 복원은 applyDelta 로 증가분 단위 반영)
+    public void backupToMemory(MemoryKeywordRankingImpl memoryService) {
+        try {
+            // 전체 키워드 백업 - 한 번의 조회 결과를 카운트 단위로 일괄 병합
+            Set<ZSetOperations.TypedTuple<String>> globalKeywords =
+                    zSetOps.rangeWithScores(KEYWORD_RANKING_KEY, 0, -1);
+            if (globalKeywords == null || globalKeywords.isEmpty()) {
+                return;
+            }
+
+            Map<String, Long> counts = new HashMap<>(globalKeywords.size() * 2);
+            for (ZSetOperations.TypedTuple<String> tuple : globalKeywords) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    counts.put(tuple.getValue(), tuple.getScore().longValue());
+                }
+            }
+
+            // Memory 서비스에 데이터 복원
+            memoryService.mergeCounts(counts, Collections.emptyMap());
 
         } catch (Exception e) {
-            System.err.println("Redis 복원 실패: " + e.getMessage());
+            logger.error("Redis 백업 실패: {}", e.getMessage());
+        }
+    }
+
+    private static final class ScoreIncrement {
+        // 스크립트의 종류 값 - 랭킹은 증가 전후 순위 확인, 시간 버킷은 만료 갱신, 트렌딩은 기준 시각 가중치를 곱한다
+        // 전체 랭킹 키워드는 검증기가 켜져 있으면 같은 스크립트에서 변경 키워드로 기록한다
+        // 지역 트렌딩 키는 재정규화 대상이 되도록 같은 스크립트에서 트렌딩 키 목록에도 등록한다
+        private static final String GLOBAL_RANKING = "g";
+        private static final String LOCATION_RANKING = "r";
+        private static final String BUCKET = "b";
+        private static final String TRENDING = "t";
+        private static final String LOCATION_TRENDING = "l";
+
+        private final String key;
+        private final String member;
+        private final String delta;
+        private final String kind;
+        // 랭킹 키의 범위 (전체 범위는 빈 문자열, 랭킹 키가 아니면 null)
+        private final String scope;
+
+        private ScoreIncrement(String key, String member, String delta, String kind, String scope) {
+            this.key = key;
+            this.member = member;
+            this.delta = delta;
+            this.kind = kind;
+            this.scope = scope;
         }
     }
 }
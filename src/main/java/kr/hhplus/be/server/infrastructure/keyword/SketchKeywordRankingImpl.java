@@ -0,0 +1,94 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 고정 메모리 Sketch 기반 Fallback 구현
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 장애가 길어져도 메모리 사용량이 키워드 카디널리티에 비례하지 않는 Memory 티어
+ * - Top-K: 스코프(전체/지역)별 Space-Saving 요약 (capacity 개 카운터 고정)
+ * - 단건 카운트: 전체 스코프 Count-Min Sketch (width * depth 개 long 고정)
+ * - 지역 스코프 수는 max-locations 로 제한, 초과 지역은 전체 스코프에만 집계
+ *
+ * 오차 범위 (N: 스코프 전체 증가 횟수)
+ * - getTopKeywords 카운트: 실제값 이상, 과대 추정 최대 N / capacity
+ * - getKeywordCount: 실제값 이상, 확률 1 - delta 로 과대 추정 최대 epsilon * N
+ */
+@Component("memoryKeywordRanking")
+@ConditionalOnProperty(name = "keyword.ranking.memory.mode", havingValue = "sketch")
+public class SketchKeywordRankingImpl implements KeywordRanking {
+
+    private final int capacity;
+    private final int maxLocations;
+    private final SpaceSavingSummary globalSummary;
+    private final CountMinSketch globalSketch;
+    private final Map<String, SpaceSavingSummary> locationSummaries = new ConcurrentHashMap<>();
+
+    public SketchKeywordRankingImpl(@Value("${keyword.ranking.sketch.capacity:1000}") int capacity,
+                                    @Value("${keyword.ranking.sketch.max-locations:256}") int maxLocations,
+                                    @Value("${keyword.ranking.sketch.epsilon:0.0001}") double epsilon,
+                                    @Value("${keyword.ranking.sketch.delta:0.001}") double delta) {
+        this.capacity = capacity;
+        this.maxLocations = maxLocations;
+        this.globalSummary = new SpaceSavingSummary(capacity);
+        this.globalSketch = new CountMinSketch(epsilon, delta);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword) {
+        incrementKeywordCount(keyword, null, 1);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location) {
+        incrementKeywordCount(keyword, location, 1);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location, long delta) {
+        globalSketch.add(keyword, delta);
+        globalSummary.add(keyword, delta);
+
+        if (location != null && !location.trim().isEmpty()) {
+            SpaceSavingSummary summary = locationSummaries.get(location);
+            if (summary == null) {
+                if (locationSummaries.size() >= maxLocations) {
+                    return;
+                }
+                summary = locationSummaries.computeIfAbsent(location, k -> new SpaceSavingSummary(capacity));
+            }
+            summary.add(keyword, delta);
+        }
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywords(int limit) {
+        return globalSummary.top(limit);
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
+        SpaceSavingSummary summary = locationSummaries.get(location);
+        return summary != null ? summary.top(limit) : Collections.emptyList();
+    }
+
+    @Override
+    public Long getKeywordCount(String keyword) {
+        // 두 추정값 모두 과대 추정이므로 작은 값이 더 정확하다
+        long estimate = globalSketch.estimate(keyword);
+        long tracked = globalSummary.count(keyword);
+        return tracked >= 0 ? Math.min(estimate, tracked) : estimate;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+}
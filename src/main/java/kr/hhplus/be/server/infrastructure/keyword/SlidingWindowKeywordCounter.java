@@ -0,0 +1,291 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 분 단위 링 버퍼 기반 기간별 키워드 카운터 (단일 스코프)
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 분 단위 버킷을 링 버퍼로 유지하는 기간별 카운터
+ * - 쓰기: 해당 분 버킷을 CAS로 교체/획득 후 LongAdder 증가 (잠금 없음)
+ * - 조회: 기간별 집계 결과를 캐시해 두고 새로 닫힌 버킷은 더하고 만료된 버킷은 빼는 방식으로 갱신
+ * - 현재 분과 직전 분은 늦게 도착하는 증가분이 있을 수 있어 조회 시마다 직접 합산
+ * - 집계에 더한 버킷은 봉인(seal)해 그 시점의 합계를 고정하고, 이후 쓰기는 거부
+ *   (만료 시 더했던 값과 정확히 같은 값을 빼기 위함)
+ * - 최대 기간보다 오래 쓰기가 없으면 retireIfIdle 로 은퇴시킬 수 있고, 은퇴한 카운터는 쓰기를 받지 않는다
+ */
+public class SlidingWindowKeywordCounter {
+
+    private static final int LIVE_MINUTES = 2;
+
+    private static final long NEVER_WRITTEN = Long.MIN_VALUE + 1;
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final int ringSize;
+    private final AtomicReferenceArray<MinuteBucket> ring;
+    private final Map<RankingWindow, WindowAggregate> aggregates = new EnumMap<>(RankingWindow.class);
+    private final AtomicLong lastWriteMinute = new AtomicLong(NEVER_WRITTEN);
+    private final LongAdder rejectedLateWrites = new LongAdder();
+
+    public SlidingWindowKeywordCounter() {
+        // 가장 긴 기간의 만료 버킷을 뺄 수 있도록 한 칸 여유
+        this.ringSize = RankingWindow.maxMinutes() + 1;
+        this.ring = new AtomicReferenceArray<>(ringSize);
+        for (RankingWindow window : RankingWindow.values()) {
+            if (window.isSliding()) {
+                aggregates.put(window, new WindowAggregate(window.getMinutes()));
+            }
+        }
+    }
+
+    public boolean increment(String keyword, long minute) {
+        return add(keyword, minute, 1);
+    }
+
+    /**
+     * 반환값: 은퇴한 카운터면 false (호출자가 새 카운터로 다시 기록)
+     * 이미 집계에 봉인된 분이나 링 한 바퀴 이상 지난 분에 대한 쓰기는 버리고 rejectedLateWrites 로 센다
+     */
+    public boolean add(String keyword, long minute, long count) {
+        if (!touch(minute)) {
+            return false;
+        }
+        MinuteBucket bucket = bucketFor(minute);
+        if (bucket == null || !bucket.tryAdd(keyword, count)) {
+            rejectedLateWrites.increment();
+        }
+        return true;
+    }
+
+    /**
+     * 마지막 쓰기가 nowMinute 기준 가장 긴 기간 밖이면 은퇴 처리 (이후 add 는 false)
+     */
+    public boolean retireIfIdle(long nowMinute) {
+        long last = lastWriteMinute.get();
+        if (last == RETIRED) {
+            return true;
+        }
+        return last < nowMinute - ringSize && lastWriteMinute.compareAndSet(last, RETIRED);
+    }
+
+    public long getRejectedLateWrites() {
+        return rejectedLateWrites.sum();
+    }
+
+    private boolean touch(long minute) {
+        while (true) {
+            long last = lastWriteMinute.get();
+            if (last == RETIRED) {
+                return false;
+            }
+            // 같은 값이라도 CAS 를 거쳐야 retireIfIdle 과의 경합에서 은퇴 여부를 놓치지 않는다
+            if (lastWriteMinute.compareAndSet(last, Math.max(last, minute))) {
+                return true;
+            }
+        }
+    }
+
+    public List<KeywordDto> top(RankingWindow window, int limit, long nowMinute) {
+        WindowAggregate aggregate = aggregates.get(window);
+        if (aggregate == null) {
+            throw new IllegalArgumentException("기간별 집계를 지원하지 않는 기간입니다: " + window);
+        }
+
+        synchronized (aggregate) {
+            aggregate.advanceTo(nowMinute - LIVE_MINUTES, nowMinute);
+
+            Map<String, Long> live = new HashMap<>();
+            for (long minute = nowMinute - LIVE_MINUTES + 1; minute <= nowMinute; minute++) {
+                MinuteBucket bucket = bucketAt(minute);
+                if (bucket != null) {
+                    bucket.counts.forEach((keyword, adder) -> live.merge(keyword, adder.sum(), Long::sum));
+                }
+            }
+
+            PriorityQueue<KeywordDto> heap = new PriorityQueue<>(limit + 1, Comparator.comparingLong(KeywordDto::getCount));
+            for (Map.Entry<String, Long> entry : aggregate.counts.entrySet()) {
+                Long liveCount = live.remove(entry.getKey());
+                offer(heap, entry.getKey(), entry.getValue() + (liveCount != null ? liveCount : 0L), limit);
+            }
+            for (Map.Entry<String, Long> entry : live.entrySet()) {
+                offer(heap, entry.getKey(), entry.getValue(), limit);
+            }
+
+            List<KeywordDto> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingLong(KeywordDto::getCount).reversed());
+            return result;
+        }
+    }
+
+    private static void offer(PriorityQueue<KeywordDto> heap, String keyword, long count, int limit) {
+        if (count <= 0) {
+            return;
+        }
+        if (heap.size() < limit) {
+            heap.offer(new KeywordDto(keyword, count));
+        } else if (heap.peek().getCount() < count) {
+            heap.poll();
+            heap.offer(new KeywordDto(keyword, count));
+        }
+    }
+
+    private MinuteBucket bucketFor(long minute) {
+        int index = (int) Math.floorMod(minute, (long) ringSize);
+        while (true) {
+            MinuteBucket current = ring.get(index);
+            if (current != null && current.minute == minute) {
+                return current;
+            }
+            if (current != null && current.minute > minute) {
+                // 링 한 바퀴 이상 지연된 쓰기는 버린다
+                return null;
+            }
+            MinuteBucket fresh = new MinuteBucket(minute);
+            if (ring.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private MinuteBucket bucketAt(long minute) {
+        MinuteBucket bucket = ring.get((int) Math.floorMod(minute, (long) ringSize));
+        return bucket != null && bucket.minute == minute ? bucket : null;
+    }
+
+    /**
+     * 집계에 더할 분의 버킷을 봉인해 돌려준다
+     * 버킷이 아직 없으면 빈 봉인 버킷을 심어 두어, 뒤늦게 도착한 쓰기가 새 버킷을 만들지 못하게 한다
+     */
+    private MinuteBucket sealedBucket(long minute) {
+        int index = (int) Math.floorMod(minute, (long) ringSize);
+        while (true) {
+            MinuteBucket current = ring.get(index);
+            if (current != null && current.minute == minute) {
+                current.seal();
+                return current;
+            }
+            if (current != null && current.minute > minute) {
+                return null;
+            }
+            MinuteBucket empty = MinuteBucket.sealedEmpty(minute);
+            if (ring.compareAndSet(index, current, empty)) {
+                return empty;
+            }
+        }
+    }
+
+    private static final class MinuteBucket {
+        private final long minute;
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean sealing;
+        private volatile Map<String, Long> sealed;
+
+        private MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+
+        private static MinuteBucket sealedEmpty(long minute) {
+            MinuteBucket bucket = new MinuteBucket(minute);
+            bucket.sealing = true;
+            bucket.sealed = Map.of();
+            return bucket;
+        }
+
+        /**
+         * 봉인 전이면 증가 후 true, 봉인 중/후면 false
+         * writers 를 먼저 올리고 sealing 을 확인하므로, seal 은 진행 중인 쓰기가 끝난 뒤의 합계를 고정한다
+         */
+        private boolean tryAdd(String keyword, long count) {
+            writers.incrementAndGet();
+            try {
+                if (sealing) {
+                    return false;
+                }
+                counts.computeIfAbsent(keyword, k -> new LongAdder()).add(count);
+                return true;
+            } finally {
+                writers.decrementAndGet();
+            }
+        }
+
+        private void seal() {
+            if (sealed != null) {
+                return;
+            }
+            synchronized (this) {
+                if (sealed != null) {
+                    return;
+                }
+                sealing = true;
+                while (writers.get() != 0) {
+                    Thread.onSpinWait();
+                }
+                Map<String, Long> snapshot = new HashMap<>(counts.size() * 2);
+                counts.forEach((keyword, adder) -> snapshot.put(keyword, adder.sum()));
+                sealed = snapshot;
+                // 봉인 후에는 쓰기가 들어오지 않으므로 LongAdder 는 더 이상 필요 없다
+                counts.clear();
+            }
+        }
+    }
+
+    /**
+     * 닫힌 버킷 [closedThrough - closedSpan + 1, closedThrough] 의 합계
+     */
+    private final class WindowAggregate {
+        private final int closedSpan;
+        private final Map<String, Long> counts = new HashMap<>();
+        private long closedThrough = Long.MIN_VALUE;
+
+        private WindowAggregate(int minutes) {
+            this.closedSpan = minutes - LIVE_MINUTES;
+        }
+
+        private void advanceTo(long target, long nowMinute) {
+            if (closedThrough != Long.MIN_VALUE && target <= closedThrough) {
+                return;
+            }
+
+            // 빼야 할 만료 버킷이 이미 링에서 덮어써졌다면 증분 갱신이 불가능하므로 다시 합산
+            boolean expiredBucketsOverwritten = closedThrough + 1 - closedSpan <= nowMinute - ringSize;
+            if (closedThrough == Long.MIN_VALUE || expiredBucketsOverwritten) {
+                counts.clear();
+                for (long minute = target - closedSpan + 1; minute <= target; minute++) {
+                    apply(sealedBucket(minute), 1);
+                }
+            } else {
+                for (long minute = closedThrough + 1; minute <= target; minute++) {
+                    apply(sealedBucket(minute), 1);
+                    // 더할 때 봉인된 합계를 그대로 빼므로 봉인 이후 쓰기로 인한 어긋남이 없다
+                    apply(bucketAt(minute - closedSpan), -1);
+                }
+            }
+            closedThrough = target;
+        }
+
+        private void apply(MinuteBucket bucket, int sign) {
+            if (bucket == null || bucket.sealed == null) {
+                return;
+            }
+            bucket.sealed.forEach((keyword, sum) -> {
+                long updated = counts.getOrDefault(keyword, 0L) + sign * sum;
+                if (updated > 0) {
+                    counts.put(keyword, updated);
+                } else {
+                    counts.remove(keyword);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// Memory 기반 기간별("지금 뜨는") 키워드 랭킹 - 노드 로컬 집계
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SlidingWindowKeywordRanking implements WindowedKeywordRanking {
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private final SlidingWindowKeywordCounter globalCounter = new SlidingWindowKeywordCounter();
+    private final Map<String, SlidingWindowKeywordCounter> locationCounters = new ConcurrentHashMap<>();
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location, long delta) {
+        long minute = currentMinute();
+        globalCounter.add(keyword, minute, delta);
+
+        if (location != null && !location.trim().isEmpty()) {
+            while (true) {
+                SlidingWindowKeywordCounter counter =
+                        locationCounters.computeIfAbsent(location, k -> new SlidingWindowKeywordCounter());
+                if (counter.add(keyword, minute, delta)) {
+                    break;
+                }
+                // 정리 작업이 은퇴시킨 카운터 - 맵에서 빼고 새 카운터에 다시 기록
+                locationCounters.remove(location, counter);
+            }
+        }
+    }
+
+    /**
+     * 가장 긴 기간 동안 검색이 없던 지역의 카운터를 정리 (지역 수만큼 링 버퍼가 쌓이지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${keyword.ranking.window.idle-sweep-interval-ms:600000}")
+    public void evictIdleLocations() {
+        evictIdleLocations(currentMinute());
+    }
+
+    void evictIdleLocations(long nowMinute) {
+        locationCounters.forEach((location, counter) -> {
+            if (counter.retireIfIdle(nowMinute)) {
+                locationCounters.remove(location, counter);
+            }
+        });
+    }
+
+    int getLocationCount() {
+        return locationCounters.size();
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywords(RankingWindow window, int limit) {
+        return globalCounter.top(window, limit, currentMinute());
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywordsByLocation(RankingWindow window, String location, int limit) {
+        SlidingWindowKeywordCounter counter = locationCounters.get(location);
+        return counter != null ? counter.top(window, limit, currentMinute()) : Collections.emptyList();
+    }
+
+    @Override
+    public boolean supports(RankingWindow window) {
+        return window.isSliding();
+    }
+
+    private long currentMinute() {
+        return System.currentTimeMillis() / MILLIS_PER_MINUTE;
+    }
+}
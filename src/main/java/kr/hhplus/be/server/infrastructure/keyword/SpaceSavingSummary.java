@@ -0,0 +1,134 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 고정 크기 Heavy-Hitter 요약 (Space-Saving)
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 알고리즘
+ * - capacity 개의 카운터만 유지하며, 가득 차면 최소 카운터를 새 키워드로 교체
+ * - 카운트는 실제값 이상이며 과대 추정은 최대 N / capacity (N: 해당 스코프의 전체 증가 횟수)
+ * - 실제 빈도가 N / capacity 를 넘는 키워드는 반드시 요약에 포함된다
+ * - 카운터는 최소 힙으로 관리하여 갱신 비용 O(log capacity)
+ */
+public class SpaceSavingSummary {
+
+    private final int capacity;
+    private final String[] keys;
+    private final long[] counts;
+    private final Map<String, Integer> positions;
+    private int size;
+
+    public SpaceSavingSummary(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Space-Saving 용량은 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.keys = new String[capacity];
+        this.counts = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void add(String key, long count) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            counts[position] += count;
+            siftDown(position);
+            return;
+        }
+
+        if (size < capacity) {
+            keys[size] = key;
+            counts[size] = count;
+            positions.put(key, size);
+            siftUp(size++);
+            return;
+        }
+
+        // 최소 카운터 교체 - 이전 최소값이 새 키워드 카운트의 최대 과대 추정분이 된다
+        positions.remove(keys[0]);
+        long minCount = counts[0];
+        keys[0] = key;
+        counts[0] = minCount + count;
+        positions.put(key, 0);
+        siftDown(0);
+    }
+
+    /**
+     * 추적 중인 키워드의 (과대 추정) 카운트, 추적하지 않으면 -1
+     */
+    public synchronized long count(String key) {
+        Integer position = positions.get(key);
+        return position != null ? counts[position] : -1L;
+    }
+
+    public synchronized List<KeywordDto> top(int limit) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+
+        int resultSize = Math.min(limit, size);
+        List<KeywordDto> result = new ArrayList<>(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            result.add(new KeywordDto(keys[order[i]], counts[order[i]]));
+        }
+        return result;
+    }
+
+    /**
+     * 요약 내 최소 카운트 - 요약 밖 키워드의 빈도 상한
+     */
+    public synchronized long minCount() {
+        return size < capacity ? 0L : counts[0];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[parent] <= counts[index]) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int smallest = right < size && counts[right] < counts[left] ? right : left;
+            if (counts[index] <= counts[smallest]) {
+                break;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+}
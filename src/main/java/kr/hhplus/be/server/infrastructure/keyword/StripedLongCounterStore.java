@@ -0,0 +1,206 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// int ID → long 카운트 저장소 (스트라이프별 open addressing)
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 박싱 없는 카운터 저장소
+ * - 스트라이프마다 int 키 / long 값 배열을 선형 탐사로 관리 (키워드당 약 24바이트)
+ * - 이미 있는 키의 증가는 잠금 없이 값 슬롯 CAS (검색이 몰리는 인기 키워드가 스트라이프 잠금에 줄 서지 않도록)
+ * - 새 키 추가와 리사이즈만 스트라이프 쓰기 잠금
+ * - 리사이즈는 옛 슬롯 값을 MOVED 로 바꾸면서 옮기므로, 옮긴 뒤 도착한 CAS 는 실패하고 잠금 경로로 다시 시도한다
+ * - 조회는 잠금 없음 (옛 테이블에서 MOVED 를 보면 새 테이블로 다시 조회)
+ */
+public class StripedLongCounterStore {
+
+    private static final int EMPTY = 0;
+    private static final long MOVED = Long.MIN_VALUE;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedLongCounterStore() {
+        this(Math.max(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4)));
+    }
+
+    public StripedLongCounterStore(int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("스트라이프 수는 2의 거듭제곱이어야 합니다.");
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * 카운트 증가 후 증가된 값 반환
+     */
+    public long add(int id, long delta) {
+        return stripeOf(id).add(id, delta);
+    }
+
+    public long get(int id) {
+        return stripeOf(id).get(id);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void forEach(IdCountConsumer consumer) {
+        for (Stripe stripe : stripes) {
+            stripe.forEach(consumer);
+        }
+    }
+
+    @FunctionalInterface
+    public interface IdCountConsumer {
+        void accept(int id, long count);
+    }
+
+    private Stripe stripeOf(int id) {
+        return stripes[mix(id) & stripeMask];
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Table {
+        // 키는 id + 1 로 저장 (0 = 빈 슬롯), 한 번 기록한 키는 바뀌지 않는다
+        private final AtomicIntegerArray keys;
+        private final AtomicLongArray values;
+
+        private Table(int capacity) {
+            this.keys = new AtomicIntegerArray(capacity);
+            this.values = new AtomicLongArray(capacity);
+        }
+
+        private int length() {
+            return keys.length();
+        }
+
+        private int findSlot(int key) {
+            int mask = keys.length() - 1;
+            int h = key * 0x85EBCA6B;
+            int slot = (h ^ (h >>> 15)) & mask;
+            // 적재율 1/2 이하를 유지하므로 빈 슬롯이 항상 있다
+            while (true) {
+                int current = keys.get(slot);
+                if (current == key || current == EMPTY) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private volatile Table table = new Table(16);
+        private volatile int size;
+
+        private long add(int id, long delta) {
+            int key = id + 1;
+            Table current = table;
+            int slot = current.findSlot(key);
+            if (current.keys.get(slot) == key) {
+                long value;
+                while ((value = current.values.get(slot)) != MOVED) {
+                    if (current.values.compareAndSet(slot, value, value + delta)) {
+                        return value + delta;
+                    }
+                }
+            }
+            return addLocked(key, delta);
+        }
+
+        private long addLocked(int key, long delta) {
+            long stamp = lock.writeLock();
+            try {
+                // 잠금 안에서는 리사이즈가 없으므로 MOVED 를 볼 일이 없다 (잠금 없는 증가와는 계속 경쟁하므로 원자적으로 더한다)
+                Table current = table;
+                int slot = current.findSlot(key);
+                if (current.keys.get(slot) == key) {
+                    return current.values.addAndGet(slot, delta);
+                }
+                // 값을 먼저 쓰고 키를 공개해야 잠금 없는 증가가 초기화 전 슬롯을 보지 않는다
+                current.values.set(slot, delta);
+                current.keys.set(slot, key);
+                size++;
+                if (size * 2 > current.length()) {
+                    resize(current);
+                }
+                return delta;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private long get(int id) {
+            int key = id + 1;
+            while (true) {
+                Table current = table;
+                int slot = current.findSlot(key);
+                if (current.keys.get(slot) != key) {
+                    return 0L;
+                }
+                long value = current.values.get(slot);
+                if (value != MOVED) {
+                    return value;
+                }
+                // 리사이즈 도중 - 새 테이블이 공개될 때까지 다시 조회
+                Thread.onSpinWait();
+            }
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void forEach(IdCountConsumer consumer) {
+            // 읽기 잠금으로 리사이즈만 막는다 (진행 중인 증가는 반영될 수도 있고 아닐 수도 있다)
+            long stamp = lock.readLock();
+            try {
+                Table current = table;
+                for (int i = 0; i < current.length(); i++) {
+                    int key = current.keys.get(i);
+                    if (key != EMPTY) {
+                        consumer.accept(key - 1, current.values.get(i));
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void resize(Table old) {
+            Table resized = new Table(old.length() * 2);
+            for (int i = 0; i < old.length(); i++) {
+                int key = old.keys.get(i);
+                if (key != EMPTY) {
+                    // 옮긴 뒤의 CAS 가 옛 테이블에 남지 않도록 값을 MOVED 로 바꾸며 가져온다
+                    long value = old.values.getAndSet(i, MOVED);
+                    int slot = resized.findSlot(key);
+                    resized.values.set(slot, value);
+                    resized.keys.set(slot, key);
+                }
+            }
+            table = resized;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 랭킹 저장소 티어 상태 관리 (closed / open / half-open)
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실제 호출 결과와 주기적 probe 로 티어 상태를 갱신하는 상태 기계
+ * - CLOSED: 정상, 연속 실패가 임계치에 닿으면 OPEN
+ * - OPEN: 호출하지 않고 바로 failover, open-duration 이 지나면 probe 가 HALF_OPEN 으로 전환
+ * - HALF_OPEN: 시험 호출 허용, 연속 성공이 임계치에 닿으면 CLOSED / 한 번이라도 실패하면 다시 OPEN
+ * isAvailable() 은 volatile 읽기뿐이라 요청마다 Redis 왕복이 생기지 않는다
+ */
+public class TierHealthManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TierHealthManager.class);
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    /**
+     * 상태 전이 알림 (전이를 일으킨 스레드에서 호출되므로 오래 걸리는 작업은 넘겨서 처리)
+     */
+    public interface TransitionListener {
+        void onTransition(State from, State to);
+    }
+
+    private final String tier;
+    private final int failureThreshold;
+    private final int halfOpenSuccessThreshold;
+    private final long openDurationMs;
+    // [from][to] 상태 전이 횟수 - 전이마다 등록/조회하지 않도록 생성 시 한 번 등록
+    private final Counter[][] transitionCounters;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+    private final List<TransitionListener> listeners = new CopyOnWriteArrayList<>();
+
+    public TierHealthManager(String tier, int failureThreshold, int halfOpenSuccessThreshold,
+                             long openDurationMs, MeterRegistry meterRegistry) {
+        this.tier = tier;
+        this.failureThreshold = failureThreshold;
+        this.halfOpenSuccessThreshold = halfOpenSuccessThreshold;
+        this.openDurationMs = openDurationMs;
+
+        State[] states = State.values();
+        this.transitionCounters = new Counter[states.length][states.length];
+        for (State from : states) {
+            for (State to : states) {
+                if (from != to) {
+                    transitionCounters[from.ordinal()][to.ordinal()] = Counter.builder("keyword.tier.health.transitions")
+                            .tag("tier", tier)
+                            .tag("from", from.name())
+                            .tag("to", to.name())
+                            .register(meterRegistry);
+                }
+            }
+        }
+
+        Gauge.builder("keyword.tier.health.state", this, manager -> manager.state.ordinal())
+                .description("0 = closed, 1 = half-open, 2 = open")
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return state != State.OPEN;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void addListener(TransitionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void recordSuccess() {
+        State current = state;
+        if (current == State.CLOSED) {
+            // 대부분의 호출은 이미 0 이므로 쓰기 없이 끝난다
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+        } else if (current == State.HALF_OPEN && halfOpenSuccesses.incrementAndGet() >= halfOpenSuccessThreshold) {
+            transition(State.HALF_OPEN, State.CLOSED);
+        }
+    }
+
+    public void recordFailure() {
+        State current = state;
+        if (current == State.HALF_OPEN) {
+            transition(State.HALF_OPEN, State.OPEN);
+        } else if (current == State.CLOSED && consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            transition(State.CLOSED, State.OPEN);
+        }
+    }
+
+    /**
+     * 주기적 상태 확인 - OPEN 이면 open-duration 이 지난 뒤에만 시도
+     */
+    public void probe(Runnable check) {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return;
+            }
+            transition(State.OPEN, State.HALF_OPEN);
+        }
+
+        try {
+            check.run();
+            recordSuccess();
+        } catch (Exception e) {
+            recordFailure();
+        }
+    }
+
+    private void transition(State from, State to) {
+        synchronized (this) {
+            if (state != from) {
+                return; // 다른 스레드가 먼저 전이
+            }
+            consecutiveFailures.set(0);
+            halfOpenSuccesses.set(0);
+            if (to == State.OPEN) {
+                openedAt = System.currentTimeMillis();
+            }
+            state = to;
+        }
+
+        transitionCounters[from.ordinal()][to.ordinal()].increment();
+        if (to == State.OPEN) {
+            logger.warn("랭킹 티어 상태 전이: tier={}, {} -> {}", tier, from, to);
+        } else {
+            logger.info("랭킹 티어 상태 전이: tier={}, {} -> {}", tier, from, to);
+        }
+
+        for (TransitionListener listener : listeners) {
+            try {
+                listener.onTransition(from, to);
+            } catch (Exception e) {
+                logger.error("랭킹 티어 상태 전이 처리 실패: tier={}, {} -> {}, error={}", tier, from, to, e.getMessage(), e);
+            }
+        }
+    }
+}
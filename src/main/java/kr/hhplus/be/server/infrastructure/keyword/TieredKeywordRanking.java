@@ -0,0 +1,711 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// Memory / Redis / Database 를 묶은 계층형 키워드 랭킹
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.hhplus.be.server.common.util.RateLimitedLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세 저장소를 하나의 KeywordRanking 으로 묶는다
+ * - 기록: 모든 증가는 Memory 티어에만 반영 (WAL + 카운터, 네트워크 호출 없음)
+ * - Redis: write-behind 주기마다 Memory 세대를 닫아 증가분을 멱등 반영, 장애 중에는 보류했다가 복구 후 순서대로 반영
+ *   보류 한도를 넘으면 가장 오래된 세대를 메모리에서 내려놓고 복구 후 WAL 에서 같은 세대로 다시 읽어 반영
+ *   (WAL 이 꺼져 있으면 아직 보내지 않은 가장 오래된 두 세대를 합침)
+ * - Database: compaction 주기마다 그동안 닫힌 세대를 합쳐 한 번에 반영 (실패 시 다음 주기에 재시도)
+ *   보류 한도를 넘으면 가장 오래된 두 세대를 합침
+ * - 확정(WAL 체크포인트)은 Redis 와 Database 가 모두 반영한 세대까지만 진행 - 어느 세대도 반영 전에 확정하거나 버리지 않는다
+ * - 조회: read-order 순서대로, 사용 가능하고 지연이 상한 이내이며 결과가 있는 첫 티어에서 응답
+ *   (마지막 티어는 지연과 무관하게 최종 fallback)
+ * Memory 구현체가 세대 drain 을 지원하지 않으면(sketch 모드) 기록은 Redis → Memory 순서로 직접 반영
+ */
+@Component("tieredKeywordRanking")
+public class TieredKeywordRanking implements KeywordRanking {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredKeywordRanking.class);
+
+    public enum Tier {
+        MEMORY("memory"),
+        REDIS("redis"),
+        DATABASE("database");
+
+        private final String code;
+
+        Tier(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public static Tier fromCode(String code) {
+            for (Tier tier : values()) {
+                if (tier.code.equalsIgnoreCase(code.trim())) {
+                    return tier;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 랭킹 티어입니다: " + code);
+        }
+    }
+
+    /**
+     * 조회 결과와 응답한 티어
+     */
+    public static final class TierResult {
+        private final Tier tier;
+        private final List<KeywordDto> keywords;
+
+        private TierResult(Tier tier, List<KeywordDto> keywords) {
+            this.tier = tier;
+            this.keywords = keywords;
+        }
+
+        public Tier getTier() { return tier; }
+        public List<KeywordDto> getKeywords() { return keywords; }
+    }
+
+    private final Map<Tier, KeywordRanking> rankings = new EnumMap<>(Tier.class);
+    private final List<Tier> readOrder;
+    private final Map<Tier, Long> maxLagMs = new EnumMap<>(Tier.class);
+
+    // 세대 drain 을 지원하는 Memory 구현체일 때만 write-behind 동작
+    private final KeywordDeltaSource memorySource;
+    private final KeywordDeltaSink redisSink;
+    private final KeywordDeltaSink databaseSink;
+
+    private final long writeBehindIntervalMs;
+    private final long compactionIntervalMs;
+    private final int maxBacklog;
+
+    // Redis 에 아직 반영되지 않은 세대 (오래된 순, write-behind 잠금 안에서만 변경)
+    // 같은 세대 번호/내용으로 재시도해야 Redis 청크 반영 기록이 맞는다
+    private final ConcurrentLinkedDeque<PendingDelta> redisBacklog = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger redisBacklogSize = new AtomicInteger();
+    // 보류 한도를 넘어 메모리에서 내려놓은 세대 범위 (redisAppliedEpoch 초과 ~ redisSpilledEpoch 이하) - WAL 에서 다시 읽어 반영
+    private volatile long redisSpilledEpoch = Long.MIN_VALUE;
+    private volatile long redisSpilledOpenedAt;
+
+    // Database 에 아직 반영되지 않은 세대 (오래된 순, databaseBacklogLock 안에서만 변경)
+    // compaction 이 반영 중인 세대는 databaseInFlight 로 옮겨 두어 병합 대상에서 빠진다
+    private final ConcurrentLinkedDeque<PendingDelta> databaseBacklog = new ConcurrentLinkedDeque<>();
+    private volatile List<PendingDelta> databaseInFlight = List.of();
+    private final AtomicInteger databaseBacklogSize = new AtomicInteger();
+    private final Object databaseBacklogLock = new Object();
+
+    // 저장소별로 이 epoch 이하 세대는 모두 반영됨 - 체크포인트는 둘 중 작은 값까지만
+    private volatile long redisAppliedEpoch = Long.MIN_VALUE;
+    private volatile long databaseAppliedEpoch = Long.MIN_VALUE;
+    private volatile long drainedEpoch = Long.MIN_VALUE;
+    private long markedRedisEpoch = Long.MIN_VALUE;
+    private long markedDatabaseEpoch = Long.MIN_VALUE;
+    private long committedEpoch = Long.MIN_VALUE;
+    private final Object commitLock = new Object();
+
+    private final Object writeBehindLock = new Object();
+    private final Object compactionLock = new Object();
+    // 현재 Memory 세대가 열린 시각 (다음 drain 대상 증가분의 가장 오래된 시점)
+    private volatile long currentGenerationOpenedAt = System.currentTimeMillis();
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<Tier, Counter> overflowedDeltas = new EnumMap<>(Tier.class);
+    // 티어 장애가 이어지는 동안 요청/주기마다 같은 실패 로그가 쌓이지 않도록 간격당 한 번만 기록
+    private final RateLimitedLogger failureLogger;
+
+    public TieredKeywordRanking(@Qualifier("memoryKeywordRanking") KeywordRanking memoryKeywordRanking,
+                                @Qualifier("redisKeywordRanking") KeywordRanking redisKeywordRanking,
+                                @Qualifier("databaseKeywordRanking") KeywordRanking databaseKeywordRanking,
+                                MeterRegistry meterRegistry,
+                                @Value("${keyword.ranking.tiered.read-order:redis,memory,database}") String readOrder,
+                                @Value("${keyword.ranking.tiered.write-behind-interval-ms:1000}") long writeBehindIntervalMs,
+                                @Value("${keyword.ranking.tiered.compaction-interval-ms:300000}") long compactionIntervalMs,
+                                @Value("${keyword.ranking.tiered.max-backlog:1000}") int maxBacklog,
+                                @Value("${keyword.ranking.tiered.redis-max-lag-ms:30000}") long redisMaxLagMs,
+                                @Value("${keyword.ranking.tiered.database-max-lag-ms:-1}") long databaseMaxLagMs,
+                                @Value("${keyword.ranking.tiered.failure-log-interval-ms:10000}") long failureLogIntervalMs) {
+        if (maxBacklog < 2) {
+            throw new IllegalArgumentException("보류 세대 한도는 2 이상이어야 합니다: " + maxBacklog);
+        }
+        rankings.put(Tier.MEMORY, memoryKeywordRanking);
+        rankings.put(Tier.REDIS, redisKeywordRanking);
+        rankings.put(Tier.DATABASE, databaseKeywordRanking);
+        this.readOrder = parseReadOrder(readOrder);
+        this.maxLagMs.put(Tier.MEMORY, -1L);
+        this.maxLagMs.put(Tier.REDIS, redisMaxLagMs);
+        this.maxLagMs.put(Tier.DATABASE, databaseMaxLagMs);
+
+        this.memorySource = memoryKeywordRanking instanceof KeywordDeltaSource source ? source : null;
+        this.redisSink = redisKeywordRanking instanceof KeywordDeltaSink sink ? sink : null;
+        this.databaseSink = databaseKeywordRanking instanceof KeywordDeltaSink sink ? sink : null;
+        this.writeBehindIntervalMs = writeBehindIntervalMs;
+        this.compactionIntervalMs = compactionIntervalMs;
+        this.maxBacklog = maxBacklog;
+        this.failureLogger = new RateLimitedLogger(logger, failureLogIntervalMs);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "keyword-tier-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Tier tier : List.of(Tier.REDIS, Tier.DATABASE)) {
+            Gauge.builder("keyword.tier.lag", this, ranking -> ranking.getLagMs(tier))
+                    .description("티어에 아직 반영되지 않은 가장 오래된 증가분의 경과 시간(ms)")
+                    .tag("tier", tier.getCode())
+                    .register(meterRegistry);
+            Gauge.builder("keyword.tier.backlog", tier == Tier.REDIS ? redisBacklogSize : databaseBacklogSize,
+                            AtomicInteger::get)
+                    .tag("tier", tier.getCode())
+                    .register(meterRegistry);
+            overflowedDeltas.put(tier, Counter.builder("keyword.tier.overflowed")
+                    .description("보류 한도를 넘어 병합되거나 WAL 재반영 대상으로 옮긴 세대 수")
+                    .tag("tier", tier.getCode())
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (memorySource == null) {
+            return;
+        }
+        recoverUnconfirmedDeltas();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                writeBehindIntervalMs, writeBehindIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::compactQuietly,
+                compactionIntervalMs, compactionIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+        // 종료 직전 세대까지 Redis 로 넘겨 두면 재시작 시 WAL 재생 대상이 줄어든다
+        flushQuietly();
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword) {
+        incrementKeywordCount(keyword, null);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location) {
+        incrementKeywordCount(keyword, location, 1);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location, long delta) {
+        KeywordRanking memory = rankings.get(Tier.MEMORY);
+        if (memorySource != null) {
+            memory.incrementKeywordCount(keyword, location, delta);
+            return;
+        }
+
+        // 세대 drain 을 지원하지 않으면 Redis 에 직접 기록하고, 실패하면 Memory 로 failover
+        KeywordRanking redis = rankings.get(Tier.REDIS);
+        if (redis.isAvailable()) {
+            try {
+                redis.incrementKeywordCount(keyword, location, delta);
+                return;
+            } catch (RuntimeException e) {
+                failureLogger.warn("Redis 키워드 기록 실패, Memory로 failover: {}", e.getMessage());
+            }
+        }
+        memory.incrementKeywordCount(keyword, location, delta);
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywords(int limit) {
+        return readTopKeywords(GLOBAL_SCOPE, limit).getKeywords();
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
+        return readTopKeywords(location, limit).getKeywords();
+    }
+
+    @Override
+    public Map<String, List<KeywordDto>> getTopKeywordsBatch(Collection<String> scopes, int limit) {
+        Map<String, List<KeywordDto>> results = new LinkedHashMap<>();
+        readTopKeywordsBatch(scopes, limit).forEach((scope, result) -> results.put(scope, result.getKeywords()));
+        return results;
+    }
+
+    @Override
+    public Long getKeywordCount(String keyword) {
+        for (Tier tier : readOrder) {
+            if (!isReadable(tier)) {
+                continue;
+            }
+            try {
+                return rankings.get(tier).getKeywordCount(keyword);
+            } catch (RuntimeException e) {
+                failureLogger.warn("키워드 카운트 조회 실패: tier={}, error={}", tier.getCode(), e.getMessage());
+            }
+        }
+        return 0L;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return readOrder.stream().anyMatch(this::isReadable);
+    }
+
+    public boolean isTierAvailable(Tier tier) {
+        return rankings.get(tier).isAvailable();
+    }
+
+    /**
+     * 범위(GLOBAL_SCOPE 또는 지역) 상위 키워드 - 조회 가능한 첫 티어의 결과, 모두 비어 있으면 마지막으로 조회한 결과
+     */
+    public TierResult readTopKeywords(String scope, int limit) {
+        return readTopKeywordsBatch(List.of(scope), limit).get(scope);
+    }
+
+    /**
+     * 여러 범위 일괄 조회 - 티어마다 한 번씩 호출하고, 결과가 없는 범위만 다음 티어로 넘긴다
+     */
+    public Map<String, TierResult> readTopKeywordsBatch(Collection<String> scopes, int limit) {
+        Map<String, TierResult> results = new HashMap<>();
+        Set<String> remaining = new LinkedHashSet<>(scopes);
+
+        for (int i = 0; i < readOrder.size() && !remaining.isEmpty(); i++) {
+            Tier tier = readOrder.get(i);
+            boolean last = i == readOrder.size() - 1;
+            if (!last && !isReadable(tier)) {
+                continue;
+            }
+
+            Map<String, List<KeywordDto>> batch;
+            try {
+                batch = rankings.get(tier).getTopKeywordsBatch(remaining, limit);
+            } catch (RuntimeException e) {
+                failureLogger.warn("상위 키워드 조회 실패: tier={}, error={}", tier.getCode(), e.getMessage());
+                continue;
+            }
+
+            for (Map.Entry<String, List<KeywordDto>> entry : batch.entrySet()) {
+                results.put(entry.getKey(), new TierResult(tier, entry.getValue()));
+                if (!entry.getValue().isEmpty()) {
+                    remaining.remove(entry.getKey());
+                }
+            }
+        }
+
+        Tier fallback = readOrder.get(readOrder.size() - 1);
+        Map<String, TierResult> ordered = new LinkedHashMap<>();
+        for (String scope : scopes) {
+            ordered.put(scope, results.getOrDefault(scope, new TierResult(fallback, Collections.emptyList())));
+        }
+        return ordered;
+    }
+
+    /**
+     * 티어에 아직 반영되지 않은 가장 오래된 증가분의 경과 시간 (Memory 는 항상 0)
+     */
+    public long getLagMs(Tier tier) {
+        if (tier == Tier.MEMORY || memorySource == null) {
+            return 0L;
+        }
+        long since;
+        if (tier == Tier.REDIS && redisSpilledEpoch > redisAppliedEpoch) {
+            since = redisSpilledOpenedAt;
+        } else {
+            PendingDelta oldest = tier == Tier.REDIS ? redisBacklog.peekFirst() : oldestDatabaseDelta();
+            since = oldest != null ? oldest.openedAt : currentGenerationOpenedAt;
+        }
+        return Math.max(0L, System.currentTimeMillis() - since);
+    }
+
+    /**
+     * Memory 세대를 닫아 Redis 로 반영 (주기 실행, Redis 복구 시에도 호출)
+     */
+    public void flushWriteBehind() {
+        if (memorySource == null) {
+            return;
+        }
+        synchronized (writeBehindLock) {
+            drainMemory();
+            replayRedisBacklog();
+        }
+    }
+
+    /**
+     * 닫힌 세대를 합쳐 Database 에 한 번에 반영 - 실패하면 합친 세대를 보류 목록 앞에 되돌려 다음 주기에 재시도
+     * 되돌린 세대는 커밋은 됐는데 응답만 잃었을 수 있으므로, 더 합치지 않고 같은 세대 번호로 먼저 단독 재반영한다
+     * (Database 의 (노드, 세대) 반영 기록이 이미 커밋된 세대를 건너뛴다)
+     */
+    public void compact() {
+        if (memorySource == null || databaseSink == null) {
+            return;
+        }
+        synchronized (compactionLock) {
+            if (compactBatch()) {
+                compactBatch();
+            }
+        }
+        commitSettled();
+    }
+
+    // 반영한 묶음이 재시도 세대였으면 true (이어서 나머지 보류 세대를 반영)
+    private boolean compactBatch() {
+        List<PendingDelta> batch;
+        synchronized (databaseBacklogLock) {
+            if (databaseBacklog.isEmpty()) {
+                return false;
+            }
+            batch = databaseBacklog.peekFirst().attempted
+                    ? List.of(databaseBacklog.pollFirst())
+                    : new ArrayList<>(databaseBacklog);
+            databaseInFlight = batch;
+            if (!batch.get(0).attempted) {
+                databaseBacklog.clear();
+            }
+        }
+
+        PendingDelta merged = batch.size() == 1 ? batch.get(0) : new PendingDelta(merge(batch), batch.get(0).openedAt);
+        try {
+            databaseSink.applyDelta(merged.delta);
+        } catch (RuntimeException e) {
+            synchronized (databaseBacklogLock) {
+                merged.attempted = true;
+                databaseBacklog.addFirst(merged);
+                databaseInFlight = List.of();
+                coalesceDatabaseBacklog();
+            }
+            throw e;
+        }
+
+        synchronized (databaseBacklogLock) {
+            databaseInFlight = List.of();
+            databaseBacklogSize.set(databaseBacklog.size());
+        }
+        databaseAppliedEpoch = merged.delta.getEpoch();
+        return merged.attempted;
+    }
+
+    /**
+     * 보류된 세대를 모두 반영한 뒤, Redis 와 Database 가 같은 세대까지 반영된 상태에서만 작업 실행
+     * (두 저장소를 비교하는 정합성 검증용) - 보류 세대가 남아 있으면 실행하지 않고 false
+     */
+    public boolean runWhenSettled(Runnable task) {
+        synchronized (writeBehindLock) {
+            synchronized (compactionLock) {
+                if (memorySource != null) {
+                    drainMemory();
+                    replayRedisBacklog();
+                    compact();
+                    if (!redisBacklog.isEmpty() || redisSpilledEpoch > redisAppliedEpoch
+                            || oldestDatabaseDelta() != null) {
+                        return false;
+                    }
+                }
+                task.run();
+                return true;
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flushWriteBehind();
+        } catch (Exception e) {
+            failureLogger.warn("키워드 write-behind 실패: {}", e.getMessage());
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Exception e) {
+            failureLogger.warn("키워드 DB 압축 반영 실패, 다음 주기에 재시도: backlog={}, error={}",
+                    databaseBacklogSize.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * 재시작 전에 확정되지 않아 WAL 에서 재생된 세대를 저장소별 반영 위치 이후부터 다시 반영하도록 등록
+     * Redis 는 WAL 에서 세대별로 다시 읽어 반영하고(같은 세대 번호라 반영 기록과 맞는다), Database 는 보류 목록에 넣어 둔다
+     * Database 는 마지막 반영 세대만 기록하므로 WAL 반영 위치와 그 기록 중 뒤 세대 이후만 다시 반영한다
+     */
+    private void recoverUnconfirmedDeltas() {
+        long recoveredEpoch = memorySource.getRecoveredEpoch();
+        if (recoveredEpoch == Long.MIN_VALUE) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (redisSink != null) {
+            redisAppliedEpoch = memorySource.getAppliedEpoch(Tier.REDIS.getCode());
+            if (recoveredEpoch > redisAppliedEpoch) {
+                redisSpilledOpenedAt = now;
+                redisSpilledEpoch = recoveredEpoch;
+            }
+        }
+        if (databaseSink != null) {
+            // 커밋 후 WAL 에 반영 위치를 남기기 전에 멈췄으면 Database 의 반영 기록이 더 뒤 세대다
+            databaseAppliedEpoch = Math.max(memorySource.getAppliedEpoch(Tier.DATABASE.getCode()),
+                    databaseSink.getAppliedEpoch());
+            long after = databaseAppliedEpoch;
+            List<KeywordCountDelta> deltas;
+            while (!(deltas = memorySource.reloadDeltas(after, recoveredEpoch, maxBacklog)).isEmpty()) {
+                for (KeywordCountDelta delta : deltas) {
+                    enqueueDatabase(new PendingDelta(delta, now));
+                }
+                after = deltas.get(deltas.size() - 1).getEpoch();
+            }
+            // 다시 반영할 세대가 없으면 재생분까지 반영된 것으로 본다
+            if (databaseBacklog.isEmpty()) {
+                databaseAppliedEpoch = Math.max(databaseAppliedEpoch, recoveredEpoch);
+            }
+        }
+        logger.info("키워드 WAL 미확정 세대 재반영 예약: recoveredEpoch={}, redisAppliedEpoch={}, databaseBacklog={}",
+                recoveredEpoch, redisAppliedEpoch, databaseBacklogSize.get());
+    }
+
+    private void drainMemory() {
+        long drainedAt = System.currentTimeMillis();
+        KeywordCountDelta delta = memorySource.drainDelta();
+        long openedAt = currentGenerationOpenedAt;
+        currentGenerationOpenedAt = drainedAt;
+        if (delta == null) {
+            return;
+        }
+
+        // 빈 세대는 WAL 레코드가 없으므로 저장소 반영 없이 확정 범위만 넓힌다
+        if (!delta.isEmpty()) {
+            if (databaseSink != null) {
+                enqueueDatabase(new PendingDelta(delta, openedAt));
+            }
+            if (redisSink != null) {
+                enqueueRedis(new PendingDelta(delta, openedAt));
+            }
+        }
+        drainedEpoch = delta.getEpoch();
+    }
+
+    /**
+     * Redis 보류 세대 추가 - 한도를 넘으면 WAL 에 남아 있는 가장 오래된 세대를 메모리에서 내려놓는다
+     * (확정하지 않으므로 복구 후 WAL 에서 같은 세대 번호로 다시 읽어 반영)
+     * WAL 이 꺼져 있으면 아직 보내지 않은 가장 오래된 두 세대를 합친다
+     */
+    private void enqueueRedis(PendingDelta pending) {
+        redisBacklog.addLast(pending);
+        if (redisBacklogSize.incrementAndGet() <= maxBacklog) {
+            return;
+        }
+
+        overflowedDeltas.get(Tier.REDIS).increment();
+        if (memorySource.isReloadable()) {
+            PendingDelta oldest = redisBacklog.peekFirst();
+            if (redisSpilledEpoch <= redisAppliedEpoch) {
+                redisSpilledOpenedAt = oldest.openedAt;
+            }
+            redisSpilledEpoch = oldest.delta.getEpoch();
+            redisBacklog.pollFirst();
+            redisBacklogSize.decrementAndGet();
+            failureLogger.warn("Redis 반영 보류 세대 한도 초과, 가장 오래된 세대는 복구 후 WAL 에서 다시 반영: backlog={}",
+                    redisBacklogSize.get());
+            return;
+        }
+
+        // 반영을 시도한 세대는 청크 반영 기록이 세대 번호에 묶여 있으므로 병합하지 않는다
+        PendingDelta head = redisBacklog.peekFirst().attempted ? redisBacklog.pollFirst() : null;
+        PendingDelta oldest = redisBacklog.pollFirst();
+        PendingDelta next = redisBacklog.pollFirst();
+        redisBacklog.addFirst(oldest.mergedWith(next));
+        if (head != null) {
+            redisBacklog.addFirst(head);
+        }
+        redisBacklogSize.decrementAndGet();
+        failureLogger.warn("Redis 반영 보류 세대 한도 초과, 가장 오래된 두 세대 병합: backlog={}, keywords={}",
+                redisBacklogSize.get(), redisBacklog.peekFirst().delta.getGlobalCounts().size());
+    }
+
+    /**
+     * Database 보류 세대 추가 - 한도를 넘으면 가장 오래된 두 세대를 합친다 (Database 는 합쳐서 반영하므로 결과가 같다)
+     */
+    private void enqueueDatabase(PendingDelta pending) {
+        synchronized (databaseBacklogLock) {
+            databaseBacklog.addLast(pending);
+            coalesceDatabaseBacklog();
+        }
+    }
+
+    // databaseBacklogLock 안에서 호출 - 재시도 세대(attempted)는 반영 기록이 세대 번호에 묶여 있으므로 병합하지 않는다
+    private void coalesceDatabaseBacklog() {
+        while (databaseBacklog.size() > maxBacklog) {
+            PendingDelta head = databaseBacklog.peekFirst().attempted ? databaseBacklog.pollFirst() : null;
+            if (databaseBacklog.size() < 2) {
+                if (head != null) {
+                    databaseBacklog.addFirst(head);
+                }
+                break;
+            }
+            PendingDelta oldest = databaseBacklog.pollFirst();
+            PendingDelta next = databaseBacklog.pollFirst();
+            databaseBacklog.addFirst(oldest.mergedWith(next));
+            if (head != null) {
+                databaseBacklog.addFirst(head);
+            }
+            overflowedDeltas.get(Tier.DATABASE).increment();
+            failureLogger.warn("DB 반영 보류 세대 한도 초과, 가장 오래된 두 세대 병합: backlog={}, keywords={}",
+                    databaseBacklog.size(), databaseBacklog.peekFirst().delta.getGlobalCounts().size());
+        }
+        databaseBacklogSize.set(databaseBacklog.size() + databaseInFlight.size());
+    }
+
+    private PendingDelta oldestDatabaseDelta() {
+        List<PendingDelta> inFlight = databaseInFlight;
+        return !inFlight.isEmpty() ? inFlight.get(0) : databaseBacklog.peekFirst();
+    }
+
+    /**
+     * 내려놓은 세대를 WAL 에서 다시 읽어 먼저 반영한 뒤, 보류된 세대를 오래된 순으로 Redis 에 반영
+     * 실패하면 남은 세대는 다음 주기/복구 시 재시도 - 세대/청크 단위 반영 기록이 남으므로 다시 반영해도 중복 집계되지 않는다
+     */
+    private void replayRedisBacklog() {
+        if (redisSink == null || !rankings.get(Tier.REDIS).isAvailable()) {
+            return;
+        }
+        if (redisBacklog.isEmpty() && redisSpilledEpoch <= redisAppliedEpoch) {
+            return;
+        }
+
+        try {
+            while (redisSpilledEpoch > redisAppliedEpoch) {
+                List<KeywordCountDelta> reloaded = memorySource.reloadDeltas(redisAppliedEpoch, redisSpilledEpoch, maxBacklog);
+                if (reloaded.isEmpty()) {
+                    redisAppliedEpoch = redisSpilledEpoch;
+                    break;
+                }
+                for (KeywordCountDelta delta : reloaded) {
+                    redisSink.applyDelta(delta);
+                    redisAppliedEpoch = delta.getEpoch();
+                }
+            }
+
+            PendingDelta pending;
+            while ((pending = redisBacklog.peekFirst()) != null) {
+                pending.attempted = true;
+                redisSink.applyDelta(pending.delta);
+                redisBacklog.pollFirst();
+                redisBacklogSize.decrementAndGet();
+                redisAppliedEpoch = pending.delta.getEpoch();
+            }
+        } catch (RuntimeException e) {
+            failureLogger.warn("Redis write-behind 실패, 세대 보류: backlog={}, spilled={}, error={}",
+                    redisBacklogSize.get(), redisSpilledEpoch > redisAppliedEpoch, e.getMessage());
+        } finally {
+            commitSettled();
+        }
+    }
+
+    /**
+     * Redis 와 Database 가 모두 반영한 세대까지 확정 (WAL 체크포인트)
+     * 저장소별 반영 위치도 함께 기록해 재시작 후 이미 반영한 저장소에는 같은 세대를 다시 보내지 않는다
+     */
+    private void commitSettled() {
+        synchronized (commitLock) {
+            long redisEpoch = redisAppliedEpoch;
+            long databaseEpoch = databaseAppliedEpoch;
+            long target = drainedEpoch;
+            if (redisSink != null) {
+                if (redisEpoch > markedRedisEpoch) {
+                    memorySource.markApplied(Tier.REDIS.getCode(), redisEpoch);
+                    markedRedisEpoch = redisEpoch;
+                }
+                target = Math.min(target, redisEpoch);
+            }
+            if (databaseSink != null) {
+                if (databaseEpoch > markedDatabaseEpoch) {
+                    memorySource.markApplied(Tier.DATABASE.getCode(), databaseEpoch);
+                    markedDatabaseEpoch = databaseEpoch;
+                }
+                target = Math.min(target, databaseEpoch);
+            }
+            if (target > committedEpoch) {
+                memorySource.commitEpoch(target);
+                committedEpoch = target;
+            }
+        }
+    }
+
+    private boolean isReadable(Tier tier) {
+        if (!rankings.get(tier).isAvailable()) {
+            return false;
+        }
+        long limit = maxLagMs.get(tier);
+        return limit < 0 || getLagMs(tier) <= limit;
+    }
+
+    private static KeywordCountDelta merge(List<PendingDelta> batch) {
+        KeywordCountDelta.Builder builder = new KeywordCountDelta.Builder();
+        batch.forEach(pending -> builder.merge(pending.delta));
+        return builder.build(batch.get(batch.size() - 1).delta.getEpoch());
+    }
+
+    private static List<Tier> parseReadOrder(String readOrder) {
+        List<Tier> tiers = new ArrayList<>();
+        for (String code : readOrder.split(",")) {
+            if (!code.trim().isEmpty()) {
+                Tier tier = Tier.fromCode(code);
+                if (!tiers.contains(tier)) {
+                    tiers.add(tier);
+                }
+            }
+        }
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("랭킹 조회 티어 순서가 비어 있습니다.");
+        }
+        return List.copyOf(tiers);
+    }
+
+    private static final class PendingDelta {
+        private final KeywordCountDelta delta;
+        private final long openedAt;
+        // 반영을 한 번이라도 시도했는지 (Redis 는 일부 청크, Database 는 커밋 후 응답만 잃었을 수 있음)
+        private volatile boolean attempted;
+
+        private PendingDelta(KeywordCountDelta delta, long openedAt) {
+            this.delta = delta;
+            this.openedAt = openedAt;
+        }
+
+        /**
+         * 다음 세대와 합친 세대 - 세대 번호는 뒤 세대, 열린 시각은 앞 세대 기준
+         */
+        private PendingDelta mergedWith(PendingDelta next) {
+            KeywordCountDelta merged = new KeywordCountDelta.Builder()
+                    .merge(delta)
+                    .merge(next.delta)
+                    .build(next.delta.getEpoch());
+            return new PendingDelta(merged, openedAt);
+        }
+    }
+}
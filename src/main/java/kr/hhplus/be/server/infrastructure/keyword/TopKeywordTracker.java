@@ -0,0 +1,151 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 카운트 증가 시점에 갱신되는 상위 K개 후보 집합
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+public class TopKeywordTracker {
+
+    private final int capacity;
+    private final IntToLongFunction countLookup;
+
+    // 후보 키워드 ID (잠금 안에서만 교체되는 copy-on-write 배열)
+    private volatile int[] members = new int[0];
+
+    // 후보 집합의 최소 카운트 하한값 (후보 카운트는 증가만 하므로 실제 최소값 이하로 유지됨)
+    private volatile long floor = 0L;
+
+    public TopKeywordTracker(int capacity, IntToLongFunction countLookup) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-K 용량은 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.countLookup = countLookup;
+    }
+
+    /**
+     * 키워드 카운트 증가 후 호출
+     * - 후보 집합 밖의 키워드는 항상 집합 내 최소 카운트 이하라는 불변식을 유지
+     * - 대부분의 호출은 floor 비교만으로 끝나며, 후보 교체가 필요할 때만 잠금을 잡는다
+     * - 잠금을 기다리는 동안 다른 스레드가 후보를 교체하거나 카운트를 올릴 수 있으므로,
+     *   잠금 안에서 카운트를 다시 읽어 floor / 최소 후보와 비교한 뒤에만 교체한다
+     * - 밀려난 후보는 교체를 공개한 뒤 카운트를 한 번 더 읽어, 그 사이의 증가가 빠지지 않게 한다
+     */
+    public void onIncrement(int keywordId, long newCount) {
+        if (newCount <= floor || contains(members, keywordId)) {
+            return;
+        }
+
+        synchronized (this) {
+            int[] current = members;
+            if (contains(current, keywordId)) {
+                return;
+            }
+
+            // 호출 시점에 넘겨받은 값은 이미 지난 값일 수 있으므로 현재 카운트로 판단
+            long count = countLookup.applyAsLong(keywordId);
+            if (count <= floor) {
+                return;
+            }
+
+            if (current.length < capacity) {
+                int[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = keywordId;
+                members = grown;
+                if (grown.length == capacity) {
+                    floor = minimumCount(grown);
+                }
+                return;
+            }
+
+            int candidate = keywordId;
+            long candidateCount = count;
+            while (true) {
+                // 최소 후보와 두 번째 최소 후보를 한 번에 찾는다 (O(K))
+                int minIndex = -1;
+                long minCount = Long.MAX_VALUE;
+                long secondMinCount = Long.MAX_VALUE;
+                for (int i = 0; i < current.length; i++) {
+                    long memberCount = countLookup.applyAsLong(current[i]);
+                    if (memberCount < minCount) {
+                        secondMinCount = minCount;
+                        minCount = memberCount;
+                        minIndex = i;
+                    } else if (memberCount < secondMinCount) {
+                        secondMinCount = memberCount;
+                    }
+                }
+
+                if (candidateCount <= minCount) {
+                    floor = minCount;
+                    return;
+                }
+
+                int evicted = current[minIndex];
+                int[] replaced = current.clone();
+                replaced[minIndex] = candidate;
+                members = replaced;
+                floor = Math.min(secondMinCount, candidateCount);
+
+                // 밀려난 후보가 교체 직전에 증가했다면 그 스레드는 아직 후보라고 보고 그냥 돌아갔을 수 있다
+                // 교체를 공개한 뒤 카운트를 다시 읽어 floor 를 넘었으면 다시 후보로 올린다
+                long evictedCount = countLookup.applyAsLong(evicted);
+                if (evictedCount <= floor) {
+                    return;
+                }
+                current = replaced;
+                candidate = evicted;
+                candidateCount = evictedCount;
+            }
+        }
+    }
+
+    /**
+     * 상위 키워드 조회 - 후보 K개만 정렬 (O(K log K))
+     * limit이 용량보다 크면 정확한 결과를 보장할 수 없으므로 null 반환
+     */
+    public List<KeywordDto> getTop(int limit, IntFunction<String> keywordLookup) {
+        if (limit > capacity) {
+            return null;
+        }
+
+        int[] snapshot = members;
+        KeywordDto[] entries = new KeywordDto[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            entries[i] = new KeywordDto(keywordLookup.apply(snapshot[i]), countLookup.applyAsLong(snapshot[i]));
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(b.getCount(), a.getCount()));
+
+        int size = Math.min(limit, entries.length);
+        List<KeywordDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(entries[i]);
+        }
+        return result;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static boolean contains(int[] ids, int keywordId) {
+        for (int id : ids) {
+            if (id == keywordId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long minimumCount(int[] ids) {
+        long min = Long.MAX_VALUE;
+        for (int id : ids) {
+            min = Math.min(min, countLookup.applyAsLong(id));
+        }
+        return min == Long.MAX_VALUE ? 0L : min;
+    }
+}
@@ -0,0 +1,17 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+// 기간별(최근 N분) 키워드 랭킹 인터페이스
+
+import java.util.List;
+
+public interface WindowedKeywordRanking {
+    void incrementKeywordCount(String keyword, String location, long delta);
+
+    default void incrementKeywordCount(String keyword, String location) {
+        incrementKeywordCount(keyword, location, 1);
+    }
+
+    List<KeywordDto> getTopKeywords(RankingWindow window, int limit);
+    List<KeywordDto> getTopKeywordsByLocation(RankingWindow window, String location, int limit);
+    boolean supports(RankingWindow window);
+}
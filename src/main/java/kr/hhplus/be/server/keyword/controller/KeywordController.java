@@ -1,14 +1,32 @@
 package kr.hhplus.be.server.keyword.controller;
 
+import kr.hhplus.be.server.infrastructure.keyword.KeywordRanking;
+import kr.hhplus.be.server.infrastructure.keyword.RankingWindow;
+import kr.hhplus.be.server.keyword.dto.request.PopularKeywordBatchRequest;
 import kr.hhplus.be.server.keyword.dto.request.PopularKeywordRequest;
+import kr.hhplus.be.server.keyword.dto.response.KeywordAutocompleteResponse;
+import kr.hhplus.be.server.keyword.dto.response.PopularKeywordBatchResponse;
 import kr.hhplus.be.server.keyword.dto.response.PopularKeywordResponse;
+import kr.hhplus.be.server.keyword.service.KeywordAutocompleteService;
 import kr.hhplus.be.server.keyword.service.KeywordService;
+import kr.hhplus.be.server.keyword.service.PopularKeywordSnapshot;
+import kr.hhplus.be.server.keyword.service.PopularKeywordSnapshotPublisher;
+import kr.hhplus.be.server.keyword.service.PopularKeywordStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/keywords")
@@ -16,32 +34,133 @@ import jakarta.validation.Valid;
 public class KeywordController {
 
     private final KeywordService keywordService;
+    private final PopularKeywordSnapshotPublisher snapshotPublisher;
+    private final PopularKeywordStreamService streamService;
+    private final KeywordAutocompleteService autocompleteService;
 
     @Autowired
-    public KeywordController(KeywordService keywordService) {
+    public KeywordController(KeywordService keywordService,
+                             PopularKeywordSnapshotPublisher snapshotPublisher,
+                             PopularKeywordStreamService streamService,
+                             KeywordAutocompleteService autocompleteService) {
         this.keywordService = keywordService;
+        this.snapshotPublisher = snapshotPublisher;
+        this.streamService = streamService;
+        this.autocompleteService = autocompleteService;
     }
 
+    /**
+     * 전체 기간 조회는 스냅샷 순위 버전을 ETag 로 내려주고, If-None-Match 가 같으면 조회 없이 304 응답
+     */
     @GetMapping("/popular")
     public ResponseEntity<PopularKeywordResponse> getPopularKeywords(
-            @Valid @ModelAttribute PopularKeywordRequest request) {
-
-        PopularKeywordResponse response = keywordService.getPopularKeywords(
-                request.getCategory(), request.getLimit());
+            @Valid @ModelAttribute PopularKeywordRequest request, WebRequest webRequest) {
+
+        RankingWindow window = RankingWindow.fromCode(request.getWindow());
+        if (window.isAllTime()) {
+            PopularKeywordSnapshot snapshot = snapshotPublisher.findSnapshot(request.getCategory(), request.getLimit());
+            if (snapshot != null) {
+                // 일치하면 304 상태와 ETag 헤더가 이미 설정됨
+                if (webRequest.checkNotModified(snapshot.getETag())) {
+                    return null;
+                }
+                return ResponseEntity.ok()
+                        .eTag(snapshot.getETag())
+                        .body(snapshotPublisher.toResponse(snapshot, request.getLimit()));
+            }
+        }
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(keywordService.getPopularKeywords(request.getCategory(), request.getLimit(), window));
     }
 
     @PostMapping("/popular")
     public ResponseEntity<PopularKeywordResponse> getPopularKeywordsPost(
             @Valid @RequestBody PopularKeywordRequest request) {
 
-        PopularKeywordResponse response = keywordService.getPopularKeywords(
-                request.getCategory(), request.getLimit());
+        return ResponseEntity.ok(findPopularKeywords(request));
+    }
+
+    /**
+     * 여러 범위 인기 키워드 일괄 조회 (전체 기간)
+     * 스냅샷이 있는 범위는 바로 응답하고, 나머지 범위만 저장소별로 한 번에 조회
+     */
+    @GetMapping("/popular/batch")
+    public ResponseEntity<PopularKeywordBatchResponse> getPopularKeywordsBatch(
+            @Valid @ModelAttribute PopularKeywordBatchRequest request) {
+
+        Set<String> scopes = new LinkedHashSet<>();
+        if (request.isIncludeGlobal()) {
+            scopes.add(KeywordRanking.GLOBAL_SCOPE);
+        }
+        for (String category : request.getCategories()) {
+            if (category != null && !category.trim().isEmpty()) {
+                scopes.add(category);
+            }
+        }
+        if (scopes.isEmpty()) {
+            throw new IllegalArgumentException("조회할 지역 카테고리가 없습니다.");
+        }
+
+        Map<String, PopularKeywordResponse> results = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String scope : scopes) {
+            PopularKeywordResponse snapshot = snapshotPublisher.find(scope, request.getLimit());
+            if (snapshot != null) {
+                results.put(scope, snapshot);
+            } else {
+                missing.add(scope);
+            }
+        }
+        if (!missing.isEmpty()) {
+            results.putAll(keywordService.getPopularKeywordsBatch(missing, request.getLimit()));
+        }
 
+        PopularKeywordBatchResponse response = new PopularKeywordBatchResponse();
+        for (String scope : scopes) {
+            if (KeywordRanking.GLOBAL_SCOPE.equals(scope)) {
+                response.setGlobal(results.get(scope));
+            } else {
+                response.getCategories().put(scope, results.get(scope));
+            }
+        }
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 인기 키워드 순위 변경분 스트림 (SSE) - 첫 이벤트는 현재 순위 전체
+     */
+    @GetMapping(value = "/popular/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPopularKeywords(@RequestParam(required = false) String category) {
+        return streamService.subscribe(category);
+    }
+
+    /**
+     * 키워드 자동완성 - 접두어 또는 초성 (예: ㄱㅊㅉㄱ → 김치찌개), 검색 수 내림차순
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<KeywordAutocompleteResponse> autocomplete(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(autocompleteService.suggest(query, limit));
+    }
+
+    /**
+     * 전체 기간 조회는 발행된 스냅샷을 우선 사용하고, 없으면 실시간 조회
+     */
+    private PopularKeywordResponse findPopularKeywords(PopularKeywordRequest request) {
+        RankingWindow window = RankingWindow.fromCode(request.getWindow());
+
+        if (window.isAllTime()) {
+            PopularKeywordResponse snapshot = snapshotPublisher.find(request.getCategory(), request.getLimit());
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
+
+        return keywordService.getPopularKeywords(request.getCategory(), request.getLimit(), window);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
         ErrorResponse error = new ErrorResponse("INVALID_REQUEST", e.getMessage());
@@ -12,7 +12,7 @@ public class Keyword {
     @Column(nullable = false, unique = true)
     private String keyword;
 
-    @Column(name = "normalized_keyword")
+    @Column(name = "normalized_keyword", nullable = false, unique = true)
     private String normalizedKeyword;
 
     protected Keyword() {}
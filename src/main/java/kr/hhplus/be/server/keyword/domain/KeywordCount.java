@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// 키워드/지역/날짜당 한 행 (uk_keyword_count_daily, db/keyword-schema.sql)
 @Entity
 @Table(name = "keyword_count")
 public class KeywordCount {
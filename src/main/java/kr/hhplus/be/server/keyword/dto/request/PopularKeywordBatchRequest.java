@@ -0,0 +1,33 @@
+package kr.hhplus.be.server.keyword.dto.request;
+
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PopularKeywordBatchRequest {
+
+    @Size(max = 50, message = "한 번에 조회할 지역 카테고리는 50개 이하여야 합니다.")
+    private List<String> categories = new ArrayList<>(); // 지역 카테고리 목록
+
+    private boolean includeGlobal; // 전체 순위 포함 여부
+
+    @Min(value = 1, message = "조회할 키워드 개수는 1 이상이어야 합니다.")
+    @Max(value = 50, message = "조회할 키워드 개수는 50 이하여야 합니다.")
+    private Integer limit = 10;
+
+    public PopularKeywordBatchRequest() {}
+
+    // Getters and Setters
+    public List<String> getCategories() { return categories; }
+    public void setCategories(List<String> categories) { this.categories = categories; }
+
+    public boolean isIncludeGlobal() { return includeGlobal; }
+    public void setIncludeGlobal(boolean includeGlobal) { this.includeGlobal = includeGlobal; }
+
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+}
@@ -12,6 +12,8 @@ public class PopularKeywordRequest {
     @Max(value = 50, message = "조회할 키워드 개수는 50 이하여야 합니다.")
     private Integer limit = 10;
 
+    private String window; // 집계 기간 (all, 10m, 1h, 24h, trending / 선택사항)
+
     public PopularKeywordRequest() {}
 
     public PopularKeywordRequest(String category, Integer limit) {
@@ -25,4 +27,7 @@ public class PopularKeywordRequest {
 
     public Integer getLimit() { return limit; }
     public void setLimit(Integer limit) { this.limit = limit; }
+
+    public String getWindow() { return window; }
+    public void setWindow(String window) { this.window = window; }
 }
@@ -0,0 +1,27 @@
+package kr.hhplus.be.server.keyword.dto.response;
+
+import java.util.List;
+
+public class KeywordAutocompleteResponse {
+    private String query;
+    private String matchType; // prefix | choseong
+    private List<KeywordDto> suggestions;
+
+    public KeywordAutocompleteResponse() {}
+
+    public KeywordAutocompleteResponse(String query, String matchType, List<KeywordDto> suggestions) {
+        this.query = query;
+        this.matchType = matchType;
+        this.suggestions = suggestions;
+    }
+
+    // Getters and Setters
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public String getMatchType() { return matchType; }
+    public void setMatchType(String matchType) { this.matchType = matchType; }
+
+    public List<KeywordDto> getSuggestions() { return suggestions; }
+    public void setSuggestions(List<KeywordDto> suggestions) { this.suggestions = suggestions; }
+}
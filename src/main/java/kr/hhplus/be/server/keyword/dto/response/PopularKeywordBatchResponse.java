@@ -0,0 +1,22 @@
+package kr.hhplus.be.server.keyword.dto.response;
+
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 여러 범위 인기 키워드 일괄 조회 결과 - 범위마다 source 가 다를 수 있다
+ */
+public class PopularKeywordBatchResponse {
+    private PopularKeywordResponse global; // includeGlobal 이 아니면 null
+    private Map<String, PopularKeywordResponse> categories = new LinkedHashMap<>();
+
+    public PopularKeywordBatchResponse() {}
+
+    // Getters and Setters
+    public PopularKeywordResponse getGlobal() { return global; }
+    public void setGlobal(PopularKeywordResponse global) { this.global = global; }
+
+    public Map<String, PopularKeywordResponse> getCategories() { return categories; }
+    public void setCategories(Map<String, PopularKeywordResponse> categories) { this.categories = categories; }
+}
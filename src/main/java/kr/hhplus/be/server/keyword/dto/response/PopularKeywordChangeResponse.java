@@ -0,0 +1,82 @@
+package kr.hhplus.be.server.keyword.dto.response;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 인기 키워드 순위 변경분 (SSE 이벤트)
+ * fromVersion = 0 이면 첫 이벤트로, 현재 상위 키워드가 모두 entered 에 담긴다
+ */
+public class PopularKeywordChangeResponse {
+    private String category; // 지역 카테고리 (전체 순위면 null)
+    private long fromVersion;
+    private long version;
+    private long generatedAt;
+    private List<RankChange> entered = new ArrayList<>(); // 새로 순위권에 든 키워드
+    private List<String> left = new ArrayList<>();        // 순위권에서 빠진 키워드
+    private List<RankChange> moved = new ArrayList<>();   // 순위가 바뀐 키워드
+    private List<RankChange> updated = new ArrayList<>(); // 순위는 같고 카운트만 바뀐 키워드
+
+    public PopularKeywordChangeResponse() {}
+
+    public PopularKeywordChangeResponse(String category, long fromVersion, long version, long generatedAt) {
+        this.category = category;
+        this.fromVersion = fromVersion;
+        this.version = version;
+        this.generatedAt = generatedAt;
+    }
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public long getFromVersion() { return fromVersion; }
+    public void setFromVersion(long fromVersion) { this.fromVersion = fromVersion; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(long generatedAt) { this.generatedAt = generatedAt; }
+
+    public List<RankChange> getEntered() { return entered; }
+    public void setEntered(List<RankChange> entered) { this.entered = entered; }
+
+    public List<String> getLeft() { return left; }
+    public void setLeft(List<String> left) { this.left = left; }
+
+    public List<RankChange> getMoved() { return moved; }
+    public void setMoved(List<RankChange> moved) { this.moved = moved; }
+
+    public List<RankChange> getUpdated() { return updated; }
+    public void setUpdated(List<RankChange> updated) { this.updated = updated; }
+
+    public static class RankChange {
+        private String keyword;
+        private int rank;             // 0부터 시작
+        private Integer previousRank; // 이전 순위 (entered 면 null)
+        private Integer count;
+
+        public RankChange() {}
+
+        public RankChange(String keyword, int rank, Integer previousRank, Integer count) {
+            this.keyword = keyword;
+            this.rank = rank;
+            this.previousRank = previousRank;
+            this.count = count;
+        }
+
+        public String getKeyword() { return keyword; }
+        public void setKeyword(String keyword) { this.keyword = keyword; }
+
+        public int getRank() { return rank; }
+        public void setRank(int rank) { this.rank = rank; }
+
+        public Integer getPreviousRank() { return previousRank; }
+        public void setPreviousRank(Integer previousRank) { this.previousRank = previousRank; }
+
+        public Integer getCount() { return count; }
+        public void setCount(Integer count) { this.count = count; }
+    }
+}
@@ -7,6 +7,7 @@ public class PopularKeywordResponse {
     private List<KeywordDto> keywords;
     private String source; // "redis" or "database"
     private int totalCount;
+    private long stalenessMs; // 스냅샷 응답이면 생성 후 경과 시간, 실시간 조회면 0
 
     public PopularKeywordResponse() {}
 
@@ -28,4 +29,7 @@ public class PopularKeywordResponse {
 
     public int getTotalCount() { return totalCount; }
     public void setTotalCount(int totalCount) { this.totalCount = totalCount; }
+
+    public long getStalenessMs() { return stalenessMs; }
+    public void setStalenessMs(long stalenessMs) { this.stalenessMs = stalenessMs; }
 }
\ No newline at end of file
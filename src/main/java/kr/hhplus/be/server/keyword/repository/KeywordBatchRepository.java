@@ -0,0 +1,52 @@
+package kr.hhplus.be.server.keyword.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * keyword 일괄 등록 (JDBC)
+ * 새 키워드를 하나씩 SELECT + save 하지 않고 청크 단위 다중 행 INSERT IGNORE 로 등록
+ * 이미 있는 키워드(다른 인스턴스가 먼저 등록한 경우, 표기만 다른 원본 키워드 포함)는
+ * 정규화 키워드 unique 제약(uk_keyword_normalized)으로 무시된다
+ */
+@Repository
+public class KeywordBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO keyword (keyword, normalized_keyword) VALUES ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KeywordBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 정규화 키워드 → 원본 키워드 목록을 등록
+     * 반환값: 실제로 추가된 행 수
+     */
+    public int insertIgnore(Map<String, String> keywordsByNormalized) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(keywordsByNormalized.entrySet());
+        int inserted = 0;
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<Map.Entry<String, String>> chunk = entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()));
+
+            StringBuilder sql = new StringBuilder(INSERT_IGNORE_SQL.length() + chunk.size() * 8)
+                    .append(INSERT_IGNORE_SQL);
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+                args[i * 2] = chunk.get(i).getValue();
+                args[i * 2 + 1] = chunk.get(i).getKey();
+            }
+            inserted += jdbcTemplate.update(sql.toString(), args);
+        }
+        return inserted;
+    }
+}
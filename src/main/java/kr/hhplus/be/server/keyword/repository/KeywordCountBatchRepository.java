@@ -0,0 +1,129 @@
+package kr.hhplus.be.server.keyword.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * keyword_count 일괄 반영 (JDBC)
+ * Memory/Redis 증가분을 DB로 백업할 때 키워드마다 SELECT + save 하지 않고
+ * 청크 단위 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 로 더한다
+ * - 키워드/지역/날짜당 한 행은 uk_keyword_count_daily 가 보장 (db/keyword-schema.sql)
+ *   여러 노드가 같은 행을 동시에 처음 기록해도 중복 행이 생기지 않는다
+ * - 모든 청크를 한 트랜잭션으로 반영하므로 중간에 실패하면 전부 롤백되어, 호출자가 같은 증가분을 다시 반영해도 중복 집계되지 않는다
+ * - 세대 단위 증가분은 (노드, 세대) 반영 기록을 같은 트랜잭션에 남겨, 커밋 후 실패로 보고된 세대를 다시 반영해도 건너뛴다
+ */
+@Repository
+public class KeywordCountBatchRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String UPSERT_SQL_PREFIX =
+            "INSERT INTO keyword_count (keyword_id, location_category_id, count, count_date, updated_at) VALUES ";
+
+    private static final String UPSERT_SQL_SUFFIX =
+            " ON DUPLICATE KEY UPDATE count = count + VALUES(count), updated_at = VALUES(updated_at)";
+
+    private static final String MARK_APPLIED_SQL =
+            "INSERT IGNORE INTO keyword_delta_applied (node_id, epoch, applied_at) VALUES (?, ?, ?)";
+
+    private static final String PRUNE_APPLIED_SQL =
+            "DELETE FROM keyword_delta_applied WHERE node_id = ? AND epoch < ?";
+
+    private static final String FIND_APPLIED_EPOCH_SQL =
+            "SELECT MAX(epoch) FROM keyword_delta_applied WHERE node_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KeywordCountBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 키워드 ID별 증가분을 해당 날짜/지역 카운트에 더함 (없으면 생성)
+     * 반환값: 반영된 키워드 수
+     */
+    @Transactional
+    public int addCounts(Map<Long, Long> countsByKeywordId, Long locationCategoryId, LocalDate countDate) {
+        return upsert(countsByKeywordId, locationCategoryId, Date.valueOf(countDate), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * 전체 증가분과 지역 ID별 증가분을 한 트랜잭션으로 해당 날짜 카운트에 더함
+     * 반환값: 반영된 (키워드, 지역) 항목 수
+     */
+    @Transactional
+    public int addScopedCounts(Map<Long, Long> globalCountsByKeywordId,
+                               Map<Long, Map<Long, Long>> countsByLocationCategoryId,
+                               LocalDate countDate) {
+        return upsertScoped(globalCountsByKeywordId, countsByLocationCategoryId,
+                Date.valueOf(countDate), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * 노드의 세대 증가분을 한 번만 반영 - 반영 기록을 INSERT IGNORE 로 먼저 남기고, 이미 기록된 세대면 카운트를 건드리지 않는다
+     * 기록과 카운트가 한 트랜잭션이므로 둘 중 하나만 남지 않으며, 반영한 뒤에는 같은 노드의 이전 세대 기록을 지운다
+     * 반환값: 이번에 반영했으면 true, 이미 반영된 세대면 false
+     */
+    @Transactional
+    public boolean addScopedCountsOnce(String nodeId, long epoch,
+                                       Map<Long, Long> globalCountsByKeywordId,
+                                       Map<Long, Map<Long, Long>> countsByLocationCategoryId,
+                                       LocalDate countDate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(MARK_APPLIED_SQL, nodeId, epoch, now) == 0) {
+            return false;
+        }
+        upsertScoped(globalCountsByKeywordId, countsByLocationCategoryId, Date.valueOf(countDate), now);
+        jdbcTemplate.update(PRUNE_APPLIED_SQL, nodeId, epoch);
+        return true;
+    }
+
+    /**
+     * 노드가 마지막으로 반영한 세대 (기록이 없으면 Long.MIN_VALUE)
+     */
+    public long findAppliedEpoch(String nodeId) {
+        Long epoch = jdbcTemplate.queryForObject(FIND_APPLIED_EPOCH_SQL, Long.class, nodeId);
+        return epoch != null ? epoch : Long.MIN_VALUE;
+    }
+
+    private int upsertScoped(Map<Long, Long> globalCountsByKeywordId,
+                             Map<Long, Map<Long, Long>> countsByLocationCategoryId,
+                             Date date, Timestamp now) {
+        int applied = upsert(globalCountsByKeywordId, null, date, now);
+        for (Map.Entry<Long, Map<Long, Long>> entry : countsByLocationCategoryId.entrySet()) {
+            applied += upsert(entry.getValue(), entry.getKey(), date, now);
+        }
+        return applied;
+    }
+
+    private int upsert(Map<Long, Long> countsByKeywordId, Long locationCategoryId, Date date, Timestamp now) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(countsByKeywordId.entrySet());
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()));
+
+            StringBuilder sql = new StringBuilder(UPSERT_SQL_PREFIX.length() + UPSERT_SQL_SUFFIX.length() + chunk.size() * 18)
+                    .append(UPSERT_SQL_PREFIX);
+            Object[] args = new Object[chunk.size() * 5];
+            for (int i = 0; i < chunk.size(); i++) {
+                Map.Entry<Long, Long> entry = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+                args[i * 5] = entry.getKey();
+                args[i * 5 + 1] = locationCategoryId;
+                args[i * 5 + 2] = entry.getValue();
+                args[i * 5 + 3] = date;
+                args[i * 5 + 4] = now;
+            }
+            jdbcTemplate.update(sql.append(UPSERT_SQL_SUFFIX).toString(), args);
+        }
+        return entries.size();
+    }
+}
@@ -158,4 +158,19 @@ public interface KeywordCountRepository extends JpaRepository<KeywordCount, Long
     List<Object[]> getKeywordActivityReport(@Param("startDate") LocalDate startDate,
                                             @Param("endDate") LocalDate endDate,
                                             @Param("limit") int limit);
+
+    /**
+     * ID 구간의 키워드별 전체(지역 없음) 누적 카운트 (Redis/DB 정합성 검증용)
+     */
+    @Query("SELECT kc.keywordId, SUM(kc.count) FROM KeywordCount kc " +
+            "WHERE kc.keywordId BETWEEN :fromId AND :toId AND kc.locationCategoryId IS NULL " +
+            "GROUP BY kc.keywordId")
+    List<Object[]> sumGlobalCountsByKeywordIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 특정 시각 이후 변경된 전체(지역 없음) 카운트의 키워드 ID (Redis/DB 정합성 검증용)
+     */
+    @Query("SELECT DISTINCT kc.keywordId FROM KeywordCount kc " +
+            "WHERE kc.updatedAt >= :since AND kc.locationCategoryId IS NULL")
+    List<Long> findGlobalKeywordIdsUpdatedSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -121,4 +121,16 @@ public interface KeywordRepository extends JpaRepository<Keyword, Long> {
      */
     @Query("SELECT k.normalizedKeyword, k.id FROM Keyword k WHERE k.normalizedKeyword IN :normalizedKeywords")
     List<Object[]> findKeywordIdMappings(@Param("normalizedKeywords") List<String> normalizedKeywords);
+
+    /**
+     * 가장 큰 키워드 ID (Redis/DB 정합성 검증 범위 산정용)
+     */
+    @Query("SELECT MAX(k.id) FROM Keyword k")
+    Long findMaxKeywordId();
+
+    /**
+     * ID 구간의 키워드 ID ↔ 정규화 키워드 조회 (Redis/DB 정합성 검증용)
+     */
+    @Query("SELECT k.id, k.normalizedKeyword FROM Keyword k WHERE k.id BETWEEN :fromId AND :toId")
+    List<Object[]> findKeywordIdsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
\ No newline at end of file
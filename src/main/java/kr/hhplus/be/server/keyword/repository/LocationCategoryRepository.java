@@ -0,0 +1,72 @@
+package kr.hhplus.be.server.keyword.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * location_category 조회 / 일괄 등록 (JDBC)
+ * 지역 이름을 keyword_count.location_category_id 로 바꿀 때 사용
+ * 이미 있는 지역(다른 인스턴스가 먼저 등록한 경우 포함)은 uk_location_category_name 으로 무시된다
+ */
+@Repository
+public class LocationCategoryRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_IGNORE_SQL = "INSERT IGNORE INTO location_category (name) VALUES ";
+
+    private static final String SELECT_IDS_SQL = "SELECT name, id FROM location_category WHERE name IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocationCategoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 지역 이름 목록을 등록
+     * 반환값: 실제로 추가된 행 수
+     */
+    public int insertIgnore(Collection<String> names) {
+        List<String> values = new ArrayList<>(names);
+        int inserted = 0;
+        for (int from = 0; from < values.size(); from += BATCH_SIZE) {
+            List<String> chunk = values.subList(from, Math.min(from + BATCH_SIZE, values.size()));
+
+            StringBuilder sql = new StringBuilder(INSERT_IGNORE_SQL.length() + chunk.size() * 5)
+                    .append(INSERT_IGNORE_SQL);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "(?)" : ", (?)");
+            }
+            inserted += jdbcTemplate.update(sql.toString(), chunk.toArray());
+        }
+        return inserted;
+    }
+
+    /**
+     * 지역 이름 → ID (등록되지 않은 지역은 결과에 없다)
+     */
+    public Map<String, Long> findIds(Collection<String> names) {
+        List<String> values = new ArrayList<>(names);
+        Map<String, Long> ids = new HashMap<>();
+        for (int from = 0; from < values.size(); from += BATCH_SIZE) {
+            List<String> chunk = values.subList(from, Math.min(from + BATCH_SIZE, values.size()));
+
+            StringBuilder sql = new StringBuilder(SELECT_IDS_SQL.length() + chunk.size() * 3)
+                    .append(SELECT_IDS_SQL);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            jdbcTemplate.query(sql.append(')').toString(),
+                    (rs, rowNum) -> ids.put(rs.getString("name"), rs.getLong("id")),
+                    chunk.toArray());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,273 @@
+package kr.hhplus.be.server.keyword.service;
+
+import kr.hhplus.be.server.common.util.KeywordNormalizer;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordCountDelta;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordDeltaSink;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordDto;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordNodeId;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordRanking;
+import kr.hhplus.be.server.keyword.domain.Keyword;
+import kr.hhplus.be.server.keyword.domain.KeywordCount;
+import kr.hhplus.be.server.keyword.repository.KeywordCountBatchRepository;
+import kr.hhplus.be.server.keyword.repository.KeywordCountRepository;
+import kr.hhplus.be.server.keyword.repository.KeywordRepository;
+import kr.hhplus.be.server.keyword.repository.LocationCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * keyword_count 테이블 기반 랭킹 (계층형 랭킹의 마지막 단계)
+ * - 조회: 오늘 날짜 행 기준 상위 키워드 (Redis/Memory 와 같은 정규화 키워드로 반환)
+ * - 기록: 요청 단위로 쓰지 않고 상위 단계에서 압축된 증가분(applyDelta)만 일괄 반영
+ *   세대 증가분은 (노드 식별자, 세대) 반영 기록과 함께 커밋하고, 이미 기록된 세대는 다시 더하지 않는다
+ * - 지역: 지역 이름은 location_category ID 로 바꿔 저장 (처음 기록되는 지역은 등록, ID 는 프로세스 내 캐시)
+ */
+@Component("databaseKeywordRanking")
+public class DatabaseKeywordRanking implements KeywordRanking, KeywordDeltaSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseKeywordRanking.class);
+
+    // location_category.name 컬럼 길이
+    private static final int MAX_LOCATION_LENGTH = 255;
+
+    private final KeywordRepository keywordRepository;
+    private final KeywordCountRepository keywordCountRepository;
+    private final KeywordCountBatchRepository keywordCountBatchRepository;
+    private final KeywordRegistry keywordRegistry;
+    private final KeywordNormalizer keywordNormalizer;
+    private final LocationCategoryRepository locationCategoryRepository;
+    private final KeywordNodeId nodeId;
+
+    // 지역 이름 → location_category ID (한 번 등록된 지역은 바뀌지 않으므로 무효화하지 않음)
+    private final Map<String, Long> locationCategoryIds = new ConcurrentHashMap<>();
+
+    public DatabaseKeywordRanking(KeywordRepository keywordRepository,
+                                  KeywordCountRepository keywordCountRepository,
+                                  KeywordCountBatchRepository keywordCountBatchRepository,
+                                  KeywordRegistry keywordRegistry,
+                                  KeywordNormalizer keywordNormalizer,
+                                  LocationCategoryRepository locationCategoryRepository,
+                                  KeywordNodeId nodeId) {
+        this.keywordRepository = keywordRepository;
+        this.keywordCountRepository = keywordCountRepository;
+        this.keywordCountBatchRepository = keywordCountBatchRepository;
+        this.keywordRegistry = keywordRegistry;
+        this.keywordNormalizer = keywordNormalizer;
+        this.locationCategoryRepository = locationCategoryRepository;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword) {
+        incrementKeywordCount(keyword, null);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location) {
+        incrementKeywordCount(keyword, location, 1);
+    }
+
+    @Override
+    public void incrementKeywordCount(String keyword, String location, long delta) {
+        Map<String, Map<String, Long>> locationCounts = isBlank(location) ? Map.of() : Map.of(location, Map.of(keyword, delta));
+        // 요청 단위 직접 기록은 세대가 없으므로 반영 기록 없이 더한다
+        apply(new KeywordCountDelta(System.currentTimeMillis(), Map.of(keyword, delta), locationCounts), false);
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywords(int limit) {
+        return findTopKeywords(null, limit);
+    }
+
+    @Override
+    public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
+        if (isBlank(location)) {
+            return findTopKeywords(null, limit);
+        }
+        // 등록되지 않은 지역은 기록된 적이 없으므로 빈 결과 (null 은 전체 카운트를 뜻하므로 넘기지 않음)
+        Long locationCategoryId = findLocationCategoryId(location);
+        return locationCategoryId != null ? findTopKeywords(locationCategoryId, limit) : List.of();
+    }
+
+    @Override
+    public Long getKeywordCount(String keyword) {
+        Map<Long, Long> ids = resolveKeywordIds(Map.of(keyword, 1L));
+        if (ids.isEmpty()) {
+            return 0L;
+        }
+        return keywordCountRepository
+                .findByKeywordIdAndLocationCategoryIdAndCountDate(ids.keySet().iterator().next(), null, LocalDate.now())
+                .map(count -> count.getCount().longValue())
+                .orElse(0L);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true; // DB는 항상 사용 가능하다고 가정
+    }
+
+    /**
+     * 전체 / 지역 증가분을 세대 반영 기록과 함께 오늘 날짜 행에 한 트랜잭션으로 일괄 반영
+     */
+    @Override
+    public void applyDelta(KeywordCountDelta delta) {
+        apply(delta, true);
+    }
+
+    @Override
+    public long getAppliedEpoch() {
+        return keywordCountBatchRepository.findAppliedEpoch(nodeId.get());
+    }
+
+    private void apply(KeywordCountDelta delta, boolean marked) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> globalCounts = resolveKeywordIds(delta.getGlobalCounts());
+
+        Map<String, Long> locationIds = resolveLocationCategoryIds(delta.getLocationCounts().keySet());
+        Map<Long, Map<Long, Long>> locationCounts = new HashMap<>(locationIds.size() * 2);
+        locationIds.forEach((location, locationCategoryId) -> {
+            resolveKeywordIds(delta.getLocationCounts().get(location)).forEach((keywordId, count) -> locationCounts
+                    .computeIfAbsent(locationCategoryId, id -> new HashMap<>())
+                    .merge(keywordId, count, Long::sum));
+        });
+        if (globalCounts.isEmpty() && locationCounts.isEmpty()) {
+            return;
+        }
+
+        if (!marked) {
+            keywordCountBatchRepository.addScopedCounts(globalCounts, locationCounts, LocalDate.now());
+        } else if (!keywordCountBatchRepository.addScopedCountsOnce(
+                nodeId.get(), delta.getEpoch(), globalCounts, locationCounts, LocalDate.now())) {
+            logger.info("이미 DB에 반영된 세대라 건너뜀: node={}, epoch={}", nodeId.get(), delta.getEpoch());
+            return;
+        }
+        logger.debug("키워드 카운트 DB 반영 완료: 키워드 {}개 (지역 {}개)", globalCounts.size(), locationCounts.size());
+    }
+
+    private List<KeywordDto> findTopKeywords(Long locationCategoryId, int limit) {
+        List<KeywordCount> keywordCounts = keywordCountRepository
+                .findTopKeywordsByLocationCategoryAndDate(locationCategoryId, LocalDate.now(), limit);
+        if (keywordCounts.isEmpty()) {
+            return List.of();
+        }
+
+        // N+1 문제 해결을 위한 배치 조회
+        List<Long> keywordIds = keywordCounts.stream()
+                .map(KeywordCount::getKeywordId)
+                .collect(Collectors.toList());
+        Map<Long, String> keywordMap = keywordRepository.findAllById(keywordIds).stream()
+                .collect(Collectors.toMap(Keyword::getId, Keyword::getNormalizedKeyword));
+
+        return keywordCounts.stream()
+                .map(kc -> {
+                    String keywordText = keywordMap.get(kc.getKeywordId());
+                    return keywordText != null
+                            ? new KeywordDto(keywordText, kc.getCount().longValue())
+                            : null;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 원본 키워드 → 키워드 ID 일괄 변환 (등록부 캐시 우선, 없는 키워드는 등록 후 조회)
+     * 상위 단계의 증가분은 원본 키워드 기준이므로 먼저 한 번 정규화해 같은 정규화 키워드끼리 합친다
+     */
+    private Map<Long, Long> resolveKeywordIds(Map<String, Long> countsByKeyword) {
+        Map<String, Long> countsByNormalized = new HashMap<>(countsByKeyword.size() * 2);
+        Map<String, String> keywordsByNormalized = new HashMap<>(countsByKeyword.size() * 2);
+        countsByKeyword.forEach((keyword, count) -> {
+            String normalized = keywordNormalizer.normalize(keyword);
+            if (normalized == null || normalized.isBlank()) {
+                return;
+            }
+            countsByNormalized.merge(normalized, count, Long::sum);
+            keywordsByNormalized.putIfAbsent(normalized, keyword.trim());
+        });
+        if (keywordsByNormalized.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Long> ids = keywordRegistry.resolveIds(keywordsByNormalized);
+        Map<Long, Long> countsByKeywordId = new HashMap<>(ids.size() * 2);
+        ids.forEach((normalized, id) -> countsByKeywordId.merge(id, countsByNormalized.get(normalized), Long::sum));
+
+        if (ids.size() < countsByNormalized.size()) {
+            logger.warn("반영할 키워드 중 DB에 없는 키워드: {} 항목", countsByNormalized.size() - ids.size());
+        }
+        return countsByKeywordId;
+    }
+
+    /**
+     * 조회용 지역 ID (캐시 → DB, 등록하지 않음)
+     */
+    private Long findLocationCategoryId(String location) {
+        Long cached = locationCategoryIds.get(location);
+        if (cached != null) {
+            return cached;
+        }
+        Long id = locationCategoryRepository.findIds(List.of(location)).get(location);
+        if (id != null) {
+            locationCategoryIds.put(location, id);
+        }
+        return id;
+    }
+
+    /**
+     * 기록용 지역 ID 일괄 변환 (캐시 → DB 조회 → 없는 지역은 INSERT IGNORE 로 등록 후 다시 조회)
+     */
+    private Map<String, Long> resolveLocationCategoryIds(Set<String> locations) {
+        Map<String, Long> ids = new HashMap<>(locations.size() * 2);
+        Set<String> missing = new HashSet<>();
+        for (String location : locations) {
+            if (isBlank(location)) {
+                continue;
+            }
+            if (location.length() > MAX_LOCATION_LENGTH) {
+                logger.warn("지역 이름이 너무 길어 지역 카운트를 DB에 반영하지 않음: {}자", location.length());
+                continue;
+            }
+            Long cached = locationCategoryIds.get(location);
+            if (cached != null) {
+                ids.put(location, cached);
+            } else {
+                missing.add(location);
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        Map<String, Long> found = locationCategoryRepository.findIds(missing);
+        if (found.size() < missing.size()) {
+            Set<String> unregistered = new HashSet<>(missing);
+            unregistered.removeAll(found.keySet());
+            locationCategoryRepository.insertIgnore(unregistered);
+            found = locationCategoryRepository.findIds(missing);
+        }
+        locationCategoryIds.putAll(found);
+        ids.putAll(found);
+
+        if (found.size() < missing.size()) {
+            logger.warn("반영할 지역 중 DB에 없는 지역: {} 항목", missing.size() - found.size());
+        }
+        return ids;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,341 @@
+package kr.hhplus.be.server.keyword.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.hhplus.be.server.common.util.KeywordNormalizer;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordDivergenceTracker;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordMerkleTree;
+import kr.hhplus.be.server.infrastructure.keyword.RedisKeywordRankingImpl;
+import kr.hhplus.be.server.infrastructure.keyword.TieredKeywordRanking;
+import kr.hhplus.be.server.keyword.repository.KeywordCountBatchRepository;
+import kr.hhplus.be.server.keyword.repository.KeywordCountRepository;
+import kr.hhplus.be.server.keyword.repository.KeywordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Redis 전체 랭킹 점수 ↔ keyword_count(지역 없음) 누적 카운트 정합성 검증 (anti-entropy)
+ * - 키워드 ID 구간을 잎으로 하는 Merkle tree 를 Redis/DB 각각 유지
+ * - 매 주기 변경된 구간(DB updated_at, Redis 변경 키워드 기록)과 순환 점검 구간만 다시 해시
+ * - 루트가 같으면 종료, 다르면 서로 다른 하위 트리로만 내려가 차이 나는 구간을 찾아 구간 단위로 보정
+ * → 한 주기 비용은 전체 키워드 수가 아니라 변경/불일치 구간 수에 비례
+ *
+ * 보정은 확인 간격을 두고 두 번 관측해도 남는 부족분만 더한다 (KeywordDivergenceTracker)
+ * - 다른 노드가 Redis 에만 반영하고 DB 압축 반영을 기다리는 세대를 누락으로 보고 더하면 나중에 두 번 집계되므로,
+ *   처음 관측한 불일치는 기록만 하고 모든 노드의 압축 반영 주기가 지난 뒤 다시 관측해 확정한다
+ * - Redis 가 부족하면 부족분만큼 ZINCRBY, DB 가 부족하면 부족분을 오늘 날짜 행에 더한다
+ * - 지역 랭킹은 지역 ID 변환이 없어 비교 대상에서 제외
+ * 양쪽 모두 정규화 키워드 기준으로 비교한다 (Redis 멤버 = 정규화 키워드 = keyword.normalized_keyword)
+ *
+ * 검증은 Redis 임대를 가진 노드 하나만 실행한다 - 여러 노드가 같은 부족분을 각자 더하면 중복 보정이 되므로,
+ * 매 주기와 구간 보정 전마다 임대를 연장하고 연장하지 못하면 그 자리에서 멈춘다
+ */
+@Service
+public class KeywordAntiEntropyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordAntiEntropyService.class);
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+    // 다른 노드와의 시계 차이로 DB 변경분을 놓치지 않도록 조회 시작 시각을 당겨 잡는다
+    private static final long UPDATED_AT_SKEW_SECONDS = 60;
+    private static final String LEASE_KEY = "keyword:anti-entropy:lease";
+
+    private final KeywordRepository keywordRepository;
+    private final KeywordCountRepository keywordCountRepository;
+    private final KeywordCountBatchRepository keywordCountBatchRepository;
+    private final RedisKeywordRankingImpl redisKeywordRanking;
+    private final TieredKeywordRanking tieredKeywordRanking;
+    private final KeywordNormalizer keywordNormalizer;
+
+    private final boolean enabled;
+    private final long leaseMs;
+    private final int leafWidth;
+    private final int sweepLeavesPerRun;
+    private final int maxRepairLeavesPerRun;
+    private final int changedKeywordsPerRun;
+    private final KeywordDivergenceTracker divergenceTracker;
+
+    private KeywordMerkleTree redisTree;
+    private KeywordMerkleTree databaseTree;
+    // 직전 주기에 임대를 가지고 있었는지 (다른 노드가 검증하던 동안 이 노드의 트리는 갱신되지 않았다)
+    private volatile boolean leaseHeld;
+    private LocalDateTime lastDatabaseCheck;
+    private int sweepCursor;
+
+    public KeywordAntiEntropyService(KeywordRepository keywordRepository,
+                                     KeywordCountRepository keywordCountRepository,
+                                     KeywordCountBatchRepository keywordCountBatchRepository,
+                                     RedisKeywordRankingImpl redisKeywordRanking,
+                                     TieredKeywordRanking tieredKeywordRanking,
+                                     KeywordNormalizer keywordNormalizer,
+                                     @Value("${keyword.anti-entropy.enabled:false}") boolean enabled,
+                                     @Value("${keyword.anti-entropy.lease-ms:180000}") long leaseMs,
+                                     @Value("${keyword.anti-entropy.leaf-width:1024}") int leafWidth,
+                                     @Value("${keyword.anti-entropy.sweep-leaves-per-run:16}") int sweepLeavesPerRun,
+                                     @Value("${keyword.anti-entropy.max-repair-leaves-per-run:32}") int maxRepairLeavesPerRun,
+                                     @Value("${keyword.anti-entropy.changed-keywords-per-run:10000}") int changedKeywordsPerRun,
+                                     @Value("${keyword.anti-entropy.repair-confirm-delay-ms:600000}") long repairConfirmDelayMs) {
+        this.keywordRepository = keywordRepository;
+        this.keywordCountRepository = keywordCountRepository;
+        this.keywordCountBatchRepository = keywordCountBatchRepository;
+        this.redisKeywordRanking = redisKeywordRanking;
+        this.tieredKeywordRanking = tieredKeywordRanking;
+        this.keywordNormalizer = keywordNormalizer;
+        this.enabled = enabled;
+        this.leaseMs = leaseMs;
+        this.leafWidth = leafWidth;
+        this.sweepLeavesPerRun = sweepLeavesPerRun;
+        this.maxRepairLeavesPerRun = maxRepairLeavesPerRun;
+        this.changedKeywordsPerRun = changedKeywordsPerRun;
+        this.divergenceTracker = new KeywordDivergenceTracker(repairConfirmDelayMs);
+        this.redisTree = new KeywordMerkleTree(leafWidth, 1);
+        this.databaseTree = new KeywordMerkleTree(leafWidth, 1);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (enabled) {
+            redisKeywordRanking.enableChangeTracking();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!leaseHeld) {
+            return;
+        }
+        try {
+            redisKeywordRanking.releaseLease(LEASE_KEY);
+        } catch (Exception e) {
+            logger.warn("정합성 검증 임대 반납 실패 (만료 후 다른 노드가 가져감): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 주기적 정합성 검증 - 한쪽에만 반영된 세대가 있으면 불일치로 보므로 Redis/DB 가 같은 세대까지 반영된 상태에서만 실행
+     */
+    @Scheduled(fixedDelayString = "${keyword.anti-entropy.interval-ms:60000}")
+    public void verify() {
+        if (!enabled || !redisKeywordRanking.isAvailable()) {
+            return;
+        }
+
+        try {
+            if (!redisKeywordRanking.tryAcquireLease(LEASE_KEY, leaseMs)) {
+                leaseHeld = false;
+                logger.debug("다른 노드가 정합성 검증 임대를 보유 중이어서 생략");
+                return;
+            }
+            if (!leaseHeld) {
+                // 임대를 새로 넘겨받으면 그동안 갱신되지 않은 트리를 버리고 처음 시작할 때처럼 다시 채운다
+                redisTree = new KeywordMerkleTree(leafWidth, 1);
+                databaseTree = new KeywordMerkleTree(leafWidth, 1);
+                lastDatabaseCheck = null;
+                divergenceTracker.clear();
+                leaseHeld = true;
+            }
+            if (!tieredKeywordRanking.runWhenSettled(this::verifyOnce)) {
+                logger.debug("Redis/DB 반영 보류 세대가 남아 있어 정합성 검증 생략");
+            }
+        } catch (Exception e) {
+            logger.error("Redis/DB 정합성 검증 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void verifyOnce() {
+        Long maxKeywordId = keywordRepository.findMaxKeywordId();
+        if (maxKeywordId == null) {
+            return;
+        }
+        redisTree.ensureKeywordId(maxKeywordId);
+        databaseTree.ensureKeywordId(maxKeywordId);
+
+        // 1. 이번 주기에 다시 해시할 구간 수집
+        LocalDateTime checkStartedAt = LocalDateTime.now();
+        Set<Integer> dirtyLeaves = new TreeSet<>();
+        if (lastDatabaseCheck != null) {
+            for (Long keywordId : keywordCountRepository.findGlobalKeywordIdsUpdatedSince(
+                    lastDatabaseCheck.minusSeconds(UPDATED_AT_SKEW_SECONDS))) {
+                dirtyLeaves.add(redisTree.leafOf(keywordId));
+            }
+        }
+        for (Long keywordId : resolveKeywordIds(redisKeywordRanking.pollChangedKeywords(changedKeywordsPerRun))) {
+            dirtyLeaves.add(redisTree.leafOf(keywordId));
+        }
+        // 변경 기록에 잡히지 않는 불일치(Redis 데이터 유실 등)는 순환 점검으로 발견
+        int leafCount = redisTree.getLeafCount();
+        for (int i = 0; i < Math.min(sweepLeavesPerRun, leafCount); i++) {
+            dirtyLeaves.add(sweepCursor);
+            sweepCursor = (sweepCursor + 1) % leafCount;
+        }
+
+        // 2. 구간 해시 갱신
+        for (int leaf : dirtyLeaves) {
+            LeafSnapshot snapshot = loadLeaf(leaf);
+            updateLeaf(leaf, snapshot);
+        }
+        lastDatabaseCheck = checkStartedAt;
+
+        // 3. 루트 비교 후 다른 구간만 보정 (확인 간격이 지난 불일치만)
+        if (redisTree.root() == databaseTree.root()) {
+            divergenceTracker.clear();
+            logger.debug("Redis/DB 정합성 검증 일치: 갱신 구간 {}", dirtyLeaves.size());
+            return;
+        }
+
+        List<Integer> divergedLeaves = redisTree.diff(databaseTree, maxRepairLeavesPerRun);
+        long now = System.currentTimeMillis();
+        int repairedKeywords = 0;
+        for (int i = 0; i < divergedLeaves.size(); i++) {
+            if (!redisKeywordRanking.tryAcquireLease(LEASE_KEY, leaseMs)) {
+                leaseHeld = false;
+                logger.warn("정합성 보정 중 임대를 잃어 중단: 보정 구간 {}/{}", i, divergedLeaves.size());
+                return;
+            }
+            repairedKeywords += repairLeaf(divergedLeaves.get(i), now);
+        }
+        logger.info("Redis/DB 정합성 보정: 불일치 구간 {}, 확인 대기 구간 {}, 보정 키워드 {}",
+                divergedLeaves.size(), divergenceTracker.getSuspectedCount(), repairedKeywords);
+    }
+
+    private void updateLeaf(int leaf, LeafSnapshot snapshot) {
+        redisTree.setLeaf(leaf, snapshot.digest(snapshot.redisCounts));
+        databaseTree.setLeaf(leaf, snapshot.digest(snapshot.databaseCounts));
+        if (redisTree.getLeaf(leaf) == databaseTree.getLeaf(leaf)) {
+            divergenceTracker.resolve(leaf);
+        }
+    }
+
+    /**
+     * 구간 안 키워드의 확인된 부족분만 더함 - 처음 관측했거나 확인 간격이 지나지 않았으면 기록만 한다
+     * 반환값: 보정한 키워드 수
+     */
+    private int repairLeaf(int leaf, long now) {
+        LeafSnapshot snapshot = loadLeaf(leaf);
+        updateLeaf(leaf, snapshot);
+        if (redisTree.getLeaf(leaf) == databaseTree.getLeaf(leaf)) {
+            return 0;
+        }
+        KeywordDivergenceTracker.Repair repair = divergenceTracker.observe(
+                leaf, snapshot.redisCounts, snapshot.databaseCounts, now);
+        if (repair == null) {
+            return 0;
+        }
+
+        Map<String, Long> redisIncrements = new LinkedHashMap<>();
+        Map<Long, Long> databaseIncrements = new LinkedHashMap<>();
+        Map<Long, Long> repairedRedis = new HashMap<>(snapshot.redisCounts);
+        Map<Long, Long> repairedDatabase = new HashMap<>(snapshot.databaseCounts);
+        for (Map.Entry<Long, String> keyword : snapshot.keywords.entrySet()) {
+            Long redisIncrement = repair.getRedisIncrements().get(keyword.getKey());
+            if (redisIncrement != null) {
+                redisIncrements.put(keyword.getValue(), redisIncrement);
+                repairedRedis.merge(keyword.getKey(), redisIncrement, Long::sum);
+            }
+            Long databaseIncrement = repair.getDatabaseIncrements().get(keyword.getKey());
+            if (databaseIncrement != null) {
+                databaseIncrements.put(keyword.getKey(), databaseIncrement);
+                repairedDatabase.merge(keyword.getKey(), databaseIncrement, Long::sum);
+            }
+        }
+
+        if (!redisIncrements.isEmpty()) {
+            redisKeywordRanking.repairGlobalScores(redisIncrements);
+        }
+        if (!databaseIncrements.isEmpty()) {
+            keywordCountBatchRepository.addCounts(databaseIncrements, null, LocalDate.now());
+        }
+
+        // 반영 대기 중인 증가분이 남아 있으면 양쪽 해시가 아직 다를 수 있다 (다음 주기에 다시 관측)
+        redisTree.setLeaf(leaf, snapshot.digest(repairedRedis));
+        databaseTree.setLeaf(leaf, snapshot.digest(repairedDatabase));
+        return redisIncrements.size() + databaseIncrements.size();
+    }
+
+    private LeafSnapshot loadLeaf(int leaf) {
+        long fromId = redisTree.firstKeywordId(leaf);
+        long toId = redisTree.lastKeywordId(leaf);
+
+        Map<Long, String> keywords = new LinkedHashMap<>();
+        for (Object[] row : keywordRepository.findKeywordIdsInRange(fromId, toId)) {
+            keywords.put((Long) row[0], (String) row[1]);
+        }
+
+        Map<Long, Long> databaseCounts = new HashMap<>();
+        for (Object[] row : keywordCountRepository.sumGlobalCountsByKeywordIdRange(fromId, toId)) {
+            databaseCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        List<Long> keywordIds = new ArrayList<>(keywords.keySet());
+        List<Double> scores = redisKeywordRanking.getGlobalScores(new ArrayList<>(keywords.values()));
+        Map<Long, Long> redisCounts = new HashMap<>();
+        for (int i = 0; i < scores.size(); i++) {
+            if (scores.get(i) != null) {
+                redisCounts.put(keywordIds.get(i), scores.get(i).longValue());
+            }
+        }
+
+        return new LeafSnapshot(keywords, redisCounts, databaseCounts);
+    }
+
+    /**
+     * Redis 변경 기록(정규화 키워드) → 키워드 ID
+     * 정규화 전에 기록된 원본 키워드 멤버가 남아 있을 수 있으므로 한 번 더 정규화해서 찾는다
+     */
+    private List<Long> resolveKeywordIds(List<String> changedKeywords) {
+        List<Long> keywordIds = new ArrayList<>(changedKeywords.size());
+        Set<String> unique = new HashSet<>();
+        for (String keyword : changedKeywords) {
+            String normalized = keywordNormalizer.normalize(keyword);
+            if (normalized != null && !normalized.isBlank()) {
+                unique.add(normalized);
+            }
+        }
+        List<String> keywords = new ArrayList<>(unique);
+
+        for (int from = 0; from < keywords.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = keywords.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, keywords.size()));
+            for (Object[] mapping : keywordRepository.findKeywordIdMappings(chunk)) {
+                keywordIds.add((Long) mapping[1]);
+            }
+        }
+        return keywordIds;
+    }
+
+    /**
+     * 한 구간의 키워드와 양쪽 카운트
+     */
+    private static final class LeafSnapshot {
+        private final Map<Long, String> keywords;
+        private final Map<Long, Long> redisCounts;
+        private final Map<Long, Long> databaseCounts;
+
+        private LeafSnapshot(Map<Long, String> keywords, Map<Long, Long> redisCounts, Map<Long, Long> databaseCounts) {
+            this.keywords = keywords;
+            this.redisCounts = redisCounts;
+            this.databaseCounts = databaseCounts;
+        }
+
+        // DB 에 키워드가 있는 항목만 해시 (Redis 에만 있는 키워드는 ID 가 없어 비교 불가)
+        private long digest(Map<Long, Long> counts) {
+            long digest = 0L;
+            for (Long keywordId : keywords.keySet()) {
+                digest += KeywordMerkleTree.entryDigest(keywordId, counts.getOrDefault(keywordId, 0L));
+            }
+            return digest;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package kr.hhplus.be.server.keyword.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kr.hhplus.be.server.common.util.KeywordNormalizer;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordAutocompleteIndex;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordRanking;
+import kr.hhplus.be.server.infrastructure.keyword.TieredKeywordRanking;
+import kr.hhplus.be.server.keyword.dto.response.KeywordAutocompleteResponse;
+import kr.hhplus.be.server.keyword.dto.response.KeywordDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 키워드 자동완성
+ * - 검색 키워드가 기록될 때마다 색인에 바로 반영 (키 경로의 노드별 상위 top-k 만 갱신)
+ * - 긴 주기로 계층형 랭킹의 전체 상위 max-keywords 개를 읽어 색인을 다시 만들어 교체
+ *   (다른 노드에서 늘어난 가중치를 반영하고, 상위권에서 밀려난 키워드를 정리)
+ * - 검색어가 초성으로만 되어 있으면 초성 색인 (예: ㄱㅊㅉㄱ → 김치찌개), 아니면 정규화 키워드 접두어 색인에서 조회
+ */
+@Service
+public class KeywordAutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordAutocompleteService.class);
+    private static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    private static final String MATCH_PREFIX = "prefix";
+    private static final String MATCH_CHOSEONG = "choseong";
+
+    private final TieredKeywordRanking tieredKeywordRanking;
+    private final KeywordNormalizer keywordNormalizer;
+    private final boolean enabled;
+    private final int maxKeywords;
+    private final int topK;
+
+    private volatile KeywordAutocompleteIndex index;
+
+    private final Timer lookupLatency;
+    private final Timer rebuildLatency;
+
+    public KeywordAutocompleteService(TieredKeywordRanking tieredKeywordRanking,
+                                      KeywordNormalizer keywordNormalizer,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${keyword.autocomplete.enabled:true}") boolean enabled,
+                                      @Value("${keyword.autocomplete.max-keywords:50000}") int maxKeywords,
+                                      @Value("${keyword.autocomplete.top-k:10}") int topK) {
+        this.tieredKeywordRanking = tieredKeywordRanking;
+        this.keywordNormalizer = keywordNormalizer;
+        this.enabled = enabled;
+        this.maxKeywords = maxKeywords;
+        this.topK = topK;
+        this.index = new KeywordAutocompleteIndex(topK, maxKeywords);
+
+        this.lookupLatency = Timer.builder("keyword.autocomplete.lookup")
+                .description("자동완성 조회 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rebuildLatency = Timer.builder("keyword.autocomplete.rebuild")
+                .description("자동완성 색인 생성 시간")
+                .register(meterRegistry);
+        Gauge.builder("keyword.autocomplete.size", this, service -> service.index.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 자동완성 조회 - 가중치(검색 수) 내림차순 최대 limit 개 (top-k 초과 불가)
+     */
+    public KeywordAutocompleteResponse suggest(String query, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("자동완성 검색어는 필수입니다.");
+        }
+        int actualLimit = Math.min(limit != null && limit > 0 ? limit : DEFAULT_AUTOCOMPLETE_LIMIT, topK);
+
+        long started = System.nanoTime();
+        try {
+            boolean choseong = KeywordAutocompleteIndex.isChoseongQuery(query);
+            String key = choseong
+                    ? KeywordAutocompleteIndex.toKey(query.trim())
+                    : KeywordAutocompleteIndex.toKey(keywordNormalizer.normalize(query));
+            if (key.isEmpty()) {
+                return new KeywordAutocompleteResponse(query, MATCH_PREFIX, List.of());
+            }
+
+            KeywordAutocompleteIndex current = index;
+            List<kr.hhplus.be.server.infrastructure.keyword.KeywordDto> completions = choseong
+                    ? current.completeChoseong(key, actualLimit)
+                    : current.complete(key, actualLimit);
+
+            List<KeywordDto> suggestions = completions.stream()
+                    .map(dto -> new KeywordDto(dto.getKeyword(), (int) Math.min(Integer.MAX_VALUE, dto.getCount())))
+                    .collect(Collectors.toList());
+            return new KeywordAutocompleteResponse(query, choseong ? MATCH_CHOSEONG : MATCH_PREFIX, suggestions);
+        } finally {
+            lookupLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 검색 키워드 기록 알림 - 색인의 키 경로에 가중치를 바로 반영 (색인이 가득 차면 새 키워드는 다음 재생성까지 보류)
+     */
+    public void onKeywordRecorded(String keyword, long count) {
+        if (!enabled || keyword == null) {
+            return;
+        }
+        String key = KeywordAutocompleteIndex.toKey(keywordNormalizer.normalize(keyword));
+        if (key.isEmpty()) {
+            return;
+        }
+        index.record(keyword, key, count);
+    }
+
+    /**
+     * 색인 재생성 - 조회와 기록은 교체 전까지 이전 색인을 그대로 사용
+     * 기록은 이 노드의 검색만 반영하므로, 랭킹 기준으로 다시 맞추는 용도라 주기가 길다
+     */
+    @Scheduled(fixedDelayString = "${keyword.autocomplete.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            TieredKeywordRanking.TierResult ranked =
+                    tieredKeywordRanking.readTopKeywords(KeywordRanking.GLOBAL_SCOPE, maxKeywords);
+            KeywordAutocompleteIndex next = KeywordAutocompleteIndex.build(
+                    ranked.getKeywords(), keywordNormalizer::normalize, topK, maxKeywords);
+            index = next;
+
+            logger.debug("자동완성 색인 생성: keywords={}, source={}, elapsedMs={}",
+                    next.size(), ranked.getTier().getCode(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            logger.warn("자동완성 색인 생성 실패: {}", e.getMessage());
+        } finally {
+            rebuildLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package kr.hhplus.be.server.keyword.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.hhplus.be.server.infrastructure.keyword.MpscRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 검색 키워드 수집 파이프라인
+ * - 검색 요청 스레드는 이벤트를 MPSC 링 버퍼에 넣고 바로 반환 (Redis/DB 호출 없음)
+ * - 소비자 스레드 하나가 batch-size 만큼 꺼내 KeywordService 로 일괄 기록
+ * - 버퍼가 차면 overflow-policy 에 따라 처리
+ *   DROP: 바로 폐기 / SAMPLE: 적재율이 임계치를 넘으면 1/sample-rate 만 가중치를 붙여 적재
+ *   BLOCK: block-timeout-ms 까지 빈 슬롯을 기다린 뒤 폐기 (이 정책에서만 검색 지연이 기록 지연에 영향을 받는다)
+ */
+@Service
+public class KeywordIngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordIngestionPipeline.class);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    public enum OverflowPolicy {
+        DROP, SAMPLE, BLOCK;
+
+        public static OverflowPolicy fromCode(String code) {
+            try {
+                return valueOf(code.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 수집 overflow 정책입니다: " + code);
+            }
+        }
+    }
+
+    private final KeywordService keywordService;
+    private final boolean enabled;
+    private final MpscRingBuffer<SearchKeywordEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final int sampleThreshold;
+    private final int sampleRate;
+    private final long blockTimeoutNanos;
+
+    private final Thread consumer;
+    private volatile boolean running;
+
+    private final Counter droppedEvents;
+    private final Counter sampledOutEvents;
+    private final Counter failedBatches;
+    private final Timer ingestLatency;
+    private final DistributionSummary batchSizes;
+
+    public KeywordIngestionPipeline(KeywordService keywordService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${keyword.ingestion.enabled:true}") boolean enabled,
+                                    @Value("${keyword.ingestion.capacity:65536}") int capacity,
+                                    @Value("${keyword.ingestion.batch-size:512}") int batchSize,
+                                    @Value("${keyword.ingestion.poll-interval-ms:5}") long pollIntervalMs,
+                                    @Value("${keyword.ingestion.overflow-policy:drop}") String overflowPolicy,
+                                    @Value("${keyword.ingestion.sample-threshold:0.75}") double sampleThreshold,
+                                    @Value("${keyword.ingestion.sample-rate:10}") int sampleRate,
+                                    @Value("${keyword.ingestion.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.keywordService = keywordService;
+        this.enabled = enabled;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.overflowPolicy = OverflowPolicy.fromCode(overflowPolicy);
+        this.batchSize = Math.max(1, batchSize);
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, pollIntervalMs));
+        this.sampleThreshold = (int) (buffer.capacity() * sampleThreshold);
+        this.sampleRate = Math.max(1, sampleRate);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+
+        this.consumer = new Thread(this::consumeLoop, "keyword-ingestion-consumer");
+        this.consumer.setDaemon(true);
+
+        this.droppedEvents = Counter.builder("keyword.ingest.dropped")
+                .description("버퍼 포화로 폐기된 검색 키워드 이벤트 수")
+                .tag("policy", this.overflowPolicy.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        this.sampledOutEvents = Counter.builder("keyword.ingest.sampled")
+                .description("샘플링으로 적재하지 않은 이벤트 수 (적재된 이벤트의 가중치로 보정됨)")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("keyword.ingest.failures")
+                .register(meterRegistry);
+        this.ingestLatency = Timer.builder("keyword.ingest.latency")
+                .description("적재부터 기록 완료까지 걸린 시간")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("keyword.ingest.batch.size")
+                .register(meterRegistry);
+        Gauge.builder("keyword.ingest.queue.depth", buffer, MpscRingBuffer::size)
+                .description("기록 대기 중인 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("키워드 수집 파이프라인 비활성: 검색 요청 스레드에서 직접 기록");
+            return;
+        }
+        running = true;
+        consumer.start();
+        logger.info("키워드 수집 파이프라인 시작: capacity={}, batchSize={}, overflowPolicy={}",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    /**
+     * 종료 시 남은 이벤트까지 기록
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (consumer.isAlive()) {
+            logger.warn("키워드 수집 소비자가 종료되지 않아 남은 이벤트를 기록하지 못함: remaining={}", buffer.size());
+            return;
+        }
+        // 소비자 종료 후이므로 단일 소비자 조건이 유지된다
+        while (drainOnce() > 0) {
+            // 남은 이벤트 기록
+        }
+    }
+
+    /**
+     * 검색 키워드 적재 - 예외를 던지지 않는다
+     */
+    public void submit(String keyword, String location) {
+        if (!enabled) {
+            keywordService.recordSearchKeyword(keyword, location);
+            return;
+        }
+
+        int weight = 1;
+        if (overflowPolicy == OverflowPolicy.SAMPLE && buffer.size() >= sampleThreshold) {
+            if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                sampledOutEvents.increment();
+                return;
+            }
+            weight = sampleRate;
+        }
+
+        SearchKeywordEvent event = new SearchKeywordEvent(keyword, location, weight, System.nanoTime());
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK && offerWithin(event, blockTimeoutNanos)) {
+            return;
+        }
+        droppedEvents.increment(weight);
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    private boolean offerWithin(SearchKeywordEvent event, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void consumeLoop() {
+        while (running) {
+            try {
+                if (drainOnce() == 0) {
+                    LockSupport.parkNanos(pollIntervalNanos);
+                }
+            } catch (Exception e) {
+                logger.error("키워드 수집 소비자 오류: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private int drainOnce() {
+        List<SearchKeywordEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.size() + 1));
+        buffer.drain(batch::add, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        batchSizes.record(batch.size());
+        try {
+            keywordService.recordSearchKeywords(batch);
+        } catch (Exception e) {
+            failedBatches.increment();
+            logger.error("검색 키워드 일괄 기록 실패: events={}, error={}", batch.size(), e.getMessage());
+        }
+
+        long now = System.nanoTime();
+        for (SearchKeywordEvent event : batch) {
+            ingestLatency.record(now - event.getEnqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+        return batch.size();
+    }
+}
@@ -0,0 +1,77 @@
+package kr.hhplus.be.server.keyword.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.hhplus.be.server.infrastructure.keyword.RedisKeywordRankingImpl;
+import kr.hhplus.be.server.infrastructure.keyword.TierHealthManager;
+import kr.hhplus.be.server.infrastructure.keyword.TieredKeywordRanking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis 복구 시 Memory 티어 데이터 재반영
+ * - Redis 상태가 CLOSED 로 돌아오면 다음 write-behind 주기를 기다리지 않고 백그라운드 스레드에서
+ *   보류된 세대와 장애 동안 Memory 에 쌓인 세대를 반영
+ * - 반영은 세대/청크 단위 기록으로 멱등이므로 도중에 다시 장애가 나도 다음 복구 때 이어서 반영된다
+ * - 조회/기록 요청은 이 작업을 기다리지 않는다
+ */
+@Service
+public class KeywordRecoveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordRecoveryService.class);
+
+    private final TieredKeywordRanking tieredKeywordRanking;
+    private final RedisKeywordRankingImpl redisKeywordRanking;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "keyword-redis-recovery");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean recoveryQueued = new AtomicBoolean();
+
+    public KeywordRecoveryService(TieredKeywordRanking tieredKeywordRanking,
+                                  RedisKeywordRankingImpl redisKeywordRanking) {
+        this.tieredKeywordRanking = tieredKeywordRanking;
+        this.redisKeywordRanking = redisKeywordRanking;
+    }
+
+    @PostConstruct
+    public void registerHealthListener() {
+        redisKeywordRanking.getHealth().addListener((from, to) -> {
+            if (to == TierHealthManager.State.CLOSED) {
+                requestRecovery();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 복구 작업 예약 - 이미 대기 중이면 합쳐진다
+     */
+    public void requestRecovery() {
+        if (!recoveryQueued.compareAndSet(false, true)) {
+            return;
+        }
+
+        executor.execute(() -> {
+            recoveryQueued.set(false);
+            try {
+                logger.info("Redis 복구 감지, Memory 데이터 재반영 시작");
+                // 보류 세대 반영 후 장애 동안 쌓인 현재 세대까지 Redis 로 반영
+                tieredKeywordRanking.flushWriteBehind();
+                logger.info("Redis 복구 재반영 완료");
+            } catch (Exception e) {
+                logger.error("Redis 복구 재반영 실패: {}", e.getMessage(), e);
+            }
+        });
+    }
+}
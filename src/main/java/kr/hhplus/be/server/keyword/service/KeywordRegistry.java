@@ -0,0 +1,299 @@
+package kr.hhplus.be.server.keyword.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.hhplus.be.server.common.util.KeywordNormalizer;
+import kr.hhplus.be.server.infrastructure.keyword.KeywordBloomFilter;
+import kr.hhplus.be.server.keyword.repository.KeywordBatchRepository;
+import kr.hhplus.be.server.keyword.repository.KeywordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 키워드 등록부 - 검색마다 keyword 테이블을 조회하지 않도록 프로세스 안에서 등록 여부와 ID 를 관리
+ * - 알려진 키워드: Bloom Filter (시작 시 keyword 테이블 전체를 ID 구간 단위로 읽어 채움)
+ * - 키워드 ID: 정규화 키워드 → ID 의 크기 제한 LRU 캐시
+ * - 등록(register): 캐시나 Bloom Filter 에 있으면 DB 호출 없이 반환, 없으면 대기열에만 넣는다
+ * - 대기열은 주기적으로(또는 batch-size 이상 쌓이면) 다중 행 INSERT IGNORE 후 ID 를 일괄 조회해 캐시에 반영
+ * Bloom Filter 오탐으로 등록이 빠진 키워드는 resolveIds 가 ID 를 찾지 못할 때 등록된다
+ */
+@Component
+public class KeywordRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeywordRegistry.class);
+
+    // 키워드 ID 일괄 조회 시 IN 절 하나에 담는 키워드 수
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final KeywordRepository keywordRepository;
+    private final KeywordBatchRepository keywordBatchRepository;
+    private final KeywordNormalizer keywordNormalizer;
+
+    private final KeywordBloomFilter knownKeywords;
+    private final Map<String, Long> idCache;
+    // 정규화 키워드 → 등록할 원본 키워드
+    private final ConcurrentHashMap<String, String> pending = new ConcurrentHashMap<>();
+
+    private final int batchSize;
+    private final int maxPending;
+    private final long flushIntervalMs;
+    private final int warmupChunkSize;
+    private volatile boolean warmedUp;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter insertedKeywords;
+    private final Counter rejectedKeywords;
+
+    public KeywordRegistry(KeywordRepository keywordRepository,
+                           KeywordBatchRepository keywordBatchRepository,
+                           KeywordNormalizer keywordNormalizer,
+                           MeterRegistry meterRegistry,
+                           @Value("${keyword.registry.expected-keywords:1000000}") long expectedKeywords,
+                           @Value("${keyword.registry.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${keyword.registry.max-cached-ids:100000}") int maxCachedIds,
+                           @Value("${keyword.registry.batch-size:500}") int batchSize,
+                           @Value("${keyword.registry.max-pending:50000}") int maxPending,
+                           @Value("${keyword.registry.flush-interval-ms:1000}") long flushIntervalMs,
+                           @Value("${keyword.registry.warmup-chunk-size:10000}") int warmupChunkSize) {
+        this.keywordRepository = keywordRepository;
+        this.keywordBatchRepository = keywordBatchRepository;
+        this.keywordNormalizer = keywordNormalizer;
+        this.knownKeywords = new KeywordBloomFilter(expectedKeywords, falsePositiveRate);
+        this.idCache = new LinkedHashMap<>(Math.min(maxCachedIds, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxCachedIds;
+            }
+        };
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.flushIntervalMs = flushIntervalMs;
+        this.warmupChunkSize = warmupChunkSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keyword-registry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.insertedKeywords = Counter.builder("keyword.registry.inserted")
+                .description("일괄 등록으로 새로 추가된 키워드 수")
+                .register(meterRegistry);
+        this.rejectedKeywords = Counter.builder("keyword.registry.rejected")
+                .description("대기열 포화로 등록하지 못한 키워드 수")
+                .register(meterRegistry);
+        Gauge.builder("keyword.registry.pending", pending, Map::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.execute(this::warmUp);
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 대기 중인 키워드 등록 후 종료
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * 키워드 등록 요청 - 이미 알려진 키워드면 DB 호출 없이 반환
+     */
+    public void register(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return;
+        }
+        String normalizedKeyword = keywordNormalizer.normalize(keyword);
+        if (normalizedKeyword.isEmpty()) {
+            // 특수문자만으로 된 키워드는 정규화 키워드가 비어 등록하지 않는다 (normalized_keyword unique)
+            return;
+        }
+        if (isKnown(normalizedKeyword) || pending.containsKey(normalizedKeyword)) {
+            return;
+        }
+
+        if (pending.size() >= maxPending) {
+            rejectedKeywords.increment();
+            logger.warn("키워드 등록 대기열 포화: keyword={}, pending={}", normalizedKeyword, pending.size());
+            return;
+        }
+        pending.putIfAbsent(normalizedKeyword, keyword.trim());
+
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 정규화 키워드 → 키워드 ID 일괄 변환 (keywordsByNormalized: 정규화 키워드 → 등록할 원본 키워드)
+     * 캐시에 없는 키워드만 청크 단위로 조회하고, DB 에도 없는 키워드는 원본/정규화 키워드로 등록한 뒤 다시 조회
+     */
+    public Map<String, Long> resolveIds(Map<String, String> keywordsByNormalized) {
+        Map<String, Long> ids = new HashMap<>(keywordsByNormalized.size() * 2);
+        List<String> misses = new ArrayList<>();
+        synchronized (idCache) {
+            for (String keyword : keywordsByNormalized.keySet()) {
+                Long id = idCache.get(keyword);
+                if (id != null) {
+                    ids.put(keyword, id);
+                } else {
+                    misses.add(keyword);
+                }
+            }
+        }
+        if (misses.isEmpty()) {
+            return ids;
+        }
+
+        Map<String, Long> found = lookupIds(misses);
+        ids.putAll(found);
+        if (found.size() < misses.size()) {
+            Map<String, String> missing = new HashMap<>();
+            for (String keyword : misses) {
+                if (!found.containsKey(keyword)) {
+                    missing.put(keyword, keywordsByNormalized.get(keyword));
+                }
+            }
+            ids.putAll(insertAndLookup(missing));
+        }
+        return ids;
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    private boolean isKnown(String normalizedKeyword) {
+        // 워밍업 전에는 Bloom Filter 가 비어 있어 캐시만 신뢰
+        if (warmedUp && knownKeywords.mightContain(normalizedKeyword)) {
+            return true;
+        }
+        synchronized (idCache) {
+            return idCache.containsKey(normalizedKeyword);
+        }
+    }
+
+    /**
+     * keyword 테이블 전체를 ID 구간 단위로 읽어 Bloom Filter / 캐시 채움
+     */
+    private void warmUp() {
+        long started = System.currentTimeMillis();
+        try {
+            Long maxId = keywordRepository.findMaxKeywordId();
+            long loaded = 0;
+            if (maxId != null) {
+                for (long fromId = 1; fromId <= maxId; fromId += warmupChunkSize) {
+                    List<Object[]> rows = keywordRepository.findKeywordIdsInRange(fromId, fromId + warmupChunkSize - 1);
+                    for (Object[] row : rows) {
+                        remember((String) row[1], (Long) row[0]);
+                    }
+                    loaded += rows.size();
+                }
+            }
+            warmedUp = true;
+            logger.info("키워드 등록부 워밍업 완료: keywords={}, elapsedMs={}",
+                    loaded, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // 워밍업 실패 시 캐시에 없는 키워드는 모두 대기열을 거쳐 INSERT IGNORE 로 등록된다
+            logger.error("키워드 등록부 워밍업 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("키워드 일괄 등록 실패: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> batch = new HashMap<>(pending.size() * 2);
+        for (String key : pending.keySet()) {
+            String keyword = pending.remove(key);
+            if (keyword != null) {
+                batch.put(key, keyword);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            insertAndLookup(batch);
+        } catch (RuntimeException e) {
+            // 실패한 배치는 대기열로 되돌려 다음 주기에 재시도
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        }
+    }
+
+    private Map<String, Long> insertAndLookup(Map<String, String> keywordsByNormalized) {
+        int inserted = keywordBatchRepository.insertIgnore(keywordsByNormalized);
+        insertedKeywords.increment(inserted);
+        Map<String, Long> ids = lookupIds(new ArrayList<>(keywordsByNormalized.keySet()));
+        logger.debug("키워드 일괄 등록: requested={}, inserted={}", keywordsByNormalized.size(), inserted);
+        return ids;
+    }
+
+    private Map<String, Long> lookupIds(List<String> normalizedKeywords) {
+        Map<String, Long> ids = new HashMap<>(normalizedKeywords.size() * 2);
+        for (int from = 0; from < normalizedKeywords.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = normalizedKeywords.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, normalizedKeywords.size()));
+            for (Object[] mapping : keywordRepository.findKeywordIdMappings(chunk)) {
+                ids.put((String) mapping[0], (Long) mapping[1]);
+            }
+        }
+        ids.forEach(this::remember);
+        return ids;
+    }
+
+    private void remember(String normalizedKeyword, Long id) {
+        if (normalizedKeyword == null) {
+            return;
+        }
+        knownKeywords.put(normalizedKeyword);
+        synchronized (idCache) {
+            idCache.put(normalizedKeyword, id);
+        }
+    }
+}
@@ -1,25 +1,25 @@
 package kr.hhplus.be.server.keyword.service;
 
-import kr.hhplus.be.server.keyword.domain.Keyword;
-import kr.hhplus.be.server.keyword.domain.KeywordCount;
-import kr.hhplus.be.server.keyword.repository.KeywordRepository;
-import kr.hhplus.be.server.keyword.repository.KeywordCountRepository;
+import kr.hhplus.be.server.common.util.KeywordNormalizer;
 import kr.hhplus.be.server.keyword.dto.response.KeywordDto;
 import kr.hhplus.be.server.keyword.dto.response.PopularKeywordResponse;
 import kr.hhplus.be.server.infrastructure.keyword.KeywordRanking;
-import kr.hhplus.be.server.infrastructure.keyword.RedisKeywordRankingImpl;
-import kr.hhplus.be.server.infrastructure.keyword.MemoryKeywordRankingImpl;
+import kr.hhplus.be.server.infrastructure.keyword.RankingWindow;
+import kr.hhplus.be.server.infrastructure.keyword.TieredKeywordRanking;
+import kr.hhplus.be.server.infrastructure.keyword.WindowedKeywordRanking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,25 +29,27 @@ public class KeywordService {
     private static final int DEFAULT_POPULAR_KEYWORD_LIMIT = 10;
     private static final String REDIS_DATA_SOURCE = "redis";
     private static final String MEMORY_DATA_SOURCE = "memory";
-    private static final String DATABASE_DATA_SOURCE = "database";
 
-    private final KeywordRepository keywordRepository;
-    private final KeywordCountRepository keywordCountRepository;
-    private final KeywordRanking redisKeywordRanking;
-    private final KeywordRanking memoryKeywordRanking;
+    private final TieredKeywordRanking tieredKeywordRanking;
+    private final WindowedKeywordRanking redisWindowedRanking;
+    private final WindowedKeywordRanking windowedKeywordRanking;
     private final KeywordCountService keywordCountService;
+    private final KeywordAutocompleteService keywordAutocompleteService;
+    private final KeywordNormalizer keywordNormalizer;
 
     @Autowired
-    public KeywordService(KeywordRepository keywordRepository,
-                          KeywordCountRepository keywordCountRepository,
-                          @Qualifier("redisKeywordRanking") KeywordRanking redisKeywordRanking,
-                          @Qualifier("memoryKeywordRanking") KeywordRanking memoryKeywordRanking,
-                          KeywordCountService keywordCountService) {
-        this.keywordRepository = keywordRepository;
-        this.keywordCountRepository = keywordCountRepository;
-        this.redisKeywordRanking = redisKeywordRanking;
-        this.memoryKeywordRanking = memoryKeywordRanking;
+    public KeywordService(TieredKeywordRanking tieredKeywordRanking,
+                          @Qualifier("redisKeywordRanking") WindowedKeywordRanking redisWindowedRanking,
+                          @Qualifier("slidingWindowKeywordRanking") WindowedKeywordRanking windowedKeywordRanking,
+                          KeywordCountService keywordCountService,
+                          KeywordAutocompleteService keywordAutocompleteService,
+                          KeywordNormalizer keywordNormalizer) {
+        this.tieredKeywordRanking = tieredKeywordRanking;
+        this.redisWindowedRanking = redisWindowedRanking;
+        this.windowedKeywordRanking = windowedKeywordRanking;
         this.keywordCountService = keywordCountService;
+        this.keywordAutocompleteService = keywordAutocompleteService;
+        this.keywordNormalizer = keywordNormalizer;
     }
 
     /**
@@ -55,9 +57,17 @@ public class KeywordService {
      * 키워드 기록 실패가 검색 기능을 방해하지 않도록 예외를 처리합니다.
      */
     public void recordSearchKeyword(String keyword, String locationCategory) {
+        String normalizedKeyword = normalizeForRanking(keyword);
+        if (normalizedKeyword == null) {
+            return;
+        }
+        recordWindowedKeyword(normalizedKeyword, locationCategory, 1);
+
         try {
-            // Infrastructure Layer의 KeywordRanking을 통한 우선순위 기반 처리
-            recordKeywordWithFailover(keyword, locationCategory);
+            // Memory 티어에 기록 (Redis/DB 는 계층형 랭킹이 비동기로 반영)
+            tieredKeywordRanking.incrementKeywordCount(normalizedKeyword, locationCategory);
+            keywordCountService.ensureKeywordExists(keyword);
+            keywordAutocompleteService.onKeywordRecorded(keyword, 1);
             logger.debug("검색 키워드 기록 완료: keyword={}, location={}", keyword, locationCategory);
         } catch (Exception e) {
             logger.error("검색 키워드 기록 실패: keyword={}, location={}, error={}",
@@ -66,140 +76,128 @@ public class KeywordService {
     }
 
     /**
-     * 인기 키워드 조회 - Infrastructure Layer 우선순위 기반
-     * Redis → Memory → Database 순서로 failover
+     * 검색 키워드 일괄 기록 (수집 파이프라인 소비자에서 호출)
+     * 카운트는 이벤트마다 weight 만큼 한 번에 증가시키고, 키워드 존재 확인은 배치 안에서 키워드당 한 번만 수행
      */
-    public PopularKeywordResponse getPopularKeywords(String locationCategory, Integer limit) {
-        int actualLimit = getValidatedLimit(limit);
-
-        // 1. Redis 조회 시도 (최우선)
-        PopularKeywordResponse redisResult = tryGetFromRedis(locationCategory, actualLimit);
-        if (redisResult != null && !redisResult.getKeywords().isEmpty()) {
-            return redisResult;
+    public void recordSearchKeywords(List<SearchKeywordEvent> events) {
+        Set<String> keywords = new LinkedHashSet<>();
+        for (SearchKeywordEvent event : events) {
+            try {
+                String normalizedKeyword = normalizeForRanking(event.getKeyword());
+                if (normalizedKeyword == null) {
+                    continue;
+                }
+                recordWindowedKeyword(normalizedKeyword, event.getLocation(), event.getWeight());
+                tieredKeywordRanking.incrementKeywordCount(normalizedKeyword, event.getLocation(), event.getWeight());
+                keywords.add(event.getKeyword());
+                keywordAutocompleteService.onKeywordRecorded(event.getKeyword(), event.getWeight());
+            } catch (Exception e) {
+                logger.error("검색 키워드 기록 실패: keyword={}, location={}, error={}",
+                        event.getKeyword(), event.getLocation(), e.getMessage(), e);
+            }
         }
 
-        // 2. Memory 조회 시도 (Redis 실패시)
-        PopularKeywordResponse memoryResult = tryGetFromMemory(locationCategory, actualLimit);
-        if (memoryResult != null && !memoryResult.getKeywords().isEmpty()) {
-            return memoryResult;
+        for (String keyword : keywords) {
+            try {
+                keywordCountService.ensureKeywordExists(keyword);
+            } catch (Exception e) {
+                logger.error("키워드 저장 실패: keyword={}, error={}", keyword, e.getMessage());
+            }
         }
-
-        // 3. Database 조회 (최종 fallback)
-        return getPopularKeywordsFromDatabase(locationCategory, actualLimit);
+        logger.debug("검색 키워드 일괄 기록 완료: events={}, keywords={}", events.size(), keywords.size());
     }
 
     /**
-     * Infrastructure Layer를 통한 키워드 기록 (우선순위 기반 failover)
+     * 인기 키워드 조회 - 계층형 랭킹의 조회 순서(기본 Redis → Memory → Database)를 따른다
      */
-    private void recordKeywordWithFailover(String keyword, String locationCategory) {
-        // 1. Redis 시도 (최우선)
-        try {
-            redisKeywordRanking.incrementKeywordCount(keyword, locationCategory);
-            logger.debug("Redis를 통한 키워드 기록 성공: keyword={}", keyword);
+    public PopularKeywordResponse getPopularKeywords(String locationCategory, Integer limit) {
+        int actualLimit = getValidatedLimit(limit);
+        String scope = hasValidLocationCategory(locationCategory) ? locationCategory : KeywordRanking.GLOBAL_SCOPE;
+        return toResponse(tieredKeywordRanking.readTopKeywords(scope, actualLimit));
+    }
 
-            // DB 백업을 위한 KeywordCountService 호출
-            keywordCountService.ensureKeywordExists(keyword);
-            return;
+    /**
+     * 여러 범위(전체 / 지역) 인기 키워드 일괄 조회 - 티어마다 한 번씩만 호출하고 (Redis 는 파이프라인 한 번),
+     * 결과가 없는 범위만 다음 티어로 넘긴다
+     * 반환 키는 KeywordRanking.GLOBAL_SCOPE(전체) 또는 지역 카테고리
+     */
+    public Map<String, PopularKeywordResponse> getPopularKeywordsBatch(Collection<String> scopes, Integer limit) {
+        Map<String, PopularKeywordResponse> results = new LinkedHashMap<>();
+        tieredKeywordRanking.readTopKeywordsBatch(scopes, getValidatedLimit(limit))
+                .forEach((scope, result) -> results.put(scope, toResponse(result)));
+        return results;
+    }
 
-        } catch (Exception e) {
-            logger.warn("Redis 키워드 기록 실패, Memory로 failover: keyword={}, error={}",
-                    keyword, e.getMessage());
+    /**
+     * 기간별 인기 키워드 조회
+     * 전체 기간은 기존 우선순위(Redis → Memory → Database)를 따르고,
+     * 트렌딩/최근 N분 기간은 해당 기간을 지원하는 랭킹에서 조회 (Redis → Memory)
+     */
+    public PopularKeywordResponse getPopularKeywords(String locationCategory, Integer limit, RankingWindow window) {
+        if (window == null || window.isAllTime()) {
+            return getPopularKeywords(locationCategory, limit);
         }
 
-        // 2. Memory로 failover
-        try {
-            memoryKeywordRanking.incrementKeywordCount(keyword, locationCategory);
-            logger.debug("Memory를 통한 키워드 기록 성공: keyword={}", keyword);
-
-            // DB 백업을 위한 KeywordCountService 호출
-            keywordCountService.ensureKeywordExists(keyword);
+        int actualLimit = getValidatedLimit(limit);
 
-        } catch (Exception e) {
-            logger.error("Memory 키워드 기록도 실패: keyword={}, error={}", keyword, e.getMessage());
-            throw e; // 모든 Infrastructure 실패시 예외 전파
+        if (isRedisAvailable()) {
+            PopularKeywordResponse redisResult = tryGetFromWindowedRanking(
+                    redisWindowedRanking, REDIS_DATA_SOURCE, locationCategory, actualLimit, window);
+            if (redisResult != null) {
+                return redisResult;
+            }
         }
+
+        PopularKeywordResponse memoryResult = tryGetFromWindowedRanking(
+                windowedKeywordRanking, MEMORY_DATA_SOURCE, locationCategory, actualLimit, window);
+        return memoryResult != null ? memoryResult : new PopularKeywordResponse(List.of(), MEMORY_DATA_SOURCE);
     }
 
     /**
-     * Redis에서 인기 키워드 조회
+     * 기간별 랭킹 기록 - 전체 기간 랭킹 저장소 상태와 무관하게 항상 기록
      */
-    private PopularKeywordResponse tryGetFromRedis(String locationCategory, int limit) {
+    private void recordWindowedKeyword(String keyword, String locationCategory, long delta) {
         try {
-            if (redisKeywordRanking.isAvailable()) {
-                List<kr.hhplus.be.server.infrastructure.keyword.KeywordDto> redisResults =
-                        hasValidLocationCategory(locationCategory)
-                                ? redisKeywordRanking.getTopKeywordsByLocation(locationCategory, limit)
-                                : redisKeywordRanking.getTopKeywords(limit);
-
-                List<KeywordDto> keywords = redisResults.stream()
-                        .map(dto -> new KeywordDto(dto.getKeyword(), dto.getCount().intValue()))
-                        .collect(Collectors.toList());
-
-                return new PopularKeywordResponse(keywords, REDIS_DATA_SOURCE);
-            }
+            windowedKeywordRanking.incrementKeywordCount(keyword, locationCategory, delta);
         } catch (Exception e) {
-            logger.warn("Redis 인기 키워드 조회 실패, Memory로 fallback: location={}, error={}",
-                    locationCategory, e.getMessage());
+            logger.warn("기간별 키워드 기록 실패: keyword={}, error={}", keyword, e.getMessage());
         }
-        return null;
     }
 
     /**
-     * Memory에서 인기 키워드 조회
+     * 기간별 랭킹에서 인기 키워드 조회
      */
-    private PopularKeywordResponse tryGetFromMemory(String locationCategory, int limit) {
+    private PopularKeywordResponse tryGetFromWindowedRanking(WindowedKeywordRanking ranking, String source,
+                                                             String locationCategory, int limit, RankingWindow window) {
         try {
-            if (memoryKeywordRanking.isAvailable()) {
-                List<kr.hhplus.be.server.infrastructure.keyword.KeywordDto> memoryResults =
+            if (ranking.supports(window)) {
+                List<kr.hhplus.be.server.infrastructure.keyword.KeywordDto> windowedResults =
                         hasValidLocationCategory(locationCategory)
-                                ? memoryKeywordRanking.getTopKeywordsByLocation(locationCategory, limit)
-                                : memoryKeywordRanking.getTopKeywords(limit);
+                                ? ranking.getTopKeywordsByLocation(window, locationCategory, limit)
+                                : ranking.getTopKeywords(window, limit);
 
-                List<KeywordDto> keywords = memoryResults.stream()
+                List<KeywordDto> keywords = windowedResults.stream()
                         .map(dto -> new KeywordDto(dto.getKeyword(), dto.getCount().intValue()))
                         .collect(Collectors.toList());
 
-                return new PopularKeywordResponse(keywords, MEMORY_DATA_SOURCE);
+                return new PopularKeywordResponse(keywords, source);
             }
         } catch (Exception e) {
-            logger.warn("Memory 인기 키워드 조회 실패, Database로 fallback: location={}, error={}",
-                    locationCategory, e.getMessage());
+            logger.warn("기간별 인기 키워드 조회 실패: source={}, location={}, window={}, error={}",
+                    source, locationCategory, window.getCode(), e.getMessage());
         }
         return null;
     }
 
-    /**
-     * Database에서 인기 키워드 조회 (최종 fallback)
-     */
-    private PopularKeywordResponse getPopularKeywordsFromDatabase(String locationCategory, int limit) {
-        try {
-            Long locationCategoryId = convertToLocationCategoryId(locationCategory);
-
-            List<KeywordCount> keywordCounts = keywordCountRepository
-                    .findTopKeywordsByLocationCategoryAndDate(locationCategoryId, LocalDate.now(), limit);
-
-            // N+1 문제 해결을 위한 배치 조회
-            List<KeywordDto> keywords = getKeywordDtosBatch(keywordCounts);
-
-            return new PopularKeywordResponse(keywords, DATABASE_DATA_SOURCE);
-
-        } catch (Exception e) {
-            logger.error("Database 인기 키워드 조회도 실패: location={}, error={}",
-                    locationCategory, e.getMessage(), e);
-            // 최종 실패시 빈 응답 반환
-            return new PopularKeywordResponse(List.of(), DATABASE_DATA_SOURCE);
-        }
-    }
-
     /**
      * Infrastructure Layer 상태 확인
      */
     public boolean isRedisAvailable() {
-        return redisKeywordRanking.isAvailable();
+        return tieredKeywordRanking.isTierAvailable(TieredKeywordRanking.Tier.REDIS);
     }
 
     public boolean isMemoryAvailable() {
-        return memoryKeywordRanking.isAvailable();
+        return tieredKeywordRanking.isTierAvailable(TieredKeywordRanking.Tier.MEMORY);
     }
 
     /**
@@ -217,6 +215,20 @@ public class KeywordService {
 
     // === Private Helper Methods ===
 
+    /**
+     * 랭킹 기록용 키워드 - 모든 티어는 정규화 키워드로 기록한다 (KeywordCountService 와 같은 키 공간)
+     * Redis 멤버와 keyword.normalized_keyword 가 같아야 Redis/DB 정합성 검증이 같은 키로 비교된다
+     * 정규화 후 비어 있으면(특수문자만 입력) null
+     */
+    private String normalizeForRanking(String keyword) {
+        String normalizedKeyword = keywordNormalizer.normalize(keyword);
+        if (normalizedKeyword == null || normalizedKeyword.isBlank()) {
+            logger.debug("정규화 후 비어 있는 키워드는 기록하지 않음: keyword={}", keyword);
+            return null;
+        }
+        return normalizedKeyword;
+    }
+
     private int getValidatedLimit(Integer limit) {
         return limit != null && limit > 0 ? limit : DEFAULT_POPULAR_KEYWORD_LIMIT;
     }
@@ -225,43 +237,10 @@ public class KeywordService {
         return locationCategory != null && !locationCategory.trim().isEmpty();
     }
 
-    private Long convertToLocationCategoryId(String locationCategory) {
-        if (!hasValidLocationCategory(locationCategory)) {
-            return null;
-        }
-        // TODO: locationCategory를 실제 ID로 변환하는 로직 구현 필요
-        return 1L; // 임시값
-    }
-
-    /**
-     * N+1 문제 해결을 위한 배치 조회
-     */
-    private List<KeywordDto> getKeywordDtosBatch(List<KeywordCount> keywordCounts) {
-        if (keywordCounts.isEmpty()) {
-            return List.of();
-        }
-
-        // 1. 키워드 ID 목록 추출
-        List<Long> keywordIds = keywordCounts.stream()
-                .map(KeywordCount::getKeywordId)
-                .collect(Collectors.toList());
-
-        // 2. 배치로 키워드 조회 (1번의 쿼리)
-        List<Keyword> keywords = keywordRepository.findAllById(keywordIds);
-
-        // 3. ID를 키로 하는 Map 생성 (빠른 조회용)
-        Map<Long, String> keywordMap = keywords.stream()
-                .collect(Collectors.toMap(Keyword::getId, Keyword::getKeyword));
-
-        // 4. KeywordDto 변환
-        return keywordCounts.stream()
-                .map(kc -> {
-                    String keywordText = keywordMap.get(kc.getKeywordId());
-                    return keywordText != null
-                            ? new KeywordDto(keywordText, kc.getCount())
-                            : null;
-                })
-                .filter(Objects::nonNull)
+    private PopularKeywordResponse toResponse(TieredKeywordRanking.TierResult result) {
+        List<KeywordDto> keywords = result.getKeywords().stream()
+                .map(dto -> new KeywordDto(dto.getKeyword(), dto.getCount().intValue()))
                 .collect(Collectors.toList());
+        return new PopularKeywordResponse(keywords, result.getTier().getCode());
     }
 }
\ No newline at end of file
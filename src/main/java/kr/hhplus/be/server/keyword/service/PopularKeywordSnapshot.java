@@ -0,0 +1,81 @@
+package kr.hhplus.be.server.keyword.service;
+
+import kr.hhplus.be.server.keyword.dto.response.KeywordDto;
+import kr.hhplus.be.server.keyword.dto.response.PopularKeywordResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한 범위(전체 / 지역)의 상위 키워드 스냅샷 (발행 후 변경되지 않음)
+ * version 은 범위별로 내용(순위 또는 카운트)이 바뀔 때만 증가하고, generatedAt 은 발행할 때마다 갱신된다
+ * rankVersion 은 상위 키워드 구성이나 순서가 바뀔 때만 증가한다 (ETag 용)
+ */
+public final class PopularKeywordSnapshot {
+
+    private final String scope;
+    private final String[] keywords;
+    private final int[] counts;
+    private final String source;
+    private final long version;
+    private final long rankVersion;
+    private final long generatedAt;
+    private final String eTag;
+
+    PopularKeywordSnapshot(String scope, String[] keywords, int[] counts, String source,
+                           long version, long rankVersion, long generatedAt) {
+        this.scope = scope;
+        this.keywords = keywords;
+        this.counts = counts;
+        this.source = source;
+        this.version = version;
+        this.rankVersion = rankVersion;
+        this.generatedAt = generatedAt;
+        // 버전은 노드마다 따로 증가하므로 순위 해시를 붙여 다른 노드의 같은 번호와 구분
+        this.eTag = "W/\"" + rankVersion + "-" + Integer.toHexString(Arrays.hashCode(keywords)) + "\"";
+    }
+
+    public String getScope() { return scope; }
+    public String getSource() { return source; }
+    public long getVersion() { return version; }
+    public long getRankVersion() { return rankVersion; }
+    public String getETag() { return eTag; }
+    public long getGeneratedAt() { return generatedAt; }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String keywordAt(int rank) {
+        return keywords[rank];
+    }
+
+    public int countAt(int rank) {
+        return counts[rank];
+    }
+
+    boolean sameContent(String[] otherKeywords, int[] otherCounts) {
+        return Arrays.equals(keywords, otherKeywords) && Arrays.equals(counts, otherCounts);
+    }
+
+    boolean sameRanking(String[] otherKeywords) {
+        return Arrays.equals(keywords, otherKeywords);
+    }
+
+    PopularKeywordSnapshot republish(long generatedAt) {
+        return new PopularKeywordSnapshot(scope, keywords, counts, source, version, rankVersion, generatedAt);
+    }
+
+    PopularKeywordResponse toResponse(int limit, long now) {
+        int size = Math.min(limit, keywords.length);
+        List<KeywordDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new KeywordDto(keywords[i], counts[i]));
+        }
+
+        PopularKeywordResponse response = new PopularKeywordResponse(result, source);
+        response.setStalenessMs(now - generatedAt);
+        return response;
+    }
+}
@@ -0,0 +1,201 @@
+package kr.hhplus.be.server.keyword.service;
+
+import kr.hhplus.be.server.infrastructure.keyword.KeywordRanking;
+import kr.hhplus.be.server.keyword.dto.response.KeywordDto;
+import kr.hhplus.be.server.keyword.dto.response.PopularKeywordResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 전체 기간 인기 키워드 스냅샷 발행기
+ * - 주기적으로 전체 + 최근 조회된 지역별 상위 50개를 불변 배열로 만들어 AtomicReference 로 교체 발행
+ * - 조회는 현재 스냅샷 배열을 limit 만큼 잘라 응답하므로 Redis 호출이 없다
+ * - 스냅샷이 없는 지역(처음 조회)이나 발행이 멈춰 너무 오래된 스냅샷은 null 을 반환해 기존 조회 경로를 타게 한다
+ * - 발행할 때마다 이전/새 스냅샷을 리스너에 넘겨 변경분 전파에 사용
+ * - 스냅샷의 순위 버전을 ETag 로 내려 If-None-Match 조회는 조회/직렬화 없이 304 로 끝낸다
+ */
+@Component
+public class PopularKeywordSnapshotPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularKeywordSnapshotPublisher.class);
+    private static final int SNAPSHOT_DEPTH = 50;
+    private static final int DEFAULT_POPULAR_KEYWORD_LIMIT = 10;
+
+    private final KeywordService keywordService;
+    private final boolean enabled;
+    private final long maxStalenessMs;
+    private final long idleExpireMs;
+    private final int maxLocations;
+
+    private final AtomicReference<Map<String, PopularKeywordSnapshot>> snapshots = new AtomicReference<>(Map.of());
+    // 지역 → 마지막 조회 시각 (발행 대상 선정용)
+    private final ConcurrentHashMap<String, Long> activeLocations = new ConcurrentHashMap<>();
+    private final List<SnapshotListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 스냅샷 발행 알림 (발행 스레드에서 호출)
+     */
+    public interface SnapshotListener {
+        void onPublish(Map<String, PopularKeywordSnapshot> previous, Map<String, PopularKeywordSnapshot> current);
+    }
+
+    public PopularKeywordSnapshotPublisher(KeywordService keywordService,
+                                           @Value("${keyword.popular.snapshot.enabled:true}") boolean enabled,
+                                           @Value("${keyword.popular.snapshot.max-staleness-ms:10000}") long maxStalenessMs,
+                                           @Value("${keyword.popular.snapshot.idle-expire-ms:600000}") long idleExpireMs,
+                                           @Value("${keyword.popular.snapshot.max-locations:256}") int maxLocations) {
+        this.keywordService = keywordService;
+        this.enabled = enabled;
+        this.maxStalenessMs = maxStalenessMs;
+        this.idleExpireMs = idleExpireMs;
+        this.maxLocations = maxLocations;
+    }
+
+    /**
+     * 스냅샷에서 인기 키워드 조회 - 제공할 수 없으면 null
+     */
+    public PopularKeywordResponse find(String locationCategory, Integer limit) {
+        PopularKeywordSnapshot snapshot = findSnapshot(locationCategory, limit);
+        return snapshot != null ? toResponse(snapshot, limit) : null;
+    }
+
+    /**
+     * 요청에 응답할 수 있는 스냅샷 - 비활성, limit 초과, 스냅샷 없음/오래됨이면 null
+     */
+    public PopularKeywordSnapshot findSnapshot(String locationCategory, Integer limit) {
+        if (!enabled || resolveLimit(limit) > SNAPSHOT_DEPTH) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        String scope = scopeOf(locationCategory);
+        if (!scope.isEmpty()) {
+            markActive(scope, now);
+        }
+
+        PopularKeywordSnapshot snapshot = snapshots.get().get(scope);
+        if (snapshot == null || now - snapshot.getGeneratedAt() > maxStalenessMs) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    public PopularKeywordResponse toResponse(PopularKeywordSnapshot snapshot, Integer limit) {
+        return snapshot.toResponse(resolveLimit(limit), System.currentTimeMillis());
+    }
+
+    /**
+     * 현재 발행된 스냅샷 (없으면 null) - 조회 시 발행 대상으로 등록
+     */
+    public PopularKeywordSnapshot current(String locationCategory) {
+        String scope = scopeOf(locationCategory);
+        if (!scope.isEmpty()) {
+            markActive(scope, System.currentTimeMillis());
+        }
+        return snapshots.get().get(scope);
+    }
+
+    public void addListener(SnapshotListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static String scopeOf(String locationCategory) {
+        return locationCategory == null || locationCategory.trim().isEmpty() ? KeywordRanking.GLOBAL_SCOPE : locationCategory;
+    }
+
+    /**
+     * 전체 + 활성 지역 스냅샷을 새로 만들어 한 번에 교체
+     */
+    @Scheduled(fixedDelayString = "${keyword.popular.snapshot.interval-ms:1000}")
+    public void publish() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        activeLocations.entrySet().removeIf(entry -> now - entry.getValue() > idleExpireMs);
+
+        List<String> scopes = new ArrayList<>(activeLocations.size() + 1);
+        scopes.add(KeywordRanking.GLOBAL_SCOPE);
+        scopes.addAll(activeLocations.keySet());
+
+        // 전체 + 지역을 티어마다 한 번씩(Redis 는 파이프라인 한 번) 조회
+        Map<String, PopularKeywordResponse> responses = keywordService.getPopularKeywordsBatch(scopes, SNAPSHOT_DEPTH);
+        long generatedAt = System.currentTimeMillis();
+
+        Map<String, PopularKeywordSnapshot> previous = snapshots.get();
+        Map<String, PopularKeywordSnapshot> next = new HashMap<>(scopes.size() * 2);
+        responses.forEach((scope, response) ->
+                next.put(scope, materialize(scope, response, previous.get(scope), generatedAt)));
+
+        Map<String, PopularKeywordSnapshot> published = Map.copyOf(next);
+        snapshots.set(published);
+        logger.debug("인기 키워드 스냅샷 발행: scopes={}, elapsedMs={}",
+                next.size(), System.currentTimeMillis() - now);
+
+        for (SnapshotListener listener : listeners) {
+            try {
+                listener.onPublish(previous, published);
+            } catch (Exception e) {
+                logger.warn("인기 키워드 스냅샷 리스너 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private PopularKeywordSnapshot materialize(String scope, PopularKeywordResponse response,
+                                               PopularKeywordSnapshot previous, long generatedAt) {
+        List<KeywordDto> keywords = response.getKeywords();
+
+        String[] names = new String[keywords.size()];
+        int[] counts = new int[keywords.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = keywords.get(i).getKeyword();
+            counts[i] = keywords.get(i).getCount();
+        }
+
+        // 내용이 같으면 버전을 유지하고 생성 시각만 갱신
+        if (previous == null) {
+            return new PopularKeywordSnapshot(scope, names, counts, response.getSource(), 1, 1, generatedAt);
+        }
+        if (previous.sameContent(names, counts)) {
+            return previous.republish(generatedAt);
+        }
+        // 카운트만 바뀌면 순위 버전은 유지
+        long rankVersion = previous.sameRanking(names) ? previous.getRankVersion() : previous.getRankVersion() + 1;
+        return new PopularKeywordSnapshot(scope, names, counts, response.getSource(),
+                previous.getVersion() + 1, rankVersion, generatedAt);
+    }
+
+    private int resolveLimit(Integer limit) {
+        return limit != null && limit > 0 ? limit : DEFAULT_POPULAR_KEYWORD_LIMIT;
+    }
+
+    private void markActive(String location, long now) {
+        Long lastSeen = activeLocations.get(location);
+        if (lastSeen != null) {
+            // 발행 주기보다 촘촘하게 갱신할 필요는 없으므로 오래된 경우에만 덮어쓴다
+            if (now - lastSeen > idleExpireMs / 2) {
+                activeLocations.put(location, now);
+            }
+            return;
+        }
+        if (activeLocations.size() < maxLocations) {
+            activeLocations.putIfAbsent(location, now);
+        }
+    }
+}
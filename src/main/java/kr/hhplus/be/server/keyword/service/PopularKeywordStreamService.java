@@ -0,0 +1,403 @@
+package kr.hhplus.be.server.keyword.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.hhplus.be.server.keyword.dto.response.PopularKeywordChangeResponse;
+import kr.hhplus.be.server.keyword.dto.response.PopularKeywordChangeResponse.RankChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인기 키워드 순위 변경분 SSE 스트림
+ * - 스냅샷 발행 주기마다 범위(전체 / 지역)별로 이전 → 새 스냅샷 변경분을 한 번만 계산/직렬화해 모든 구독자에게 공유
+ * - 전송은 소수의 전송 스레드가 담당 (연결당 스레드 없음), 구독자별로 동시에 하나의 전송만 진행
+ * - 전송이 밀린 구독자는 중간 버전을 건너뛰고 마지막으로 보낸 스냅샷 → 최신 스냅샷 변경분 하나로 합쳐 받는다
+ * - 한 번의 전송이 max-send-ms 를 넘기는 구독자는 퇴출 표시만 하고, 연결은 그 구독자의 전송 작업이 닫는다
+ *   (발행 스레드가 emitter 를 건드리면 막힌 전송의 쓰기 잠금을 기다리며 함께 멈춘다)
+ * - 막힌 쓰기는 server.tomcat.connection-timeout(쓰기 제한)이 지나면 실패로 끝나고, 그동안 막힌 전송 스레드 수만큼
+ *   전송 스레드를 늘려(max-sender-threads 까지) 느린 구독자 몇 명이 다른 구독자 전송을 멈추지 않게 한다
+ */
+@Service
+public class PopularKeywordStreamService implements PopularKeywordSnapshotPublisher.SnapshotListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularKeywordStreamService.class);
+    private static final String CHANGE_EVENT = "change";
+
+    private final PopularKeywordSnapshotPublisher snapshotPublisher;
+    private final ObjectMapper objectMapper;
+    private final int depth;
+    private final long emitterTimeoutMs;
+    private final long heartbeatIntervalMs;
+    private final long maxSendMs;
+    private final int maxSubscribers;
+    private final int senderThreads;
+    private final int maxSenderThreads;
+    private final ThreadPoolExecutor sender;
+
+    private final ConcurrentHashMap<String, ScopeChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // 퇴출 표시 후 전송 작업이 아직 연결을 닫지 못한 구독자 (막힌 전송 스레드 수)
+    private final Set<Subscriber> stalledSubscribers = ConcurrentHashMap.newKeySet();
+
+    public PopularKeywordStreamService(PopularKeywordSnapshotPublisher snapshotPublisher,
+                                       ObjectMapper objectMapper,
+                                       @Value("${keyword.popular.stream.depth:10}") int depth,
+                                       @Value("${keyword.popular.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                       @Value("${keyword.popular.stream.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+                                       @Value("${keyword.popular.stream.max-send-ms:10000}") long maxSendMs,
+                                       @Value("${keyword.popular.stream.max-subscribers:10000}") int maxSubscribers,
+                                       @Value("${keyword.popular.stream.sender-threads:4}") int senderThreads,
+                                       @Value("${keyword.popular.stream.max-sender-threads:32}") int maxSenderThreads) {
+        this.snapshotPublisher = snapshotPublisher;
+        this.objectMapper = objectMapper;
+        this.depth = depth;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.maxSendMs = maxSendMs;
+        this.maxSubscribers = maxSubscribers;
+        this.senderThreads = senderThreads;
+        this.maxSenderThreads = Math.max(senderThreads, maxSenderThreads);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 구독자마다 대기 작업은 최대 하나이므로 큐 크기는 구독자 수로 제한된다
+        // 기본 스레드 수만 유지하고, 막힌 전송이 있을 때만 기본 스레드 수를 늘린다 (늘린 스레드는 쉬면 종료)
+        this.sender = new ThreadPoolExecutor(senderThreads, this.maxSenderThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "keyword-stream-sender-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PostConstruct
+    public void initialize() {
+        snapshotPublisher.addListener(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (ScopeChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.close();
+            }
+        }
+    }
+
+    /**
+     * 범위 구독 - 첫 이벤트로 현재 스냅샷 전체(fromVersion = 0)를 보낸다
+     */
+    public SseEmitter subscribe(String locationCategory) {
+        if (!snapshotPublisher.isEnabled()) {
+            throw new IllegalStateException("인기 키워드 스냅샷 발행이 비활성화되어 있습니다.");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("인기 키워드 스트림 구독자 수가 한도를 넘었습니다.");
+        }
+
+        String scope = PopularKeywordSnapshotPublisher.scopeOf(locationCategory);
+        SseEmitter emitter = createEmitter(emitterTimeoutMs);
+        // 빈 채널 정리와 겹치지 않도록 채널 생성과 구독자 추가를 한 번에 처리
+        Subscriber[] created = new Subscriber[1];
+        ScopeChannel channel = channels.compute(scope, (key, existing) -> {
+            ScopeChannel target = existing != null ? existing : new ScopeChannel(key);
+            created[0] = new Subscriber(emitter, target);
+            target.subscribers.add(created[0]);
+            return target;
+        });
+        Subscriber subscriber = created[0];
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // 발행 대상으로 등록하고, 아직 채널에 스냅샷이 없으면 현재 스냅샷으로 시작
+        PopularKeywordSnapshot current = snapshotPublisher.current(locationCategory);
+        if (current != null) {
+            channel.advance(current, false);
+        }
+        subscriber.signal();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // 테스트에서 전송을 기록하는 emitter 로 바꿀 수 있도록 분리
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    /**
+     * 스냅샷 발행 시 범위별 변경분을 한 번만 계산해 구독자에게 알림
+     */
+    @Override
+    public void onPublish(Map<String, PopularKeywordSnapshot> previous, Map<String, PopularKeywordSnapshot> current) {
+        long now = System.currentTimeMillis();
+
+        for (ScopeChannel channel : channels.values()) {
+            if (channel.subscribers.isEmpty()) {
+                channels.computeIfPresent(channel.scope,
+                        (key, existing) -> existing.subscribers.isEmpty() ? null : existing);
+                continue;
+            }
+
+            // 구독 중인 지역이 발행 대상에서 빠지지 않도록 갱신
+            snapshotPublisher.current(channel.scope);
+            PopularKeywordSnapshot snapshot = current.get(channel.scope);
+            if (snapshot != null) {
+                channel.advance(snapshot, true);
+            }
+
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.checkStalled(now);
+                if (subscriber.isBehind() || now - subscriber.lastSentAt >= heartbeatIntervalMs) {
+                    subscriber.signal();
+                }
+            }
+        }
+        resizeSender();
+    }
+
+    /**
+     * 막힌 전송 스레드 수만큼 전송 스레드를 늘리고, 풀리면 되돌린다
+     */
+    private void resizeSender() {
+        int target = Math.min(senderThreads + stalledSubscribers.size(), maxSenderThreads);
+        if (sender.getCorePoolSize() != target) {
+            logger.info("인기 키워드 스트림 전송 스레드 조정: {} -> {} (막힌 전송 {}개)",
+                    sender.getCorePoolSize(), target, stalledSubscribers.size());
+            sender.setCorePoolSize(target);
+        }
+    }
+
+    /**
+     * 두 스냅샷 상위 depth 개의 변경분 (from 이 null 이면 전체가 entered)
+     */
+    PopularKeywordChangeResponse diff(String scope, PopularKeywordSnapshot from, PopularKeywordSnapshot to) {
+        PopularKeywordChangeResponse change = new PopularKeywordChangeResponse(
+                scope.isEmpty() ? null : scope,
+                from != null ? from.getVersion() : 0L,
+                to.getVersion(),
+                to.getGeneratedAt());
+
+        Map<String, Integer> previousRanks = new HashMap<>();
+        int previousSize = from != null ? Math.min(depth, from.size()) : 0;
+        for (int rank = 0; rank < previousSize; rank++) {
+            previousRanks.put(from.keywordAt(rank), rank);
+        }
+
+        int size = Math.min(depth, to.size());
+        for (int rank = 0; rank < size; rank++) {
+            String keyword = to.keywordAt(rank);
+            Integer previousRank = previousRanks.remove(keyword);
+            RankChange entry = new RankChange(keyword, rank, previousRank, to.countAt(rank));
+            if (previousRank == null) {
+                change.getEntered().add(entry);
+            } else if (previousRank != rank) {
+                change.getMoved().add(entry);
+            } else if (from.countAt(previousRank) != to.countAt(rank)) {
+                change.getUpdated().add(entry);
+            }
+        }
+
+        for (int rank = 0; rank < previousSize; rank++) {
+            if (previousRanks.containsKey(from.keywordAt(rank))) {
+                change.getLeft().add(from.keywordAt(rank));
+            }
+        }
+        return change;
+    }
+
+    private String serialize(PopularKeywordChangeResponse change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("인기 키워드 변경분 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * 범위별 최신 변경분 (발행 스레드가 갱신, 전송 스레드가 읽음)
+     */
+    private final class ScopeChannel {
+        private final String scope;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private volatile Tick latest;
+
+        private ScopeChannel(String scope) {
+            this.scope = scope;
+        }
+
+        /**
+         * 새 버전이면 직전 버전 대비 변경분을 만들어 교체 (shared = false 면 직렬화 생략 - 구독 시작용)
+         */
+        private synchronized void advance(PopularKeywordSnapshot snapshot, boolean shared) {
+            Tick tick = latest;
+            if (tick != null && tick.target.getVersion() >= snapshot.getVersion()) {
+                return;
+            }
+            String payload = tick != null && shared
+                    ? serialize(diff(scope, tick.target, snapshot))
+                    : null;
+            latest = new Tick(tick != null ? tick.target : null, snapshot, payload);
+        }
+    }
+
+    /**
+     * 직전 스냅샷 → 최신 스냅샷, 공유 직렬화 결과
+     */
+    private static final class Tick {
+        private final PopularKeywordSnapshot base;
+        private final PopularKeywordSnapshot target;
+        private final String payload;
+
+        private Tick(PopularKeywordSnapshot base, PopularKeywordSnapshot target, String payload) {
+            this.base = base;
+            this.target = target;
+            this.payload = payload;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ScopeChannel channel;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final AtomicBoolean completed = new AtomicBoolean(false);
+        // 발행 스레드가 전송 지연으로 퇴출을 표시하면, 전송 작업이 전송을 멈추고 연결을 닫는다
+        private volatile boolean stalled;
+        private volatile PopularKeywordSnapshot lastSent;
+        private volatile long lastSentAt = System.currentTimeMillis();
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, ScopeChannel channel) {
+            this.emitter = emitter;
+            this.channel = channel;
+        }
+
+        private boolean isBehind() {
+            Tick tick = channel.latest;
+            PopularKeywordSnapshot sent = lastSent;
+            return tick != null && (sent == null || sent.getVersion() < tick.target.getVersion());
+        }
+
+        /**
+         * 전송 작업이 없을 때만 하나 예약 - 진행 중이면 전송이 끝난 뒤 최신 버전을 다시 확인한다
+         */
+        private void signal() {
+            if (!closed.get()) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                close();
+            }
+        }
+
+        /**
+         * 발행 스레드에서 호출 - emitter 는 건드리지 않고 퇴출 표시와 구독 해제만 한다
+         * 전송이 막혀 있으면 그 전송 작업이, 방금 끝났으면 여기서 예약한 작업이 연결을 닫는다
+         */
+        private void checkStalled(long now) {
+            long startedAt = sendStartedAt;
+            if (stalled || startedAt <= 0 || now - startedAt <= maxSendMs) {
+                return;
+            }
+            logger.info("인기 키워드 스트림 전송 지연으로 퇴출: scope={}, elapsedMs={}", channel.scope, now - startedAt);
+            stalledSubscribers.add(this);
+            stalled = true;
+            close();
+            schedule();
+        }
+
+        private void drain() {
+            try {
+                if (stalled) {
+                    return;
+                }
+                Tick tick = channel.latest;
+                PopularKeywordSnapshot sent = lastSent;
+                sendStartedAt = System.currentTimeMillis();
+
+                if (tick != null && (sent == null || sent.getVersion() < tick.target.getVersion())) {
+                    // 직전 버전까지 받은 구독자는 공유 변경분을, 밀린 구독자는 합친 변경분을 받는다
+                    String payload = tick.payload != null && tick.base == sent
+                            ? tick.payload
+                            : serialize(diff(channel.scope, sent, tick.target));
+                    emitter.send(SseEmitter.event()
+                            .name(CHANGE_EVENT)
+                            .id(Long.toString(tick.target.getVersion()))
+                            .data(payload, MediaType.APPLICATION_JSON));
+                    lastSent = tick.target;
+                } else {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                }
+                lastSentAt = System.currentTimeMillis();
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("인기 키워드 스트림 전송 실패로 구독 해제: scope={}, error={}",
+                        channel.scope, e.getMessage());
+                close();
+            } finally {
+                sendStartedAt = 0;
+                scheduled.set(false);
+            }
+
+            if (stalled) {
+                complete();
+            } else if (isBehind()) {
+                // 전송 중에 새 버전이 발행됐으면 이어서 전송
+                signal();
+            }
+        }
+
+        // 전송 스레드에서만 호출 (막혔던 전송이 끝난 뒤)
+        private void complete() {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                logger.debug("인기 키워드 스트림 연결 종료 실패: scope={}, error={}", channel.scope, e.getMessage());
+            } finally {
+                stalledSubscribers.remove(this);
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                channel.subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package kr.hhplus.be.server.keyword.service;
 
 import kr.hhplus.be.server.infrastructure.keyword.KeywordRanking;
 import kr.hhplus.be.server.infrastructure.keyword.RedisKeywordRankingImpl;
+import kr.hhplus.be.server.infrastructure.keyword.TieredKeywordRanking;
 import kr.hhplus.be.server.common.util.RedisKeyGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -23,15 +24,18 @@ public class RedisService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final ZSetOperations<String, Object> zSetOps;
     private final KeywordRanking redisKeywordRanking;
+    private final TieredKeywordRanking tieredKeywordRanking;
     private final RedisKeyGenerator keyGenerator;
 
     @Autowired
     public RedisService(RedisTemplate<String, Object> redisTemplate,
                         RedisKeywordRankingImpl redisKeywordRanking,
+                        TieredKeywordRanking tieredKeywordRanking,
                         RedisKeyGenerator keyGenerator) {
         this.redisTemplate = redisTemplate;
         this.zSetOps = redisTemplate.opsForZSet();
         this.redisKeywordRanking = redisKeywordRanking;
+        this.tieredKeywordRanking = tieredKeywordRanking;
         this.keyGenerator = keyGenerator;
     }
 
@@ -50,17 +54,17 @@ public class RedisService {
     }
 
     /**
-     * 지역별 키워드 카운트를 1 증가 - Infrastructure Layer 위임
+     * 지역별 키워드 카운트를 1 증가 - 계층형 랭킹 위임 (Memory 기록 후 Redis 로 write-behind)
      */
     public void incrementKeywordCount(String keyword, String locationCategory) {
         try {
-            redisKeywordRanking.incrementKeywordCount(keyword, locationCategory);
-            logger.debug("Infrastructure Layer를 통한 Redis 키워드 카운트 증가: keyword={}, location={}",
+            tieredKeywordRanking.incrementKeywordCount(keyword, locationCategory);
+            logger.debug("계층형 랭킹을 통한 키워드 카운트 증가: keyword={}, location={}",
                     keyword, locationCategory);
         } catch (Exception e) {
-            logger.error("Infrastructure Layer Redis 키워드 카운트 증가 실패: keyword={}, error={}",
+            logger.error("계층형 랭킹 키워드 카운트 증가 실패: keyword={}, error={}",
                     keyword, e.getMessage());
-            throw new RuntimeException("Redis 키워드 카운트 증가 실패", e);
+            throw new RuntimeException("계층형 랭킹 키워드 기록 실패 (Memory 기록 단계)", e);
         }
     }
 
@@ -0,0 +1,24 @@
+package kr.hhplus.be.server.keyword.service;
+
+/**
+ * 수집 파이프라인에 적재되는 검색 키워드 이벤트
+ * weight 는 이 이벤트가 대표하는 검색 수 (샘플링으로 적재된 이벤트는 1 보다 크다)
+ */
+public final class SearchKeywordEvent {
+    private final String keyword;
+    private final String location;
+    private final int weight;
+    private final long enqueuedAtNanos;
+
+    public SearchKeywordEvent(String keyword, String location, int weight, long enqueuedAtNanos) {
+        this.keyword = keyword;
+        this.location = location;
+        this.weight = weight;
+        this.enqueuedAtNanos = enqueuedAtNanos;
+    }
+
+    public String getKeyword() { return keyword; }
+    public String getLocation() { return location; }
+    public int getWeight() { return weight; }
+    public long getEnqueuedAtNanos() { return enqueuedAtNanos; }
+}
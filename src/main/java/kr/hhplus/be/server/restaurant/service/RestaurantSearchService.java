@@ -11,9 +11,8 @@ import kr.hhplus.be.server.restaurant.repository.SearchResultRepository;
 import kr.hhplus.be.server.restaurant.dto.request.RestaurantSearchRequest;
 import kr.hhplus.be.server.restaurant.dto.response.RestaurantDto;
 import kr.hhplus.be.server.restaurant.dto.response.RestaurantSearchResponse;
-import kr.hhplus.be.server.keyword.service.KeywordService;
+import kr.hhplus.be.server.keyword.service.KeywordIngestionPipeline;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -29,19 +28,19 @@ public class RestaurantSearchService {
     private final SearchRequestRepository searchRequestRepository;
     private final SearchResultRepository searchResultRepository;
     private final ExternalApiService externalApiService;
-    private final KeywordService keywordService;
+    private final KeywordIngestionPipeline keywordIngestionPipeline;
 
     @Autowired
     public RestaurantSearchService(RestaurantRepository restaurantRepository,
                                    SearchRequestRepository searchRequestRepository,
                                    SearchResultRepository searchResultRepository,
                                    ExternalApiService externalApiService,
-                                   KeywordService keywordService) {
+                                   KeywordIngestionPipeline keywordIngestionPipeline) {
         this.restaurantRepository = restaurantRepository;
         this.searchRequestRepository = searchRequestRepository;
         this.searchResultRepository = searchResultRepository;
         this.externalApiService = externalApiService;
-        this.keywordService = keywordService;
+        this.keywordIngestionPipeline = keywordIngestionPipeline;
     }
 
     public RestaurantSearchResponse searchRestaurants(RestaurantSearchRequest request) {
@@ -50,8 +49,8 @@ public class RestaurantSearchService {
         // 1. 검색 요청 저장
         SearchRequest searchRequest = saveSearchRequest(request);
 
-        // 2. 키워드 기록 (비동기)
-        recordKeywordAsync(request.getKeyword(), request.getLocation());
+        // 2. 키워드 기록 (수집 파이프라인에 적재만 하고 바로 반환)
+        keywordIngestionPipeline.submit(request.getKeyword(), request.getLocation());
 
         // 3. DB에서 검색
         List<Restaurant> restaurants = searchFromDatabase(request);
@@ -71,16 +70,6 @@ public class RestaurantSearchService {
         return createPaginatedResponse(restaurants, request);
     }
 
-    @Async("taskExecutor")
-    protected void recordKeywordAsync(String keyword, String location) {
-        try {
-            keywordService.recordSearchKeyword(keyword, location);
-        } catch (Exception e) {
-            // 키워드 기록 실패가 검색 기능을 방해하지 않도록 로그만 남김
-            System.err.println("키워드 기록 실패: " + e.getMessage());
-        }
-    }
-
     @Transactional(readOnly = true)
     public List<RestaurantDto> getRecentSearchResults(String sessionId, int limit) {
         if (!StringUtils.hasText(sessionId)) {
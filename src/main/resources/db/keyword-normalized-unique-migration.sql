@@ -0,0 +1,38 @@
+-- 기존 keyword 에 정규화 키워드 unique 키 추가 (MySQL 8)
+-- 정규화 키워드가 같은 행은 가장 작은 id 행으로 합치고, 합쳐지는 행의 keyword_count 도 그 id 로 옮겨 더한다
+
+-- 정규화 키워드가 비어 있는 행은 KeywordNormalizer 의 기존 정규식 규칙으로 채운다
+-- (trim → 연속 공백을 하나로 → 영문/숫자/한글 음절/공백 외 제거 → 소문자)
+UPDATE keyword
+SET normalized_keyword = LOWER(REGEXP_REPLACE(REGEXP_REPLACE(TRIM(keyword), '[[:space:]]+', ' '), '[^a-zA-Z0-9가-힣 ]', ''))
+WHERE normalized_keyword IS NULL OR normalized_keyword = '';
+
+CREATE TEMPORARY TABLE keyword_duplicates AS
+SELECT k.id, d.keep_id
+FROM keyword k
+    JOIN (SELECT normalized_keyword, MIN(id) AS keep_id
+          FROM keyword
+          GROUP BY normalized_keyword
+          HAVING COUNT(*) > 1) d ON k.normalized_keyword = d.normalized_keyword
+WHERE k.id <> d.keep_id;
+
+INSERT INTO keyword_count (keyword_id, location_category_id, count, count_date, updated_at)
+SELECT moved.keep_id, moved.location_category_id, moved.moved_count, moved.count_date, moved.updated_at
+FROM (SELECT d.keep_id, kc.location_category_id, kc.count AS moved_count, kc.count_date, kc.updated_at
+      FROM keyword_count kc
+          JOIN keyword_duplicates d ON kc.keyword_id = d.id) moved
+ON DUPLICATE KEY UPDATE count = keyword_count.count + moved.moved_count,
+                        updated_at = GREATEST(COALESCE(keyword_count.updated_at, moved.updated_at),
+                                              COALESCE(moved.updated_at, keyword_count.updated_at));
+
+DELETE kc FROM keyword_count kc
+    JOIN keyword_duplicates d ON kc.keyword_id = d.id;
+
+DELETE k FROM keyword k
+    JOIN keyword_duplicates d ON k.id = d.id;
+
+DROP TEMPORARY TABLE keyword_duplicates;
+
+ALTER TABLE keyword
+    MODIFY normalized_keyword VARCHAR(255) NOT NULL,
+    ADD UNIQUE KEY uk_keyword_normalized (normalized_keyword);
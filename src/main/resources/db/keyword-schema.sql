@@ -0,0 +1,50 @@
+-- 키워드 집계 테이블 (MySQL 8)
+-- 운영 DB 는 ddl-auto: none 이므로 이 스크립트로 생성하고, 기존 테이블은
+-- keyword-unique-keys-migration.sql, keyword-normalized-unique-migration.sql 로 변경
+
+-- 키워드 식별은 정규화 키워드 기준 (INSERT IGNORE 일괄 등록이 uk_keyword_normalized 로 중복을 거른다)
+
+CREATE TABLE IF NOT EXISTS keyword (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    keyword            VARCHAR(255) NOT NULL,
+    normalized_keyword VARCHAR(255) NOT NULL,
+    created_at         DATETIME(6)  DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at         DATETIME(6)  DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_keyword_keyword (keyword),
+    UNIQUE KEY uk_keyword_normalized (normalized_keyword)
+);
+
+-- 전체(지역 없음) 카운트는 location_category_id 가 NULL 이고, unique 키는 NULL 끼리 중복으로 보지 않으므로
+-- NULL 을 0 으로 바꾼 생성 컬럼(location_key)으로 키워드/지역/날짜당 한 행을 보장한다
+CREATE TABLE IF NOT EXISTS keyword_count (
+    id                   BIGINT      NOT NULL AUTO_INCREMENT,
+    keyword_id           BIGINT      NOT NULL,
+    location_category_id BIGINT,
+    location_key         BIGINT AS (IFNULL(location_category_id, 0)) STORED,
+    count                BIGINT      NOT NULL DEFAULT 0,
+    count_date           DATE        NOT NULL,
+    updated_at           DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_keyword_count_daily (keyword_id, location_key, count_date),
+    KEY idx_keyword_count_date_count (count_date, count)
+);
+
+-- 지역 카테고리 - keyword_count.location_category_id 가 가리키는 지역 이름
+-- 처음 반영되는 지역은 INSERT IGNORE 로 등록하므로 여러 노드가 동시에 등록해도 이름당 한 행
+CREATE TABLE IF NOT EXISTS location_category (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_location_category_name (name)
+);
+
+-- 노드별 DB 반영 기록 - 증가분 세대를 카운트와 같은 트랜잭션에서 INSERT IGNORE 로 기록하고, 이미 있는 세대는 반영하지 않는다
+-- (커밋 후 응답을 못 받아 재시도하거나 재시작 후 WAL 에서 다시 반영해도 중복 집계되지 않음)
+-- 세대는 노드마다 오래된 순으로 반영하므로 노드별 마지막 세대만 남기고 지운다
+CREATE TABLE IF NOT EXISTS keyword_delta_applied (
+    node_id    VARCHAR(255) NOT NULL,
+    epoch      BIGINT       NOT NULL,
+    applied_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (node_id, epoch)
+);
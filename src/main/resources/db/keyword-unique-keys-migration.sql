@@ -0,0 +1,29 @@
+-- 기존 keyword_count 에 키워드/지역/날짜당 한 행 unique 키 추가 (MySQL 8)
+-- 키 추가 전에 중복 행을 가장 작은 id 행으로 합친다 (카운트 합산, 최근 갱신 시각 유지)
+
+ALTER TABLE keyword_count
+    ADD COLUMN location_key BIGINT AS (IFNULL(location_category_id, 0)) STORED AFTER location_category_id;
+
+-- 날짜 없는 행은 마지막 갱신일로 채운다 (count_date NOT NULL 전환)
+UPDATE keyword_count SET count_date = COALESCE(DATE(updated_at), CURRENT_DATE) WHERE count_date IS NULL;
+
+CREATE TEMPORARY TABLE keyword_count_duplicates AS
+SELECT MIN(id) AS keep_id, keyword_id, location_key, count_date, SUM(count) AS total, MAX(updated_at) AS updated_at
+FROM keyword_count
+GROUP BY keyword_id, location_key, count_date
+HAVING COUNT(*) > 1;
+
+UPDATE keyword_count kc
+    JOIN keyword_count_duplicates d ON kc.id = d.keep_id
+SET kc.count = d.total, kc.updated_at = d.updated_at;
+
+DELETE kc FROM keyword_count kc
+    JOIN keyword_count_duplicates d
+        ON kc.keyword_id = d.keyword_id AND kc.location_key = d.location_key
+            AND kc.count_date = d.count_date AND kc.id <> d.keep_id;
+
+DROP TEMPORARY TABLE keyword_count_duplicates;
+
+ALTER TABLE keyword_count
+    MODIFY count_date DATE NOT NULL,
+    ADD UNIQUE KEY uk_keyword_count_daily (keyword_id, location_key, count_date);
@@ -0,0 +1,79 @@
+-- 증가분 청크를 한 번만 반영 (재시도 시 이미 반영된 청크는 건너뜀)
+-- 청크 번호가 빈 문자열이면 반영 기록 없이 그대로 반영 (세대 없이 요청마다 직접 기록하는 경우, KEYS[1] 은 쓰지 않음)
+-- KEYS[1] = 반영 기록 SET (노드:세대), KEYS[2] = 트렌딩 기준 시각(landmark) 키, KEYS[3] = 트렌딩 키 목록(SET)
+-- KEYS[4] = 전체 랭킹 점수가 바뀐 키워드 SET (정합성 검증용), KEYS[5..] = 대상 ZSET 키
+-- ARGV[1] = 청크 번호, ARGV[2] = 반영 기록 TTL(초), ARGV[3] = 세대 시각(초), ARGV[4] = 감쇠 계수(lambda)
+-- ARGV[5] = 시간 버킷 TTL(초), ARGV[6] = 순위를 돌려줄 상위 깊이 (0 이면 순위를 읽지 않음)
+-- ARGV[7] = 변경 키워드 기록 여부 (1/0)
+-- ARGV[8..] = (키 번호, 키워드, 증가분, 종류) 반복, 키 번호 n 은 KEYS[n + 1]
+-- 종류: g = 전체 랭킹, r = 지역 랭킹 (둘 다 증가 전후 순위 확인, 전체 랭킹은 변경 키워드로도 기록)
+--       b = 시간 버킷 (만료 갱신), t = 전체 트렌딩, l = 지역 트렌딩 (트렌딩 키 목록에 등록)
+-- 트렌딩 증가분은 이 스크립트 안에서 읽은 기준 시각으로 exp(lambda * (t - landmark)) 를 곱해 반영
+-- (다른 노드가 재정규화해도 점수와 기준 시각이 어긋나지 않음)
+-- 시간 버킷 만료도 같은 스크립트에서 갱신하므로, 증가분만 남고 TTL 이 없는 버킷이 생기지 않는다
+-- 지역 트렌딩 키도 점수와 같은 스크립트에서 목록에 등록하므로, 재정규화가 점수는 있고 목록에는 없는 키를 놓치지 않는다
+-- 반환: 이미 반영된 청크면 {0}
+--       반영했으면 {1, (키 번호, 키워드, 증가 전 순위, 증가 후 순위, 점수) 반복}
+--       순위는 0부터, 증가 전에 없던 키워드는 -1, 증가 후 순위가 상위 깊이 안인 랭킹 증가분만 담는다
+local marked = ARGV[1] ~= ''
+if marked and redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return {0}
+end
+
+local depth = tonumber(ARGV[6])
+local trackChanges = ARGV[7] == '1'
+local result = {1}
+local touched = {}
+local weight
+for i = 8, #ARGV, 4 do
+    local key = KEYS[tonumber(ARGV[i]) + 1]
+    local member = ARGV[i + 1]
+    local increment = tonumber(ARGV[i + 2])
+    local kind = ARGV[i + 3]
+    if kind == 't' or kind == 'l' then
+        if not weight then
+            local landmark = redis.call('GET', KEYS[2])
+            if not landmark then
+                landmark = ARGV[3]
+                redis.call('SET', KEYS[2], landmark)
+            end
+            weight = math.exp(tonumber(ARGV[4]) * (tonumber(ARGV[3]) - tonumber(landmark)))
+        end
+        increment = increment * weight
+    end
+
+    local ranking = kind == 'g' or kind == 'r'
+    if ranking and depth > 0 then
+        local before = redis.call('ZREVRANK', key, member)
+        local score = redis.call('ZINCRBY', key, tostring(increment), member)
+        local after = redis.call('ZREVRANK', key, member)
+        if after < depth then
+            table.insert(result, tonumber(ARGV[i]))
+            table.insert(result, member)
+            table.insert(result, before or -1)
+            table.insert(result, after)
+            table.insert(result, score)
+        end
+    else
+        redis.call('ZINCRBY', key, tostring(increment), member)
+    end
+
+    if kind == 'g' and trackChanges then
+        redis.call('SADD', KEYS[4], member)
+    end
+
+    if not touched[key] then
+        if kind == 'b' then
+            redis.call('EXPIRE', key, ARGV[5])
+        elseif kind == 'l' then
+            redis.call('SADD', KEYS[3], key)
+        end
+        touched[key] = true
+    end
+end
+
+if marked then
+    redis.call('SADD', KEYS[1], ARGV[1])
+    redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+return result
@@ -0,0 +1,14 @@
+-- 노드 하나만 주기 작업을 실행하도록 임대(lease) 획득 또는 연장
+-- KEYS[1] = 임대 키
+-- ARGV[1] = 노드 식별자, ARGV[2] = 임대 시간(ms)
+-- 반환: 1 = 이 노드가 보유 (새로 획득 또는 연장), 0 = 다른 노드가 보유 중
+local owner = redis.call('GET', KEYS[1])
+if owner == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+if owner then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return 1
@@ -0,0 +1,8 @@
+-- 보유 중인 임대 반납 (다른 노드가 이미 가져간 임대는 건드리지 않음)
+-- KEYS[1] = 임대 키
+-- ARGV[1] = 노드 식별자
+-- 반환: 1 = 반납, 0 = 보유하지 않음
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
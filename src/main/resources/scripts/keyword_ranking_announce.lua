@@ -0,0 +1,13 @@
+-- 넘겨받은 범위의 버전을 올리고 변경 알림 발행
+-- 상위 키워드가 실제로 바뀌었는지는 확인하지 않는다 - 호출자가 증가분 반영 스크립트가 돌려준 순위로
+-- 근접 캐시 깊이 안의 구성/순서가 바뀐 범위만 골라 넘긴다
+-- KEYS[1] = 범위별 버전 해시
+-- ARGV[1] = 알림 채널, ARGV[2..] = 범위 (전체 범위는 빈 문자열)
+-- 메시지: "버전:범위"
+-- 반환: 알림 수
+for i = 2, #ARGV do
+    local version = redis.call('HINCRBY', KEYS[1], ARGV[i], 1)
+    redis.call('PUBLISH', ARGV[1], version .. ':' .. ARGV[i])
+end
+
+return #ARGV - 1
@@ -0,0 +1,43 @@
+-- Forward decay 점수 재정규화 (기준 시각 이동)
+-- KEYS[1] = 기준 시각(landmark) 키, KEYS[2] = 전체 트렌딩 키, KEYS[3] = 트렌딩 키 목록(SET)
+-- KEYS[4..] = 호출 전에 읽은 트렌딩 키 목록의 지역 트렌딩 키
+-- ARGV[1] = 현재 시각(초), ARGV[2] = 감쇠 계수(lambda), ARGV[3] = 재정규화 기준 지수, ARGV[4] = 제거할 최소 점수
+-- 반환: 적용된 기준 시각(초), 목록에 KEYS 로 넘기지 않은 키가 생겼으면 false (다시 읽고 재시도)
+local landmark = redis.call('GET', KEYS[1])
+if not landmark then
+    return ARGV[1]
+end
+
+local exponent = tonumber(ARGV[2]) * (tonumber(ARGV[1]) - tonumber(landmark))
+if exponent < tonumber(ARGV[3]) then
+    return landmark
+end
+
+-- 선언하지 않은 키는 건드리지 않는다 - 그 사이 목록에 추가된 키가 있으면 아무것도 바꾸지 않고 재시도
+local declared = {}
+for i = 4, #KEYS do
+    declared[KEYS[i]] = true
+end
+for _, key in ipairs(redis.call('SMEMBERS', KEYS[3])) do
+    if not declared[key] then
+        return false
+    end
+end
+
+-- 모든 점수에 exp(-exponent) 를 곱하면 새 기준 시각 기준의 점수와 같아진다
+local factor = math.exp(-exponent)
+local function rescale(key)
+    redis.call('ZUNIONSTORE', key, 1, key, 'WEIGHTS', tostring(factor))
+    redis.call('ZREMRANGEBYSCORE', key, '-inf', '(' .. ARGV[4])
+    return redis.call('ZCARD', key)
+end
+
+rescale(KEYS[2])
+for i = 4, #KEYS do
+    if rescale(KEYS[i]) == 0 then
+        redis.call('SREM', KEYS[3], KEYS[i])
+    end
+end
+
+redis.call('SET', KEYS[1], ARGV[1])
+return ARGV[1]
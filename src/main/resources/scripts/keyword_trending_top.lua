@@ -0,0 +1,15 @@
+-- 트렌딩 상위 키워드를 기준 시각과 함께 조회 (재정규화와 섞이지 않도록 한 번에 읽음)
+-- KEYS[1] = 기준 시각(landmark) 키, KEYS[2] = 트렌딩 키
+-- ARGV[1] = 조회 개수
+-- 반환: { 기준 시각, (키워드, 점수) 반복 }, 기준 시각이 없으면 빈 목록
+local landmark = redis.call('GET', KEYS[1])
+if not landmark then
+    return {}
+end
+
+local result = { landmark }
+local top = redis.call('ZREVRANGE', KEYS[2], 0, tonumber(ARGV[1]) - 1, 'WITHSCORES')
+for i = 1, #top do
+    result[#result + 1] = top[i]
+end
+return result
@@ -0,0 +1,45 @@
+-- 시간 버킷 합산 기간별 인기 키워드 조회
+-- KEYS[1] = 닫힌 시간 버킷 합계(base), KEYS[2] = base 가 반영한 시각(시간 번호) 키, KEYS[3] = 조회 결과 캐시 키
+-- KEYS[4 .. 4 + W] = (현재 - W) 시간 ~ 현재 시간 버킷 키 (KEYS[4] = 기간에 일부만 걸친 가장 오래된 버킷)
+-- ARGV[1] = 현재 시간 번호, ARGV[2] = 기간(시간, W), ARGV[3] = 가장 오래된 버킷 가중치(기간 안에 남은 비율),
+-- ARGV[4] = 조회 개수, ARGV[5] = 결과 캐시 TTL(초), ARGV[6] = base TTL(초)
+-- 반환: { 키워드, 점수, ... } (점수 내림차순)
+local current = tonumber(ARGV[1])
+local w = tonumber(ARGV[2])
+
+local function bucket(hour)
+    return KEYS[4 + hour - (current - w)]
+end
+
+if redis.call('EXISTS', KEYS[3]) == 0 then
+    if w > 1 then
+        -- base = 닫힌 시간 (current - w + 1) ~ (current - 1) 버킷 합계
+        local built = tonumber(redis.call('GET', KEYS[2]) or '-1')
+        local hasBase = redis.call('EXISTS', KEYS[1]) == 1
+        if built ~= current or not hasBase then
+            if built == current - 1 and hasBase then
+                -- 한 시간 전진: 방금 닫힌 버킷을 더하고 기간에서 빠진 버킷을 뺀다
+                redis.call('ZUNIONSTORE', KEYS[1], 3, KEYS[1], bucket(current - 1), bucket(current - w),
+                        'WEIGHTS', 1, 1, -1)
+                redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', 0)
+            else
+                local sources = {}
+                for hour = current - w + 1, current - 1 do
+                    table.insert(sources, bucket(hour))
+                end
+                redis.call('ZUNIONSTORE', KEYS[1], #sources, unpack(sources))
+            end
+            redis.call('SET', KEYS[2], current)
+        end
+        redis.call('EXPIRE', KEYS[1], ARGV[6])
+        redis.call('EXPIRE', KEYS[2], ARGV[6])
+
+        redis.call('ZUNIONSTORE', KEYS[3], 3, KEYS[1], bucket(current), bucket(current - w),
+                'WEIGHTS', 1, 1, ARGV[3])
+    else
+        redis.call('ZUNIONSTORE', KEYS[3], 2, bucket(current), bucket(current - 1), 'WEIGHTS', 1, ARGV[3])
+    end
+    redis.call('EXPIRE', KEYS[3], ARGV[5])
+end
+
+return redis.call('ZREVRANGE', KEYS[3], 0, tonumber(ARGV[4]) - 1, 'WITHSCORES')
@@ -0,0 +1,123 @@
+package kr.hhplus.be.server.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordNormalizerTest {
+
+    private static final String REGEX_WHITESPACE = " \t\n\u000B\f\r";
+    private static final int ITERATIONS = 100_000;
+
+    private final KeywordNormalizer normalizer = new KeywordNormalizer();
+
+    // 기존 정규식 구현 (비교 기준)
+    private static String legacyNormalize(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return keyword;
+        }
+        return keyword.trim()
+                .toLowerCase()
+                .replaceAll("\\s+", " ")
+                .replaceAll("[^a-zA-Z0-9가-힣\\s]", "");
+    }
+
+    private static String legacyNormalizeForSearch(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return keyword;
+        }
+        return keyword.trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    @Test
+    @DisplayName("접기 대상이 아닌 문자로 만든 임의 입력은 기존 구현과 결과가 같다")
+    void matchesLegacyImplementation() {
+        Random random = new Random(20241017L);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String input = randomKeyword(random);
+            assertThat(normalizer.normalize(input))
+                    .as("normalize(%s)", escape(input))
+                    .isEqualTo(legacyNormalize(input));
+            assertThat(normalizer.normalizeForSearch(input))
+                    .as("normalizeForSearch(%s)", escape(input))
+                    .isEqualTo(legacyNormalizeForSearch(input));
+        }
+    }
+
+    @Test
+    @DisplayName("공백/특수문자 경계 동작이 기존 구현과 같다")
+    void keepsLegacyEdgeCases() {
+        String[] inputs = {null, "", "   ", "\t\n", "a ! b", "a !", "!a!", "  Hello   World  ", "맛집!!추천",
+                "\u0001강남\u0001", "A\tB\r\nC", "\u0130stanbul", "\u212Aelvin", "카페\u00A0라떼"};
+        for (String input : inputs) {
+            assertThat(normalizer.normalize(input)).isEqualTo(legacyNormalize(input));
+            assertThat(normalizer.normalizeForSearch(input)).isEqualTo(legacyNormalizeForSearch(input));
+        }
+    }
+
+    @Test
+    @DisplayName("전각 영문/숫자/공백은 반각으로 접는다")
+    void foldsFullWidth() {
+        assertThat(normalizer.normalize("\uFF30\uFF49\uFF5A\uFF5A\uFF41\u3000\uFF11\uFF12\uFF13")).isEqualTo("pizza 123");
+        assertThat(normalizer.normalize("\u3000강남 맛집\u3000")).isEqualTo("강남 맛집");
+    }
+
+    @Test
+    @DisplayName("조합형 한글 자모(NFD)는 완성형 음절(NFC)로 합친다")
+    void composesConjoiningJamo() {
+        assertThat(normalizer.normalize("\u1112\u1161\u11AB\u1100\u1173\u11AF")).isEqualTo("한글");
+        assertThat(normalizer.normalize("\uAC00\u11A8")).isEqualTo("각"); // 가 + 종성 ㄱ
+        assertThat(normalizer.normalize("\u1100\u1161 \u1102\u1161")).isEqualTo("가 나");
+    }
+
+    @Test
+    @DisplayName("이미 정규화된 키워드는 같은 인스턴스를 반환한다")
+    void returnsSameInstanceWhenUnchanged() {
+        String keyword = new String("강남 맛집");
+        assertThat(normalizer.normalize(keyword)).isSameAs(keyword);
+        assertThat(normalizer.normalize(keyword)).isSameAs(keyword);
+    }
+
+    private static String randomKeyword(Random random) {
+        int length = random.nextInt(32);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(randomChar(random));
+        }
+        return builder.toString();
+    }
+
+    private static char randomChar(Random random) {
+        switch (random.nextInt(7)) {
+            case 0: return (char) ('A' + random.nextInt(26));
+            case 1: return (char) ('a' + random.nextInt(26));
+            case 2: return (char) ('0' + random.nextInt(10));
+            case 3: return REGEX_WHITESPACE.charAt(random.nextInt(REGEX_WHITESPACE.length()));
+            case 4: return (char) random.nextInt(0x80); // ASCII 특수문자 / 제어문자
+            case 5: return (char) ('가' + random.nextInt('힣' - '가' + 1));
+            default:
+                // 그 밖의 BMP 문자 (전각 ASCII, 전각 공백, 조합형 자모는 새 구현에서 접기 대상이라 제외)
+                char c;
+                do {
+                    c = (char) (0x80 + random.nextInt(0xFF80));
+                } while (c >= '\uFF01' && c <= '\uFF5E' || c == '\u3000' || c >= '\u1100' && c <= '\u11FF');
+                return c;
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c >= 0x20 && c < 0x7F) {
+                builder.append(c);
+            } else {
+                builder.append(String.format("\\u%04X", (int) c));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package kr.hhplus.be.server.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitedLoggerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final RateLimitedLogger logger =
+            new RateLimitedLogger(LoggerFactory.getLogger(RateLimitedLoggerTest.class), 1_000L, nanos::get);
+
+    @Test
+    @DisplayName("같은 형식의 로그는 간격 안에서 한 번만 남기고, 다음에 생략 건수를 알린다")
+    void logsOncePerIntervalAndReportsSuppressed() {
+        assertThat(logger.acquire("실패: {}")).isEqualTo(0L);
+        assertThat(logger.acquire("실패: {}")).isEqualTo(-1L);
+        assertThat(logger.acquire("실패: {}")).isEqualTo(-1L);
+
+        nanos.addAndGet(999_000_000L);
+        assertThat(logger.acquire("실패: {}")).isEqualTo(-1L);
+
+        nanos.addAndGet(1_000_000L);
+        assertThat(logger.acquire("실패: {}")).isEqualTo(3L);
+        assertThat(logger.acquire("실패: {}")).isEqualTo(-1L);
+    }
+
+    @Test
+    @DisplayName("형식이 다른 로그는 따로 제한한다")
+    void limitsEachFormatSeparately() {
+        assertThat(logger.acquire("Redis 실패: {}")).isEqualTo(0L);
+        assertThat(logger.acquire("DB 실패: {}")).isEqualTo(0L);
+        assertThat(logger.acquire("Redis 실패: {}")).isEqualTo(-1L);
+    }
+}
@@ -0,0 +1,52 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("추정값은 실제값 이상이고 오차는 epsilon * N 이내다")
+    void estimatesWithinErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+        long total = 0;
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("keyword" + i, i % 10 + 1);
+            total += i % 10 + 1;
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            long estimate = sketch.estimate("keyword" + i);
+            assertThat(estimate).isGreaterThanOrEqualTo(i % 10 + 1);
+            assertThat(estimate).isLessThanOrEqualTo(i % 10 + 1 + (long) (0.001 * total));
+        }
+    }
+
+    @Test
+    @DisplayName("String.hashCode 가 같은 키워드끼리 모든 행에서 같은 버킷을 쓰지 않는다")
+    void separatesKeywordsWithSameStringHashCode() {
+        CountMinSketch sketch = new CountMinSketch(0.01, 0.01);
+
+        sketch.add("Aa", 100);
+
+        assertThat(sketch.estimate("BB")).isZero();
+    }
+
+    @Test
+    @DisplayName("delta 가 작으면 행 수를 자르지 않고 ln(1 / delta) 만큼 둔다")
+    void keepsRequestedDepth() {
+        CountMinSketch sketch = new CountMinSketch(0.01, 1e-6);
+
+        assertThat(sketch.getDepth()).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName("sketch 크기가 배열 한도를 넘으면 거절한다")
+    void rejectsOversizedSketch() {
+        assertThatThrownBy(() -> new CountMinSketch(1e-9, 0.001))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
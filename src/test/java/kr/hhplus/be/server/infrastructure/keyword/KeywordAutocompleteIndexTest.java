@@ -0,0 +1,112 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordAutocompleteIndexTest {
+
+    @Test
+    @DisplayName("랭킹으로 만든 색인은 접두어와 초성으로 가중치 순 상위 키워드를 돌려준다")
+    void completesPrefixAndChoseongFromRanking() {
+        KeywordAutocompleteIndex index = KeywordAutocompleteIndex.build(List.of(
+                new KeywordDto("김치찌개", 30L),
+                new KeywordDto("김치 찌개", 5L),
+                new KeywordDto("김밥", 20L),
+                new KeywordDto("피자", 10L)), Function.identity(), 10, 100);
+
+        assertThat(index.complete("김", 10)).extracting(KeywordDto::getKeyword)
+                .containsExactly("김치찌개", "김밥");
+        assertThat(index.complete("김치", 10)).extracting(KeywordDto::getCount)
+                .containsExactly(35L);
+        assertThat(index.completeChoseong("ㄱㅊ", 10)).extracting(KeywordDto::getKeyword)
+                .containsExactly("김치찌개");
+        assertThat(index.complete("라", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("기록한 키워드는 재생성 없이 바로 나오고, 가중치가 늘면 경로의 모든 노드에서 순위가 오른다")
+    void recordsIncrementallyAndPromotesAlongPath() {
+        KeywordAutocompleteIndex index = KeywordAutocompleteIndex.build(List.of(
+                new KeywordDto("김치찌개", 30L),
+                new KeywordDto("김밥", 20L)), Function.identity(), 2, 100);
+
+        index.record("김치전", "김치전", 1);
+        assertThat(index.complete("김치", 10)).extracting(KeywordDto::getKeyword)
+                .containsExactly("김치찌개", "김치전");
+        assertThat(index.complete("김", 10)).extracting(KeywordDto::getKeyword)
+                .containsExactly("김치찌개", "김밥");
+
+        index.record("김치전", "김치전", 40);
+        assertThat(index.complete("김", 10)).extracting(KeywordDto::getKeyword)
+                .containsExactly("김치전", "김치찌개");
+        assertThat(index.complete("", 10)).extracting(KeywordDto::getCount)
+                .containsExactly(41L, 30L);
+        assertThat(index.completeChoseong("ㄱㅊㅈ", 1)).extracting(KeywordDto::getKeyword)
+                .containsExactly("김치전");
+    }
+
+    @Test
+    @DisplayName("색인이 가득 차면 새 키워드는 넣지 않고, 이미 있는 키워드의 가중치는 계속 반영한다")
+    void stopsAddingKeywordsAtCapacity() {
+        KeywordAutocompleteIndex index = new KeywordAutocompleteIndex(10, 2);
+        index.record("피자", "피자", 1);
+        index.record("파스타", "파스타", 1);
+
+        assertThat(index.record("피클", "피클", 5)).isFalse();
+        assertThat(index.record("피자", "피자", 5)).isTrue();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.complete("피", 10)).extracting(KeywordDto::getCount)
+                .containsExactly(6L);
+    }
+
+    @Test
+    @DisplayName("무작위로 증가시켜도 모든 접두어의 상위 목록은 전체를 정렬한 결과와 같다")
+    void matchesBruteForceTopK() {
+        int topK = 3;
+        KeywordAutocompleteIndex index = new KeywordAutocompleteIndex(topK, 1_000);
+        Map<String, Long> weights = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            String key = randomKey(random);
+            long count = 1 + random.nextInt(5);
+            index.record(key, key, count);
+            weights.merge(key, count, Long::sum);
+        }
+
+        for (String key : weights.keySet()) {
+            for (int length = 0; length <= key.length(); length++) {
+                String prefix = key.substring(0, length);
+                List<Long> expected = new ArrayList<>();
+                weights.forEach((candidate, weight) -> {
+                    if (candidate.startsWith(prefix)) {
+                        expected.add(weight);
+                    }
+                });
+                expected.sort((a, b) -> Long.compare(b, a));
+
+                assertThat(index.complete(prefix, topK)).extracting(KeywordDto::getCount)
+                        .containsExactlyElementsOf(expected.subList(0, Math.min(topK, expected.size())));
+            }
+        }
+    }
+
+    private static String randomKey(Random random) {
+        String alphabet = "abc";
+        StringBuilder builder = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordBloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 키워드는 항상 있다고 답하고, 없는 키워드의 오탐률은 설정값 근처다")
+    void hasNoFalseNegativesAndBoundedFalsePositives() {
+        KeywordBloomFilter filter = new KeywordBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("키워드" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("키워드" + i)).isTrue();
+            if (filter.mightContain("다른키워드" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("String.hashCode 가 같은 키워드를 넣었다고 답하지 않는다")
+    void separatesKeywordsWithSameStringHashCode() {
+        KeywordBloomFilter filter = new KeywordBloomFilter(1_000, 0.001);
+
+        filter.put("Aa");
+
+        assertThat(filter.mightContain("BB")).isFalse();
+    }
+}
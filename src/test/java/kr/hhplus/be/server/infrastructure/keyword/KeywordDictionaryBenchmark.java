@@ -0,0 +1,106 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * KeywordDictionary 와 {@code ConcurrentHashMap<String, Integer>} 비교 (JMH 를 쓰지 않는 단순 측정)
+ * - 메모리: 키워드 문자열은 미리 만들어 두고, 사전 구조가 추가로 붙잡는 힙만 GC 후 사용량 차이로 잰다
+ * - 시간: 등록(intern / computeIfAbsent)과 조회(find / get) 1회당 시간
+ * 빌드 시간을 늘리지 않도록 KEYWORD_BENCHMARK=true 일 때만 실행
+ * (예: KEYWORD_BENCHMARK=true ./gradlew test --tests '*KeywordDictionaryBenchmark')
+ */
+@EnabledIfEnvironmentVariable(named = "KEYWORD_BENCHMARK", matches = "true")
+class KeywordDictionaryBenchmark {
+
+    private static final int KEYWORDS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    @DisplayName("키워드 100만 개 기준 사전 구조의 추가 힙과 등록 / 조회 시간")
+    void compareWithConcurrentHashMap() {
+        String[] keywords = new String[KEYWORDS];
+        for (int i = 0; i < KEYWORDS; i++) {
+            keywords[i] = "키워드" + i;
+            keywords[i].hashCode(); // 해시는 문자열에 캐시되므로 미리 계산해 두 측정에서 같게 한다
+        }
+        // "키워드0", "키워드1" ... 은 hashCode 가 연속이라 순서대로 조회하면 ConcurrentHashMap 테이블을 순차로 읽게 된다
+        // 실제 검색어처럼 순서와 해시가 무관하도록 섞는다
+        Random random = new Random(42);
+        for (int i = KEYWORDS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String swapped = keywords[i];
+            keywords[i] = keywords[j];
+            keywords[j] = swapped;
+        }
+
+        long baseline = usedHeap();
+        KeywordDictionary dictionary = new KeywordDictionary();
+        for (String keyword : keywords) {
+            dictionary.intern(keyword);
+        }
+        long dictionaryBytes = usedHeap() - baseline;
+        assertThat(dictionary.size()).isEqualTo(KEYWORDS);
+
+        baseline = usedHeap();
+        ConcurrentHashMap<String, Integer> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < KEYWORDS; i++) {
+            map.put(keywords[i], i);
+        }
+        long mapBytes = usedHeap() - baseline;
+        assertThat(map.size()).isEqualTo(KEYWORDS);
+
+        double dictionaryIntern = 0;
+        double mapIntern = 0;
+        double dictionaryFind = 0;
+        double mapGet = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            // 첫 회는 JIT 예열로 보고 버린다
+            KeywordDictionary freshDictionary = new KeywordDictionary();
+            ConcurrentHashMap<String, Integer> freshMap = new ConcurrentHashMap<>();
+            double[] nanos = {
+                    nanosPerKeyword(keywords, freshDictionary::intern),
+                    nanosPerKeyword(keywords, keyword -> freshMap.computeIfAbsent(keyword, k -> freshMap.size())),
+                    nanosPerKeyword(keywords, freshDictionary::find),
+                    nanosPerKeyword(keywords, freshMap::get)
+            };
+            if (round > 0) {
+                dictionaryIntern += nanos[0] / (ROUNDS - 1);
+                mapIntern += nanos[1] / (ROUNDS - 1);
+                dictionaryFind += nanos[2] / (ROUNDS - 1);
+                mapGet += nanos[3] / (ROUNDS - 1);
+            }
+        }
+
+        System.out.printf("heap for %d keywords: dictionary %.1f MB (%d B/keyword), map %.1f MB (%d B/keyword)%n",
+                KEYWORDS, dictionaryBytes / 1e6, dictionaryBytes / KEYWORDS, mapBytes / 1e6, mapBytes / KEYWORDS);
+        System.out.printf("intern: dictionary %.1f ns/op, map %.1f ns/op%n", dictionaryIntern, mapIntern);
+        System.out.printf("find: dictionary %.1f ns/op, map %.1f ns/op%n", dictionaryFind, mapGet);
+    }
+
+    private static double nanosPerKeyword(String[] keywords, ToIntFunction<String> operation) {
+        long sink = 0;
+        long started = System.nanoTime();
+        for (String keyword : keywords) {
+            sink += operation.applyAsInt(keyword);
+        }
+        long elapsed = System.nanoTime() - started;
+        assertThat(sink).isNotEqualTo(Long.MIN_VALUE);
+        return (double) elapsed / keywords.length;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
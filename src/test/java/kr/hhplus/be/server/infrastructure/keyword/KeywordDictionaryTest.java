@@ -0,0 +1,77 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordDictionaryTest {
+
+    @Test
+    @DisplayName("같은 키워드는 같은 ID 를 받고, ID 로 원래 키워드를 찾는다")
+    void internsAndLooksUpKeywords() {
+        KeywordDictionary dictionary = new KeywordDictionary();
+
+        int pizza = dictionary.intern("피자");
+        int pasta = dictionary.intern("pasta");
+
+        assertThat(dictionary.intern("피자")).isEqualTo(pizza);
+        assertThat(pasta).isNotEqualTo(pizza);
+        assertThat(dictionary.find("pasta")).isEqualTo(pasta);
+        assertThat(dictionary.find("sushi")).isEqualTo(-1);
+        assertThat(dictionary.keyword(pizza)).isEqualTo("피자");
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("String.hashCode 가 같은 키워드도 서로 다른 ID 를 받는다")
+    void separatesKeywordsWithSameStringHashCode() {
+        KeywordDictionary dictionary = new KeywordDictionary();
+
+        int first = dictionary.intern("Aa");
+        int second = dictionary.intern("BB");
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(dictionary.find("Aa")).isEqualTo(first);
+        assertThat(dictionary.find("BB")).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 키워드를 동시에 등록해도 키워드마다 ID 는 하나다")
+    void assignsOneIdPerKeywordUnderConcurrency() throws Exception {
+        KeywordDictionary dictionary = new KeywordDictionary();
+        int keywords = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < keywords; i++) {
+                        dictionary.intern("키워드" + ((i * 7 + offset) % keywords));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(dictionary.size()).isEqualTo(keywords);
+        for (int i = 0; i < keywords; i++) {
+            int id = dictionary.find("키워드" + i);
+            assertThat(dictionary.keyword(id)).isEqualTo("키워드" + i);
+        }
+    }
+}
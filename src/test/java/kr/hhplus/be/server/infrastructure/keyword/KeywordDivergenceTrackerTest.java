@@ -0,0 +1,155 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordDivergenceTrackerTest {
+
+    private static final long CONFIRM_DELAY_MS = 600_000L;
+    private static final long MANUAL_INTERVAL_MS = 600_000L;
+    private static final int LEAF = 0;
+    private static final Map<String, Long> KEYWORD_IDS = Map.of("pizza", 1L, "pasta", 2L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다른 노드가 DB 압축 반영 전인 증가분은 보정하지 않고, 확인 간격이 지나도 남는 유실분만 보정한다")
+    void repairsOnlyConfirmedLossAcrossTwoNodes() {
+        SharedStore redis = new SharedStore();
+        SharedStore database = new SharedStore();
+        TieredKeywordRanking nodeA = tiered(redis, database);
+        TieredKeywordRanking nodeB = tiered(redis, database);
+        KeywordDivergenceTracker tracker = new KeywordDivergenceTracker(CONFIRM_DELAY_MS);
+
+        // B 는 Redis 에만 반영하고 압축 반영 주기를 기다리는 중, pasta 2 는 DB 반영 중 유실된 증가분
+        increment(nodeA, "pizza", 2);
+        increment(nodeB, "pizza", 3);
+        nodeB.flushWriteBehind();
+        redis.counts.merge("pasta", 2L, Long::sum);
+
+        KeywordDivergenceTracker.Repair[] repairs = new KeywordDivergenceTracker.Repair[2];
+        nodeA.runWhenSettled(() -> repairs[0] = tracker.observe(LEAF, redis.byId(), database.byId(), 0L));
+        assertThat(redis.counts).containsEntry("pizza", 5L);
+        assertThat(database.counts).containsEntry("pizza", 2L);
+        assertThat(repairs[0]).isNull();
+        assertThat(tracker.observe(LEAF, redis.byId(), database.byId(), CONFIRM_DELAY_MS - 1)).isNull();
+
+        // 확인 간격 안에 B 가 압축 반영하고, 그 뒤 증가분은 다시 Redis 에만 반영된 상태
+        nodeB.compact();
+        increment(nodeB, "pizza", 4);
+        nodeB.flushWriteBehind();
+
+        nodeA.runWhenSettled(() -> repairs[1] = tracker.observe(LEAF, redis.byId(), database.byId(), CONFIRM_DELAY_MS));
+        assertThat(repairs[1].getRedisIncrements()).isEmpty();
+        assertThat(repairs[1].getDatabaseIncrements()).isEqualTo(Map.of(2L, 2L));
+        database.counts.merge("pasta", 2L, Long::sum);
+
+        // 처음 관측 때 큰 값으로 맞췄다면 B 가 나중에 압축 반영한 3 이 DB 에 한 번 더 더해진다
+        nodeB.compact();
+        assertThat(database.counts).isEqualTo(redis.counts);
+        assertThat(database.counts).containsEntry("pizza", 9L).containsEntry("pasta", 2L);
+        assertThat(tracker.getSuspectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 가 유실한 카운트는 처음 관측 때의 DB 카운트까지만 보정한다")
+    void repairsRedisUpToFirstObservedDatabaseCount() {
+        KeywordDivergenceTracker tracker = new KeywordDivergenceTracker(CONFIRM_DELAY_MS);
+
+        assertThat(tracker.observe(LEAF, Map.of(1L, 1L), Map.of(1L, 6L), 0L)).isNull();
+        KeywordDivergenceTracker.Repair repair = tracker.observe(LEAF, Map.of(1L, 3L), Map.of(1L, 8L), CONFIRM_DELAY_MS);
+
+        assertThat(repair.getRedisIncrements()).isEqualTo(Map.of(1L, 3L));
+        assertThat(repair.getDatabaseIncrements()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("해시가 다시 같아진 구간은 처음 관측 기록을 지우고 다음 불일치부터 새로 확인한다")
+    void forgetsResolvedLeaves() {
+        KeywordDivergenceTracker tracker = new KeywordDivergenceTracker(CONFIRM_DELAY_MS);
+        tracker.observe(LEAF, Map.of(1L, 5L), Map.of(1L, 2L), 0L);
+
+        tracker.resolve(LEAF);
+
+        assertThat(tracker.getSuspectedCount()).isZero();
+        assertThat(tracker.observe(LEAF, Map.of(1L, 9L), Map.of(1L, 5L), CONFIRM_DELAY_MS)).isNull();
+    }
+
+    private void increment(TieredKeywordRanking node, String keyword, int times) {
+        for (int i = 0; i < times; i++) {
+            node.incrementKeywordCount(keyword);
+        }
+    }
+
+    private TieredKeywordRanking tiered(SharedStore redis, SharedStore database) {
+        KeywordWriteAheadLog wal = new KeywordWriteAheadLog(false, directory.toString(), 64 * 1024 * 1024, 60_000L,
+                64 * 1024 * 1024, new SimpleMeterRegistry());
+        MemoryKeywordRankingImpl memory = new MemoryKeywordRankingImpl(100, wal);
+        return new TieredKeywordRanking(memory, redis, database, new SimpleMeterRegistry(),
+                "redis,memory,database", MANUAL_INTERVAL_MS, MANUAL_INTERVAL_MS, 10, 30_000L, -1L, 0L);
+    }
+
+    /**
+     * 두 노드가 함께 쓰는 Redis/Database 대역
+     */
+    private static final class SharedStore implements KeywordRanking, KeywordDeltaSink {
+        private final Map<String, Long> counts = new HashMap<>();
+
+        @Override
+        public void applyDelta(KeywordCountDelta delta) {
+            delta.getGlobalCounts().forEach((keyword, count) -> counts.merge(keyword, count, Long::sum));
+        }
+
+        private Map<Long, Long> byId() {
+            Map<Long, Long> countsById = new HashMap<>();
+            counts.forEach((keyword, count) -> countsById.put(KEYWORD_IDS.get(keyword), count));
+            return countsById;
+        }
+
+        @Override
+        public void incrementKeywordCount(String keyword) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void incrementKeywordCount(String keyword, String location) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void incrementKeywordCount(String keyword, String location, long delta) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<KeywordDto> getTopKeywords(int limit) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Long getKeywordCount(String keyword) {
+            return counts.getOrDefault(keyword, 0L);
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordHashTest {
+
+    @Test
+    @DisplayName("MurmurHash3 x64 128 의 앞 64비트와 같은 값을 낸다")
+    void matchesMurmur3ReferenceVector() {
+        assertThat(KeywordHash.hash64(KeywordHash.utf8("The quick brown fox jumps over the lazy dog"), 0))
+                .isEqualTo(0xE34BBC7BBC071B6CL);
+        assertThat(KeywordHash.hash64(new byte[0], 0)).isZero();
+    }
+
+    @Test
+    @DisplayName("String.hashCode 가 같은 키워드도 64비트 해시는 다르고, seed 가 다르면 값이 달라진다")
+    void separatesKeywordsWithSameStringHashCode() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        assertThat(KeywordHash.hash64(KeywordHash.utf8("Aa"), KeywordHash.seed(0)))
+                .isNotEqualTo(KeywordHash.hash64(KeywordHash.utf8("BB"), KeywordHash.seed(0)));
+        assertThat(KeywordHash.hash64(KeywordHash.utf8("피자"), KeywordHash.seed(0)))
+                .isNotEqualTo(KeywordHash.hash64(KeywordHash.utf8("피자"), KeywordHash.seed(1)));
+    }
+}
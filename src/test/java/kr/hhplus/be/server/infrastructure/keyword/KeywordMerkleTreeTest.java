@@ -0,0 +1,98 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordMerkleTreeTest {
+
+    @Test
+    @DisplayName("같은 카운트는 더하는 순서와 상관없이 같은 잎 해시가 되고, 카운트 0 은 빈 잎과 같다")
+    void leafDigestIgnoresOrderAndZeroCounts() {
+        long forward = KeywordMerkleTree.entryDigest(1, 3) + KeywordMerkleTree.entryDigest(2, 5);
+        long backward = KeywordMerkleTree.entryDigest(2, 5) + KeywordMerkleTree.entryDigest(1, 3);
+
+        assertThat(forward).isEqualTo(backward);
+        assertThat(KeywordMerkleTree.entryDigest(7, 0)).isEqualTo(0L);
+        assertThat(KeywordMerkleTree.entryDigest(1, 3)).isNotEqualTo(KeywordMerkleTree.entryDigest(1, 4));
+    }
+
+    @Test
+    @DisplayName("비교 결과는 해시가 다른 잎 전체와 같고, limit 개에서 멈춘다")
+    void diffFindsExactlyTheChangedLeaves() {
+        int leafCount = 1000;
+        KeywordMerkleTree left = new KeywordMerkleTree(10, leafCount);
+        KeywordMerkleTree right = new KeywordMerkleTree(10, leafCount);
+        Random random = new Random(17);
+        for (int leaf = 0; leaf < leafCount; leaf++) {
+            long digest = random.nextLong();
+            left.setLeaf(leaf, digest);
+            right.setLeaf(leaf, digest);
+        }
+        assertThat(left.root()).isEqualTo(right.root());
+        assertThat(left.diff(right, 10)).isEmpty();
+
+        TreeSet<Integer> changed = new TreeSet<>();
+        while (changed.size() < 20) {
+            changed.add(random.nextInt(leafCount));
+        }
+        for (int leaf : changed) {
+            right.setLeaf(leaf, right.getLeaf(leaf) + 1);
+        }
+
+        assertThat(left.root()).isNotEqualTo(right.root());
+        assertThat(left.diff(right, 100)).containsExactlyElementsOf(new ArrayList<>(changed));
+        assertThat(left.diff(right, 5)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("잎 값을 되돌리면 루트도 원래 값으로 돌아온다")
+    void restoresRootWhenLeafIsReverted() {
+        KeywordMerkleTree tree = new KeywordMerkleTree(4, 40);
+        tree.setLeaf(3, KeywordMerkleTree.entryDigest(12, 2));
+        long root = tree.root();
+
+        tree.setLeaf(3, KeywordMerkleTree.entryDigest(12, 3));
+        assertThat(tree.root()).isNotEqualTo(root);
+
+        tree.setLeaf(3, KeywordMerkleTree.entryDigest(12, 2));
+        assertThat(tree.root()).isEqualTo(root);
+    }
+
+    @Test
+    @DisplayName("키워드 ID 가 늘어 잎을 늘려도 기존 잎 해시는 유지된다")
+    void growsLeavesKeepingDigests() {
+        KeywordMerkleTree tree = new KeywordMerkleTree(10, 1);
+        tree.setLeaf(0, 42L);
+
+        tree.ensureKeywordId(255);
+
+        assertThat(tree.getLeafCount()).isGreaterThanOrEqualTo(26);
+        assertThat(tree.leafOf(255)).isEqualTo(25);
+        assertThat(tree.getLeaf(0)).isEqualTo(42L);
+        assertThat(tree.firstKeywordId(25)).isEqualTo(250L);
+        assertThat(tree.lastKeywordId(25)).isEqualTo(259L);
+
+        KeywordMerkleTree other = new KeywordMerkleTree(10, tree.getLeafCount());
+        other.setLeaf(0, 42L);
+        assertThat(tree.root()).isEqualTo(other.root());
+    }
+
+    @Test
+    @DisplayName("잎 구간이나 잎 수가 다른 트리는 비교하지 않는다")
+    void rejectsDiffBetweenDifferentShapes() {
+        KeywordMerkleTree tree = new KeywordMerkleTree(10, 16);
+        List<KeywordMerkleTree> others = List.of(new KeywordMerkleTree(20, 16), new KeywordMerkleTree(10, 32));
+
+        for (KeywordMerkleTree other : others) {
+            assertThatThrownBy(() -> tree.diff(other, 10)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordNodeIdTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("WAL 사용 시 설정이 없으면 식별자를 만들어 WAL 디렉터리에 남기고, 재시작하면 같은 값을 읽는다")
+    void persistsGeneratedIdNextToWal() throws Exception {
+        String first = new KeywordNodeId(wal(true), "").get();
+        String restarted = new KeywordNodeId(wal(true), " ").get();
+
+        assertThat(first).isNotBlank();
+        assertThat(restarted).isEqualTo(first);
+        assertThat(Files.readString(dir.resolve(KeywordNodeId.NODE_ID_FILE)).trim()).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("설정값은 처음 기동 때 기록되고, 이후 다른 값으로 바꾸면 기동에 실패한다")
+    void rejectsConfiguredIdThatDiffersFromWal() {
+        assertThat(new KeywordNodeId(wal(true), "node-a").get()).isEqualTo("node-a");
+        assertThat(new KeywordNodeId(wal(true), "").get()).isEqualTo("node-a");
+
+        assertThatThrownBy(() -> new KeywordNodeId(wal(true), "node-b"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("WAL 미사용 시에는 파일을 만들지 않고 설정값을 쓴다")
+    void usesConfiguredIdWithoutWal() {
+        assertThat(new KeywordNodeId(wal(false), "node-a").get()).isEqualTo("node-a");
+        assertThat(Files.exists(dir.resolve(KeywordNodeId.NODE_ID_FILE))).isFalse();
+    }
+
+    private KeywordWriteAheadLog wal(boolean enabled) {
+        return new KeywordWriteAheadLog(enabled, dir.toString(), 1024, 10, 1024, new SimpleMeterRegistry());
+    }
+}
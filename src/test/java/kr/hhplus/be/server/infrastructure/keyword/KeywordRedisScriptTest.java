@@ -0,0 +1,224 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * src/main/resources/scripts 의 Lua 스크립트를 실제 Redis 에서 실행해 확인
+ */
+@Testcontainers
+class KeywordRedisScriptTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private static final RedisScript<Long> LEASE_ACQUIRE = script("scripts/keyword_lease_acquire.lua", Long.class);
+    private static final RedisScript<Long> LEASE_RELEASE = script("scripts/keyword_lease_release.lua", Long.class);
+    private static final RedisScript<List> DELTA_APPLY = script("scripts/keyword_delta_apply.lua", List.class);
+    private static final RedisScript<List> TRENDING_TOP = script("scripts/keyword_trending_top.lua", List.class);
+    private static final RedisScript<List> WINDOW_TOP = script("scripts/keyword_window_top.lua", List.class);
+    private static final RedisScript<String> TRENDING_RENORMALIZE =
+            script("scripts/keyword_trending_renormalize.lua", String.class);
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flush() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("임대는 한 노드만 가지며, 보유 노드는 다시 호출하면 연장된다")
+    void leaseIsExclusiveAndRenewable() {
+        assertThat(redisTemplate.execute(LEASE_ACQUIRE, List.of("lease"), "node-a", "60000")).isEqualTo(1L);
+        assertThat(redisTemplate.execute(LEASE_ACQUIRE, List.of("lease"), "node-b", "60000")).isEqualTo(0L);
+
+        redisTemplate.execute(LEASE_ACQUIRE, List.of("lease"), "node-a", "120000");
+        assertThat(redisTemplate.getExpire("lease")).isGreaterThan(60L);
+    }
+
+    @Test
+    @DisplayName("다른 노드의 임대는 반납하지 않고, 반납 후에는 다른 노드가 가져간다")
+    void releasesOnlyOwnLease() {
+        redisTemplate.execute(LEASE_ACQUIRE, List.of("lease"), "node-a", "60000");
+
+        assertThat(redisTemplate.execute(LEASE_RELEASE, List.of("lease"), "node-b")).isEqualTo(0L);
+        assertThat(redisTemplate.opsForValue().get("lease")).isEqualTo("node-a");
+
+        assertThat(redisTemplate.execute(LEASE_RELEASE, List.of("lease"), "node-a")).isEqualTo(1L);
+        assertThat(redisTemplate.execute(LEASE_ACQUIRE, List.of("lease"), "node-b", "60000")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("증가분 청크는 한 번만 반영되고, 트렌딩 증가분에는 스크립트 안에서 읽은 기준 시각 가중치를 곱한다")
+    void appliesDeltaChunkOnceWithTrendingWeight() {
+        redisTemplate.opsForValue().set("landmark", "1000");
+        List<String> keys = List.of("marker", "landmark", "trending:keys", "changed", "ranking", "trending");
+        Object[] args = {"0", "60", "1010", "0.1", "3600", "0", "0", "4", "pizza", "3", "g", "5", "pizza", "3", "t"};
+
+        assertThat(redisTemplate.execute(DELTA_APPLY, keys, args)).containsExactly(1L);
+        assertThat(redisTemplate.execute(DELTA_APPLY, keys, args)).containsExactly(0L);
+
+        assertThat(redisTemplate.opsForZSet().score("ranking", "pizza")).isEqualTo(3.0);
+        assertThat(redisTemplate.opsForZSet().score("trending", "pizza"))
+                .isCloseTo(3 * Math.exp(1.0), within(1e-6));
+    }
+
+    @Test
+    @DisplayName("청크 번호 없이 넘긴 증가분은 반영 기록을 남기지 않고 호출마다 반영한다")
+    void appliesUnmarkedDeltaEveryCall() {
+        List<String> keys = List.of("marker", "landmark", "trending:keys", "changed", "ranking");
+        Object[] args = {"", "60", "1010", "0.1", "3600", "0", "0", "4", "pizza", "2", "g"};
+
+        assertThat(redisTemplate.execute(DELTA_APPLY, keys, args)).containsExactly(1L);
+        assertThat(redisTemplate.execute(DELTA_APPLY, keys, args)).containsExactly(1L);
+
+        assertThat(redisTemplate.opsForZSet().score("ranking", "pizza")).isEqualTo(4.0);
+        assertThat(redisTemplate.hasKey("marker")).isFalse();
+    }
+
+    @Test
+    @DisplayName("시간 버킷 만료는 증가분과 같은 스크립트에서 갱신되고, 상위 깊이 안에서 증가 전후 순위를 돌려준다")
+    void expiresBucketAndReturnsTopRanks() {
+        redisTemplate.opsForZSet().add("ranking", "pizza", 5);
+        redisTemplate.opsForZSet().add("ranking", "pasta", 4);
+        redisTemplate.opsForZSet().add("ranking", "salad", 1);
+        List<String> keys = List.of("marker", "landmark", "trending:keys", "changed", "ranking", "bucket");
+        Object[] args = {"", "60", "1010", "0.1", "3600", "2", "0",
+                "4", "pasta", "2", "r", "5", "pasta", "2", "b",
+                "4", "salad", "1", "r", "5", "salad", "1", "b",
+                "4", "soup", "1", "r"};
+
+        // pasta: 1 → 0 (순위 변경), salad: 2 → 2 (깊이 밖), soup: 없음 → 3 (깊이 밖)
+        assertThat(redisTemplate.execute(DELTA_APPLY, keys, args))
+                .containsExactly(1L, 4L, "pasta", 1L, 0L, "6");
+        assertThat(redisTemplate.getExpire("bucket")).isGreaterThan(3500L);
+
+        Object[] entering = {"", "60", "1010", "0.1", "3600", "2", "0", "4", "bread", "10", "r"};
+        // bread: 없음 → 0 (깊이 안으로 진입)
+        assertThat(redisTemplate.execute(DELTA_APPLY, keys, entering))
+                .containsExactly(1L, 4L, "bread", -1L, 0L, "10");
+    }
+
+    @Test
+    @DisplayName("변경 키워드 기록이 켜져 있으면 전체 랭킹 키워드만 같은 스크립트에서 기록한다")
+    void tracksChangedGlobalKeywordsWhenEnabled() {
+        List<String> keys = List.of("marker", "landmark", "trending:keys", "changed", "ranking", "ranking:서울");
+        Object[] untracked = {"", "60", "1010", "0.1", "3600", "0", "0", "4", "pizza", "1", "g"};
+        Object[] tracked = {"", "60", "1010", "0.1", "3600", "0", "1", "4", "pasta", "1", "g", "5", "salad", "1", "r"};
+
+        redisTemplate.execute(DELTA_APPLY, keys, untracked);
+        redisTemplate.execute(DELTA_APPLY, keys, tracked);
+
+        assertThat(redisTemplate.opsForSet().members("changed")).containsExactly("pasta");
+    }
+
+    @Test
+    @DisplayName("지역 트렌딩 증가분은 같은 스크립트에서 트렌딩 키 목록에 등록되고 전체 트렌딩 키는 등록하지 않는다")
+    void registersLocationTrendingKey() {
+        List<String> keys = List.of("marker", "landmark", "trending:keys", "changed", "trending", "trending:서울");
+        Object[] args = {"", "60", "1010", "0.1", "3600", "0", "0",
+                "4", "pizza", "1", "t", "5", "pizza", "1", "l", "5", "pasta", "1", "l"};
+
+        redisTemplate.execute(DELTA_APPLY, keys, args);
+
+        assertThat(redisTemplate.opsForSet().members("trending:keys")).containsExactly("trending:서울");
+        assertThat(redisTemplate.opsForZSet().score("trending:서울", "pasta")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("트렌딩 상위 조회는 점수와 같은 시점의 기준 시각을 함께 돌려준다")
+    void readsTrendingTopWithLandmark() {
+        assertThat(redisTemplate.execute(TRENDING_TOP, List.of("landmark", "trending"), "10")).isEmpty();
+
+        redisTemplate.opsForValue().set("landmark", "1000");
+        redisTemplate.opsForZSet().add("trending", "pizza", 5);
+        redisTemplate.opsForZSet().add("trending", "pasta", 2);
+
+        assertThat(redisTemplate.execute(TRENDING_TOP, List.of("landmark", "trending"), "1"))
+                .containsExactly("1000", "pizza", "5");
+    }
+
+    @Test
+    @DisplayName("재정규화는 KEYS 로 넘기지 않은 트렌딩 키가 목록에 있으면 아무것도 바꾸지 않는다")
+    void renormalizesOnlyDeclaredTrendingKeys() {
+        redisTemplate.opsForValue().set("landmark", "1000");
+        redisTemplate.opsForZSet().add("trending", "pizza", 100);
+        redisTemplate.opsForZSet().add("trending:서울", "pizza", 10);
+        redisTemplate.opsForSet().add("trending:keys", "trending:서울");
+        Object[] args = {"1010", "0.1", "1", "0.000001"};
+
+        assertThat(redisTemplate.execute(TRENDING_RENORMALIZE,
+                List.of("landmark", "trending", "trending:keys"), args)).isNull();
+        assertThat(redisTemplate.opsForValue().get("landmark")).isEqualTo("1000");
+
+        assertThat(redisTemplate.execute(TRENDING_RENORMALIZE,
+                List.of("landmark", "trending", "trending:keys", "trending:서울"), args)).isEqualTo("1010");
+        assertThat(redisTemplate.opsForZSet().score("trending", "pizza"))
+                .isCloseTo(100 * Math.exp(-1.0), within(1e-6));
+        assertThat(redisTemplate.opsForZSet().score("trending:서울", "pizza"))
+                .isCloseTo(10 * Math.exp(-1.0), within(1e-6));
+    }
+
+    @Test
+    @DisplayName("닫힌 버킷에 늦게 반영된 증가분은 base 반영 시각 키를 지우면 다음 조회에서 합산된다")
+    void rebuildsWindowBaseAfterInvalidation() {
+        // 기간 3시간, 현재 시간 100: base = 98 ~ 99 시간 버킷
+        List<String> keys = List.of("w:base", "w:built", "w:result:100", "b:97", "b:98", "b:99", "b:100");
+        Object[] args = {"100", "3", "0", "10", "60", "3600"};
+        redisTemplate.opsForZSet().add("b:98", "pizza", 2);
+
+        assertThat(redisTemplate.execute(WINDOW_TOP, keys, args)).containsExactly("pizza", "2");
+
+        // 재반영으로 닫힌 99 시간 버킷이 늘어남 - base 를 그대로 두면 결과에 빠진다
+        redisTemplate.opsForZSet().incrementScore("b:99", "pizza", 3);
+        redisTemplate.delete("w:result:100");
+        assertThat(redisTemplate.execute(WINDOW_TOP, keys, args)).containsExactly("pizza", "2");
+
+        redisTemplate.delete(List.of("w:built", "w:result:100"));
+        assertThat(redisTemplate.execute(WINDOW_TOP, keys, args)).containsExactly("pizza", "5");
+    }
+
+    private static <T> RedisScript<T> script(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(resultType);
+        return script;
+    }
+}
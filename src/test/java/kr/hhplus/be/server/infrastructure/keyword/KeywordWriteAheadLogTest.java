@@ -0,0 +1,327 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordWriteAheadLogTest {
+
+    // 기록 스레드가 끼어들지 않도록 주기를 길게 두고 flush/checkpoint 로만 기록
+    private static final long MANUAL_FLUSH_INTERVAL_MS = 60_000L;
+    private static final long MAX_PENDING_BYTES = 64 * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 레코드는 재시작 후 순서대로 재생된다")
+    void replaysAppendedRecordsAfterRestart() throws IOException {
+        KeywordWriteAheadLog wal = open(KeywordWriteAheadLogTest::newLog);
+        wal.append(1L, "강남 맛집", "서울", 1);
+        wal.append(1L, "pizza", null, 1);
+        wal.append(2L, "김치찌개", "", 1);
+        wal.close();
+
+        assertThat(replay()).containsExactly("1|강남 맛집|서울", "1|pizza|null", "2|김치찌개|null");
+    }
+
+    @Test
+    @DisplayName("체크포인트 이하 epoch 의 레코드는 재생하지 않는다")
+    void skipsCheckpointedRecords() throws IOException {
+        KeywordWriteAheadLog wal = open(KeywordWriteAheadLogTest::newLog);
+        wal.append(1L, "a", null, 1);
+        wal.append(2L, "b", null, 1);
+        wal.checkpoint(1L);
+        wal.append(3L, "c", null, 1);
+        wal.close();
+
+        assertThat(replay()).containsExactly("2|b|null", "3|c|null");
+    }
+
+    @Test
+    @DisplayName("기록 실패 시 잘린 레코드를 제거하고 배치를 보관했다가 다음 기록에서 한 번만 남긴다")
+    void keepsBatchAndTruncatesTornTailOnWriteFailure() throws IOException {
+        List<FailingChannel> channels = new ArrayList<>();
+        KeywordWriteAheadLog wal = open((enabled, dir, segmentBytes, interval) ->
+                new KeywordWriteAheadLog(enabled, dir, segmentBytes, interval, MAX_PENDING_BYTES, new SimpleMeterRegistry(), path -> {
+                    FailingChannel channel = new FailingChannel(FileChannel.open(path,
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+                    channels.add(channel);
+                    return channel;
+                }));
+
+        wal.append(1L, "first", null, 1);
+        wal.flush();
+
+        wal.append(2L, "second", null, 1);
+        wal.append(2L, "third", "부산", 1);
+        channels.get(channels.size() - 1).failNextWrite = true;
+        assertThatThrownBy(wal::flush).isInstanceOf(IOException.class);
+
+        // 실패한 배치 뒤에 새 레코드가 쌓여도 순서가 유지되어야 한다
+        wal.append(3L, "fourth", null, 1);
+        wal.flush();
+        wal.append(4L, "fifth", null, 1);
+        wal.close();
+
+        assertThat(replay()).containsExactly(
+                "1|first|null", "2|second|null", "2|third|부산", "3|fourth|null", "4|fifth|null");
+    }
+
+    @Test
+    @DisplayName("기록 실패가 이어져 버퍼 한도를 넘으면 새 레코드를 버리고 세며, 기록이 복구되면 다시 남긴다")
+    void dropsRecordsBeyondPendingLimitWhileWritesFail() throws IOException {
+        // 키워드 한 글자, 지역 없음 = 레코드당 29 bytes → 256 bytes 한도에 8개까지 보관
+        List<FailingChannel> channels = new ArrayList<>();
+        KeywordWriteAheadLog wal = new KeywordWriteAheadLog(true, directory.toString(), 64 * 1024 * 1024,
+                MANUAL_FLUSH_INTERVAL_MS, 256, new SimpleMeterRegistry(), path -> {
+                    FailingChannel channel = new FailingChannel(FileChannel.open(path,
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+                    channels.add(channel);
+                    return channel;
+                });
+        wal.start();
+
+        channels.get(channels.size() - 1).failAllWrites = true;
+        for (int i = 0; i < 20; i++) {
+            wal.append(1L, Character.toString('a' + i), null, 1);
+        }
+        assertThatThrownBy(wal::flush).isInstanceOf(IOException.class);
+        wal.append(1L, "z", null, 1);
+
+        assertThat(wal.getDroppedRecords()).isEqualTo(13L);
+
+        channels.get(channels.size() - 1).failAllWrites = false;
+        wal.flush();
+        wal.append(2L, "after", null, 1);
+        wal.close();
+
+        assertThat(replay()).containsExactly("1|a|null", "1|b|null", "1|c|null", "1|d|null",
+                "1|e|null", "1|f|null", "1|g|null", "1|h|null", "2|after|null");
+    }
+
+    @Test
+    @DisplayName("실행 중에도 버퍼를 기록한 뒤 epoch 범위의 레코드만 다시 읽는다")
+    void readsEpochRangeWhileRunning() throws IOException {
+        KeywordWriteAheadLog wal = open(KeywordWriteAheadLogTest::newLog);
+        wal.append(1L, "a", null, 1);
+        wal.append(2L, "b", "서울", 1);
+        wal.append(3L, "c", null, 1);
+        wal.checkpoint(1L);
+        wal.append(4L, "d", null, 1);
+
+        List<String> records = new ArrayList<>();
+        wal.read(Long.MIN_VALUE, 3L, (epoch, keyword, location, count) -> records.add(epoch + "|" + keyword + "|" + location));
+        wal.close();
+
+        assertThat(records).containsExactly("2|b|서울", "3|c|null");
+    }
+
+    @Test
+    @DisplayName("레코드의 증가량을 그대로 재생하고, 증가량이 빠진 레코드는 손상으로 보고 세그먼트 나머지를 버린다")
+    void replaysRecordCountAndTreatsShortRecordAsCorruption() throws IOException {
+        writeSegment(1, record(1L, "short", false), record(1L, "after-short", true));
+        KeywordWriteAheadLog wal = open(KeywordWriteAheadLogTest::newLog);
+        wal.append(2L, "weighted", "서울", 7);
+        wal.close();
+
+        KeywordWriteAheadLog restarted = open(KeywordWriteAheadLogTest::newLog);
+        List<String> records = new ArrayList<>();
+        try {
+            restarted.replay((epoch, keyword, location, count) -> records.add(keyword + "|" + count));
+        } finally {
+            restarted.close();
+        }
+
+        assertThat(records).containsExactly("weighted|7");
+    }
+
+    @Test
+    @DisplayName("저장소별 반영 위치는 재시작 후에도 유지된다")
+    void keepsAppliedEpochPerSink() throws IOException {
+        KeywordWriteAheadLog wal = open(KeywordWriteAheadLogTest::newLog);
+        wal.markApplied("redis", 5L);
+        wal.markApplied("database", 3L);
+        wal.close();
+
+        KeywordWriteAheadLog restarted = open(KeywordWriteAheadLogTest::newLog);
+        try {
+            assertThat(restarted.readApplied("redis")).isEqualTo(5L);
+            assertThat(restarted.readApplied("database")).isEqualTo(3L);
+            assertThat(restarted.readApplied("other")).isEqualTo(Long.MIN_VALUE);
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    @DisplayName("비활성화되면 아무 것도 기록하지 않는다")
+    void doesNothingWhenDisabled() throws IOException {
+        KeywordWriteAheadLog wal = newLog(false, directory.toString(), 1024, MANUAL_FLUSH_INTERVAL_MS);
+        wal.start();
+        wal.append(1L, "a", null, 1);
+        wal.flush();
+        wal.close();
+
+        assertThat(replay()).isEmpty();
+    }
+
+    private KeywordWriteAheadLog open(WalFactory factory) throws IOException {
+        KeywordWriteAheadLog wal = factory.create(true, directory.toString(), 64 * 1024 * 1024, MANUAL_FLUSH_INTERVAL_MS);
+        wal.start();
+        return wal;
+    }
+
+    private static KeywordWriteAheadLog newLog(boolean enabled, String directory, long segmentBytes, long flushIntervalMs) {
+        return new KeywordWriteAheadLog(enabled, directory, segmentBytes, flushIntervalMs, MAX_PENDING_BYTES,
+                new SimpleMeterRegistry());
+    }
+
+    private List<String> replay() throws IOException {
+        KeywordWriteAheadLog wal = open(KeywordWriteAheadLogTest::newLog);
+        List<String> records = new ArrayList<>();
+        try {
+            wal.replay((epoch, keyword, location, count) -> records.add(epoch + "|" + keyword + "|" + location));
+        } finally {
+            wal.close();
+        }
+        return records;
+    }
+
+    // CRC 는 맞지만 withCount 가 false 면 count 필드가 빠진 레코드
+    private static byte[] record(long epoch, String keyword, boolean withCount) {
+        byte[] keywordBytes = keyword.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = 8 + 2 + keywordBytes.length + 2 + (withCount ? 8 : 0);
+        ByteBuffer record = ByteBuffer.allocate(8 + payloadLength);
+        record.putInt(payloadLength).putInt(0).putLong(epoch);
+        record.putShort((short) keywordBytes.length).put(keywordBytes).putShort((short) 0);
+        if (withCount) {
+            record.putLong(1L);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, payloadLength);
+        record.putInt(4, (int) crc.getValue());
+        return record.array();
+    }
+
+    private void writeSegment(long sequence, byte[]... records) throws IOException {
+        ByteBuffer segment = ByteBuffer.allocate(Arrays.stream(records).mapToInt(r -> r.length).sum());
+        for (byte[] record : records) {
+            segment.put(record);
+        }
+        Files.write(directory.resolve(String.format("keyword-wal-%020d.log", sequence)), segment.array());
+    }
+
+    @FunctionalInterface
+    private interface WalFactory {
+        KeywordWriteAheadLog create(boolean enabled, String directory, long segmentBytes, long flushIntervalMs);
+    }
+
+    /**
+     * failNextWrite 가 켜지면 남은 바이트의 절반만 쓰고 실패하는 채널 (부분 기록 후 디스크 오류)
+     * failAllWrites 가 켜져 있는 동안은 아무것도 쓰지 않고 실패
+     */
+    private static final class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private boolean failNextWrite;
+        private boolean failAllWrites;
+
+        private FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failAllWrites) {
+                throw new IOException("디스크 쓰기 실패 (테스트)");
+            }
+            if (failNextWrite) {
+                failNextWrite = false;
+                ByteBuffer half = src.slice();
+                half.limit(Math.max(1, src.remaining() / 2));
+                int written = delegate.write(half);
+                src.position(src.position() + written);
+                throw new IOException("디스크 쓰기 실패 (테스트)");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException { return delegate.read(dst); }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException { return delegate.read(dsts, offset, length); }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException { return delegate.write(srcs, offset, length); }
+
+        @Override
+        public long position() throws IOException { return delegate.position(); }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException { delegate.position(newPosition); return this; }
+
+        @Override
+        public long size() throws IOException { return delegate.size(); }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException { delegate.truncate(size); return this; }
+
+        @Override
+        public void force(boolean metaData) throws IOException { delegate.force(metaData); }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException { return delegate.read(dst, position); }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException { return delegate.write(src, position); }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException { delegate.close(); }
+    }
+}
@@ -0,0 +1,121 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedKeywordRankingImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("상위 키워드는 Top-K 후보로 조회하고, 용량보다 큰 limit 도 같은 순위를 돌려준다")
+    void readsTopKeywordsFromTracker() throws IOException {
+        MappedKeywordRankingImpl ranking = open(2);
+        try {
+            increment(ranking, "pizza", "서울", 5);
+            increment(ranking, "pasta", "서울", 3);
+            increment(ranking, "sushi", null, 4);
+
+            assertThat(ranking.getTopKeywords(2)).extracting(KeywordDto::getKeyword)
+                    .containsExactly("pizza", "sushi");
+            assertThat(ranking.getTopKeywords(3)).extracting(KeywordDto::getKeyword)
+                    .containsExactly("pizza", "sushi", "pasta");
+            assertThat(ranking.getTopKeywordsByLocation("서울", 2)).extracting(KeywordDto::getCount)
+                    .containsExactly(5L, 3L);
+            assertThat(ranking.getTopKeywordsByLocation("부산", 2)).isEmpty();
+        } finally {
+            ranking.close();
+        }
+    }
+
+    @Test
+    @DisplayName("세대 증가분은 직전 drain 이후 늘어난 만큼만 담고, 지역 슬롯은 지역 카운트로 나뉜다")
+    void drainsOnlyNewIncrements() throws IOException {
+        MappedKeywordRankingImpl ranking = open(10);
+        try {
+            increment(ranking, "pizza", "서울", 2);
+            KeywordCountDelta first = ranking.drainDelta();
+
+            increment(ranking, "pizza", null, 1);
+            KeywordCountDelta second = ranking.drainDelta();
+            KeywordCountDelta empty = ranking.drainDelta();
+
+            assertThat(first.getGlobalCounts()).containsEntry("pizza", 2L);
+            assertThat(first.getLocationCounts().get("서울")).containsEntry("pizza", 2L);
+            assertThat(second.getGlobalCounts()).containsEntry("pizza", 1L);
+            assertThat(second.getLocationCounts()).isEmpty();
+            assertThat(empty.isEmpty()).isTrue();
+            assertThat(second.getEpoch()).isGreaterThan(first.getEpoch());
+        } finally {
+            ranking.close();
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 저장소별로 반영하지 않은 카운트만 복구 세대로 돌려준다")
+    void recoversCountsNotAppliedPerSink() throws IOException {
+        MappedKeywordRankingImpl ranking = open(10);
+        increment(ranking, "pizza", null, 3);
+        KeywordCountDelta drained = ranking.drainDelta();
+        ranking.markApplied("redis", drained.getEpoch());
+        increment(ranking, "pizza", null, 2);
+        ranking.close();
+
+        MappedKeywordRankingImpl restarted = open(10);
+        try {
+            assertThat(restarted.getKeywordCount("pizza")).isEqualTo(5L);
+            long recoveredEpoch = restarted.getRecoveredEpoch();
+
+            List<KeywordCountDelta> forRedis =
+                    restarted.reloadDeltas(restarted.getAppliedEpoch("redis"), recoveredEpoch, 10);
+            List<KeywordCountDelta> forDatabase =
+                    restarted.reloadDeltas(restarted.getAppliedEpoch("database"), recoveredEpoch, 10);
+
+            assertThat(sum(forRedis, "pizza")).isEqualTo(2L);
+            assertThat(sum(forDatabase, "pizza")).isEqualTo(5L);
+            assertThat(restarted.drainDelta().isEmpty()).isTrue();
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    @DisplayName("모든 저장소가 반영한 세대는 재시작 후 다시 반영하지 않는다")
+    void doesNotRecoverCommittedGenerations() throws IOException {
+        MappedKeywordRankingImpl ranking = open(10);
+        increment(ranking, "pizza", "서울", 3);
+        ranking.commitEpoch(ranking.drainDelta().getEpoch());
+        ranking.close();
+
+        MappedKeywordRankingImpl restarted = open(10);
+        try {
+            assertThat(restarted.getRecoveredEpoch()).isEqualTo(Long.MIN_VALUE);
+            assertThat(restarted.getTopKeywordsByLocation("서울", 1)).extracting(KeywordDto::getCount)
+                    .containsExactly(3L);
+        } finally {
+            restarted.close();
+        }
+    }
+
+    private MappedKeywordRankingImpl open(int topKCapacity) {
+        return new MappedKeywordRankingImpl(directory.resolve("ranking.dat").toString(), 1024, topKCapacity);
+    }
+
+    private static void increment(MappedKeywordRankingImpl ranking, String keyword, String location, int times) {
+        for (int i = 0; i < times; i++) {
+            ranking.incrementKeywordCount(keyword, location);
+        }
+    }
+
+    private static long sum(List<KeywordCountDelta> deltas, String keyword) {
+        return deltas.stream().mapToLong(delta -> delta.getGlobalCounts().getOrDefault(keyword, 0L)).sum();
+    }
+}
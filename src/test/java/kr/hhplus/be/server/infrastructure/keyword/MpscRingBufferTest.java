@@ -0,0 +1,113 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("크기는 2의 거듭제곱으로 올리고, 가득 차면 offer 가 false 를 돌려준다")
+    void rejectsOfferWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+    }
+
+    @Test
+    @DisplayName("적재한 순서대로 꺼내고, 여러 바퀴를 돌아도 슬롯을 재사용한다")
+    void pollsInOrderAcrossWraps() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 3; i++) {
+                buffer.offer(round * 3 + i);
+            }
+            assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+            assertThat(buffer.drain(drained::add, 10)).isEqualTo(1);
+        }
+
+        assertThat(drained).containsExactlyElementsOf(IntStream.range(0, 15).boxed().toList());
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 적재해도 모든 값을 한 번씩, 생산자별 순서대로 꺼낸다")
+    void deliversEveryElementOnceUnderConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(new long[]{producer, i})) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] next = new long[producers];
+            int received = 0;
+            while (received < producers * perProducer) {
+                long[] element = buffer.poll();
+                if (element == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                assertThat(element[1]).isEqualTo(next[(int) element[0]]);
+                next[(int) element[0]]++;
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            for (long count : next) {
+                assertThat(count).isEqualTo(perProducer);
+            }
+            assertThat(buffer.isEmpty()).isTrue();
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    @Test
+    @DisplayName("null 적재와 범위를 벗어난 크기는 거부한다")
+    void rejectsInvalidArguments() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(2);
+
+        assertThatThrownBy(() -> buffer.offer(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MpscRingBuffer<String>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
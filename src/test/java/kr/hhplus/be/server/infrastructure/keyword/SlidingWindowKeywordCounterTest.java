@@ -0,0 +1,145 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowKeywordCounterTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("10분 기간은 현재 분 포함 최근 10분만 합산하고, 분이 넘어가면 오래된 분이 빠진다")
+    void includesExactlyTheLastTenMinutes() {
+        SlidingWindowKeywordCounter counter = new SlidingWindowKeywordCounter();
+        for (long minute = START; minute < START + 10; minute++) {
+            counter.add("카페", minute, 1);
+        }
+
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 9, "카페")).isEqualTo(10L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 10, "카페")).isEqualTo(9L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 15, "카페")).isEqualTo(4L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 19, "카페")).isZero();
+        assertThat(countOf(counter, RankingWindow.LAST_1_HOUR, START + 19, "카페")).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("조회를 매 분 하든 건너뛰든 결과는 분별 기록을 직접 합산한 값과 같다")
+    void matchesBruteForceAcrossRollovers() {
+        SlidingWindowKeywordCounter stepped = new SlidingWindowKeywordCounter();
+        SlidingWindowKeywordCounter skipped = new SlidingWindowKeywordCounter();
+        Map<Long, Long> perMinute = new HashMap<>();
+
+        for (long minute = START; minute < START + 200; minute++) {
+            long count = minute % 7 + 1;
+            stepped.add("맛집", minute, count);
+            skipped.add("맛집", minute, count);
+            perMinute.put(minute, count);
+
+            long expected = 0;
+            for (long m = minute - 59; m <= minute; m++) {
+                expected += perMinute.getOrDefault(m, 0L);
+            }
+            assertThat(countOf(stepped, RankingWindow.LAST_1_HOUR, minute, "맛집")).isEqualTo(expected);
+            if (minute % 37 == 0) {
+                assertThat(countOf(skipped, RankingWindow.LAST_1_HOUR, minute, "맛집")).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("링 한 바퀴 이상 조회가 없었어도 덮어쓴 버킷을 빼지 않고 다시 합산한다")
+    void recomputesAfterRingWrap() {
+        SlidingWindowKeywordCounter counter = new SlidingWindowKeywordCounter();
+        int ringSize = RankingWindow.maxMinutes() + 1;
+
+        counter.add("공원", START, 5);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 5, "공원")).isEqualTo(5L);
+
+        long later = START + ringSize + 3;
+        counter.add("공원", later - 3, 2);
+        counter.add("공원", later, 1);
+
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, later, "공원")).isEqualTo(3L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, later + 9, "공원")).isEqualTo(1L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, later + 10, "공원")).isZero();
+    }
+
+    @Test
+    @DisplayName("직전 분까지의 늦은 쓰기는 반영하고, 이미 집계된 분에 대한 쓰기는 거부해 만료 시 음수가 되지 않는다")
+    void handlesLateWritesWithoutDrift() {
+        SlidingWindowKeywordCounter counter = new SlidingWindowKeywordCounter();
+        counter.add("서점", START, 1);
+        counter.add("도서관", START, 1);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 5, "서점")).isEqualTo(1L);
+
+        // START + 4 는 아직 열린 분, START 는 이미 집계에 봉인된 분
+        counter.add("서점", START + 4, 2);
+        counter.add("서점", START, 10);
+        counter.add("도서관", START, 10);
+
+        assertThat(counter.getRejectedLateWrites()).isEqualTo(2L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 5, "서점")).isEqualTo(3L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 9, "서점")).isEqualTo(3L);
+
+        // START 만료 시 봉인 당시의 1 만 빠진다 (늦은 10 을 빼면 도서관이 사라지고 서점은 음수가 된다)
+        counter.add("도서관", START + 9, 1);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 10, "서점")).isEqualTo(2L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 10, "도서관")).isEqualTo(1L);
+        assertThat(countOf(counter, RankingWindow.LAST_1_HOUR, START + 10, "도서관")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("쓰기가 없던 분을 집계한 뒤 그 분에 들어온 쓰기도 거부한다")
+    void rejectsWritesIntoEmptyClosedMinute() {
+        SlidingWindowKeywordCounter counter = new SlidingWindowKeywordCounter();
+        counter.add("시장", START + 5, 1);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 5, "시장")).isEqualTo(1L);
+
+        counter.add("시장", START + 2, 4);
+
+        assertThat(counter.getRejectedLateWrites()).isEqualTo(1L);
+        assertThat(countOf(counter, RankingWindow.LAST_10_MINUTES, START + 11, "시장")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("상위 N 개를 카운트 내림차순으로 돌려준다")
+    void returnsTopByCount() {
+        SlidingWindowKeywordCounter counter = new SlidingWindowKeywordCounter();
+        counter.add("a", START, 3);
+        counter.add("b", START + 8, 5);
+        counter.add("c", START + 9, 1);
+        counter.add("a", START + 9, 3);
+
+        List<KeywordDto> top = counter.top(RankingWindow.LAST_10_MINUTES, 2, START + 9);
+
+        assertThat(top).extracting(KeywordDto::getKeyword).containsExactly("a", "b");
+        assertThat(top).extracting(KeywordDto::getCount).containsExactly(6L, 5L);
+    }
+
+    @Test
+    @DisplayName("가장 긴 기간 동안 쓰기가 없으면 은퇴하고, 은퇴 후 쓰기는 false 를 돌려준다")
+    void retiresWhenIdle() {
+        SlidingWindowKeywordCounter counter = new SlidingWindowKeywordCounter();
+        int ringSize = RankingWindow.maxMinutes() + 1;
+        counter.add("해변", START, 1);
+
+        assertThat(counter.retireIfIdle(START + ringSize)).isFalse();
+        assertThat(counter.retireIfIdle(START + ringSize + 1)).isTrue();
+        assertThat(counter.add("해변", START + ringSize + 1, 1)).isFalse();
+    }
+
+    private static long countOf(SlidingWindowKeywordCounter counter, RankingWindow window, long nowMinute, String keyword) {
+        for (KeywordDto dto : counter.top(window, 100, nowMinute)) {
+            if (dto.getKeyword().equals(keyword)) {
+                return dto.getCount();
+            }
+        }
+        return 0L;
+    }
+}
@@ -0,0 +1,29 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowKeywordRankingTest {
+
+    @Test
+    @DisplayName("가장 긴 기간 동안 검색이 없던 지역만 정리하고, 정리된 지역에 다시 기록하면 새 카운터를 만든다")
+    void evictsIdleLocations() {
+        SlidingWindowKeywordRanking ranking = new SlidingWindowKeywordRanking();
+        long nowMinute = System.currentTimeMillis() / 60_000L;
+        ranking.incrementKeywordCount("카페", "서울", 1);
+        ranking.incrementKeywordCount("카페", "부산", 1);
+
+        ranking.evictIdleLocations(nowMinute + 10);
+        assertThat(ranking.getLocationCount()).isEqualTo(2);
+
+        ranking.evictIdleLocations(nowMinute + RankingWindow.maxMinutes() + 10);
+        assertThat(ranking.getLocationCount()).isZero();
+
+        ranking.incrementKeywordCount("맛집", "서울", 2);
+        assertThat(ranking.getLocationCount()).isEqualTo(1);
+        assertThat(ranking.getTopKeywordsByLocation(RankingWindow.LAST_10_MINUTES, "서울", 10))
+                .extracting(KeywordDto::getKeyword).containsExactly("맛집");
+    }
+}
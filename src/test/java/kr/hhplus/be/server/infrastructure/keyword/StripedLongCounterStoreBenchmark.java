@@ -0,0 +1,130 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StripedLongCounterStore.add 와 LongAdder 비교 (JMH 를 쓰지 않는 단순 반복 측정)
+ * - 인기 키: 모든 스레드가 키 하나만 증가 (검색이 한 키워드에 몰릴 때)
+ * - 균등 키: 스레드마다 전체 키를 고르게 증가
+ * - 1/2/4/8 스레드에서 증가 1회당 시간 (전체 경과 시간 / 전체 증가 횟수)
+ * 빌드 시간을 늘리지 않도록 KEYWORD_BENCHMARK=true 일 때만 실행
+ * (예: KEYWORD_BENCHMARK=true ./gradlew test --tests '*StripedLongCounterStoreBenchmark')
+ */
+@EnabledIfEnvironmentVariable(named = "KEYWORD_BENCHMARK", matches = "true")
+class StripedLongCounterStoreBenchmark {
+
+    private static final int KEYWORDS = 100_000;
+    private static final int INCREMENTS_PER_THREAD = 2_000_000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+    private static final int ROUNDS = 5;
+
+    @Test
+    @DisplayName("인기 키 / 균등 키 증가 1회당 시간 - 스트라이프 저장소와 LongAdder")
+    void compareWithLongAdder() throws Exception {
+        for (int threads : THREAD_COUNTS) {
+            double storeHot = measure(threads, () -> {
+                StripedLongCounterStore store = new StripedLongCounterStore();
+                return new Workload(index -> store.add(0, 1), () -> store.get(0));
+            }, true);
+            double adderHot = measure(threads, () -> {
+                LongAdder adder = new LongAdder();
+                return new Workload(index -> adder.increment(), adder::sum);
+            }, true);
+            double storeUniform = measure(threads, () -> {
+                StripedLongCounterStore store = new StripedLongCounterStore();
+                return new Workload(index -> store.add(index, 1), () -> {
+                    long[] total = new long[1];
+                    store.forEach((id, count) -> total[0] += count);
+                    return total[0];
+                });
+            }, false);
+            double adderUniform = measure(threads, () -> {
+                LongAdder[] adders = new LongAdder[KEYWORDS];
+                for (int i = 0; i < KEYWORDS; i++) {
+                    adders[i] = new LongAdder();
+                }
+                return new Workload(index -> adders[index].increment(), () -> {
+                    long total = 0;
+                    for (LongAdder adder : adders) {
+                        total += adder.sum();
+                    }
+                    return total;
+                });
+            }, false);
+
+            System.out.printf("%d threads: hot key store %.1f ns/op, LongAdder %.1f ns/op | uniform store %.1f ns/op, LongAdder[] %.1f ns/op%n",
+                    threads, storeHot, adderHot, storeUniform, adderUniform);
+        }
+    }
+
+    private interface WorkloadFactory {
+        Workload create();
+    }
+
+    private record Workload(IntConsumer increment, LongSupplier total) {
+    }
+
+    private static double measure(int threads, WorkloadFactory factory, boolean hot) throws Exception {
+        double nanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Workload workload = factory.create();
+            // 균등 키는 키 등록(잠금 경로)을 측정에서 빼기 위해 미리 한 번씩 증가해 둔다
+            if (!hot) {
+                for (int i = 0; i < KEYWORDS; i++) {
+                    workload.increment().accept(i);
+                }
+            }
+            double elapsed = run(threads, workload, hot);
+            assertThat(workload.total().getAsLong())
+                    .isEqualTo((long) threads * INCREMENTS_PER_THREAD + (hot ? 0 : KEYWORDS));
+            // 첫 회는 JIT 예열로 보고 버린다
+            if (round > 0) {
+                nanos += elapsed / (ROUNDS - 1);
+            }
+        }
+        return nanos;
+    }
+
+    private static double run(int threads, Workload workload, boolean hot) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * (KEYWORDS / threads);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    IntConsumer increment = workload.increment();
+                    for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                        increment.accept(hot ? 0 : (offset + i) % KEYWORDS);
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return (double) (System.nanoTime() - started) / ((long) threads * INCREMENTS_PER_THREAD);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
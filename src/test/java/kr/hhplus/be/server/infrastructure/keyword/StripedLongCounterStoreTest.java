@@ -0,0 +1,90 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLongCounterStoreTest {
+
+    @Test
+    @DisplayName("증가 후 값을 돌려주고, 리사이즈를 여러 번 거쳐도 모든 키의 값이 유지된다")
+    void keepsValuesAcrossResizes() {
+        StripedLongCounterStore store = new StripedLongCounterStore(1);
+        for (int id = 0; id < 10_000; id++) {
+            assertThat(store.add(id, id + 1)).isEqualTo(id + 1L);
+        }
+        assertThat(store.add(7, 3)).isEqualTo(11L);
+
+        assertThat(store.size()).isEqualTo(10_000);
+        assertThat(store.get(7)).isEqualTo(11L);
+        assertThat(store.get(9_999)).isEqualTo(10_000L);
+        assertThat(store.get(10_000)).isZero();
+
+        Map<Integer, Long> seen = new HashMap<>();
+        store.forEach(seen::put);
+        assertThat(seen).hasSize(10_000);
+        assertThat(seen.get(0)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("한 키에 몰린 잠금 없는 증가와 새 키 추가(리사이즈)가 겹쳐도 증가분을 잃지 않는다")
+    void losesNoIncrementWhileResizing() throws Exception {
+        int threads = 4;
+        int perThread = 200_000;
+        StripedLongCounterStore store = new StripedLongCounterStore(1);
+        store.add(0, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        store.add(0, 1);
+                    }
+                    return null;
+                }));
+            }
+            // 같은 스트라이프에 새 키를 계속 넣어 증가 도중 테이블이 여러 번 옮겨지게 한다
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int id = 1; id <= 100_000; id++) {
+                    store.add(id, 1);
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        assertThat(store.get(0)).isEqualTo((long) threads * perThread);
+        assertThat(store.size()).isEqualTo(100_001);
+        long[] total = new long[1];
+        store.forEach((id, count) -> total[0] += count);
+        assertThat(total[0]).isEqualTo((long) threads * perThread + 100_000);
+    }
+
+    @Test
+    @DisplayName("스트라이프 수는 2의 거듭제곱이어야 한다")
+    void rejectsNonPowerOfTwoStripes() {
+        assertThatThrownBy(() -> new StripedLongCounterStore(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
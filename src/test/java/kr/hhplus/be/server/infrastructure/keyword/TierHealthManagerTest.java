@@ -0,0 +1,59 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TierHealthManagerTest {
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 닿으면 OPEN, 시험 호출이 연속으로 성공하면 다시 CLOSED")
+    void opensOnFailuresAndClosesAfterHalfOpenSuccesses() {
+        TierHealthManager health = new TierHealthManager("redis", 2, 2, 0L, new SimpleMeterRegistry());
+        List<String> transitions = new ArrayList<>();
+        health.addListener((from, to) -> transitions.add(from + "->" + to));
+
+        health.recordFailure();
+        health.recordSuccess();
+        health.recordFailure();
+        assertThat(health.isAvailable()).isTrue();
+
+        health.recordFailure();
+        assertThat(health.getState()).isEqualTo(TierHealthManager.State.OPEN);
+        assertThat(health.isAvailable()).isFalse();
+
+        health.probe(() -> { });
+        assertThat(health.getState()).isEqualTo(TierHealthManager.State.HALF_OPEN);
+        health.probe(() -> { });
+
+        assertThat(health.getState()).isEqualTo(TierHealthManager.State.CLOSED);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    @DisplayName("OPEN 유지 시간 안에는 probe 하지 않고, HALF_OPEN 에서 한 번 실패하면 다시 OPEN")
+    void waitsOpenDurationAndReopensOnHalfOpenFailure() {
+        TierHealthManager waiting = new TierHealthManager("redis", 1, 1, 60_000L, new SimpleMeterRegistry());
+        waiting.recordFailure();
+        int[] checks = {0};
+        waiting.probe(() -> checks[0]++);
+        assertThat(checks[0]).isZero();
+        assertThat(waiting.getState()).isEqualTo(TierHealthManager.State.OPEN);
+
+        TierHealthManager health = new TierHealthManager("redis", 1, 3, 0L, new SimpleMeterRegistry());
+        health.addListener((from, to) -> {
+            throw new IllegalStateException("리스너 실패 (테스트)");
+        });
+        health.recordFailure();
+        health.probe(() -> {
+            throw new IllegalStateException("연결 실패 (테스트)");
+        });
+
+        assertThat(health.getState()).isEqualTo(TierHealthManager.State.OPEN);
+    }
+}
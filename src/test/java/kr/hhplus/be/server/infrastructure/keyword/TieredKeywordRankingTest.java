@@ -0,0 +1,398 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredKeywordRankingTest {
+
+    // 스케줄러가 끼어들지 않도록 주기를 길게 두고 flushWriteBehind/compact 를 직접 호출
+    private static final long MANUAL_INTERVAL_MS = 600_000L;
+
+    @TempDir
+    Path directory;
+
+    private final List<KeywordWriteAheadLog> openLogs = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (KeywordWriteAheadLog wal : openLogs) {
+            wal.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Redis 에만 반영된 세대는 확정하지 않고, Database 까지 반영되면 확정한다")
+    void checkpointsOnlyAfterBothSinksApplied() throws IOException {
+        FakeSink redis = new FakeSink();
+        FakeSink database = new FakeSink();
+        MemoryKeywordRankingImpl memory = memory(true);
+        TieredKeywordRanking tiered = tiered(memory, redis, database, 10);
+
+        tiered.incrementKeywordCount("pizza", "서울");
+        tiered.incrementKeywordCount("pizza");
+        tiered.flushWriteBehind();
+
+        assertThat(redis.counts).containsEntry("pizza", 2L);
+        assertThat(Files.exists(directory.resolve("checkpoint"))).isFalse();
+
+        database.failing = true;
+        compactIgnoringFailure(tiered);
+        assertThat(Files.exists(directory.resolve("checkpoint"))).isFalse();
+
+        database.failing = false;
+        tiered.compact();
+        assertThat(database.counts).containsEntry("pizza", 2L);
+        assertThat(Files.readString(directory.resolve("checkpoint")).trim())
+                .isEqualTo(Long.toString(redis.appliedEpochs.get(0)));
+    }
+
+    @Test
+    @DisplayName("Redis 보류 한도를 넘긴 세대는 버리지 않고 복구 후 WAL 에서 같은 세대 번호로 다시 반영한다")
+    void spillsRedisOverflowToWriteAheadLog() throws IOException {
+        FakeSink redis = new FakeSink();
+        FakeSink database = new FakeSink();
+        MemoryKeywordRankingImpl memory = memory(true);
+        TieredKeywordRanking tiered = tiered(memory, redis, database, 2);
+
+        // 세대마다 Database 에 바로 반영해 세대 번호를 기록해 둔다
+        redis.available = false;
+        for (int i = 0; i < 5; i++) {
+            tiered.incrementKeywordCount("keyword" + i);
+            tiered.incrementKeywordCount("shared", "부산");
+            tiered.flushWriteBehind();
+            tiered.compact();
+        }
+        assertThat(redis.appliedEpochs).isEmpty();
+        assertThat(database.appliedEpochs).hasSize(5);
+        assertThat(Files.exists(directory.resolve("checkpoint"))).isFalse();
+
+        redis.available = true;
+        tiered.flushWriteBehind();
+
+        assertThat(redis.appliedEpochs).containsExactly(database.appliedEpochs.toArray(new Long[0]));
+        assertThat(redis.counts).containsEntry("shared", 5L);
+        assertThat(redis.locationCounts.get("부산")).containsEntry("shared", 5L);
+        for (int i = 0; i < 5; i++) {
+            assertThat(redis.counts).containsEntry("keyword" + i, 1L);
+        }
+    }
+
+    @Test
+    @DisplayName("WAL 이 꺼져 있으면 반영을 시도한 세대는 두고 그 뒤의 오래된 세대끼리 합친다")
+    void coalescesUnattemptedRedisGenerationsWithoutWriteAheadLog() throws IOException {
+        FakeSink redis = new FakeSink();
+        FakeSink database = new FakeSink();
+        MemoryKeywordRankingImpl memory = memory(false);
+        TieredKeywordRanking tiered = tiered(memory, redis, database, 2);
+
+        redis.failing = true;
+        for (int i = 0; i < 4; i++) {
+            tiered.incrementKeywordCount("pizza");
+            tiered.flushWriteBehind();
+        }
+        long firstAttempt = redis.attemptedEpochs.get(0);
+        assertThat(redis.attemptedEpochs).containsOnly(firstAttempt);
+
+        redis.failing = false;
+        tiered.flushWriteBehind();
+
+        assertThat(redis.appliedEpochs).hasSize(2);
+        assertThat(redis.appliedEpochs.get(0)).isEqualTo(firstAttempt);
+        assertThat(redis.counts).containsEntry("pizza", 4L);
+    }
+
+    @Test
+    @DisplayName("Database 보류 한도를 넘기면 가장 오래된 세대끼리 합쳐 모든 증가분을 한 번에 반영한다")
+    void coalescesDatabaseBacklog() throws IOException {
+        FakeSink redis = new FakeSink();
+        FakeSink database = new FakeSink();
+        MemoryKeywordRankingImpl memory = memory(true);
+        TieredKeywordRanking tiered = tiered(memory, redis, database, 2);
+
+        database.failing = true;
+        for (int i = 0; i < 5; i++) {
+            tiered.incrementKeywordCount("pizza", "서울");
+            tiered.flushWriteBehind();
+            compactIgnoringFailure(tiered);
+        }
+
+        database.failing = false;
+        tiered.compact();
+
+        // 처음 실패한 세대는 단독으로 재반영하고, 나머지는 합쳐서 한 번에 반영
+        assertThat(database.appliedEpochs).hasSize(2);
+        assertThat(database.appliedEpochs.get(0)).isEqualTo(database.attemptedEpochs.get(0));
+        assertThat(database.counts).containsEntry("pizza", 5L);
+        assertThat(database.locationCounts.get("서울")).containsEntry("pizza", 5L);
+    }
+
+    @Test
+    @DisplayName("Database 가 커밋 후 실패를 보고한 세대는 합치지 않고 같은 세대 번호로 재반영해 중복 집계하지 않는다")
+    void retriesLostDatabaseAckWithSameEpoch() throws IOException {
+        FakeSink redis = new FakeSink();
+        FakeSink database = new FakeSink();
+        MemoryKeywordRankingImpl memory = memory(true);
+        TieredKeywordRanking tiered = tiered(memory, redis, database, 10);
+
+        database.losingAck = true;
+        tiered.incrementKeywordCount("pizza", "서울");
+        tiered.flushWriteBehind();
+        compactIgnoringFailure(tiered);
+        long lostEpoch = database.appliedEpochs.get(0);
+
+        database.losingAck = false;
+        tiered.incrementKeywordCount("pizza", "서울");
+        tiered.flushWriteBehind();
+        tiered.compact();
+
+        assertThat(database.attemptedEpochs).hasSize(3);
+        assertThat(database.attemptedEpochs.subList(0, 2)).containsOnly(lostEpoch);
+        assertThat(database.counts).containsEntry("pizza", 2L);
+        assertThat(database.locationCounts.get("서울")).containsEntry("pizza", 2L);
+    }
+
+    @Test
+    @DisplayName("Database 커밋 후 반영 위치를 남기기 전에 멈췄으면, 재시작 시 Database 의 반영 기록 이후만 다시 반영한다")
+    void skipsGenerationsRecordedByDatabaseOnRestart() throws IOException {
+        FakeSink redis = new FakeSink();
+        FakeSink database = new FakeSink();
+        MemoryKeywordRankingImpl memory = memory(true);
+        TieredKeywordRanking tiered = tiered(memory, redis, database, 10);
+
+        database.losingAck = true;
+        tiered.incrementKeywordCount("pizza");
+        tiered.flushWriteBehind();
+        compactIgnoringFailure(tiered);
+        assertThat(database.counts).containsEntry("pizza", 1L);
+        closeLogs();
+
+        database.losingAck = false;
+        MemoryKeywordRankingImpl restartedMemory = memory(true);
+        TieredKeywordRanking restarted = tiered(restartedMemory, new FakeSink(), database, 10);
+        restarted.start();
+        try {
+            restarted.compact();
+
+            assertThat(database.attemptedEpochs).hasSize(1);
+            assertThat(database.counts).containsEntry("pizza", 1L);
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 확정되지 않은 세대를 아직 반영하지 않은 저장소에만 다시 반영한다")
+    void reappliesRecoveredGenerationsOnlyToLaggingSink() throws IOException {
+        FakeSink redis = new FakeSink();
+        FakeSink database = new FakeSink();
+        MemoryKeywordRankingImpl memory = memory(true);
+        TieredKeywordRanking tiered = tiered(memory, redis, database, 10);
+
+        tiered.incrementKeywordCount("pizza", "서울");
+        tiered.incrementKeywordCount("pasta");
+        tiered.flushWriteBehind();
+        assertThat(redis.counts).containsEntry("pizza", 1L);
+        closeLogs();
+
+        FakeSink restartedRedis = new FakeSink();
+        FakeSink restartedDatabase = new FakeSink();
+        MemoryKeywordRankingImpl restartedMemory = memory(true);
+        TieredKeywordRanking restarted = tiered(restartedMemory, restartedRedis, restartedDatabase, 10);
+        restarted.start();
+        try {
+            assertThat(restartedMemory.getKeywordCount("pizza")).isEqualTo(1L);
+
+            restarted.flushWriteBehind();
+            restarted.compact();
+
+            assertThat(restartedRedis.appliedEpochs).isEmpty();
+            assertThat(restartedDatabase.counts).containsEntry("pizza", 1L);
+            assertThat(restartedDatabase.counts).containsEntry("pasta", 1L);
+            assertThat(restartedDatabase.locationCounts.get("서울")).containsEntry("pizza", 1L);
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("여러 검색을 대표하는 증가는 한 번에 기록되고, 재시작 후에도 같은 양으로 다시 반영된다")
+    void reappliesWeightedIncrementAfterRestart() throws IOException {
+        MemoryKeywordRankingImpl memory = memory(true);
+        TieredKeywordRanking tiered = tiered(memory, new FakeSink(), new FakeSink(), 10);
+
+        tiered.incrementKeywordCount("pizza", "서울", 5);
+        assertThat(memory.getKeywordCount("pizza")).isEqualTo(5L);
+        assertThat(memory.getTopKeywordsByLocation("서울", 1)).extracting(KeywordDto::getCount)
+                .containsExactly(5L);
+        closeLogs();
+
+        FakeSink restartedDatabase = new FakeSink();
+        MemoryKeywordRankingImpl restartedMemory = memory(true);
+        TieredKeywordRanking restarted = tiered(restartedMemory, new FakeSink(), restartedDatabase, 10);
+        restarted.start();
+        try {
+            assertThat(restartedMemory.getKeywordCount("pizza")).isEqualTo(5L);
+
+            restarted.flushWriteBehind();
+            restarted.compact();
+
+            assertThat(restartedDatabase.counts).containsEntry("pizza", 5L);
+            assertThat(restartedDatabase.locationCounts.get("서울")).containsEntry("pizza", 5L);
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("mapped 모드도 재시작하면 저장소별로 반영하지 않은 증가분만 다시 반영한다")
+    void reappliesMappedCountsPerSinkAfterRestart() throws IOException {
+        FakeSink redis = new FakeSink();
+        MappedKeywordRankingImpl mapped = mapped();
+        TieredKeywordRanking tiered = tiered(mapped, redis, new FakeSink(), 10);
+
+        tiered.incrementKeywordCount("pizza", "서울");
+        tiered.incrementKeywordCount("pizza");
+        tiered.flushWriteBehind();
+        tiered.incrementKeywordCount("pizza");
+        assertThat(redis.counts).containsEntry("pizza", 2L);
+        mapped.close();
+
+        FakeSink restartedRedis = new FakeSink();
+        FakeSink restartedDatabase = new FakeSink();
+        MappedKeywordRankingImpl restartedMapped = mapped();
+        TieredKeywordRanking restarted = tiered(restartedMapped, restartedRedis, restartedDatabase, 10);
+        restarted.start();
+        try {
+            restarted.flushWriteBehind();
+            restarted.compact();
+
+            assertThat(restartedRedis.counts).containsEntry("pizza", 1L);
+            assertThat(restartedDatabase.counts).containsEntry("pizza", 3L);
+            assertThat(restartedDatabase.locationCounts.get("서울")).containsEntry("pizza", 1L);
+        } finally {
+            restarted.stop();
+            restartedMapped.close();
+        }
+    }
+
+    private MappedKeywordRankingImpl mapped() {
+        return new MappedKeywordRankingImpl(directory.resolve("ranking.dat").toString(), 1024, 10);
+    }
+
+    private MemoryKeywordRankingImpl memory(boolean walEnabled) throws IOException {
+        KeywordWriteAheadLog wal = new KeywordWriteAheadLog(walEnabled, directory.toString(), 64 * 1024 * 1024, 60_000L,
+                64 * 1024 * 1024, new SimpleMeterRegistry());
+        wal.start();
+        openLogs.add(wal);
+        MemoryKeywordRankingImpl memory = new MemoryKeywordRankingImpl(100, wal);
+        memory.replayWriteAheadLog();
+        return memory;
+    }
+
+    private TieredKeywordRanking tiered(KeywordRanking memory, FakeSink redis, FakeSink database,
+                                        int maxBacklog) {
+        return new TieredKeywordRanking(memory, redis, database, new SimpleMeterRegistry(),
+                "redis,memory,database", MANUAL_INTERVAL_MS, MANUAL_INTERVAL_MS, maxBacklog, 30_000L, -1L, 0L);
+    }
+
+    private void compactIgnoringFailure(TieredKeywordRanking tiered) {
+        try {
+            tiered.compact();
+        } catch (RuntimeException e) {
+            // 다음 compact 에서 재시도
+        }
+    }
+
+    private void closeLogs() throws IOException {
+        for (KeywordWriteAheadLog wal : openLogs) {
+            wal.close();
+        }
+        openLogs.clear();
+    }
+
+    /**
+     * 반영된 증가분을 모아 두는 Redis/Database 대역 (failing 이면 반영 실패, losingAck 이면 반영한 뒤 실패를 보고)
+     * 실제 저장소처럼 이미 반영한 세대 번호는 다시 더하지 않는다
+     */
+    private static final class FakeSink implements KeywordRanking, KeywordDeltaSink {
+        private final Map<String, Long> counts = new HashMap<>();
+        private final Map<String, Map<String, Long>> locationCounts = new HashMap<>();
+        private final List<Long> appliedEpochs = new ArrayList<>();
+        private final List<Long> attemptedEpochs = new ArrayList<>();
+        private boolean failing;
+        private boolean losingAck;
+        private boolean available = true;
+
+        @Override
+        public void applyDelta(KeywordCountDelta delta) {
+            attemptedEpochs.add(delta.getEpoch());
+            if (failing) {
+                throw new IllegalStateException("반영 실패 (테스트)");
+            }
+            if (appliedEpochs.contains(delta.getEpoch())) {
+                return;
+            }
+            appliedEpochs.add(delta.getEpoch());
+            delta.getGlobalCounts().forEach((keyword, count) -> counts.merge(keyword, count, Long::sum));
+            delta.getLocationCounts().forEach((location, keywordCounts) -> keywordCounts.forEach((keyword, count) ->
+                    locationCounts.computeIfAbsent(location, l -> new HashMap<>()).merge(keyword, count, Long::sum)));
+            if (losingAck) {
+                throw new IllegalStateException("반영 후 응답 유실 (테스트)");
+            }
+        }
+
+        @Override
+        public long getAppliedEpoch() {
+            return appliedEpochs.isEmpty() ? Long.MIN_VALUE : Collections.max(appliedEpochs);
+        }
+
+        @Override
+        public void incrementKeywordCount(String keyword) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void incrementKeywordCount(String keyword, String location) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void incrementKeywordCount(String keyword, String location, long delta) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<KeywordDto> getTopKeywords(int limit) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<KeywordDto> getTopKeywordsByLocation(String location, int limit) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Long getKeywordCount(String keyword) {
+            return counts.getOrDefault(keyword, 0L);
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return available;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TopKeywordTracker 시간 측정 (JMH 를 쓰지 않는 단순 반복 측정)
+ * - 증가 경로: 카운터만 올릴 때와 Top-K 후보까지 갱신할 때의 증가 1회당 시간
+ * - 조회 경로: 후보 K개 정렬과 전체 키워드 정렬의 조회 1회당 시간
+ * 빌드 시간을 늘리지 않도록 KEYWORD_BENCHMARK=true 일 때만 실행
+ * (예: KEYWORD_BENCHMARK=true ./gradlew test --tests '*TopKeywordTrackerBenchmark')
+ */
+@EnabledIfEnvironmentVariable(named = "KEYWORD_BENCHMARK", matches = "true")
+class TopKeywordTrackerBenchmark {
+
+    private static final int KEYWORDS = 100_000;
+    private static final int CAPACITY = 100;
+    private static final int THREADS = 4;
+    private static final int INCREMENTS_PER_THREAD = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    @DisplayName("증가 1회당 Top-K 후보 갱신 비용과 조회 1회당 후보 정렬 / 전체 정렬 비용")
+    void measureIncrementAndQuery() throws Exception {
+        double plainIncrement = 0;
+        double trackedIncrement = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            // 첫 회는 JIT 예열로 보고 버린다
+            double plain = incrementNanos(false);
+            double tracked = incrementNanos(true);
+            if (round > 0) {
+                plainIncrement += plain / (ROUNDS - 1);
+                trackedIncrement += tracked / (ROUNDS - 1);
+            }
+        }
+
+        AtomicLongArray counts = new AtomicLongArray(KEYWORDS);
+        TopKeywordTracker tracker = new TopKeywordTracker(CAPACITY, counts::get);
+        runIncrements(counts, tracker);
+
+        double trackerQuery = queryNanos(() -> tracker.getTop(10, id -> "k" + id));
+        double scanQuery = queryNanos(() -> scanTop(counts, 10));
+        assertThat(tracker.getTop(10, id -> "k" + id)).extracting(KeywordDto::getCount)
+                .containsExactlyElementsOf(scanTop(counts, 10).stream().map(KeywordDto::getCount).toList());
+
+        System.out.printf("increment: counter only %.1f ns/op, with tracker %.1f ns/op (%d threads)%n",
+                plainIncrement, trackedIncrement, THREADS);
+        System.out.printf("top 10 of %d: tracker %.1f us/op, full scan %.1f us/op%n",
+                KEYWORDS, trackerQuery / 1000, scanQuery / 1000);
+    }
+
+    private static double incrementNanos(boolean tracked) throws Exception {
+        AtomicLongArray counts = new AtomicLongArray(KEYWORDS);
+        TopKeywordTracker tracker = tracked ? new TopKeywordTracker(CAPACITY, counts::get) : null;
+        long started = System.nanoTime();
+        runIncrements(counts, tracker);
+        return (double) (System.nanoTime() - started) / ((long) THREADS * INCREMENTS_PER_THREAD);
+    }
+
+    private static void runIncrements(AtomicLongArray counts, TopKeywordTracker tracker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                        // 검색어처럼 소수 키워드에 몰리는 치우친 분포
+                        int id = (int) (KEYWORDS * Math.pow(random.nextDouble(), 4));
+                        long count = counts.incrementAndGet(id);
+                        if (tracker != null) {
+                            tracker.onIncrement(id, count);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static double queryNanos(Runnable query) {
+        for (int i = 0; i < 200; i++) {
+            query.run();
+        }
+        int iterations = 1_000;
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            query.run();
+        }
+        return (double) (System.nanoTime() - started) / iterations;
+    }
+
+    private static List<KeywordDto> scanTop(AtomicLongArray counts, int limit) {
+        List<KeywordDto> all = new ArrayList<>(KEYWORDS);
+        for (int id = 0; id < KEYWORDS; id++) {
+            long count = counts.get(id);
+            if (count > 0) {
+                all.add(new KeywordDto("k" + id, count));
+            }
+        }
+        all.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+}
@@ -0,0 +1,98 @@
+package kr.hhplus.be.server.infrastructure.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKeywordTrackerTest {
+
+    @Test
+    @DisplayName("최소 후보보다 커진 키워드가 최소 후보를 대신한다")
+    void replacesMinimumCandidate() {
+        AtomicLongArray counts = new AtomicLongArray(4);
+        TopKeywordTracker tracker = new TopKeywordTracker(2, counts::get);
+
+        increment(tracker, counts, 0, 5);
+        increment(tracker, counts, 1, 3);
+        increment(tracker, counts, 2, 4);
+
+        assertThat(tracker.getTop(2, id -> "k" + id)).extracting(KeywordDto::getKeyword)
+                .containsExactly("k0", "k2");
+        assertThat(tracker.getTop(3, id -> "k" + id)).isNull();
+    }
+
+    @Test
+    @DisplayName("넘겨받은 카운트가 지난 값이면 잠금 안에서 다시 읽은 카운트로 판단해 더 큰 후보를 밀어내지 않는다")
+    void rechecksCountUnderLockBeforeEvicting() {
+        AtomicLongArray counts = new AtomicLongArray(2);
+        TopKeywordTracker tracker = new TopKeywordTracker(1, counts::get);
+        increment(tracker, counts, 0, 5);
+
+        // 키워드 1 의 실제 카운트는 3 인데 더 큰 값으로 호출된 경우
+        counts.set(1, 3);
+        tracker.onIncrement(1, 6);
+
+        assertThat(tracker.getTop(1, id -> "k" + id)).extracting(KeywordDto::getKeyword)
+                .containsExactly("k0");
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 증가시켜도 후보 집합은 실제 상위 K개 카운트와 같다")
+    void keepsExactTopKUnderConcurrentIncrements() throws Exception {
+        int keywords = 2_000;
+        int capacity = 20;
+        AtomicLongArray counts = new AtomicLongArray(keywords);
+        TopKeywordTracker tracker = new TopKeywordTracker(capacity, counts::get);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 50_000; i++) {
+                        // 앞쪽 ID 일수록 자주 나오는 치우친 분포
+                        int id = (int) (keywords * Math.pow(random.nextDouble(), 3));
+                        tracker.onIncrement(id, counts.incrementAndGet(id));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        long[] expected = new long[keywords];
+        for (int i = 0; i < keywords; i++) {
+            expected[i] = counts.get(i);
+        }
+        Arrays.sort(expected);
+        List<Long> expectedTop = new ArrayList<>();
+        for (int i = 0; i < capacity; i++) {
+            expectedTop.add(expected[keywords - 1 - i]);
+        }
+
+        assertThat(tracker.getTop(capacity, id -> "k" + id)).extracting(KeywordDto::getCount)
+                .containsExactlyElementsOf(expectedTop);
+    }
+
+    private static void increment(TopKeywordTracker tracker, AtomicLongArray counts, int id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.onIncrement(id, counts.incrementAndGet(id));
+        }
+    }
+}
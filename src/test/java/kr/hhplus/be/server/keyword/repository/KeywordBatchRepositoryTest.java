@@ -0,0 +1,66 @@
+package kr.hhplus.be.server.keyword.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(KeywordBatchRepository.class)
+@Testcontainers
+@Sql("/db/keyword-schema.sql")
+class KeywordBatchRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    @Autowired
+    private KeywordBatchRepository keywordBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM keyword");
+    }
+
+    @Test
+    @DisplayName("원본 키워드와 정규화 키워드를 함께 등록한다")
+    void insertsRawAndNormalizedKeyword() {
+        int inserted = keywordBatchRepository.insertIgnore(Map.of("pizza", "Pizza!", "파스타", "파스타"));
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT keyword FROM keyword WHERE normalized_keyword = ?", String.class, "pizza"))
+                .isEqualTo("Pizza!");
+    }
+
+    @Test
+    @DisplayName("표기만 다른 원본 키워드는 정규화 키워드 unique 키로 무시된다")
+    void ignoresSameNormalizedKeywordWithDifferentSpelling() {
+        keywordBatchRepository.insertIgnore(Map.of("pizza", "Pizza"));
+        int inserted = keywordBatchRepository.insertIgnore(Map.of("pizza", "PIZZA"));
+
+        assertThat(inserted).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM keyword WHERE normalized_keyword = ?", Integer.class, "pizza"))
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,161 @@
+package kr.hhplus.be.server.keyword.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(KeywordCountBatchRepository.class)
+@Testcontainers
+@Sql("/db/keyword-schema.sql")
+// 테스트 트랜잭션 없이 실행해야 addCounts 의 커밋/롤백을 그대로 확인할 수 있다
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class KeywordCountBatchRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    @Autowired
+    private KeywordCountBatchRepository keywordCountBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM keyword_count");
+        jdbcTemplate.update("DELETE FROM keyword_delta_applied");
+    }
+
+    @Test
+    @DisplayName("없는 행은 만들고 있는 행에는 증가분을 더한다")
+    void insertsThenIncrements() {
+        keywordCountBatchRepository.addCounts(Map.of(1L, 3L, 2L, 5L), null, TODAY);
+        keywordCountBatchRepository.addCounts(Map.of(1L, 4L), null, TODAY);
+
+        assertThat(countOf(1L, null)).isEqualTo(7L);
+        assertThat(countOf(2L, null)).isEqualTo(5L);
+        assertThat(rowsOf(1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("지역 없는 전체 카운트도 키워드/날짜당 한 행으로 합쳐진다")
+    void mergesGlobalRowsDespiteNullLocation() {
+        for (int i = 0; i < 5; i++) {
+            keywordCountBatchRepository.addCounts(Map.of(1L, 1L), null, TODAY);
+        }
+        keywordCountBatchRepository.addCounts(Map.of(1L, 2L), 7L, TODAY);
+        keywordCountBatchRepository.addCounts(Map.of(1L, 1L), null, TODAY.minusDays(1));
+
+        assertThat(countOf(1L, null)).isEqualTo(5L);
+        assertThat(countOf(1L, 7L)).isEqualTo(2L);
+        assertThat(rowsOf(1L)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("뒤 청크가 실패하면 앞 청크까지 모두 롤백되어 재시도해도 중복 집계되지 않는다")
+    void rollsBackEveryChunkWhenALaterChunkFails() {
+        long overflowingKeywordId = 100_000L;
+        keywordCountBatchRepository.addCounts(Map.of(overflowingKeywordId, Long.MAX_VALUE - 1), null, TODAY);
+
+        // 첫 청크(1000 건)는 정상, 두 번째 청크의 BIGINT 범위 초과로 실패
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        for (long keywordId = 1; keywordId <= 1000; keywordId++) {
+            counts.put(keywordId, 1L);
+        }
+        counts.put(overflowingKeywordId, 10L);
+
+        assertThatThrownBy(() -> keywordCountBatchRepository.addCounts(counts, null, TODAY))
+                .isInstanceOf(DataAccessException.class);
+
+        Integer appliedRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM keyword_count WHERE keyword_id BETWEEN 1 AND 1000", Integer.class);
+        assertThat(appliedRows).isEqualTo(0);
+        assertThat(countOf(overflowingKeywordId, null)).isEqualTo(Long.MAX_VALUE - 1);
+    }
+
+    @Test
+    @DisplayName("전체 증가분과 지역별 증가분을 각각의 지역 행에 더한다")
+    void addsGlobalAndLocationCounts() {
+        int applied = keywordCountBatchRepository.addScopedCounts(
+                Map.of(1L, 3L), Map.of(7L, Map.of(1L, 2L), 8L, Map.of(1L, 1L)), TODAY);
+
+        assertThat(applied).isEqualTo(3);
+        assertThat(countOf(1L, null)).isEqualTo(3L);
+        assertThat(countOf(1L, 7L)).isEqualTo(2L);
+        assertThat(countOf(1L, 8L)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("같은 노드의 같은 세대를 다시 반영하면 건너뛰고, 다른 노드의 같은 세대는 반영한다")
+    void skipsReplayedEpoch() {
+        Map<Long, Long> global = Map.of(1L, 3L);
+        Map<Long, Map<Long, Long>> location = Map.of(7L, Map.of(1L, 2L));
+
+        assertThat(keywordCountBatchRepository.addScopedCountsOnce("node-a", 10L, global, location, TODAY)).isTrue();
+        assertThat(keywordCountBatchRepository.addScopedCountsOnce("node-a", 10L, global, location, TODAY)).isFalse();
+        assertThat(keywordCountBatchRepository.addScopedCountsOnce("node-b", 10L, global, location, TODAY)).isTrue();
+
+        assertThat(countOf(1L, null)).isEqualTo(6L);
+        assertThat(countOf(1L, 7L)).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("반영 기록은 노드별 마지막 세대만 남기고, 반영이 롤백되면 기록도 남지 않는다")
+    void keepsLatestEpochAndRollsBackMarkerWithCounts() {
+        assertThat(keywordCountBatchRepository.findAppliedEpoch("node-a")).isEqualTo(Long.MIN_VALUE);
+        keywordCountBatchRepository.addScopedCountsOnce("node-a", 10L, Map.of(1L, 1L), Map.of(), TODAY);
+        keywordCountBatchRepository.addScopedCountsOnce("node-a", 12L, Map.of(1L, 1L), Map.of(), TODAY);
+
+        assertThat(keywordCountBatchRepository.findAppliedEpoch("node-a")).isEqualTo(12L);
+        Integer markers = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM keyword_delta_applied WHERE node_id = ?", Integer.class, "node-a");
+        assertThat(markers).isEqualTo(1);
+
+        // BIGINT 범위 초과로 카운트 반영이 실패하면 세대 기록도 롤백되어 재시도할 수 있다
+        long overflowingKeywordId = 100_000L;
+        keywordCountBatchRepository.addCounts(Map.of(overflowingKeywordId, Long.MAX_VALUE - 1), null, TODAY);
+        assertThatThrownBy(() -> keywordCountBatchRepository.addScopedCountsOnce(
+                "node-a", 13L, Map.of(overflowingKeywordId, 10L), Map.of(), TODAY))
+                .isInstanceOf(DataAccessException.class);
+
+        assertThat(keywordCountBatchRepository.findAppliedEpoch("node-a")).isEqualTo(12L);
+        assertThat(countOf(1L, null)).isEqualTo(2L);
+    }
+
+    private Long countOf(Long keywordId, Long locationCategoryId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count FROM keyword_count WHERE keyword_id = ? AND location_category_id <=> ? AND count_date = ?",
+                Long.class, keywordId, locationCategoryId, TODAY);
+    }
+
+    private Integer rowsOf(Long keywordId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM keyword_count WHERE keyword_id = ?", Integer.class, keywordId);
+    }
+}
@@ -0,0 +1,68 @@
+package kr.hhplus.be.server.keyword.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(LocationCategoryRepository.class)
+@Testcontainers
+@Sql("/db/keyword-schema.sql")
+class LocationCategoryRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    @Autowired
+    private LocationCategoryRepository locationCategoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM location_category");
+    }
+
+    @Test
+    @DisplayName("이미 있는 지역은 다시 등록하지 않고 같은 ID 를 돌려준다")
+    void insertsOnlyNewLocations() {
+        int first = locationCategoryRepository.insertIgnore(List.of("서울", "부산"));
+        Map<String, Long> before = locationCategoryRepository.findIds(List.of("서울", "부산"));
+
+        int second = locationCategoryRepository.insertIgnore(List.of("서울", "대구"));
+        Map<String, Long> after = locationCategoryRepository.findIds(List.of("서울", "부산", "대구"));
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        assertThat(after).hasSize(3)
+                .containsEntry("서울", before.get("서울"))
+                .containsEntry("부산", before.get("부산"));
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 지역은 조회 결과에 없다")
+    void omitsUnknownLocations() {
+        locationCategoryRepository.insertIgnore(List.of("서울"));
+
+        assertThat(locationCategoryRepository.findIds(List.of("서울", "제주"))).containsOnlyKeys("서울");
+    }
+}
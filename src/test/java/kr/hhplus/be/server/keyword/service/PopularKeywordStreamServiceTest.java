@@ -0,0 +1,169 @@
+package kr.hhplus.be.server.keyword.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.hhplus.be.server.keyword.dto.response.PopularKeywordChangeResponse;
+import kr.hhplus.be.server.keyword.dto.response.PopularKeywordChangeResponse.RankChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PopularKeywordStreamServiceTest {
+
+    private static final String GLOBAL = PopularKeywordSnapshotPublisher.scopeOf(null);
+    private static final int DEPTH = 3;
+    // 발행마다 keepalive 가 끼어들지 않도록 길게 둔다
+    private static final long HEARTBEAT_INTERVAL_MS = 600_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PopularKeywordSnapshotPublisher publisher =
+            new PopularKeywordSnapshotPublisher(null, true, 10_000L, 600_000L, 256);
+    private final Queue<RecordingEmitter> emitters = new ConcurrentLinkedQueue<>();
+    private PopularKeywordStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("첫 이벤트는 상위 키워드 전체를, 이후에는 직전 버전 대비 들어온/빠진/이동한/카운트만 바뀐 키워드를 보낸다")
+    void emitsDiffBetweenConsecutiveSnapshots() throws Exception {
+        service = service(1, 1, 10_000L);
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        emitters.add(emitter);
+        service.subscribe(null);
+
+        publish(snapshot(1, new String[]{"a", "b", "c"}, new int[]{10, 8, 5}));
+        PopularKeywordChangeResponse first = emitter.nextChange();
+        assertThat(first.getFromVersion()).isZero();
+        assertThat(first.getVersion()).isEqualTo(1L);
+        assertThat(first.getEntered()).extracting(RankChange::getKeyword).containsExactly("a", "b", "c");
+
+        publish(snapshot(2, new String[]{"b", "a", "d"}, new int[]{12, 10, 7}));
+        PopularKeywordChangeResponse second = emitter.nextChange();
+        assertThat(second.getFromVersion()).isEqualTo(1L);
+        assertThat(second.getVersion()).isEqualTo(2L);
+        assertThat(second.getMoved()).extracting(RankChange::getKeyword).containsExactly("b", "a");
+        assertThat(second.getMoved()).extracting(RankChange::getPreviousRank).containsExactly(1, 0);
+        assertThat(second.getEntered()).extracting(RankChange::getKeyword).containsExactly("d");
+        assertThat(second.getLeft()).containsExactly("c");
+        assertThat(second.getUpdated()).isEmpty();
+
+        publish(snapshot(3, new String[]{"b", "a", "d"}, new int[]{12, 11, 7}));
+        PopularKeywordChangeResponse third = emitter.nextChange();
+        assertThat(third.getFromVersion()).isEqualTo(2L);
+        assertThat(third.getUpdated()).extracting(RankChange::getKeyword).containsExactly("a");
+        assertThat(third.getUpdated()).extracting(RankChange::getCount).containsExactly(11);
+        assertThat(third.getEntered()).isEmpty();
+        assertThat(third.getMoved()).isEmpty();
+        assertThat(third.getLeft()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전송이 막힌 구독자는 발행 스레드가 퇴출 표시만 하고, 다른 구독자는 늘린 전송 스레드로 받으며, 연결은 막힌 전송 작업이 닫는다")
+    void evictsStalledSubscriberWithoutBlockingOthers() throws Exception {
+        service = service(1, 2, 50L);
+        CountDownLatch slowWrite = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(slowWrite);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        emitters.add(slow);
+        emitters.add(fast);
+
+        // 유일한 전송 스레드가 느린 구독자의 첫 keepalive 에 막힌 상태에서 두 번째 구독자가 들어온다
+        service.subscribe(null);
+        assertThat(slow.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        service.subscribe(null);
+        Thread.sleep(100);
+
+        publish(snapshot(1, new String[]{"a"}, new int[]{1}));
+
+        assertThat(fast.nextChange().getVersion()).isEqualTo(1L);
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+        assertThat(slow.completed.getCount()).isEqualTo(1L);
+
+        // 쓰기 제한 시간이 지나 막힌 전송이 실패하면 그 전송 스레드가 연결을 닫는다
+        slowWrite.countDown();
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.completedBy).startsWith("keyword-stream-sender-");
+    }
+
+    private PopularKeywordStreamService service(int senderThreads, int maxSenderThreads, long maxSendMs) {
+        return new PopularKeywordStreamService(publisher, objectMapper, DEPTH, 600_000L, HEARTBEAT_INTERVAL_MS,
+                maxSendMs, 100, senderThreads, maxSenderThreads) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                return emitters.poll();
+            }
+        };
+    }
+
+    private void publish(PopularKeywordSnapshot snapshot) {
+        service.onPublish(Map.of(), Map.of(GLOBAL, snapshot));
+    }
+
+    private static PopularKeywordSnapshot snapshot(long version, String[] keywords, int[] counts) {
+        return new PopularKeywordSnapshot(GLOBAL, keywords, counts, "redis", version, version, System.currentTimeMillis());
+    }
+
+    /**
+     * 보낸 변경분을 기록하는 emitter (release 가 있으면 열릴 때까지 막혔다가 쓰기 실패)
+     */
+    private final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final BlockingQueue<String> payloads = new LinkedBlockingQueue<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile String completedBy;
+
+        private RecordingEmitter(CountDownLatch release) {
+            super(0L);
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("쓰기 제한 시간 초과 (테스트)");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (MediaType.APPLICATION_JSON.equals(data.getMediaType())) {
+                    payloads.add((String) data.getData());
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completedBy = Thread.currentThread().getName();
+            completed.countDown();
+        }
+
+        private PopularKeywordChangeResponse nextChange() throws Exception {
+            String payload = payloads.poll(5, TimeUnit.SECONDS);
+            assertThat(payload).isNotNull();
+            return objectMapper.readValue(payload, PopularKeywordChangeResponse.class);
+        }
+    }
+}